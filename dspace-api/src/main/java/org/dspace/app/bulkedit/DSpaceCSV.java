@@ -7,18 +7,19 @@
  */
 package org.dspace.app.bulkedit;
 
-import java.io.BufferedReader;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.Serializable;
 import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -62,6 +63,11 @@ public class DSpaceCSV implements Serializable {
      */
     protected List<String> headings;
 
+    /**
+     * The headings of the metadata of the items added to the CSV file, to check them without going through the list
+     */
+    protected Set<String> headingSet;
+
     /**
      * An array list of CSV lines
      */
@@ -146,134 +152,97 @@ public class DSpaceCSV implements Serializable {
         // Initialise the class
         init();
 
-        // Open the CSV file
-        BufferedReader input = null;
-        try {
-            input = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
-
-            // Read the heading line
-            String head = input.readLine();
-            String[] headingElements = head.split(escapedFieldSeparator);
-            int columnCounter = 0;
-            for (String element : headingElements) {
-                columnCounter++;
-
-                // Remove surrounding quotes if there are any
-                if (element.startsWith("\"") && element.endsWith("\"")) {
-                    element = element.substring(1, element.length() - 1);
-                }
-
-                // Store the heading
-                if ("collection".equals(element)) {
-                    // Store the heading
-                    headings.add(element);
-                }   else if ("rowName".equals(element)) {
-                    // Store the heading
-                    headings.add(element);
-                } else if ("action".equals(element)) { // Store the action
-                    // Store the heading
-                    headings.add(element);
-                } else if (!"id".equals(element)) {
-                    String authorityPrefix = "";
-                    if (StringUtils.startsWith(element, "[authority]")) {
-                        element = StringUtils.substringAfter(element, "[authority]");
-                        AuthorityValue authorityValueType = authorityValueService.getAuthorityValueType(element);
-                        if (authorityValueType != null) {
-                            String authorityType = authorityValueType.getAuthorityType();
-                            authorityPrefix = element.substring(0, authorityType.length() + 1);
-                            element = element.substring(authorityPrefix.length());
-                        }
-                    }
-
-                    // Verify that the heading is valid in the metadata registry
-                    String[] clean = element.split("\\[");
-                    String[] parts = clean[0].split("\\.");
+        // Read the headings, then each subsequent line
+        try (DSpaceCSVReader reader = new DSpaceCSVReader(this, inputStream, c)) {
+            DSpaceCSVLine line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+                counter++;
+            }
+        }
+    }
 
-                    if (parts.length < 2) {
-                        throw new MetadataImportInvalidHeadingException(element,
-                                                                        MetadataImportInvalidHeadingException.ENTRY,
-                                                                        columnCounter);
-                    }
+    /**
+     * Read the headings of a CSV file, verifying that they are valid in the metadata registry
+     *
+     * @param head the heading line of the CSV file
+     * @param c    The DSpace Context
+     * @throws SQLException if database error
+     * @throws MetadataImportInvalidHeadingException thrown if a heading is invalid
+     */
+    protected void readHeadings(String head, Context c) throws SQLException, MetadataImportInvalidHeadingException {
+        String[] headingElements = head.split(escapedFieldSeparator);
+        int columnCounter = 0;
+        for (String element : headingElements) {
+            columnCounter++;
+
+            // Remove surrounding quotes if there are any
+            if (element.startsWith("\"") && element.endsWith("\"")) {
+                element = element.substring(1, element.length() - 1);
+            }
 
-                    String metadataSchema = parts[0];
-                    String metadataElement = parts[1];
-                    String metadataQualifier = null;
-                    if (parts.length > 2) {
-                        metadataQualifier = parts[2];
+            // Store the heading
+            if ("collection".equals(element)) {
+                // Store the heading
+                headings.add(element);
+            }   else if ("rowName".equals(element)) {
+                // Store the heading
+                headings.add(element);
+            } else if ("action".equals(element)) { // Store the action
+                // Store the heading
+                headings.add(element);
+            } else if (!"id".equals(element)) {
+                String authorityPrefix = "";
+                if (StringUtils.startsWith(element, "[authority]")) {
+                    element = StringUtils.substringAfter(element, "[authority]");
+                    AuthorityValue authorityValueType = authorityValueService.getAuthorityValueType(element);
+                    if (authorityValueType != null) {
+                        String authorityType = authorityValueType.getAuthorityType();
+                        authorityPrefix = element.substring(0, authorityType.length() + 1);
+                        element = element.substring(authorityPrefix.length());
                     }
+                }
 
-                    // Check that the scheme exists
-                    if (!StringUtils.equals(metadataSchema, MetadataSchemaEnum.RELATION.getName())) {
-                        MetadataSchema foundSchema = metadataSchemaService.find(c, metadataSchema);
-                        if (foundSchema == null) {
-                            throw new MetadataImportInvalidHeadingException(clean[0],
-                                                                            MetadataImportInvalidHeadingException
-                                                                                .SCHEMA,
-                                                                            columnCounter);
-                        }
-
-                        // Check that the metadata element exists in the schema
-                        MetadataField foundField = metadataFieldService
-                            .findByElement(c, foundSchema, metadataElement, metadataQualifier);
-                        if (foundField == null) {
-                            throw new MetadataImportInvalidHeadingException(clean[0],
-                                                                            MetadataImportInvalidHeadingException
-                                                                                .ELEMENT,
-                                                                            columnCounter);
-                        }
-                    }
+                // Verify that the heading is valid in the metadata registry
+                String[] clean = element.split("\\[");
+                String[] parts = clean[0].split("\\.");
 
-                    // Store the heading
-                    headings.add(authorityPrefix + element);
+                if (parts.length < 2) {
+                    throw new MetadataImportInvalidHeadingException(element,
+                                                                    MetadataImportInvalidHeadingException.ENTRY,
+                                                                    columnCounter);
                 }
-            }
 
-            // Read each subsequent line
-            StringBuilder lineBuilder = new StringBuilder();
-            String lineRead;
-
-            while ((lineRead = input.readLine()) != null) {
-                if (lineBuilder.length() > 0) {
-                    // Already have a previously read value - add this line
-                    lineBuilder.append("\n").append(lineRead);
-
-                    // Count the number of quotes in the buffer
-                    int quoteCount = 0;
-                    for (int pos = 0; pos < lineBuilder.length(); pos++) {
-                        if (lineBuilder.charAt(pos) == '"') {
-                            quoteCount++;
-                        }
-                    }
+                String metadataSchema = parts[0];
+                String metadataElement = parts[1];
+                String metadataQualifier = null;
+                if (parts.length > 2) {
+                    metadataQualifier = parts[2];
+                }
 
-                    if (quoteCount % 2 == 0) {
-                        // Number of quotes is a multiple of 2, add the item
-                        addItem(lineBuilder.toString());
-                        lineBuilder = new StringBuilder();
-                    }
-                } else if (lineRead.indexOf('"') > -1) {
-                    // Get the number of quotes in the line
-                    int quoteCount = 0;
-                    for (int pos = 0; pos < lineRead.length(); pos++) {
-                        if (lineRead.charAt(pos) == '"') {
-                            quoteCount++;
-                        }
+                // Check that the scheme exists
+                if (!StringUtils.equals(metadataSchema, MetadataSchemaEnum.RELATION.getName())) {
+                    MetadataSchema foundSchema = metadataSchemaService.find(c, metadataSchema);
+                    if (foundSchema == null) {
+                        throw new MetadataImportInvalidHeadingException(clean[0],
+                                                                        MetadataImportInvalidHeadingException
+                                                                            .SCHEMA,
+                                                                        columnCounter);
                     }
 
-                    if (quoteCount % 2 == 0) {
-                        // Number of quotes is a multiple of 2, add the item
-                        addItem(lineRead);
-                    } else {
-                        // Uneven quotes - add to the buffer and leave for later
-                        lineBuilder.append(lineRead);
+                    // Check that the metadata element exists in the schema
+                    MetadataField foundField = metadataFieldService
+                        .findByElement(c, foundSchema, metadataElement, metadataQualifier);
+                    if (foundField == null) {
+                        throw new MetadataImportInvalidHeadingException(clean[0],
+                                                                        MetadataImportInvalidHeadingException
+                                                                            .ELEMENT,
+                                                                        columnCounter);
                     }
-                } else {
-                    // No previously read line, and no quotes in the line - add item
-                    addItem(lineRead);
                 }
-            }
-        } finally {
-            if (input != null) {
-                input.close();
+
+                // Store the heading
+                headings.add(authorityPrefix + element);
             }
         }
     }
@@ -293,6 +262,7 @@ public class DSpaceCSV implements Serializable {
 
         // Create the headings
         headings = new ArrayList<>();
+        headingSet = new HashSet<>();
 
         // Create the blank list of items
         lines = new ArrayList<>();
@@ -422,10 +392,36 @@ public class DSpaceCSV implements Serializable {
      * @throws Exception if something goes wrong with adding the Item
      */
     public final void addItem(Item i) throws Exception {
+        DSpaceCSVLine line = toCSVLine(i);
+        if (line != null) {
+            lines.add(line);
+            counter++;
+        }
+    }
+
+    /**
+     * Add the headings of the metadata of a DSpace item to the CSV file, without adding the item itself. Used to
+     * determine the headings of a CSV file which is written line by line, see {@link DSpaceCSVWriter}.
+     *
+     * @param i The DSpace item
+     * @throws Exception if something goes wrong with reading the Item
+     */
+    public final void addHeadings(Item i) throws Exception {
+        toCSVLine(i);
+    }
+
+    /**
+     * Create the CSV line of a DSpace item, adding the headings of its metadata to the CSV file
+     *
+     * @param i The DSpace item
+     * @return the CSV line of the item, or null if it has no owning collection
+     * @throws Exception if something goes wrong with reading the Item
+     */
+    protected DSpaceCSVLine toCSVLine(Item i) throws Exception {
         // If the item does not have an "owningCollection" the the below "getHandle()" call will fail
         // This should not happen but is here for safety.
         if (i.getOwningCollection() == null) {
-            return;
+            return null;
         }
 
         // Create the CSV line
@@ -472,13 +468,12 @@ public class DSpaceCSV implements Serializable {
                         .getConfidence() != -1 ? value.getConfidence() : Choices.CF_ACCEPTED);
                 }
                 line.add(key, mdValue);
-                if (!headings.contains(key)) {
+                if (headingSet.add(key) && !headings.contains(key)) {
                     headings.add(key);
                 }
             }
         }
-        lines.add(line);
-        counter++;
+        return line;
     }
 
     /**
@@ -488,6 +483,18 @@ public class DSpaceCSV implements Serializable {
      * @throws Exception Thrown if an error occurs when adding the item
      */
     public final void addItem(String line) throws Exception {
+        lines.add(parseLine(line));
+        counter++;
+    }
+
+    /**
+     * Parse a CSV line of elements, according to the headings of this CSV file
+     *
+     * @param line The line of elements
+     * @return the parsed line
+     * @throws MetadataImportInvalidHeadingException Thrown if the line has more columns than the headings
+     */
+    protected DSpaceCSVLine parseLine(String line) throws MetadataImportInvalidHeadingException {
         // Check to see if the last character is a field separator, which hides the last empty column
         boolean last = false;
         if (line.endsWith(fieldSeparator)) {
@@ -584,8 +591,7 @@ public class DSpaceCSV implements Serializable {
             }
             i++;
         }
-        lines.add(csvLine);
-        counter++;
+        return csvLine;
     }
 
     /**
@@ -606,12 +612,8 @@ public class DSpaceCSV implements Serializable {
     public final String[] getCSVLinesAsStringArray() {
         // Create the headings line
         String[] csvLines = new String[counter + 1];
-        csvLines[0] = "id" + fieldSeparator + "collection";
-        List<String> headingsCopy = new ArrayList<>(headings);
-        Collections.sort(headingsCopy);
-        for (String value : headingsCopy) {
-            csvLines[0] = csvLines[0] + fieldSeparator + value;
-        }
+        List<String> headingsCopy = getSortedHeadings();
+        csvLines[0] = toCSVHeadingLine(headingsCopy);
 
         Iterator<DSpaceCSVLine> i = lines.iterator();
         int c = 1;
@@ -627,11 +629,32 @@ public class DSpaceCSV implements Serializable {
      * @return  The InputStream created from the CSVLines in this DSpaceCSV
      */
     public InputStream getInputStream() {
-        StringBuilder stringBuilder = new StringBuilder();
-        for (String csvLine : getCSVLinesAsStringArray()) {
-            stringBuilder.append(csvLine).append("\n");
+        return IOUtils.toInputStream(toString(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Get the headings of the metadata of this CSV file in the order they are written in
+     *
+     * @return a sorted copy of the headings
+     */
+    protected List<String> getSortedHeadings() {
+        List<String> headingsCopy = new ArrayList<>(headings);
+        Collections.sort(headingsCopy);
+        return headingsCopy;
+    }
+
+    /**
+     * Create the heading line of the CSV file
+     *
+     * @param sortedHeadings the headings of the metadata, see {@link #getSortedHeadings()}
+     * @return the CSV formatted heading line
+     */
+    protected String toCSVHeadingLine(List<String> sortedHeadings) {
+        StringBuilder headingLine = new StringBuilder("id").append(fieldSeparator).append("collection");
+        for (String value : sortedHeadings) {
+            headingLine.append(fieldSeparator).append(value);
         }
-        return IOUtils.toInputStream(stringBuilder.toString(), StandardCharsets.UTF_8);
+        return headingLine.toString();
     }
 
     /**
@@ -671,9 +694,10 @@ public class DSpaceCSV implements Serializable {
     public final String toString() {
         // Return the csv as one long string
         StringBuilder csvLines = new StringBuilder();
-        String[] lines = this.getCSVLinesAsStringArray();
-        for (String line : lines) {
-            csvLines.append(line).append("\n");
+        List<String> headingsCopy = getSortedHeadings();
+        csvLines.append(toCSVHeadingLine(headingsCopy)).append("\n");
+        for (DSpaceCSVLine line : lines) {
+            csvLines.append(line.toCSV(headingsCopy, fieldSeparator, valueSeparator)).append("\n");
         }
         return csvLines.toString();
     }
@@ -0,0 +1,113 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.bulkedit;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+import org.dspace.core.Context;
+
+/**
+ * Reader of the lines of a CSV file one at a time, so that large files can be processed without holding all their
+ * lines in memory. The headings are read when the reader is created and stored in the {@link DSpaceCSV} the lines
+ * are parsed with, but the lines themselves aren't added to it.
+ */
+public class DSpaceCSVReader implements Closeable {
+
+    /**
+     * The CSV holding the headings and separators of the file
+     */
+    private final DSpaceCSV csv;
+
+    private final BufferedReader input;
+
+    /**
+     * Open a CSV file and read its headings
+     *
+     * @param inputStream the input stream to read from
+     * @param c           The DSpace Context
+     * @throws Exception thrown if there is an error reading the file or if its headings are invalid
+     */
+    public DSpaceCSVReader(InputStream inputStream, Context c) throws Exception {
+        this(new DSpaceCSV(false), inputStream, c);
+    }
+
+    /**
+     * Open a CSV file and read its headings into the given CSV
+     *
+     * @param csv         the CSV to store the headings in
+     * @param inputStream the input stream to read from
+     * @param c           The DSpace Context
+     * @throws Exception thrown if there is an error reading the file or if its headings are invalid
+     */
+    protected DSpaceCSVReader(DSpaceCSV csv, InputStream inputStream, Context c) throws Exception {
+        this.csv = csv;
+        this.input = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        try {
+            csv.readHeadings(input.readLine(), c);
+        } catch (Exception e) {
+            input.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return the CSV holding the headings and separators of the file, without its lines
+     */
+    public DSpaceCSV getCSV() {
+        return csv;
+    }
+
+    /**
+     * Read the next line of the CSV file. A line can span several lines of the file when values contain quoted line
+     * breaks.
+     *
+     * @return the next line, or null when the end of the file is reached
+     * @throws IOException thrown if there is an error reading the line
+     * @throws MetadataImportInvalidHeadingException thrown if the line has more columns than the headings
+     */
+    public DSpaceCSVLine readLine() throws IOException, MetadataImportInvalidHeadingException {
+        StringBuilder lineBuilder = null;
+        int quoteCount = 0;
+        String lineRead;
+        while ((lineRead = input.readLine()) != null) {
+            // Count the quotes of the line read only, the ones of the buffer are already counted
+            for (int pos = 0; pos < lineRead.length(); pos++) {
+                if (lineRead.charAt(pos) == '"') {
+                    quoteCount++;
+                }
+            }
+
+            if (lineBuilder != null) {
+                // Already have a previously read value - add this line
+                lineBuilder.append("\n").append(lineRead);
+                if (quoteCount % 2 == 0) {
+                    // Number of quotes is a multiple of 2, the line is complete
+                    return csv.parseLine(lineBuilder.toString());
+                }
+            } else if (quoteCount % 2 == 0) {
+                // No previously read line, and balanced quotes in the line - the line is complete
+                return csv.parseLine(lineRead);
+            } else {
+                // Uneven quotes - add to the buffer and leave for later
+                lineBuilder = new StringBuilder(lineRead);
+            }
+        }
+        // As before, an unterminated quoted value at the end of the file is ignored
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+}
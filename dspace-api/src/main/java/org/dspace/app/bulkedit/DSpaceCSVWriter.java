@@ -0,0 +1,76 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.bulkedit;
+
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.dspace.content.Item;
+
+/**
+ * Writer of the lines of a CSV file one item at a time, so that large exports can be written without holding all
+ * their lines in memory. The headings have to be known before the first line is written: they are taken from a
+ * {@link DSpaceCSV} the headings of all the items to write have been added to, see
+ * {@link DSpaceCSV#addHeadings(Item)}. The values of metadata fields which aren't in these headings aren't written.
+ */
+public class DSpaceCSVWriter implements Flushable {
+
+    /**
+     * The CSV holding the headings and separators of the file
+     */
+    private final DSpaceCSV csv;
+
+    private final List<String> headings;
+
+    private final Writer output;
+
+    /**
+     * Start writing a CSV file with the headings of the given CSV
+     *
+     * @param csv          the CSV holding the headings of the items to write
+     * @param outputStream the output stream to write to
+     * @throws IOException thrown if there is an error writing the headings
+     */
+    public DSpaceCSVWriter(DSpaceCSV csv, OutputStream outputStream) throws IOException {
+        this.csv = csv;
+        this.headings = csv.getSortedHeadings();
+        this.output = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        output.write(csv.toCSVHeadingLine(headings));
+        output.write("\n");
+    }
+
+    /**
+     * Write the line of a DSpace item
+     *
+     * @param item the DSpace item
+     * @throws Exception thrown if there is an error reading the item or writing its line
+     */
+    public void writeItem(Item item) throws Exception {
+        DSpaceCSVLine line = csv.toCSVLine(item);
+        if (line != null) {
+            output.write(line.toCSV(headings, csv.fieldSeparator, csv.valueSeparator));
+            output.write("\n");
+        }
+    }
+
+    /**
+     * Flush the lines written to the underlying output stream, which is left open
+     *
+     * @throws IOException thrown if there is an error writing the lines
+     */
+    @Override
+    public void flush() throws IOException {
+        output.flush();
+    }
+}
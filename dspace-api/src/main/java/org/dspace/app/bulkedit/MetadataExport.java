@@ -7,6 +7,11 @@
  */
 package org.dspace.app.bulkedit;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.sql.SQLException;
 import java.util.UUID;
 
@@ -61,10 +66,20 @@ public class MetadataExport extends DSpaceRunnable<MetadataExportScriptConfigura
         } catch (SQLException e) {
             handler.handleException(e);
         }
-        DSpaceCSV dSpaceCSV = metadataDSpaceCsvExportService
-            .handleExport(context, exportAllItems, exportAllMetadata, identifier,
-                          handler);
-        handler.writeFilestream(context, filename, dSpaceCSV.getInputStream(), EXPORT_CSV);
+        // Write the CSV to a temporary file item by item rather than building it in memory
+        File exportFile = File.createTempFile("metadata-export", ".csv");
+        try {
+            try (OutputStream outputStream = new FileOutputStream(exportFile)) {
+                metadataDSpaceCsvExportService
+                    .handleExport(context, exportAllItems, exportAllMetadata, identifier,
+                                  handler, outputStream);
+            }
+            try (InputStream inputStream = new FileInputStream(exportFile)) {
+                handler.writeFilestream(context, filename, inputStream, EXPORT_CSV);
+            }
+        } finally {
+            exportFile.delete();
+        }
         context.restoreAuthSystemState();
         context.complete();
     }
@@ -8,6 +8,11 @@
 
 package org.dspace.app.bulkedit;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Iterator;
@@ -36,6 +41,7 @@ import org.dspace.eperson.factory.EPersonServiceFactory;
 import org.dspace.eperson.service.EPersonService;
 import org.dspace.scripts.DSpaceRunnable;
 import org.dspace.sort.SortOption;
+import org.dspace.util.ThrowingSupplier;
 import org.dspace.utils.DSpace;
 
 /**
@@ -141,11 +147,27 @@ public class MetadataExportSearch extends DSpaceRunnable<MetadataExportSearchScr
             "Item", 10, Long.getLong("0"), null, SortOption.DESCENDING);
         handler.logDebug("creating iterator");
 
-        Iterator<Item> itemIterator = searchService.iteratorSearch(context, dso, discoverQuery);
-        handler.logDebug("creating dspacecsv");
-        DSpaceCSV dSpaceCSV = metadataDSpaceCsvExportService.export(context, itemIterator, true);
-        handler.logDebug("writing to file " + getFileNameOrExportFile());
-        handler.writeFilestream(context, getFileNameOrExportFile(), dSpaceCSV.getInputStream(), EXPORT_CSV);
+        // The search is run once to determine the columns of the CSV and once to write its lines, from the same
+        // start as the iterator pages through the results by moving the start of the query
+        IndexableObject scope = dso;
+        int start = discoverQuery.getStart();
+        ThrowingSupplier<Iterator<Item>, Exception> itemIterator = () -> {
+            discoverQuery.setStart(start);
+            return searchService.iteratorSearch(context, scope, discoverQuery);
+        };
+        handler.logDebug("writing dspacecsv");
+        File exportFile = File.createTempFile("metadata-export-search", ".csv");
+        try {
+            try (OutputStream outputStream = new FileOutputStream(exportFile)) {
+                metadataDSpaceCsvExportService.export(context, itemIterator, true, outputStream);
+            }
+            handler.logDebug("writing to file " + getFileNameOrExportFile());
+            try (InputStream inputStream = new FileInputStream(exportFile)) {
+                handler.writeFilestream(context, getFileNameOrExportFile(), inputStream, EXPORT_CSV);
+            }
+        } finally {
+            exportFile.delete();
+        }
         context.restoreAuthSystemState();
         context.complete();
 
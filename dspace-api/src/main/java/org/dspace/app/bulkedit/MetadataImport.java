@@ -20,6 +20,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import javax.annotation.Nullable;
 
 import org.apache.commons.cli.ParseException;
@@ -143,6 +145,19 @@ public class MetadataImport extends DSpaceRunnable<MetadataImportScriptConfigura
     private boolean help = false;
     protected boolean validateOnly;
 
+    /**
+     * A source of CSV lines to import
+     */
+    @FunctionalInterface
+    protected interface CSVLineSource {
+        /**
+         * @return the next line to import, or null when all the lines have been read
+         * @throws IOException if the line can't be read
+         * @throws MetadataImportInvalidHeadingException if the line has more columns than the headings
+         */
+        DSpaceCSVLine nextLine() throws IOException, MetadataImportInvalidHeadingException;
+    }
+
     /**
      * Logger
      */
@@ -171,6 +186,7 @@ public class MetadataImport extends DSpaceRunnable<MetadataImportScriptConfigura
      */
     public void initMetadataImport(DSpaceCSV toImport) {
         // Store the import settings
+        this.csv = toImport;
         this.toImport = toImport.getCSVLines();
     }
 
@@ -191,42 +207,25 @@ public class MetadataImport extends DSpaceRunnable<MetadataImportScriptConfigura
         if (authorityControlled == null) {
             setAuthorizedMetadataFields();
         }
-        // Read commandLines from the CSV file
-        try {
-
-            Optional<InputStream> optionalFileStream = handler.getFileStream(c, filename);
-            if (optionalFileStream.isPresent()) {
-                csv = new DSpaceCSV(optionalFileStream.get(), c);
-            } else {
-                throw new IllegalArgumentException("Error reading file, the file couldn't be found for filename: " +
-                                                       filename);
-            }
-        } catch (MetadataImportInvalidHeadingException miihe) {
-            throw miihe;
-        } catch (Exception e) {
-            throw new Exception("Error reading file: " + e.getMessage(), e);
-        }
-
-        // Perform the first import - just highlight differences
-        initMetadataImport(csv);
-        List<BulkEditChange> changes;
+        // The lines of the CSV file are streamed from the file on each pass rather than held in memory, and the
+        // changes are displayed as soon as they are computed rather than collected
 
         if (!commandLine.hasOption('s') || validateOnly) {
-            // See what has changed
-            try {
-                changes = runImport(c, false, useWorkflow, workflowNotify, useTemplate);
-            } catch (MetadataImportException mie) {
-                throw mie;
+            // Perform the first import - just highlight differences
+            AtomicInteger changeCounter = new AtomicInteger();
+            try (DSpaceCSVReader reader = openCSV(c)) {
+                runImport(c, false, useWorkflow, workflowNotify, useTemplate, reader::readLine, whatHasChanged -> {
+                    if (displayChange(whatHasChanged, false)) {
+                        changeCounter.incrementAndGet();
+                    }
+                });
             }
 
-            // Display the changes
-            int changeCounter = displayChanges(changes, false);
-
             // If there were changes, ask if we should execute them
-            if (!validateOnly && changeCounter > 0) {
+            if (!validateOnly && changeCounter.get() > 0) {
                 try {
                     // Ask the user if they want to make the changes
-                    handler.logInfo("\n" + changeCounter + " item(s) will be changed\n");
+                    handler.logInfo("\n" + changeCounter.get() + " item(s) will be changed\n");
                     change = determineChange(handler);
 
                 } catch (IOException ioe) {
@@ -237,20 +236,22 @@ public class MetadataImport extends DSpaceRunnable<MetadataImportScriptConfigura
             }
         } else {
             change = true;
+            // Read the whole file once before making any change, so that malformed lines are reported upfront
+            try (DSpaceCSVReader reader = openCSV(c)) {
+                while (reader.readLine() != null) {
+                    // Only parse the lines
+                }
+            }
         }
 
         try {
             // If required, make the change
             if (change && !validateOnly) {
-                try {
-                    // Make the changes
-                    changes = runImport(c, true, useWorkflow, workflowNotify, useTemplate);
-                } catch (MetadataImportException mie) {
-                    throw mie;
+                // Make the changes, displaying them as they are made
+                try (DSpaceCSVReader reader = openCSV(c)) {
+                    runImport(c, true, useWorkflow, workflowNotify, useTemplate, reader::readLine,
+                        whatHasChanged -> displayChange(whatHasChanged, true));
                 }
-
-                // Display the changes
-                displayChanges(changes, true);
             }
 
             // Finsh off and tidy up
@@ -264,6 +265,32 @@ public class MetadataImport extends DSpaceRunnable<MetadataImportScriptConfigura
 
     }
 
+    /**
+     * Open the CSV file to import, reading its headings
+     *
+     * @param c The relevant DSpace Context
+     * @return the reader of the lines of the CSV file
+     * @throws Exception if the file can't be found or read, or if its headings are invalid
+     */
+    protected DSpaceCSVReader openCSV(Context c) throws Exception {
+        DSpaceCSVReader reader;
+        try {
+            Optional<InputStream> optionalFileStream = handler.getFileStream(c, filename);
+            if (optionalFileStream.isPresent()) {
+                reader = new DSpaceCSVReader(optionalFileStream.get(), c);
+            } else {
+                throw new IllegalArgumentException("Error reading file, the file couldn't be found for filename: " +
+                                                       filename);
+            }
+        } catch (MetadataImportInvalidHeadingException miihe) {
+            throw miihe;
+        } catch (Exception e) {
+            throw new Exception("Error reading file: " + e.getMessage(), e);
+        }
+        csv = reader.getCSV();
+        return reader;
+    }
+
     protected void assignCurrentUserInContext(Context context) throws ParseException {
         UUID uuid = getEpersonIdentifier();
         if (uuid != null) {
@@ -352,13 +379,45 @@ public class MetadataImport extends DSpaceRunnable<MetadataImportScriptConfigura
         // Store the changes
         ArrayList<BulkEditChange> changes = new ArrayList<BulkEditChange>();
 
+        Iterator<DSpaceCSVLine> lines = toImport.iterator();
+        try {
+            runImport(c, change, useWorkflow, workflowNotify, useTemplate,
+                () -> lines.hasNext() ? lines.next() : null, changes::add);
+        } catch (MetadataImportInvalidHeadingException e) {
+            // The lines are already parsed
+            throw new IllegalStateException(e);
+        }
+
+        // Return the changes
+        return changes;
+    }
+
+    /**
+     * Run an import of the lines read from the given source. The import can either be read-only to detect changes,
+     * or can write changes as it goes. The changes are handed over as soon as they are detected or made, so that
+     * they don't have to be held in memory until the end of the import.
+     *
+     * @param change         Whether or not to write the changes to the database
+     * @param useWorkflow    Whether the workflows should be used when creating new items
+     * @param workflowNotify If the workflows should be used, whether to send notifications or not
+     * @param useTemplate    Use collection template if create new item
+     * @param lines          The source of the lines to import
+     * @param changeHandler  The handler of the changes, called for each changed item
+     * @throws MetadataImportException  if something goes wrong
+     * @throws MetadataImportInvalidHeadingException if a line has more columns than the headings
+     */
+    protected void runImport(Context c, boolean change, boolean useWorkflow, boolean workflowNotify,
+                            boolean useTemplate, CSVLineSource lines, Consumer<BulkEditChange> changeHandler)
+        throws MetadataImportException, MetadataImportInvalidHeadingException, SQLException, AuthorizeException,
+        WorkflowException, IOException {
         // Make the changes
         Context.Mode originalMode = c.getCurrentMode();
         c.setMode(Context.Mode.BATCH_EDIT);
 
         // Process each change
         rowCount = 1;
-        for (DSpaceCSVLine line : toImport) {
+        DSpaceCSVLine line;
+        while ((line = lines.nextLine()) != null) {
             // Resolve target references to other items
             populateRefAndRowMap(line, line.getID());
             line = resolveEntityRefs(c, line);
@@ -458,7 +517,7 @@ public class MetadataImport extends DSpaceRunnable<MetadataImportScriptConfigura
 
                 // Only record if changes have been made
                 if (whatHasChanged.hasChanges()) {
-                    changes.add(whatHasChanged);
+                    changeHandler.accept(whatHasChanged);
                 }
             } else {
                 // This is marked as a new item, so no need to compare
@@ -595,7 +654,7 @@ public class MetadataImport extends DSpaceRunnable<MetadataImportScriptConfigura
                 }
 
                 // Record the changes
-                changes.add(whatHasChanged);
+                changeHandler.accept(whatHasChanged);
             }
 
             if (change && (rowCount % configurationService.getIntProperty("bulkedit.change.commit.count", 100) == 0)) {
@@ -603,6 +662,10 @@ public class MetadataImport extends DSpaceRunnable<MetadataImportScriptConfigura
                 handler.logInfo(LogHelper.getHeader(c, "metadata_import_commit", "lineNumber=" + rowCount));
             }
             populateRefAndRowMap(line, item == null ? null : item.getID());
+            if (!change && item != null) {
+                // Nothing is committed when only detecting the changes, free the memory used by the compared item
+                c.uncacheEntity(item);
+            }
             // keep track of current rows processed
             rowCount++;
         }
@@ -613,11 +676,9 @@ public class MetadataImport extends DSpaceRunnable<MetadataImportScriptConfigura
         c.setMode(Context.Mode.READ_ONLY);
 
 
-        // Return the changes
         if (!change) {
             validateExpressedRelations(c);
         }
-        return changes;
     }
 
     /**
@@ -1204,159 +1265,156 @@ public class MetadataImport extends DSpaceRunnable<MetadataImportScriptConfigura
     }
 
     /**
-     * Display the changes that have been detected, or that have been made
+     * Display the changes that have been detected, or that have been made, for an item
      *
-     * @param changes The changes detected
+     * @param change  The changes detected
      * @param changed Whether or not the changes have been made
-     * @return The number of items that have changed
+     * @return whether the item has changed
      */
-    private int displayChanges(List<BulkEditChange> changes, boolean changed) {
-        // Display the changes
-        int changeCounter = 0;
-        for (BulkEditChange change : changes) {
-            // Get the changes
-            List<BulkEditMetadataValue> adds = change.getAdds();
-            List<BulkEditMetadataValue> removes = change.getRemoves();
-            List<Collection> newCollections = change.getNewMappedCollections();
-            List<Collection> oldCollections = change.getOldMappedCollections();
-            if ((adds.size() > 0) || (removes.size() > 0) ||
-                (newCollections.size() > 0) || (oldCollections.size() > 0) ||
-                (change.getNewOwningCollection() != null) || (change.getOldOwningCollection() != null) ||
-                (change.isDeleted()) || (change.isWithdrawn()) || (change.isReinstated())) {
-                // Show the item
-                Item i = change.getItem();
-                handler.logInfo("-----------------------------------------------------------");
-                if (!change.isNewItem()) {
-                    handler.logInfo("Changes for item: " + i.getID() + " (" + i.getHandle() + ")");
-                } else {
-                    handler.logInfo("New item: ");
-                    if (i != null) {
-                        if (i.getHandle() != null) {
-                            handler.logInfo(i.getID() + " (" + i.getHandle() + ")");
-                        } else {
-                            handler.logInfo(i.getID() + " (in workflow)");
-                        }
+    private boolean displayChange(BulkEditChange change, boolean changed) {
+        boolean hasChanged = false;
+        // Get the changes
+        List<BulkEditMetadataValue> adds = change.getAdds();
+        List<BulkEditMetadataValue> removes = change.getRemoves();
+        List<Collection> newCollections = change.getNewMappedCollections();
+        List<Collection> oldCollections = change.getOldMappedCollections();
+        if ((adds.size() > 0) || (removes.size() > 0) ||
+            (newCollections.size() > 0) || (oldCollections.size() > 0) ||
+            (change.getNewOwningCollection() != null) || (change.getOldOwningCollection() != null) ||
+            (change.isDeleted()) || (change.isWithdrawn()) || (change.isReinstated())) {
+            // Show the item
+            Item i = change.getItem();
+            handler.logInfo("-----------------------------------------------------------");
+            if (!change.isNewItem()) {
+                handler.logInfo("Changes for item: " + i.getID() + " (" + i.getHandle() + ")");
+            } else {
+                handler.logInfo("New item: ");
+                if (i != null) {
+                    if (i.getHandle() != null) {
+                        handler.logInfo(i.getID() + " (" + i.getHandle() + ")");
+                    } else {
+                        handler.logInfo(i.getID() + " (in workflow)");
                     }
                 }
-                changeCounter++;
             }
+            hasChanged = true;
+        }
 
-            // Show actions
-            if (change.isDeleted()) {
-                if (changed) {
-                    handler.logInfo(" - EXPUNGED!");
-                } else {
-                    handler.logInfo(" - EXPUNGE!");
-                }
-            }
-            if (change.isWithdrawn()) {
-                if (changed) {
-                    handler.logInfo(" - WITHDRAWN!");
-                } else {
-                    handler.logInfo(" - WITHDRAW!");
-                }
+        // Show actions
+        if (change.isDeleted()) {
+            if (changed) {
+                handler.logInfo(" - EXPUNGED!");
+            } else {
+                handler.logInfo(" - EXPUNGE!");
             }
-            if (change.isReinstated()) {
-                if (changed) {
-                    handler.logInfo(" - REINSTATED!");
-                } else {
-                    handler.logInfo(" - REINSTATE!");
-                }
+        }
+        if (change.isWithdrawn()) {
+            if (changed) {
+                handler.logInfo(" - WITHDRAWN!");
+            } else {
+                handler.logInfo(" - WITHDRAW!");
             }
-
-            if (change.getNewOwningCollection() != null) {
-                Collection c = change.getNewOwningCollection();
-                if (c != null) {
-                    String cHandle = c.getHandle();
-                    String cName = c.getName();
-                    if (!changed) {
-                        handler.logInfo(" + New owning collection (" + cHandle + "): ");
-                    } else {
-                        handler.logInfo(" + New owning collection  (" + cHandle + "): ");
-                    }
-                    handler.logInfo(cName);
-                }
-
-                c = change.getOldOwningCollection();
-                if (c != null) {
-                    String cHandle = c.getHandle();
-                    String cName = c.getName();
-                    if (!changed) {
-                        handler.logInfo(" + Old owning collection (" + cHandle + "): ");
-                    } else {
-                        handler.logInfo(" + Old owning collection  (" + cHandle + "): ");
-                    }
-                    handler.logInfo(cName);
-                }
+        }
+        if (change.isReinstated()) {
+            if (changed) {
+                handler.logInfo(" - REINSTATED!");
+            } else {
+                handler.logInfo(" - REINSTATE!");
             }
+        }
 
-            // Show new mapped collections
-            for (Collection c : newCollections) {
+        if (change.getNewOwningCollection() != null) {
+            Collection c = change.getNewOwningCollection();
+            if (c != null) {
                 String cHandle = c.getHandle();
                 String cName = c.getName();
                 if (!changed) {
-                    handler.logInfo(" + Map to collection (" + cHandle + "): ");
+                    handler.logInfo(" + New owning collection (" + cHandle + "): ");
                 } else {
-                    handler.logInfo(" + Mapped to collection  (" + cHandle + "): ");
+                    handler.logInfo(" + New owning collection  (" + cHandle + "): ");
                 }
                 handler.logInfo(cName);
             }
 
-            // Show old mapped collections
-            for (Collection c : oldCollections) {
+            c = change.getOldOwningCollection();
+            if (c != null) {
                 String cHandle = c.getHandle();
                 String cName = c.getName();
                 if (!changed) {
-                    handler.logInfo(" + Un-map from collection (" + cHandle + "): ");
+                    handler.logInfo(" + Old owning collection (" + cHandle + "): ");
                 } else {
-                    handler.logInfo(" + Un-mapped from collection  (" + cHandle + "): ");
+                    handler.logInfo(" + Old owning collection  (" + cHandle + "): ");
                 }
                 handler.logInfo(cName);
             }
+        }
+
+        // Show new mapped collections
+        for (Collection c : newCollections) {
+            String cHandle = c.getHandle();
+            String cName = c.getName();
+            if (!changed) {
+                handler.logInfo(" + Map to collection (" + cHandle + "): ");
+            } else {
+                handler.logInfo(" + Mapped to collection  (" + cHandle + "): ");
+            }
+            handler.logInfo(cName);
+        }
 
-            // Show additions
-            for (BulkEditMetadataValue metadataValue : adds) {
-                String md = metadataValue.getSchema() + "." + metadataValue.getElement();
-                if (metadataValue.getQualifier() != null) {
-                    md += "." + metadataValue.getQualifier();
-                }
-                if (metadataValue.getLanguage() != null) {
-                    md += "[" + metadataValue.getLanguage() + "]";
-                }
-                if (!changed) {
-                    handler.logInfo(" + Add    (" + md + "): ");
-                } else {
-                    handler.logInfo(" + Added   (" + md + "): ");
-                }
-                handler.logInfo(metadataValue.getValue());
-                if (isAuthorityControlledField(md)) {
-                    handler.logInfo(", authority = " + metadataValue.getAuthority());
-                    handler.logInfo(", confidence = " + metadataValue.getConfidence());
-                }
+        // Show old mapped collections
+        for (Collection c : oldCollections) {
+            String cHandle = c.getHandle();
+            String cName = c.getName();
+            if (!changed) {
+                handler.logInfo(" + Un-map from collection (" + cHandle + "): ");
+            } else {
+                handler.logInfo(" + Un-mapped from collection  (" + cHandle + "): ");
             }
+            handler.logInfo(cName);
+        }
 
-            // Show removals
-            for (BulkEditMetadataValue metadataValue : removes) {
-                String md = metadataValue.getSchema() + "." + metadataValue.getElement();
-                if (metadataValue.getQualifier() != null) {
-                    md += "." + metadataValue.getQualifier();
-                }
-                if (metadataValue.getLanguage() != null) {
-                    md += "[" + metadataValue.getLanguage() + "]";
-                }
-                if (!changed) {
-                    handler.logInfo(" - Remove (" + md + "): ");
-                } else {
-                    handler.logInfo(" - Removed (" + md + "): ");
-                }
-                handler.logInfo(metadataValue.getValue());
-                if (isAuthorityControlledField(md)) {
-                    handler.logInfo(", authority = " + metadataValue.getAuthority());
-                    handler.logInfo(", confidence = " + metadataValue.getConfidence());
-                }
+        // Show additions
+        for (BulkEditMetadataValue metadataValue : adds) {
+            String md = metadataValue.getSchema() + "." + metadataValue.getElement();
+            if (metadataValue.getQualifier() != null) {
+                md += "." + metadataValue.getQualifier();
+            }
+            if (metadataValue.getLanguage() != null) {
+                md += "[" + metadataValue.getLanguage() + "]";
+            }
+            if (!changed) {
+                handler.logInfo(" + Add    (" + md + "): ");
+            } else {
+                handler.logInfo(" + Added   (" + md + "): ");
+            }
+            handler.logInfo(metadataValue.getValue());
+            if (isAuthorityControlledField(md)) {
+                handler.logInfo(", authority = " + metadataValue.getAuthority());
+                handler.logInfo(", confidence = " + metadataValue.getConfidence());
+            }
+        }
+
+        // Show removals
+        for (BulkEditMetadataValue metadataValue : removes) {
+            String md = metadataValue.getSchema() + "." + metadataValue.getElement();
+            if (metadataValue.getQualifier() != null) {
+                md += "." + metadataValue.getQualifier();
+            }
+            if (metadataValue.getLanguage() != null) {
+                md += "[" + metadataValue.getLanguage() + "]";
+            }
+            if (!changed) {
+                handler.logInfo(" - Remove (" + md + "): ");
+            } else {
+                handler.logInfo(" - Removed (" + md + "): ");
+            }
+            handler.logInfo(metadataValue.getValue());
+            if (isAuthorityControlledField(md)) {
+                handler.logInfo(", authority = " + metadataValue.getAuthority());
+                handler.logInfo(", confidence = " + metadataValue.getConfidence());
             }
         }
-        return changeCounter;
+        return hasChanged;
     }
 
     /**
@@ -9,7 +9,6 @@ package org.dspace.app.mediafilter;
 
 import java.awt.image.BufferedImage;
 import java.io.InputStream;
-import javax.imageio.ImageIO;
 
 import org.dspace.content.Item;
 import org.dspace.services.ConfigurationService;
@@ -63,9 +62,6 @@ public class BrandedPreviewJPEGFilter extends MediaFilter {
     @Override
     public InputStream getDestinationStream(Item currentItem, InputStream source, boolean verbose)
         throws Exception {
-        // read in bitstream's image
-        BufferedImage buf = ImageIO.read(source);
-
         // get config params
         ConfigurationService configurationService
                 = DSpaceServicesFactory.getInstance().getConfigurationService();
@@ -82,6 +78,12 @@ public class BrandedPreviewJPEGFilter extends MediaFilter {
         int brandFontPoint = configurationService.getIntProperty("webui.preview.brand.fontpoint");
 
         JPEGFilter jpegFilter = new JPEGFilter();
+        // read in bitstream's image, subsampled to the preview size
+        BufferedImage buf = jpegFilter.readImage(source, xmax, ymax, verbose);
+        if (buf == null) {
+            // the image format isn't supported
+            return null;
+        }
         return jpegFilter
             .getThumbDim(currentItem, buf, verbose, xmax, ymax, blurring, hqscaling, brandHeight, brandFontPoint,
                          brandFont);
@@ -16,10 +16,16 @@ import java.awt.image.BufferedImage;
 import java.awt.image.BufferedImageOp;
 import java.awt.image.ConvolveOp;
 import java.awt.image.Kernel;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 
 import org.dspace.content.Item;
 import org.dspace.services.ConfigurationService;
@@ -29,10 +35,20 @@ import org.dspace.services.factory.DSpaceServicesFactory;
  * Filter image bitstreams, scaling the image to be within the bounds of
  * thumbnail.maxwidth, thumbnail.maxheight, the size we want our thumbnail to be
  * no bigger than. Creates only JPEGs.
+ * <p>
+ * The source image is read subsampled, at no more than twice the size of the thumbnail, and the
+ * thumbnail is written to a temporary file, so that the memory used doesn't depend on the resolution
+ * of the source image.
  *
  * @author Jason Sherman jsherman@usao.edu
  */
 public class JPEGFilter extends MediaFilter implements SelfRegisterInputFormats {
+    /**
+     * How many times larger than the thumbnail the subsampled source image may be, keeping enough
+     * pixels for the blurring and the high quality scaling.
+     */
+    protected static final int OVERSAMPLING = 2;
+
     @Override
     public String getFilteredName(String oldFilename) {
         return oldFilename + ".jpg";
@@ -72,12 +88,81 @@ public class JPEGFilter extends MediaFilter implements SelfRegisterInputFormats
     @Override
     public InputStream getDestinationStream(Item currentItem, InputStream source, boolean verbose)
         throws Exception {
-        // read in bitstream's image
-        BufferedImage buf = ImageIO.read(source);
+        final ConfigurationService configurationService
+                = DSpaceServicesFactory.getInstance().getConfigurationService();
+        // read in bitstream's image, subsampled to the thumbnail size
+        BufferedImage buf = readImage(source, configurationService.getIntProperty("thumbnail.maxwidth"),
+                                      configurationService.getIntProperty("thumbnail.maxheight"), verbose);
+        if (buf == null) {
+            // the image format isn't supported
+            return null;
+        }
 
         return getThumb(currentItem, buf, verbose);
     }
 
+    /**
+     * Reads an image, subsampling its pixels so that the image read is no more than
+     * {@link #OVERSAMPLING} times larger than the given bounds. Only the pixels kept are
+     * held in memory, whatever the resolution of the source image.
+     *
+     * @param source  source input stream
+     * @param xmax    maximum width of the thumbnail
+     * @param ymax    maximum height of the thumbnail
+     * @param verbose verbose mode
+     * @return the image read, or null if its format isn't supported
+     * @throws IOException if the image cannot be read
+     */
+    public BufferedImage readImage(InputStream source, float xmax, float ymax, boolean verbose)
+        throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source)) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                int period = getSubsamplingPeriod(width, height, xmax, ymax);
+
+                if (verbose) {
+                    System.out.println("source size: " + width + "," + height + ", subsampling period: " + period);
+                }
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                if (period > 1) {
+                    param.setSourceSubsampling(period, period, 0, 0);
+                }
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Computes the period of the source subsampling, keeping at least {@link #OVERSAMPLING}
+     * source pixels per thumbnail pixel.
+     *
+     * @param width  width of the source image
+     * @param height height of the source image
+     * @param xmax   maximum width of the thumbnail
+     * @param ymax   maximum height of the thumbnail
+     * @return the number of source pixels per pixel read, in each dimension
+     */
+    protected static int getSubsamplingPeriod(int width, int height, float xmax, float ymax) {
+        if (xmax <= 0 || ymax <= 0) {
+            return 1;
+        }
+        float reduction = Math.max(width / xmax, height / ymax);
+        return Math.max(1, (int) (reduction / OVERSAMPLING));
+    }
+
     public InputStream getThumb(Item currentItem, BufferedImage buf, boolean verbose)
         throws Exception {
         // get config params
@@ -182,18 +267,19 @@ public class JPEGFilter extends MediaFilter implements SelfRegisterInputFormats
             g2d.drawImage(brandImage, (int) 0, (int) ysize, (int) xsize, (int) 20, null);
         }
 
-        // now create an input stream for the thumbnail buffer and return it
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-
-        ImageIO.write(thumbnail, "jpeg", baos);
-
-        // now get the array
-        ByteArrayInputStream bais = new ByteArrayInputStream(baos.toByteArray());
+        g2d.dispose();
 
-        return bais; // hope this gets written out before its garbage collected!
+        // now write the thumbnail to a temporary file, deleted once its stream is closed
+        Path thumbnailFile = Files.createTempFile("dspacethumbnail", ".jpg");
+        try {
+            ImageIO.write(thumbnail, "jpeg", thumbnailFile.toFile());
+            return Files.newInputStream(thumbnailFile, StandardOpenOption.DELETE_ON_CLOSE);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(thumbnailFile);
+            throw e;
+        }
     }
 
-
     @Override
     public String[] getInputMIMETypes() {
         return ImageIO.getReaderMIMETypes();
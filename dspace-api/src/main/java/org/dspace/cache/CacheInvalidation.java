@@ -0,0 +1,134 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.cache;
+
+import java.util.Date;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+
+import org.dspace.core.ReloadableEntity;
+
+/**
+ * An eviction of cached data, sent by the node which changed the data to the other nodes of a cluster through the
+ * {@link CacheInvalidationBus}. Depending on its type, it evicts an entity (or all the entities of a class) from the
+ * Hibernate second level cache, a whole Hibernate cache region, or an entry (or all the entries) of a Spring cache.
+ * The invalidations are stored in the database when the {@link DatabaseCacheInvalidationBus} is used.
+ */
+@Entity
+@Table(name = "cache_invalidation")
+public class CacheInvalidation implements ReloadableEntity<Long> {
+
+    /**
+     * The types of cached data an invalidation applies to
+     */
+    public enum Type {
+        /**
+         * An entity of the Hibernate second level cache, the region is the name of the entity and the key its
+         * identifier, or null for all the entities of that name
+         */
+        ENTITY,
+        /**
+         * A whole region of the Hibernate second level cache, the region is its name
+         */
+        REGION,
+        /**
+         * A Spring cache, the region is the name of the cache and the key the key of the entry, or null for all
+         * the entries of the cache
+         */
+        CACHE
+    }
+
+    @Id
+    @Column(name = "invalidation_id")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cache_invalidation_id_seq")
+    @SequenceGenerator(name = "cache_invalidation_id_seq", sequenceName = "cache_invalidation_id_seq",
+                       allocationSize = 1)
+    private Long id;
+
+    @Column(name = "origin", nullable = false, length = 64)
+    private String origin;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "invalidation_type", nullable = false, length = 16)
+    private Type type;
+
+    @Column(name = "region", nullable = false, length = 256)
+    private String region;
+
+    @Column(name = "cache_key", length = 512)
+    private String key;
+
+    @Column(name = "created", nullable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date created;
+
+    protected CacheInvalidation() {
+    }
+
+    /**
+     * @param origin the identifier of the node the invalidation comes from
+     * @param type   the type of cached data to evict
+     * @param region the name of the entity, region or cache to evict from
+     * @param key    the identifier of the entity or the key of the entry to evict, null to evict them all
+     */
+    public CacheInvalidation(String origin, Type type, String region, String key) {
+        this.origin = origin;
+        this.type = type;
+        this.region = region;
+        this.key = key;
+        this.created = new Date();
+    }
+
+    @Override
+    public Long getID() {
+        return id;
+    }
+
+    /**
+     * @return the identifier of the node the invalidation comes from
+     */
+    public String getOrigin() {
+        return origin;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return the name of the entity, region or cache to evict from
+     */
+    public String getRegion() {
+        return region;
+    }
+
+    /**
+     * @return the identifier of the entity or the key of the entry to evict, null to evict them all
+     */
+    public String getKey() {
+        return key;
+    }
+
+    public Date getCreated() {
+        return created;
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + region + (key != null ? " " + key : "") + " from " + origin;
+    }
+}
@@ -0,0 +1,37 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.cache;
+
+import java.sql.SQLException;
+
+import org.dspace.core.Context;
+
+/**
+ * Channel carrying the {@link CacheInvalidation}s between the nodes (web applications and command line jobs) sharing
+ * a DSpace database, so that the data a node changed is evicted from the caches of the other nodes.
+ * The implementation is configured as the "cacheInvalidationBus" bean.
+ */
+public interface CacheInvalidationBus {
+
+    /**
+     * Send an invalidation to the listeners of all the nodes, including the listeners of this node
+     *
+     * @param context      the context in which the cached data was changed; implementations may only deliver the
+     *                     invalidation once this context is committed
+     * @param invalidation the invalidation to send
+     * @throws SQLException if database error
+     */
+    public void publish(Context context, CacheInvalidation invalidation) throws SQLException;
+
+    /**
+     * Register a listener of the invalidations sent by all the nodes
+     *
+     * @param listener the listener to register
+     */
+    public void addListener(CacheInvalidationListener listener);
+}
@@ -0,0 +1,77 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.cache;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.dspace.cache.service.CacheInvalidationService;
+import org.dspace.content.Collection;
+import org.dspace.content.Community;
+import org.dspace.content.Site;
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.core.factory.CoreServiceFactory;
+import org.dspace.eperson.EPerson;
+import org.dspace.eperson.Group;
+import org.dspace.event.Consumer;
+import org.dspace.event.Event;
+
+/**
+ * Event consumer evicting the changed objects of the types held in the Hibernate second level cache (site,
+ * communities, collections, groups and e-people) from the caches of the other nodes, through the
+ * {@link CacheInvalidationService}.
+ */
+public class CacheInvalidationEventConsumer implements Consumer {
+
+    private static final Map<Integer, Class<?>> CACHED_TYPES = Map.of(
+        Constants.SITE, Site.class,
+        Constants.COMMUNITY, Community.class,
+        Constants.COLLECTION, Collection.class,
+        Constants.GROUP, Group.class,
+        Constants.EPERSON, EPerson.class);
+
+    // Collects the changed objects by type, to evict each of them once.
+    private final Map<Class<?>, Set<UUID>> toEvict = new HashMap<>();
+
+    @Override
+    public void initialize() throws Exception {
+    }
+
+    @Override
+    public void consume(Context ctx, Event event) throws Exception {
+        Class<?> entityClass = CACHED_TYPES.get(event.getSubjectType());
+        if (entityClass != null && event.getSubjectID() != null) {
+            toEvict.computeIfAbsent(entityClass, type -> new HashSet<>()).add(event.getSubjectID());
+        }
+    }
+
+    @Override
+    public void end(Context ctx) throws Exception {
+        try {
+            CacheInvalidationService cacheInvalidationService =
+                CoreServiceFactory.getInstance().getCacheInvalidationService();
+            for (Map.Entry<Class<?>, Set<UUID>> entry : toEvict.entrySet()) {
+                for (UUID id : entry.getValue()) {
+                    cacheInvalidationService.evictEntity(ctx, entry.getKey(), id);
+                }
+            }
+        } finally {
+            toEvict.clear();
+        }
+    }
+
+    @Override
+    public void finish(Context ctx) throws Exception {
+
+    }
+
+}
@@ -0,0 +1,21 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.cache;
+
+/**
+ * Listener of the {@link CacheInvalidation}s delivered by a {@link CacheInvalidationBus}
+ */
+public interface CacheInvalidationListener {
+
+    /**
+     * Evict the cached data of the given invalidation
+     *
+     * @param invalidation the invalidation sent by a node
+     */
+    public void invalidate(CacheInvalidation invalidation);
+}
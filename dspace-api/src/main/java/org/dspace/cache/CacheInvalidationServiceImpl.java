@@ -0,0 +1,184 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.cache;
+
+import java.io.Serializable;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.cache.service.CacheInvalidationService;
+import org.dspace.core.Context;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Lazy;
+
+/**
+ * Service implementation for the {@link CacheInvalidation} object, evicting the cached data locally and publishing
+ * the invalidation on the {@link CacheInvalidationBus} for the other nodes. It listens to the bus to evict the data
+ * changed by the other nodes.
+ */
+public class CacheInvalidationServiceImpl implements CacheInvalidationService, CacheInvalidationListener,
+    InitializingBean {
+
+    private static final Logger log = LogManager.getLogger();
+
+    /**
+     * The identifier of this node in the invalidations it publishes
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    // Lazy, as this service is created at startup, before the database is updated and Hibernate is started
+    @Lazy
+    @Autowired(required = true)
+    @Qualifier("sessionFactory")
+    private SessionFactory sessionFactory;
+
+    @Autowired(required = true)
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired(required = false)
+    private CacheManager cacheManager;
+
+    /**
+     * The listeners of the invalidations published by the other nodes
+     */
+    private final List<CacheInvalidationListener> listeners = new CopyOnWriteArrayList<>();
+
+    protected CacheInvalidationServiceImpl() {
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        cacheInvalidationBus.addListener(this);
+    }
+
+    @Override
+    public void evictEntity(Context context, Class<?> entityClass, Serializable id) throws SQLException {
+        publish(context, new CacheInvalidation(nodeId, CacheInvalidation.Type.ENTITY, entityClass.getName(),
+                                               id.toString()));
+    }
+
+    @Override
+    public void evictEntities(Context context, Class<?> entityClass) throws SQLException {
+        publish(context, new CacheInvalidation(nodeId, CacheInvalidation.Type.ENTITY, entityClass.getName(), null));
+    }
+
+    @Override
+    public void evictRegion(Context context, String region) throws SQLException {
+        publish(context, new CacheInvalidation(nodeId, CacheInvalidation.Type.REGION, region, null));
+    }
+
+    @Override
+    public void evictCache(Context context, String cacheName, String key) throws SQLException {
+        publish(context, new CacheInvalidation(nodeId, CacheInvalidation.Type.CACHE, cacheName, key));
+    }
+
+    @Override
+    public void clearCache(Context context, String cacheName) throws SQLException {
+        publish(context, new CacheInvalidation(nodeId, CacheInvalidation.Type.CACHE, cacheName, null));
+    }
+
+    private void publish(Context context, CacheInvalidation invalidation) throws SQLException {
+        // Hibernate keeps its own second level cache up to date with the entities changed by this node
+        if (invalidation.getType() != CacheInvalidation.Type.ENTITY) {
+            evict(invalidation);
+        }
+        cacheInvalidationBus.publish(context, invalidation);
+    }
+
+    @Override
+    public void addListener(CacheInvalidationListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeListener(CacheInvalidationListener listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public void invalidate(CacheInvalidation invalidation) {
+        // the data of this node was evicted when the invalidation was published
+        if (!nodeId.equals(invalidation.getOrigin())) {
+            evict(invalidation);
+            for (CacheInvalidationListener listener : listeners) {
+                try {
+                    listener.invalidate(invalidation);
+                } catch (RuntimeException e) {
+                    log.error("Unable to apply the cache invalidation " + invalidation, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Evict the cached data of an invalidation from the caches of this node
+     *
+     * @param invalidation the invalidation
+     */
+    protected void evict(CacheInvalidation invalidation) {
+        try {
+            switch (invalidation.getType()) {
+                case ENTITY:
+                    if (invalidation.getKey() != null) {
+                        sessionFactory.getCache().evictEntityData(invalidation.getRegion(),
+                                                                  parseId(invalidation.getRegion(),
+                                                                          invalidation.getKey()));
+                    } else {
+                        sessionFactory.getCache().evictEntityData(invalidation.getRegion());
+                    }
+                    // the cached query results may refer to the entity
+                    sessionFactory.getCache().evictQueryRegions();
+                    break;
+                case REGION:
+                    sessionFactory.getCache().evictRegion(invalidation.getRegion());
+                    break;
+                case CACHE:
+                    Cache cache = cacheManager != null ? cacheManager.getCache(invalidation.getRegion()) : null;
+                    if (cache == null) {
+                        break;
+                    }
+                    if (invalidation.getKey() != null) {
+                        cache.evictIfPresent(invalidation.getKey());
+                    } else {
+                        cache.invalidate();
+                    }
+                    break;
+                default:
+                    log.warn("Unknown cache invalidation type: {}", invalidation.getType());
+            }
+        } catch (RuntimeException e) {
+            log.error("Unable to apply the cache invalidation " + invalidation, e);
+        }
+    }
+
+    /**
+     * Convert the identifier of an invalidated entity back to the type of the identifiers of its class
+     */
+    private Serializable parseId(String entityName, String id) {
+        Class<?> idClass = sessionFactory.unwrap(SessionFactoryImplementor.class).getMetamodel()
+                                         .entityPersister(entityName).getIdentifierType().getReturnedClass();
+        if (UUID.class.equals(idClass)) {
+            return UUID.fromString(id);
+        } else if (Integer.class.equals(idClass)) {
+            return Integer.valueOf(id);
+        } else if (Long.class.equals(idClass)) {
+            return Long.valueOf(id);
+        }
+        return id;
+    }
+}
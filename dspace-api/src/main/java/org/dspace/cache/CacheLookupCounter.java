@@ -0,0 +1,65 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Counter of the hits and misses of the lookups in a cache, logging the hit rate of the cache at regular intervals
+ */
+public class CacheLookupCounter {
+
+    private static final Logger log = LogManager.getLogger();
+
+    private final String name;
+
+    private final int logInterval;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @param name        the name of the cache in the logged hit rate
+     * @param logInterval the number of lookups after which the hit rate is logged
+     */
+    public CacheLookupCounter(String name, int logInterval) {
+        this.name = name;
+        this.logInterval = logInterval;
+    }
+
+    /**
+     * Count a lookup in the cache, and log the hit rate of the cache every {@code logInterval} lookups
+     *
+     * @param hit whether the value was found in the cache
+     */
+    public void count(boolean hit) {
+        long hitCount = hit ? hits.incrementAndGet() : hits.get();
+        long missCount = hit ? misses.get() : misses.incrementAndGet();
+        if ((hitCount + missCount) % logInterval == 0) {
+            log.info("Hit rate of the {}: {} hits, {} misses ({}%)", name, hitCount, missCount,
+                     hitCount * 100 / (hitCount + missCount));
+        }
+    }
+
+    /**
+     * @return the number of lookups which found the value in the cache
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return the number of lookups which didn't find the value in the cache
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+}
@@ -0,0 +1,189 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.cache;
+
+import java.sql.SQLException;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.cache.dao.CacheInvalidationDAO;
+import org.dspace.core.Context;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * {@link CacheInvalidationBus} storing the invalidations in the cache_invalidation table, in the transaction of the
+ * context which publishes them. Each node polls the table for the invalidations committed since its last poll and
+ * delivers them to its listeners, so an invalidation only reaches the other nodes once the change it comes from is
+ * committed. The invalidations older than the configured retention are deleted by the nodes as they poll.
+ * <p>
+ * As the identifiers of the invalidations are allocated before their transactions commit, an invalidation may be
+ * committed after invalidations with greater identifiers. The identifiers skipped by a poll are therefore looked for
+ * again by the following polls, until they are found or their transaction can be assumed to have been rolled back.
+ * <p>
+ * Configuration:
+ * <ul>
+ *     <li>cache.invalidation.poll-interval: the delay in milliseconds between two polls (default 2000)</li>
+ *     <li>cache.invalidation.missing-timeout: the time in seconds skipped identifiers are looked for (default
+ *     300)</li>
+ *     <li>cache.invalidation.retention: the time in seconds invalidations are kept in the table (default 3600)</li>
+ * </ul>
+ */
+public class DatabaseCacheInvalidationBus implements CacheInvalidationBus {
+
+    private static final Logger log = LogManager.getLogger();
+
+    /**
+     * The maximum number of invalidations delivered by a poll
+     */
+    private static final int POLL_BATCH_SIZE = 1000;
+
+    /**
+     * The maximum number of skipped identifiers looked for again, a larger gap is a jump of the sequence
+     */
+    private static final int MAX_MISSING_IDS = 1000;
+
+    @Autowired(required = true)
+    private CacheInvalidationDAO cacheInvalidationDAO;
+
+    @Autowired(required = true)
+    private ConfigurationService configurationService;
+
+    private final List<CacheInvalidationListener> listeners = new CopyOnWriteArrayList<>();
+
+    private ScheduledExecutorService poller;
+
+    /**
+     * The identifier of the last invalidation delivered, null until the first poll
+     */
+    private Long lastId;
+
+    /**
+     * The identifiers skipped by the previous polls, with the time they were first skipped
+     */
+    private final Map<Long, Long> missingIds = new LinkedHashMap<>();
+
+    private long lastPurge = 0;
+
+    /**
+     * Start polling the invalidations of the other nodes
+     */
+    public void init() {
+        long interval = configurationService.getLongProperty("cache.invalidation.poll-interval", 2000);
+        poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-invalidation-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(this::poll, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop polling the invalidations of the other nodes
+     */
+    public void destroy() {
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+    }
+
+    @Override
+    public void publish(Context context, CacheInvalidation invalidation) throws SQLException {
+        cacheInvalidationDAO.create(context, invalidation);
+    }
+
+    @Override
+    public void addListener(CacheInvalidationListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Deliver the invalidations committed since the last poll to the listeners, and delete the expired ones
+     */
+    protected synchronized void poll() {
+        Context context = new Context(Context.Mode.READ_ONLY);
+        try {
+            if (lastId == null) {
+                // only the invalidations published from now on are of interest
+                Long maxId = cacheInvalidationDAO.findMaxId(context);
+                lastId = maxId != null ? maxId : 0L;
+            } else {
+                deliverInvalidations(context);
+            }
+        } catch (Exception e) {
+            log.error("Unable to read the cache invalidations of the other nodes", e);
+        } finally {
+            context.abort();
+        }
+
+        long retention = TimeUnit.SECONDS.toMillis(
+            configurationService.getLongProperty("cache.invalidation.retention", 3600));
+        if (System.currentTimeMillis() - lastPurge >= retention / 10) {
+            purge(retention);
+        }
+    }
+
+    private void deliverInvalidations(Context context) throws SQLException {
+        long now = System.currentTimeMillis();
+        long missingTimeout = TimeUnit.SECONDS.toMillis(
+            configurationService.getLongProperty("cache.invalidation.missing-timeout", 300));
+        missingIds.values().removeIf(skipped -> now - skipped > missingTimeout);
+
+        List<CacheInvalidation> invalidations =
+            cacheInvalidationDAO.findAfter(context, lastId, missingIds.keySet(), POLL_BATCH_SIZE);
+        for (CacheInvalidation invalidation : invalidations) {
+            long id = invalidation.getID();
+            if (id > lastId) {
+                if (id - lastId <= MAX_MISSING_IDS) {
+                    for (long skipped = lastId + 1; skipped < id; skipped++) {
+                        missingIds.put(skipped, now);
+                    }
+                }
+                lastId = id;
+            } else {
+                missingIds.remove(id);
+            }
+            log.debug("Delivering cache invalidation {}", invalidation);
+            for (CacheInvalidationListener listener : listeners) {
+                listener.invalidate(invalidation);
+            }
+        }
+        // forget the oldest skipped identifiers, if too many of them are looked for
+        Iterator<Long> iterator = missingIds.keySet().iterator();
+        while (missingIds.size() > MAX_MISSING_IDS && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private void purge(long retention) {
+        Context context = new Context();
+        try {
+            int deleted = cacheInvalidationDAO.deleteCreatedBefore(context,
+                                                                   new Date(System.currentTimeMillis() - retention));
+            context.complete();
+            lastPurge = System.currentTimeMillis();
+            log.debug("Deleted {} expired cache invalidations", deleted);
+        } catch (Exception e) {
+            log.error("Unable to delete the expired cache invalidations", e);
+        } finally {
+            if (context.isValid()) {
+                context.abort();
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.dspace.core.Context;
+
+/**
+ * {@link CacheInvalidationBus} delivering the invalidations to the listeners of this JVM only, as soon as they are
+ * published. This is enough when a single node uses the database, or when the caches of the other nodes can be
+ * stale until their entries expire.
+ */
+public class InMemoryCacheInvalidationBus implements CacheInvalidationBus {
+
+    private final List<CacheInvalidationListener> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(Context context, CacheInvalidation invalidation) {
+        for (CacheInvalidationListener listener : listeners) {
+            listener.invalidate(invalidation);
+        }
+    }
+
+    @Override
+    public void addListener(CacheInvalidationListener listener) {
+        listeners.add(listener);
+    }
+}
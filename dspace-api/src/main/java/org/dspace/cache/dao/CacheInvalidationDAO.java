@@ -0,0 +1,57 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.cache.dao;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import org.dspace.cache.CacheInvalidation;
+import org.dspace.core.Context;
+import org.dspace.core.GenericDAO;
+
+/**
+ * Database Access Object interface class for the {@link CacheInvalidation} object.
+ * The implementation of this class is responsible for all database calls for the CacheInvalidation object and is
+ * autowired by spring. This class should only be accessed from a single service and should never be exposed
+ * outside of the API
+ */
+public interface CacheInvalidationDAO extends GenericDAO<CacheInvalidation> {
+
+    /**
+     * @param context the DSpace context
+     * @return the identifier of the last stored invalidation, null if there are none
+     * @throws SQLException if database error
+     */
+    public Long findMaxId(Context context) throws SQLException;
+
+    /**
+     * Find the invalidations stored after the given one, and the given invalidations which may have been committed
+     * since they were last looked for
+     *
+     * @param context    the DSpace context
+     * @param lastId     the identifier of the last invalidation already found
+     * @param missingIds the identifiers lower than lastId of invalidations not found yet
+     * @param limit      the maximum number of invalidations to return
+     * @return the invalidations, ordered by identifier
+     * @throws SQLException if database error
+     */
+    public List<CacheInvalidation> findAfter(Context context, long lastId, Collection<Long> missingIds, int limit)
+        throws SQLException;
+
+    /**
+     * Delete the invalidations created before the given date
+     *
+     * @param context the DSpace context
+     * @param date    the date before which the invalidations are deleted
+     * @return the number of deleted invalidations
+     * @throws SQLException if database error
+     */
+    public int deleteCreatedBefore(Context context, Date date) throws SQLException;
+}
@@ -0,0 +1,60 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.cache.dao.impl;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import javax.persistence.Query;
+
+import org.dspace.cache.CacheInvalidation;
+import org.dspace.cache.dao.CacheInvalidationDAO;
+import org.dspace.core.AbstractHibernateDAO;
+import org.dspace.core.Context;
+
+/**
+ * Hibernate implementation of the Database Access Object interface class for the CacheInvalidation object.
+ * This class is responsible for all database calls for the CacheInvalidation object and is autowired by spring
+ * This class should never be accessed directly.
+ */
+public class CacheInvalidationDAOImpl extends AbstractHibernateDAO<CacheInvalidation>
+    implements CacheInvalidationDAO {
+
+    protected CacheInvalidationDAOImpl() {
+        super();
+    }
+
+    @Override
+    public Long findMaxId(Context context) throws SQLException {
+        Query query = createQuery(context, "SELECT max(i.id) FROM CacheInvalidation i");
+        return (Long) query.getSingleResult();
+    }
+
+    @Override
+    public List<CacheInvalidation> findAfter(Context context, long lastId, Collection<Long> missingIds, int limit)
+        throws SQLException {
+        Query query;
+        if (missingIds.isEmpty()) {
+            query = createQuery(context, "FROM CacheInvalidation i WHERE i.id > :lastId ORDER BY i.id");
+        } else {
+            query = createQuery(context,
+                                "FROM CacheInvalidation i WHERE i.id > :lastId OR i.id IN (:missingIds) ORDER BY i.id");
+            query.setParameter("missingIds", missingIds);
+        }
+        query.setParameter("lastId", lastId);
+        return list(query, limit, 0);
+    }
+
+    @Override
+    public int deleteCreatedBefore(Context context, Date date) throws SQLException {
+        Query query = createQuery(context, "DELETE FROM CacheInvalidation i WHERE i.created < :date");
+        query.setParameter("date", date);
+        return query.executeUpdate();
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.cache.service;
+
+import java.io.Serializable;
+import java.sql.SQLException;
+
+import org.dspace.cache.CacheInvalidationListener;
+import org.dspace.core.Context;
+
+/**
+ * Service evicting cached data from the caches of this node and, through the configured
+ * {@link org.dspace.cache.CacheInvalidationBus}, from the caches of the other nodes sharing the database.
+ * It should be called whenever data which may be cached (in the Hibernate second level cache or in a Spring cache)
+ * is changed.
+ */
+public interface CacheInvalidationService {
+
+    /**
+     * Evict an entity from the Hibernate second level cache of the other nodes, along with their cached query
+     * results. Hibernate keeps the cache of this node up to date by itself.
+     *
+     * @param context     the context in which the entity was changed
+     * @param entityClass the class of the entity
+     * @param id          the identifier of the entity
+     * @throws SQLException if database error
+     */
+    public void evictEntity(Context context, Class<?> entityClass, Serializable id) throws SQLException;
+
+    /**
+     * Evict all the entities of a class from the Hibernate second level cache of the other nodes, along with their
+     * cached query results. Hibernate keeps the cache of this node up to date by itself.
+     *
+     * @param context     the context in which the entities were changed
+     * @param entityClass the class of the entities
+     * @throws SQLException if database error
+     */
+    public void evictEntities(Context context, Class<?> entityClass) throws SQLException;
+
+    /**
+     * Evict a whole region of the Hibernate second level cache of all the nodes
+     *
+     * @param context the context in which the cached data was changed
+     * @param region  the name of the region
+     * @throws SQLException if database error
+     */
+    public void evictRegion(Context context, String region) throws SQLException;
+
+    /**
+     * Evict an entry from a Spring cache of all the nodes
+     *
+     * @param context   the context in which the cached data was changed
+     * @param cacheName the name of the cache
+     * @param key       the key of the entry
+     * @throws SQLException if database error
+     */
+    public void evictCache(Context context, String cacheName, String key) throws SQLException;
+
+    /**
+     * Evict all the entries of a Spring cache of all the nodes
+     *
+     * @param context   the context in which the cached data was changed
+     * @param cacheName the name of the cache
+     * @throws SQLException if database error
+     */
+    public void clearCache(Context context, String cacheName) throws SQLException;
+
+    /**
+     * Register a listener of the invalidations published by the other nodes, to evict the cached data this service
+     * doesn't know about (e.g. data stored on disk)
+     *
+     * @param listener the listener to register
+     */
+    public void addListener(CacheInvalidationListener listener);
+
+    /**
+     * Unregister a listener registered by {@link #addListener(CacheInvalidationListener)}
+     *
+     * @param listener the listener to unregister
+     */
+    public void removeListener(CacheInvalidationListener listener);
+}
@@ -82,6 +82,12 @@ public abstract class DSpaceObject implements Serializable, ReloadableEntity<jav
     @Transient
     private boolean modified = false;
 
+    /**
+     * Index of the metadata values by metadata field, built on demand
+     */
+    @Transient
+    private MetadataIndex metadataIndex;
+
     /**
      * This will read our predefinedUUID property to pass it along to the UUID generator
      */
@@ -176,6 +182,7 @@ public abstract class DSpaceObject implements Serializable, ReloadableEntity<jav
 
     public void setMetadata(List<MetadataValue> metadata) {
         this.metadata = metadata;
+        metadataIndex = null;
     }
 
     protected void removeMetadata(MetadataValue metadataValue) {
@@ -195,6 +202,20 @@ public abstract class DSpaceObject implements Serializable, ReloadableEntity<jav
         addDetails(metadataValue.getMetadataField().toString());
     }
 
+    /**
+     * Get the index of the metadata values of this object by metadata field, (re)building it if the metadata values
+     * changed since it was built.
+     *
+     * @return the index of the metadata values
+     */
+    protected MetadataIndex getMetadataIndex() {
+        List<MetadataValue> metadataValues = getMetadata();
+        if (metadataIndex == null || !metadataIndex.isIndexOf(metadataValues)) {
+            metadataIndex = new MetadataIndex(metadataValues);
+        }
+        return metadataIndex;
+    }
+
     public List<ResourcePolicy> getResourcePolicies() {
         return resourcePolicies;
     }
@@ -205,6 +226,7 @@ public abstract class DSpaceObject implements Serializable, ReloadableEntity<jav
 
     protected void setMetadataModified() {
         this.modifiedMetadata = true;
+        metadataIndex = null;
     }
 
     public boolean isModified() {
@@ -119,12 +119,8 @@ public abstract class DSpaceObjectServiceImpl<T extends DSpaceObject> implements
     @Override
     public List<MetadataValue> getMetadata(T dso, String schema, String element, String qualifier, String lang) {
         // Build up list of matching values
-        List<MetadataValue> values = new ArrayList<>();
-        for (MetadataValue dcv : dso.getMetadata()) {
-            if (match(schema, element, qualifier, lang, dcv)) {
-                values.add(dcv);
-            }
-        }
+        List<MetadataValue> values = getMetadata(dso.getMetadataIndex(), dso.getMetadata(), schema, element,
+                                                 qualifier, lang);
 
         // Sort the metadataValues if they have been modified,
         // is used to preserve the default order.
@@ -460,6 +456,32 @@ public abstract class DSpaceObjectServiceImpl<T extends DSpaceObject> implements
         }
     }
 
+    /**
+     * Get the matching metadata values from the given index of the given metadata values, going through all the
+     * values when they can't be looked up from the index.
+     *
+     * @param metadataIndex  the index of the metadata values
+     * @param metadataValues the metadata values
+     * @param schema         the schema for the metadata field, or <code>Item.ANY</code>
+     * @param element        the element to match, or <code>Item.ANY</code>
+     * @param qualifier      the qualifier to match, or <code>Item.ANY</code>
+     * @param lang           the language to match, or <code>Item.ANY</code>
+     * @return a new list of the matching values, in the order of the given metadata values
+     */
+    protected List<MetadataValue> getMetadata(MetadataIndex metadataIndex, List<MetadataValue> metadataValues,
+                                              String schema, String element, String qualifier, String lang) {
+        if (metadataIndex.isIndexed()) {
+            return metadataIndex.getMetadata(schema, element, qualifier, lang);
+        }
+        List<MetadataValue> values = new ArrayList<>();
+        for (MetadataValue dcv : metadataValues) {
+            if (match(schema, element, qualifier, lang, dcv)) {
+                values.add(dcv);
+            }
+        }
+        return values;
+    }
+
     /**
      * Utility method for pattern-matching metadata elements.  This
      * method will return <code>true</code> if the given schema,
@@ -115,6 +115,9 @@ public class Item extends DSpaceObject implements DSpaceObjectLegacySupport {
     @Transient
     private List<MetadataValue> cachedMetadata = new ArrayList<>();
 
+    @Transient
+    private MetadataIndex cachedMetadataIndex;
+
     /**
      * Protected constructor, create object using:
      * {@link org.dspace.content.service.ItemService#create(Context, WorkspaceItem)}
@@ -388,6 +391,7 @@ public class Item extends DSpaceObject implements DSpaceObjectLegacySupport {
     protected void setMetadataModified() {
         super.setMetadataModified();
         modifiedMetadataCache = true;
+        cachedMetadataIndex = null;
     }
 
     public boolean isModifiedMetadataCache() {
@@ -401,5 +405,19 @@ public class Item extends DSpaceObject implements DSpaceObjectLegacySupport {
     protected void setCachedMetadata(List<MetadataValue> cachedMetadata) {
         this.cachedMetadata = cachedMetadata;
         modifiedMetadataCache = false;
+        cachedMetadataIndex = null;
+    }
+
+    /**
+     * Get the index of the cached metadata values (including the virtual ones) by metadata field, building it on
+     * first use.
+     *
+     * @return the index of the cached metadata values
+     */
+    protected MetadataIndex getCachedMetadataIndex() {
+        if (cachedMetadataIndex == null || !cachedMetadataIndex.isIndexOf(cachedMetadata)) {
+            cachedMetadataIndex = new MetadataIndex(cachedMetadata);
+        }
+        return cachedMetadataIndex;
     }
 }
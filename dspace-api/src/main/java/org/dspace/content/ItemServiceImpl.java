@@ -23,6 +23,7 @@ import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import com.google.common.collect.Iterators;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.Logger;
@@ -37,6 +38,9 @@ import org.dspace.authorize.service.ResourcePolicyService;
 import org.dspace.content.authority.Choices;
 import org.dspace.content.dao.ItemDAO;
 import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.logic.LogicalPredicate;
+import org.dspace.content.logic.LogicalQuery;
+import org.dspace.content.logic.LogicalStatement;
 import org.dspace.content.service.BitstreamFormatService;
 import org.dspace.content.service.BitstreamService;
 import org.dspace.content.service.BundleService;
@@ -291,11 +295,29 @@ public class ItemServiceImpl extends DSpaceObjectServiceImpl<Item> implements It
         return itemDAO.findAll(context, true, true);
     }
 
+    @Override
+    public Iterator<Item> findAllUnfiltered(Context context, UUID after, int limit) throws SQLException {
+        return itemDAO.findAll(context, true, true, after, limit);
+    }
+
     @Override
     public Iterator<Item> findAllRegularItems(Context context) throws SQLException {
         return itemDAO.findAllRegularItems(context);
     }
 
+    @Override
+    public Iterator<Item> findByFilter(Context context, LogicalStatement filter, List<UUID> itemIds)
+        throws SQLException {
+        LogicalQuery query = new LogicalQuery();
+        LogicalPredicate predicate = filter.getPredicate(context, query);
+        Iterator<Item> items = itemDAO.findByPredicate(context, predicate.getPredicate(), query.getParameters(),
+                                                       itemIds);
+        if (predicate.isExact()) {
+            return items;
+        }
+        return Iterators.filter(items, item -> filter.getResult(context, item));
+    }
+
     @Override
     public Iterator<Item> findBySubmitter(Context context, EPerson eperson) throws SQLException {
         return itemDAO.findBySubmitter(context, eperson);
@@ -332,6 +354,12 @@ public class ItemServiceImpl extends DSpaceObjectServiceImpl<Item> implements It
         return itemDAO.findArchivedByCollection(context, collection, limit, offset);
     }
 
+    @Override
+    public Iterator<Item> findByCollection(Context context, Collection collection, UUID after, int limit)
+        throws SQLException {
+        return itemDAO.findArchivedByCollection(context, collection, after, limit);
+    }
+
     @Override
     public Iterator<Item> findByCollectionMapping(Context context, Collection collection, Integer limit, Integer offset)
         throws SQLException {
@@ -1388,6 +1416,16 @@ prevent the generation of resource policy entry values with null dspace_object a
                                  limit);
     }
 
+    @Override
+    public Iterator<Item> findByMetadataQuery(Context context, List<List<MetadataField>> listFieldList,
+                                              List<String> query_op, List<String> query_val, List<UUID> collectionUuids,
+                                              String regexClause, UUID after, int limit)
+        throws SQLException, AuthorizeException, IOException {
+        return itemDAO
+            .findByMetadataQuery(context, listFieldList, query_op, query_val, collectionUuids, regexClause, after,
+                                 limit);
+    }
+
     @Override
     public DSpaceObject getAdminObject(Context context, Item item, int action) throws SQLException {
         DSpaceObject adminObject = null;
@@ -1664,15 +1702,8 @@ prevent the generation of resource policy entry values with null dspace_object a
 
         log.debug("Called getMetadata for " + item.getID() + " based on cache");
         // Build up list of matching values based on the cache
-        List<MetadataValue> values = new ArrayList<>();
-        for (MetadataValue dcv : item.getCachedMetadata()) {
-            if (match(schema, element, qualifier, lang, dcv)) {
-                values.add(dcv);
-            }
-        }
-
-        // Create an array of matching values
-        return values;
+        return getMetadata(item.getCachedMetadataIndex(), item.getCachedMetadata(), schema, element, qualifier,
+                           lang);
     }
 
     /**
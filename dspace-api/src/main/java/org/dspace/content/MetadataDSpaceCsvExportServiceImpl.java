@@ -7,22 +7,28 @@
  */
 package org.dspace.content;
 
+import java.io.OutputStream;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
+import com.google.common.collect.AbstractIterator;
 import org.dspace.app.bulkedit.DSpaceCSV;
+import org.dspace.app.bulkedit.DSpaceCSVWriter;
 import org.dspace.app.util.service.DSpaceObjectUtils;
 import org.dspace.content.service.ItemService;
 import org.dspace.content.service.MetadataDSpaceCsvExportService;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
+import org.dspace.core.FetchPlan;
 import org.dspace.handle.factory.HandleServiceFactory;
 import org.dspace.scripts.handler.DSpaceRunnableHandler;
+import org.dspace.util.ThrowingSupplier;
 import org.springframework.beans.factory.annotation.Autowired;
 
 /**
@@ -30,6 +36,11 @@ import org.springframework.beans.factory.annotation.Autowired;
  */
 public class MetadataDSpaceCsvExportServiceImpl implements MetadataDSpaceCsvExportService {
 
+    /**
+     * The number of items whose associations are loaded at once
+     */
+    private static final int EXPORT_BATCH_SIZE = 100;
+
     @Autowired
     private ItemService itemService;
 
@@ -39,45 +50,69 @@ public class MetadataDSpaceCsvExportServiceImpl implements MetadataDSpaceCsvExpo
     @Override
     public DSpaceCSV handleExport(Context context, boolean exportAllItems, boolean exportAllMetadata, String identifier,
                                   DSpaceRunnableHandler handler) throws Exception {
-        Iterator<Item> toExport = null;
+        ThrowingSupplier<Iterator<Item>, Exception> toExport = findItemsToExport(context, exportAllItems, identifier,
+                                                                                 handler);
+        DSpaceCSV csv = this.export(context, toExport.get(), exportAllMetadata);
+        return csv;
+    }
 
+    @Override
+    public void handleExport(Context context, boolean exportAllItems, boolean exportAllMetadata, String identifier,
+                             DSpaceRunnableHandler handler, OutputStream outputStream) throws Exception {
+        ThrowingSupplier<Iterator<Item>, Exception> toExport = findItemsToExport(context, exportAllItems, identifier,
+                                                                                 handler);
+        this.export(context, toExport, exportAllMetadata, outputStream);
+    }
+
+    /**
+     * Resolve the items to export: all the items in the repository, or the items of the Community, Collection or
+     * Item with the given identifier
+     *
+     * @param context        DSpace context
+     * @param exportAllItems whether the entire repository should be exported
+     * @param identifier     the handle or UUID of the DSpaceObject to export
+     * @param handler        the handler to log to
+     * @return the supplier of the iterators of the items to export
+     * @throws SQLException if database error
+     */
+    private ThrowingSupplier<Iterator<Item>, Exception> findItemsToExport(Context context, boolean exportAllItems,
+                                                                          String identifier,
+                                                                          DSpaceRunnableHandler handler)
+        throws SQLException {
         if (exportAllItems) {
             handler.logInfo("Exporting whole repository WARNING: May take some time!");
-            toExport = itemService.findAll(context);
-        } else {
-            DSpaceObject dso = HandleServiceFactory.getInstance().getHandleService()
-                .resolveToObject(context, identifier);
-            if (dso == null) {
-                dso = dSpaceObjectUtils.findDSpaceObject(context, UUID.fromString(identifier));
-            }
-            if (dso == null) {
-                throw new IllegalArgumentException(
-                    "DSO '" + identifier + "' does not resolve to a DSpace Object in your repository!");
-            }
+            return () -> itemService.findAll(context);
+        }
 
-            if (dso.getType() == Constants.ITEM) {
-                handler.logInfo("Exporting item '" + dso.getName() + "' (" + identifier + ")");
-                List<Item> item = new ArrayList<>();
-                item.add((Item) dso);
-                toExport = item.iterator();
-            } else if (dso.getType() == Constants.COLLECTION) {
-                handler.logInfo("Exporting collection '" + dso.getName() + "' (" + identifier + ")");
-                Collection collection = (Collection) dso;
-                toExport = itemService.findByCollection(context, collection);
-            } else if (dso.getType() == Constants.COMMUNITY) {
-                handler.logInfo("Exporting community '" + dso.getName() + "' (" + identifier + ")");
-                toExport = buildFromCommunity(context, (Community) dso);
-            } else {
-                throw new IllegalArgumentException(
-                    String.format("DSO with id '%s' (type: %s) can't be exported. Supported types: %s", identifier,
-                        Constants.typeText[dso.getType()], "Item | Collection | Community"));
-            }
+        DSpaceObject dso = HandleServiceFactory.getInstance().getHandleService()
+            .resolveToObject(context, identifier);
+        if (dso == null) {
+            dso = dSpaceObjectUtils.findDSpaceObject(context, UUID.fromString(identifier));
+        }
+        if (dso == null) {
+            throw new IllegalArgumentException(
+                "DSO '" + identifier + "' does not resolve to a DSpace Object in your repository!");
         }
 
-        DSpaceCSV csv = this.export(context, toExport, exportAllMetadata);
-        return csv;
+        if (dso.getType() == Constants.ITEM) {
+            handler.logInfo("Exporting item '" + dso.getName() + "' (" + identifier + ")");
+            Item item = (Item) dso;
+            // the item is uncached once exported, reload it for each iteration
+            return () -> Collections.singletonList(context.reloadEntity(item)).iterator();
+        } else if (dso.getType() == Constants.COLLECTION) {
+            handler.logInfo("Exporting collection '" + dso.getName() + "' (" + identifier + ")");
+            Collection collection = (Collection) dso;
+            return () -> itemService.findByCollection(context, collection);
+        } else if (dso.getType() == Constants.COMMUNITY) {
+            handler.logInfo("Exporting community '" + dso.getName() + "' (" + identifier + ")");
+            Community community = (Community) dso;
+            return () -> buildFromCommunity(context, community);
+        } else {
+            throw new IllegalArgumentException(
+                String.format("DSO with id '%s' (type: %s) can't be exported. Supported types: %s", identifier,
+                    Constants.typeText[dso.getType()], "Item | Collection | Community"));
+        }
     }
-
     @Override
     public DSpaceCSV export(Context context, Iterator<Item> toExport, boolean exportAll) throws Exception {
         Context.Mode originalMode = context.getCurrentMode();
@@ -85,8 +120,9 @@ public class MetadataDSpaceCsvExportServiceImpl implements MetadataDSpaceCsvExpo
 
         // Process each item
         DSpaceCSV csv = new DSpaceCSV(exportAll);
-        while (toExport.hasNext()) {
-            Item item = toExport.next();
+        Iterator<Item> items = context.applyFetchPlan(FetchPlan.EXPORT, toExport, EXPORT_BATCH_SIZE);
+        while (items.hasNext()) {
+            Item item = items.next();
             csv.addItem(item);
             context.uncacheEntity(item);
         }
@@ -96,42 +132,99 @@ public class MetadataDSpaceCsvExportServiceImpl implements MetadataDSpaceCsvExpo
         return csv;
     }
 
+    @Override
+    public void export(Context context, ThrowingSupplier<Iterator<Item>, Exception> toExport, boolean exportAll,
+                       OutputStream outputStream) throws Exception {
+        Context.Mode originalMode = context.getCurrentMode();
+        context.setMode(Context.Mode.READ_ONLY);
+
+        // Determine the headings from all the items first, as they have to be written before the first line
+        DSpaceCSV csv = new DSpaceCSV(exportAll);
+        Iterator<Item> items = context.applyFetchPlan(FetchPlan.EXPORT, toExport.get(), EXPORT_BATCH_SIZE);
+        while (items.hasNext()) {
+            Item item = items.next();
+            csv.addHeadings(item);
+            context.uncacheEntity(item);
+        }
+
+        // Then write the items one by one
+        DSpaceCSVWriter writer = new DSpaceCSVWriter(csv, outputStream);
+        items = context.applyFetchPlan(FetchPlan.EXPORT, toExport.get(), EXPORT_BATCH_SIZE);
+        while (items.hasNext()) {
+            Item item = items.next();
+            writer.writeItem(item);
+            context.uncacheEntity(item);
+        }
+        writer.flush();
+
+        context.setMode(originalMode);
+    }
+
     @Override
     public DSpaceCSV export(Context context, Community community, boolean exportAll) throws Exception {
         return export(context, buildFromCommunity(context, community), exportAll);
     }
 
     /**
-     * Build a Java Collection of item IDs that are in a Community (including
-     * its sub-Communities and Collections)
+     * Iterate over the items that are in a Community (including its sub-Communities and Collections). The items are
+     * read collection by collection as the iteration goes, an item mapped to several of these collections is only
+     * returned once.
      *
      * @param context   DSpace context
      * @param community The community to build from
-     * @return Iterator over the Collection of item ids
+     * @return Iterator over the items
      * @throws SQLException if database error
      */
     private Iterator<Item> buildFromCommunity(Context context, Community community)
         throws SQLException {
-        Set<Item> result = new HashSet<>();
+        List<Collection> collections = new ArrayList<>();
+        addCollections(community, collections);
+        Iterator<Collection> collectionIterator = collections.iterator();
+
+        // Only the items in more than one collection can be met twice, the other ones don't need to be remembered
+        Set<UUID> mappedItems = new HashSet<>();
+        return new AbstractIterator<Item>() {
+            private Iterator<Item> items = Collections.emptyIterator();
+
+            @Override
+            protected Item computeNext() {
+                try {
+                    while (true) {
+                        while (items.hasNext()) {
+                            Item item = items.next();
+                            if (item.getCollections().size() <= 1 || mappedItems.add(item.getID())) {
+                                return item;
+                            }
+                        }
+                        if (!collectionIterator.hasNext()) {
+                            return endOfData();
+                        }
+                        items = itemService.findByCollection(context, collectionIterator.next());
+                    }
+                } catch (SQLException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        };
+    }
 
+    /**
+     * Add the Collections of a Community and of its sub-Communities to the given list
+     *
+     * @param community   The community to add the collections of
+     * @param collections The list of collections to add to
+     */
+    private void addCollections(Community community, List<Collection> collections) {
         // Add all the collections
-        List<Collection> collections = community.getCollections();
-        for (Collection collection : collections) {
-            Iterator<Item> items = itemService.findByCollection(context, collection);
-            while (items.hasNext()) {
-                result.add(items.next());
+        for (Collection collection : community.getCollections()) {
+            if (!collections.contains(collection)) {
+                collections.add(collection);
             }
         }
 
-    // Add all the sub-communities
-        List<Community> communities = community.getSubcommunities();
-        for (Community subCommunity : communities) {
-            Iterator<Item> items = buildFromCommunity(context, subCommunity);
-            while (items.hasNext()) {
-                result.add(items.next());
-            }
+        // Add all the sub-communities
+        for (Community subCommunity : community.getSubcommunities()) {
+            addCollections(subCommunity, collections);
         }
-
-        return result.iterator();
     }
 }
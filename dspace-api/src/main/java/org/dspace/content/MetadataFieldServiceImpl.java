@@ -18,6 +18,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.Logger;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.cache.service.CacheInvalidationService;
 import org.dspace.content.dao.MetadataFieldDAO;
 import org.dspace.content.service.MetadataFieldService;
 import org.dspace.content.service.MetadataSchemaService;
@@ -54,6 +55,8 @@ public class MetadataFieldServiceImpl implements MetadataFieldService {
     protected MetadataSchemaService metadataSchemaService;
     @Autowired
     protected SiteService siteService;
+    @Autowired(required = true)
+    protected CacheInvalidationService cacheInvalidationService;
 
     protected MetadataFieldServiceImpl() {
 
@@ -82,6 +85,7 @@ public class MetadataFieldServiceImpl implements MetadataFieldService {
         metadataField.setMetadataSchema(metadataSchema);
         metadataField = metadataFieldDAO.create(context, metadataField);
         metadataFieldDAO.save(context, metadataField);
+        cacheInvalidationService.evictEntity(context, MetadataField.class, metadataField.getID());
 
         log.info(LogHelper.getHeader(context, "create_metadata_field",
                                       "metadata_field_id=" + metadataField.getID()));
@@ -154,6 +158,7 @@ public class MetadataFieldServiceImpl implements MetadataFieldService {
         }
 
         metadataFieldDAO.save(context, metadataField);
+        cacheInvalidationService.evictEntity(context, MetadataField.class, metadataField.getID());
 
         log.info(LogHelper.getHeader(context, "update_metadatafieldregistry",
                                       "metadata_field_id=" + metadataField.getID() + "element=" + metadataField
@@ -182,6 +187,7 @@ public class MetadataFieldServiceImpl implements MetadataFieldService {
         // Only remove this field if it is NOT in use (as we don't want to bulk delete metadata values)
         if (CollectionUtils.isEmpty(values)) {
             metadataFieldDAO.delete(context, metadataField);
+            cacheInvalidationService.evictEntity(context, MetadataField.class, metadataField.getID());
         } else {
             throw new IllegalStateException("Metadata field " + metadataField
                 .toString() + " cannot be deleted as it is currently used by one or more objects.");
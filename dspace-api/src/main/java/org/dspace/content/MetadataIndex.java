@@ -0,0 +1,129 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Index of a list of metadata values by metadata field, used to look up the values of a field without going through
+ * all the values of a DSpace object. Each value is indexed under its field as well as under the wildcard keys it
+ * matches (e.g. dc.contributor.*, dc.*.* or *.*.*), in the order of the indexed list, so that a lookup with the same
+ * arguments as {@link org.dspace.content.service.DSpaceObjectService#getMetadata(DSpaceObject, String, String,
+ * String, String)} only has to filter the values of the requested field on their language.
+ * <p>
+ * The index is built for a given list and is only valid as long as the membership of this list doesn't change, see
+ * {@link #isIndexOf(List)}.
+ */
+public class MetadataIndex {
+
+    private static final String UNQUALIFIED = "";
+
+    // the indexed list and its size when it was indexed
+    private final List<MetadataValue> metadataValues;
+    private final int size;
+
+    // the values by field key, null when some values can't be indexed
+    private final Map<String, List<MetadataValue>> valuesByField;
+
+    /**
+     * Index the given metadata values
+     *
+     * @param metadataValues the metadata values, in the order the lookups have to return them
+     */
+    public MetadataIndex(List<MetadataValue> metadataValues) {
+        this.metadataValues = metadataValues;
+        this.size = metadataValues.size();
+        this.valuesByField = index(metadataValues);
+    }
+
+    /**
+     * @param metadataValues a list of metadata values
+     * @return whether this index is (still) the index of the given list
+     */
+    public boolean isIndexOf(List<MetadataValue> metadataValues) {
+        return this.metadataValues == metadataValues && size == metadataValues.size();
+    }
+
+    /**
+     * @return whether the lookups can be answered from this index. Values whose field has no schema match any schema
+     * and can't be indexed, the caller has to go through all the values instead.
+     */
+    public boolean isIndexed() {
+        return valuesByField != null;
+    }
+
+    /**
+     * Get the values of the given metadata field, with the same matching rules as
+     * {@link org.dspace.content.service.DSpaceObjectService#getMetadata(DSpaceObject, String, String, String,
+     * String)}
+     *
+     * @param schema    the schema of the field, or <code>Item.ANY</code>
+     * @param element   the element of the field, or <code>Item.ANY</code>
+     * @param qualifier the qualifier of the field, <code>Item.ANY</code>, or <code>null</code> for unqualified
+     *                  values
+     * @param lang      the language of the values, <code>Item.ANY</code>, or <code>null</code> for values without
+     *                  language
+     * @return a new list of the matching values, in the order of the indexed list
+     */
+    public List<MetadataValue> getMetadata(String schema, String element, String qualifier, String lang) {
+        if (!isIndexed()) {
+            throw new IllegalStateException("The metadata values can't be looked up from the index");
+        }
+        String qualifierKey;
+        if (StringUtils.isBlank(qualifier)) {
+            qualifierKey = UNQUALIFIED;
+        } else if (Item.ANY.equals(qualifier)) {
+            qualifierKey = Item.ANY;
+        } else {
+            qualifierKey = "." + qualifier;
+        }
+        List<MetadataValue> fieldValues = valuesByField.getOrDefault(key(schema, element, qualifierKey),
+                                                                     Collections.emptyList());
+
+        List<MetadataValue> values = new ArrayList<>(fieldValues.size());
+        for (MetadataValue metadataValue : fieldValues) {
+            if (Item.ANY.equals(lang) || StringUtils.equals(lang, metadataValue.getLanguage())) {
+                values.add(metadataValue);
+            }
+        }
+        return values;
+    }
+
+    private static Map<String, List<MetadataValue>> index(List<MetadataValue> metadataValues) {
+        Map<String, List<MetadataValue>> valuesByField = new HashMap<>();
+        for (MetadataValue metadataValue : metadataValues) {
+            MetadataField metadataField = metadataValue.getMetadataField();
+            MetadataSchema metadataSchema = metadataField.getMetadataSchema();
+            if (metadataSchema == null) {
+                return null;
+            }
+            // the qualifier key of unqualified values is empty, the one of qualified values starts with a dot so
+            // that an empty qualifier is only matched by the qualifier wildcard, as it's neither null nor a value
+            String qualifier = metadataField.getQualifier() == null ? UNQUALIFIED : "." + metadataField.getQualifier();
+            for (String schema : new String[] {metadataSchema.getName(), Item.ANY}) {
+                for (String element : new String[] {metadataField.getElement(), Item.ANY}) {
+                    valuesByField.computeIfAbsent(key(schema, element, qualifier), key -> new ArrayList<>())
+                                 .add(metadataValue);
+                    valuesByField.computeIfAbsent(key(schema, element, Item.ANY), key -> new ArrayList<>())
+                                 .add(metadataValue);
+                }
+            }
+        }
+        return valuesByField;
+    }
+
+    private static String key(String schema, String element, String qualifierKey) {
+        return schema + "." + element + qualifierKey;
+    }
+}
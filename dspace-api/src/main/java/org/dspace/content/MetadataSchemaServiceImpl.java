@@ -13,6 +13,7 @@ import java.util.List;
 import org.apache.logging.log4j.Logger;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.cache.service.CacheInvalidationService;
 import org.dspace.content.dao.MetadataSchemaDAO;
 import org.dspace.content.service.MetadataFieldService;
 import org.dspace.content.service.MetadataSchemaService;
@@ -43,6 +44,9 @@ public class MetadataSchemaServiceImpl implements MetadataSchemaService {
     @Autowired(required = true)
     protected MetadataSchemaDAO metadataSchemaDAO;
 
+    @Autowired(required = true)
+    protected CacheInvalidationService cacheInvalidationService;
+
     protected MetadataSchemaServiceImpl() {
 
     }
@@ -74,6 +78,7 @@ public class MetadataSchemaServiceImpl implements MetadataSchemaService {
         metadataSchema.setNamespace(namespace);
         metadataSchema.setName(name);
         metadataSchemaDAO.save(context, metadataSchema);
+        cacheInvalidationService.evictEntity(context, MetadataSchema.class, metadataSchema.getID());
         log.info(LogHelper.getHeader(context, "create_metadata_schema",
                                       "metadata_schema_id="
                                           + metadataSchema.getID()));
@@ -106,6 +111,7 @@ public class MetadataSchemaServiceImpl implements MetadataSchemaService {
                                                      + " unique");
         }
         metadataSchemaDAO.save(context, metadataSchema);
+        cacheInvalidationService.evictEntity(context, MetadataSchema.class, metadataSchema.getID());
         log.info(LogHelper.getHeader(context, "update_metadata_schema",
                                       "metadata_schema_id=" + metadataSchema.getID() + "namespace="
                                           + metadataSchema.getNamespace() + "name=" + metadataSchema.getName()));
@@ -124,6 +130,7 @@ public class MetadataSchemaServiceImpl implements MetadataSchemaService {
         }
 
         metadataSchemaDAO.delete(context, metadataSchema);
+        cacheInvalidationService.evictEntity(context, MetadataSchema.class, metadataSchema.getID());
 
         log.info(LogHelper.getHeader(context, "delete_metadata_schema",
                 "metadata_schema_id=" + metadataSchema.getID()));
@@ -121,7 +121,7 @@ public class RelationshipServiceImpl implements RelationshipService {
                 // This order of execution should be handled in the creation (create, updateplace, update relationship)
                 // for a proper place allocation
                 Relationship relationshipToReturn = relationshipDAO.create(context, relationship);
-                updatePlaceInRelationship(context, relationshipToReturn, null, null, true, true);
+                updatePlaceInRelationship(context, relationshipToReturn, null, null, true, true, false);
                 update(context, relationshipToReturn);
                 updateItemsInRelationship(context, relationship);
                 return relationshipToReturn;
@@ -146,7 +146,7 @@ public class RelationshipServiceImpl implements RelationshipService {
             if (newLeftPlace != null || newRightPlace != null) {
                 // This order of execution should be handled in the creation (create, updateplace, update relationship)
                 // for a proper place allocation
-                updatePlaceInRelationship(context, relationship, newLeftPlace, newRightPlace, false, false);
+                updatePlaceInRelationship(context, relationship, newLeftPlace, newRightPlace, false, false, false);
                 update(context, relationship);
                 updateItemsInRelationship(context, relationship);
             }
@@ -197,7 +197,7 @@ public class RelationshipServiceImpl implements RelationshipService {
 
             // This order of execution should be handled in the creation (create, updateplace, update relationship)
             // for a proper place allocation
-            updatePlaceInRelationship(context, relationship, null, null, insertLeft, insertRight);
+            updatePlaceInRelationship(context, relationship, null, null, insertLeft, insertRight, false);
             update(context, relationship);
             updateItemsInRelationship(context, relationship);
         }
@@ -207,6 +207,8 @@ public class RelationshipServiceImpl implements RelationshipService {
     /**
      * This method will update the place for the Relationship and all other relationships found by the items and
      * relationship type of the given Relationship.
+     * Only the sibling relationships whose place actually changes are loaded, so appending a Relationship to the
+     * end of the lists (the most common case) doesn't depend on the number of siblings.
      *
      * @param context           The relevant DSpace context
      * @param relationship      The Relationship object that will have its place updated and that will be used
@@ -221,34 +223,18 @@ public class RelationshipServiceImpl implements RelationshipService {
      *                          Should be set to true when creating or moving to a different Item.
      * @param insertRight       Whether the Relationship in question should be inserted into the right Item.
      *                          Should be set to true when creating or moving to a different Item.
+     * @param deleted           Whether the Relationship in question has been deleted.
      * @throws SQLException     If something goes wrong
      * @throws AuthorizeException
      *                          If the user is not authorized to update the Relationship or its Items
      */
     private void updatePlaceInRelationship(
         Context context, Relationship relationship,
-        Integer newLeftPlace, Integer newRightPlace, boolean insertLeft, boolean insertRight
+        Integer newLeftPlace, Integer newRightPlace, boolean insertLeft, boolean insertRight, boolean deleted
     ) throws SQLException, AuthorizeException {
         Item leftItem = relationship.getLeftItem();
         Item rightItem = relationship.getRightItem();
 
-        // These list also include the non-latest. This is relevant to determine whether it's deleted.
-        // This can also imply there may be overlapping places, and/or the given relationship will overlap
-        // But the shift will allow this, and only happen when needed based on the latest status
-        List<Relationship> leftRelationships = findByItemAndRelationshipType(
-            context, leftItem, relationship.getRelationshipType(), true, -1, -1, false
-        );
-        List<Relationship> rightRelationships = findByItemAndRelationshipType(
-            context, rightItem, relationship.getRelationshipType(), false, -1, -1, false
-        );
-
-        // These relationships are only deleted from the temporary lists in case they're present in them so that we can
-        // properly perform our place calculation later down the line in this method.
-        boolean deletedFromLeft = !leftRelationships.contains(relationship);
-        boolean deletedFromRight = !rightRelationships.contains(relationship);
-        leftRelationships.remove(relationship);
-        rightRelationships.remove(relationship);
-
         List<MetadataValue> leftMetadata = getSiblingMetadata(leftItem, relationship, true);
         List<MetadataValue> rightMetadata = getSiblingMetadata(rightItem, relationship, false);
 
@@ -261,10 +247,10 @@ public class RelationshipServiceImpl implements RelationshipService {
 
 
         boolean movedUpLeft = resolveRelationshipPlace(
-            relationship, true, leftRelationships, leftMetadata, oldLeftPlace, newLeftPlace
+            context, relationship, true, leftMetadata, oldLeftPlace, newLeftPlace
         );
         boolean movedUpRight = resolveRelationshipPlace(
-            relationship, false, rightRelationships, rightMetadata, oldRightPlace, newRightPlace
+            context, relationship, false, rightMetadata, oldRightPlace, newRightPlace
         );
 
         context.turnOffAuthorisationSystem();
@@ -272,14 +258,16 @@ public class RelationshipServiceImpl implements RelationshipService {
         //only shift if the place is relevant for the latest relationships
         if (relationshipVersioningUtils.otherSideIsLatest(true, relationship.getLatestVersionStatus())) {
             shiftSiblings(
-                relationship, true, oldLeftPlace, movedUpLeft, insertLeft, deletedFromLeft,
-                leftRelationships, leftMetadata
+                relationship, true, oldLeftPlace, movedUpLeft, insertLeft, deleted,
+                findShiftedSiblings(context, relationship, true, oldLeftPlace, movedUpLeft, insertLeft, deleted),
+                leftMetadata
             );
         }
         if (relationshipVersioningUtils.otherSideIsLatest(false, relationship.getLatestVersionStatus())) {
             shiftSiblings(
-                relationship, false, oldRightPlace, movedUpRight, insertRight, deletedFromRight,
-                rightRelationships, rightMetadata
+                relationship, false, oldRightPlace, movedUpRight, insertRight, deleted,
+                findShiftedSiblings(context, relationship, false, oldRightPlace, movedUpRight, insertRight, deleted),
+                rightMetadata
             );
         }
 
@@ -289,6 +277,55 @@ public class RelationshipServiceImpl implements RelationshipService {
         context.restoreAuthSystemState();
     }
 
+    /**
+     * Find the sibling Relationships of the given Relationship which may have to be shifted by
+     * {@link #shiftSiblings}, i.e. the ones having a place between the old and the new place of the Relationship or,
+     * on insert and delete, after it. This also includes the non-latest relationships, as in
+     * {@link #getNextPlace}; {@link #shiftSiblings} skips them if needed.
+     *
+     * @param context           The relevant DSpace context
+     * @param relationship      the Relationship that's being updated, with its new place already set
+     * @param isLeft            whether to consider the left side of the Relationship
+     * @param oldPlace          the previous place for this Relationship, see {@link #shiftSiblings}
+     * @param movedUp           if this Relationship has been moved up the list
+     * @param inserted          whether this Relationship has been inserted
+     * @param deleted           whether this Relationship has been deleted
+     * @return the sibling Relationships with a place in the affected range
+     */
+    private List<Relationship> findShiftedSiblings(
+        Context context, Relationship relationship, boolean isLeft, int oldPlace, boolean movedUp, boolean inserted,
+        boolean deleted
+    ) throws SQLException {
+        int newPlace = getPlace(relationship, isLeft);
+        int fromPlace = Integer.MAX_VALUE;
+        int toPlace = Integer.MIN_VALUE;
+        if (deleted) {
+            fromPlace = Math.min(fromPlace, newPlace + 1);
+            toPlace = Integer.MAX_VALUE;
+        }
+        if (inserted) {
+            fromPlace = Math.min(fromPlace, newPlace);
+            toPlace = Integer.MAX_VALUE;
+        }
+        if (movedUp) {
+            fromPlace = Math.min(fromPlace, oldPlace + 1);
+            toPlace = Math.max(toPlace, newPlace);
+        } else if (newPlace < oldPlace) {
+            fromPlace = Math.min(fromPlace, newPlace);
+            toPlace = Math.max(toPlace, oldPlace - 1);
+        }
+        if (fromPlace > toPlace) {
+            return new ArrayList<>();
+        }
+
+        Item item = isLeft ? relationship.getLeftItem() : relationship.getRightItem();
+        List<Relationship> siblings = relationshipDAO.findByItemAndRelationshipTypeAndPlace(
+            context, item, relationship.getRelationshipType(), isLeft, fromPlace, toPlace
+        );
+        siblings.remove(relationship);
+        return siblings;
+    }
+
     /**
      * Return the MDVs in the Item's MDF corresponding to the given Relationship.
      * Return an empty list if the Relationship isn't mapped to any MDF
@@ -345,11 +382,11 @@ public class RelationshipServiceImpl implements RelationshipService {
      *   - Remove a relationship from place 1
      *     Return movedUp=false
      *
+     * @param context           The relevant DSpace context
      * @param relationship      the Relationship that's being updated
      * @param isLeft            whether to consider the left side of the Relationship.
      *                          This method should be called twice, once with isLeft=true and once with isLeft=false.
-     *                          Make sure this matches the provided relationships/metadata/oldPlace/newPlace.
-     * @param relationships     the list of sibling Relationships
+     *                          Make sure this matches the provided metadata/oldPlace/newPlace.
      * @param metadata          the list of sibling MDVs
      * @param oldPlace          the previous place for this Relationship, in case it has been moved.
      *                          Otherwise, the current place of a deleted Relationship
@@ -358,17 +395,16 @@ public class RelationshipServiceImpl implements RelationshipService {
      * @return  true if the Relationship was moved and newPlace > oldPlace
      */
     private boolean resolveRelationshipPlace(
-        Relationship relationship, boolean isLeft,
-        List<Relationship> relationships, List<MetadataValue> metadata,
+        Context context, Relationship relationship, boolean isLeft, List<MetadataValue> metadata,
         int oldPlace, Integer newPlace
-    ) {
+    ) throws SQLException {
         boolean movedUp = false;
 
         if (newPlace != null) {
             // We're moving an existing Relationship...
             if (newPlace == -1) {
                 // ...to the end of the list
-                int nextPlace = getNextPlace(relationships, metadata, isLeft);
+                int nextPlace = getNextPlace(context, relationship, metadata, isLeft);
                 if (nextPlace == oldPlace) {
                     // If this Relationship is already at the end, do nothing.
                     newPlace = oldPlace;
@@ -385,7 +421,7 @@ public class RelationshipServiceImpl implements RelationshipService {
         } else if (oldPlace == -1) {
             // We're _not_ moving an existing Relationship. The newPlace is already set in the Relationship object.
             // We only need to resolve it to the end of the list if it's set to -1, otherwise we can just keep it as is.
-            newPlace = getNextPlace(relationships, metadata, isLeft);
+            newPlace = getNextPlace(context, relationship, metadata, isLeft);
         }
 
         if (newPlace != null) {
@@ -396,14 +432,22 @@ public class RelationshipServiceImpl implements RelationshipService {
     }
 
     /**
-     * Return the index of the next place in a list of Relationships and Metadata.
-     * By not relying on the size of both lists we can support one-to-many virtual MDV mappings.
-     * @param isLeft  whether to take the left or right place of each Relationship
+     * Return the index of the next place after the sibling Relationships (including the non-latest ones) and
+     * Metadata of the given Relationship.
+     * By not relying on the number of siblings we can support one-to-many virtual MDV mappings.
+     * @param relationship  the Relationship to find the next place for, it isn't considered as a sibling itself
+     * @param isLeft        whether to take the left or right place of each Relationship
      */
-    private int getNextPlace(List<Relationship> relationships, List<MetadataValue> metadata, boolean isLeft) {
+    private int getNextPlace(
+        Context context, Relationship relationship, List<MetadataValue> metadata, boolean isLeft
+    ) throws SQLException {
+        Item item = isLeft ? relationship.getLeftItem() : relationship.getRightItem();
+        Integer maxRelationshipPlace = relationshipDAO.findMaxPlace(
+            context, item, relationship.getRelationshipType(), isLeft, relationship
+        );
         return Stream.concat(
                          metadata.stream().map(MetadataValue::getPlace),
-                         relationships.stream().map(r -> getPlace(r, isLeft))
+                         Stream.ofNullable(maxRelationshipPlace)
                      ).max(Integer::compare)
                      .map(integer -> integer + 1)
                      .orElse(0);
@@ -431,7 +475,8 @@ public class RelationshipServiceImpl implements RelationshipService {
      *                          or the place a Relationship has been inserted.
      * @param movedUp           if this Relationship has been moved up the list, e.g. from place 2 to place 4
      * @param deleted           whether this Relationship has been deleted
-     * @param relationships     the list of sibling Relationships
+     * @param relationships     the sibling Relationships whose place may have to be shifted
+     *                          (see {@link #findShiftedSiblings})
      * @param metadata          the list of sibling MDVs
      */
     private void shiftSiblings(
@@ -719,7 +764,7 @@ public class RelationshipServiceImpl implements RelationshipService {
         if (authorizeService.authorizeActionBoolean(context, relationship.getLeftItem(), Constants.WRITE) ||
             authorizeService.authorizeActionBoolean(context, relationship.getRightItem(), Constants.WRITE)) {
             relationshipDAO.delete(context, relationship);
-            updatePlaceInRelationship(context, relationship, null, null, false, false);
+            updatePlaceInRelationship(context, relationship, null, null, false, false, true);
             updateItemsInRelationship(context, relationship);
         } else {
             throw new AuthorizeException(
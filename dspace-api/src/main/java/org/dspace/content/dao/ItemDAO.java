@@ -11,6 +11,7 @@ import java.sql.SQLException;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import org.dspace.content.Collection;
@@ -35,6 +36,21 @@ public interface ItemDAO extends DSpaceObjectLegacySupportDAO<Item> {
     @Deprecated
     public Iterator<Item> findAll(Context context, boolean archived, boolean withdrawn) throws SQLException;
 
+    /**
+     * Find a page of the items that are archived or withdrawn, in the order of their identifiers: each page is read
+     * from the identifier of the last item of the previous page, whatever the number of items before it.
+     *
+     * @param context   The relevant DSpace context
+     * @param archived  whether to find the archived items
+     * @param withdrawn whether to find the withdrawn items
+     * @param after     the identifier of the last item of the previous page, or null for the first page
+     * @param limit     the maximum number of items to find
+     * @return an iterator over the items of the page
+     * @throws SQLException if database error
+     */
+    public Iterator<Item> findAll(Context context, boolean archived, boolean withdrawn, UUID after, int limit)
+        throws SQLException;
+
     /**
      * Find all items that are:
      * - NOT in the workspace
@@ -48,6 +64,20 @@ public interface ItemDAO extends DSpaceObjectLegacySupportDAO<Item> {
      */
     public Iterator<Item> findAllRegularItems(Context context) throws SQLException;
 
+    /**
+     * Find the items selected by a HQL predicate, in which the items are referred to with the "item" alias.
+     * The items are sorted by identifier.
+     *
+     * @param context    The relevant DSpace context
+     * @param predicate  the HQL predicate, or null to select all the items
+     * @param parameters the values of the named parameters of the predicate
+     * @param itemIds    the identifiers of the items to select from, or null to select from all the items
+     * @return an iterator over the selected items
+     * @throws SQLException if database error
+     */
+    public Iterator<Item> findByPredicate(Context context, String predicate, Map<String, Object> parameters,
+                                          List<UUID> itemIds) throws SQLException;
+
     /**
      * Find all Items modified since a Date.
      *
@@ -84,12 +114,45 @@ public interface ItemDAO extends DSpaceObjectLegacySupportDAO<Item> {
                                               List<String> query_op, List<String> query_val, List<UUID> collectionUuids,
                                               String regexClause, int offset, int limit) throws SQLException;
 
+    /**
+     * Find a page of the items matching a metadata query, in the order of their identifiers, starting after the
+     * identifier of the last item of the previous page.
+     *
+     * @param context         The relevant DSpace context
+     * @param listFieldList   the metadata fields of each condition
+     * @param query_op        the operator of each condition
+     * @param query_val       the value of each condition
+     * @param collectionUuids the owning collections of the items, or an empty list for all collections
+     * @param regexClause     the SQL clause of the regular expression operators
+     * @param after           the identifier of the last item of the previous page, or null for the first page
+     * @param limit           the maximum number of items to find
+     * @return an iterator over the items of the page
+     * @throws SQLException if database error
+     */
+    public Iterator<Item> findByMetadataQuery(Context context, List<List<MetadataField>> listFieldList,
+                                              List<String> query_op, List<String> query_val, List<UUID> collectionUuids,
+                                              String regexClause, UUID after, int limit) throws SQLException;
+
     public Iterator<Item> findByAuthorityValue(Context context, MetadataField metadataField, String authority,
                                                boolean inArchive) throws SQLException;
 
     public Iterator<Item> findArchivedByCollection(Context context, Collection collection, Integer limit,
                                                    Integer offset) throws SQLException;
 
+    /**
+     * Find a page of the archived items of a collection, in the order of their identifiers, starting after the
+     * identifier of the last item of the previous page.
+     *
+     * @param context    The relevant DSpace context
+     * @param collection the collection
+     * @param after      the identifier of the last item of the previous page, or null for the first page
+     * @param limit      the maximum number of items to find
+     * @return an iterator over the items of the page
+     * @throws SQLException if database error
+     */
+    public Iterator<Item> findArchivedByCollection(Context context, Collection collection, UUID after, int limit)
+        throws SQLException;
+
     /**
      * Returns all the Items in an iterator that are archived and for which the given Collection is part of the Item's
      * Collections but it is not the owning collection
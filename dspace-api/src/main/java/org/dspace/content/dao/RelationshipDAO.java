@@ -278,4 +278,38 @@ public interface RelationshipDAO extends GenericDAO<Relationship> {
      */
     int countByItemAndRelationshipTypeAndList(Context context, UUID focusUUID, RelationshipType relationshipType,
                                                List<UUID> items, boolean isLeft) throws SQLException;
+
+    /**
+     * Find the highest place of the relationships of the given type on the given side of an Item,
+     * including the relationships for which the opposite item is not the latest version.
+     *
+     * @param context            DSpace context object
+     * @param item               The item to find the relationships of
+     * @param relationshipType   Relationship type to filter by
+     * @param isLeft             Whether to look at the relationships having the item on the left side (and thus the
+     *                           left place) or on the right side
+     * @param excluded           A relationship to leave out of consideration, can be null
+     * @return                   The highest place, or null if there are no such relationships
+     * @throws SQLException      If database error
+     */
+    Integer findMaxPlace(Context context, Item item, RelationshipType relationshipType, boolean isLeft,
+                         Relationship excluded) throws SQLException;
+
+    /**
+     * Find the relationships of the given type on the given side of an Item with a place in the given range,
+     * including the relationships for which the opposite item is not the latest version.
+     *
+     * @param context            DSpace context object
+     * @param item               The item to find the relationships of
+     * @param relationshipType   Relationship type to filter by
+     * @param isLeft             Whether to look at the relationships having the item on the left side (and thus the
+     *                           left place) or on the right side
+     * @param fromPlace          The lowest place to include
+     * @param toPlace            The highest place to include
+     * @return                   The relationships, ordered by place
+     * @throws SQLException      If database error
+     */
+    List<Relationship> findByItemAndRelationshipTypeAndPlace(Context context, Item item,
+                                                             RelationshipType relationshipType, boolean isLeft,
+                                                             int fromPlace, int toPlace) throws SQLException;
 }
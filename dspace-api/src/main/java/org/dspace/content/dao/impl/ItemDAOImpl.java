@@ -8,11 +8,14 @@
 package org.dspace.content.dao.impl;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import javax.persistence.Parameter;
 import javax.persistence.Query;
 import javax.persistence.TemporalType;
 import javax.persistence.criteria.CriteriaBuilder;
@@ -79,6 +82,21 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
         return iterate(query);
     }
 
+    @Override
+    public Iterator<Item> findAll(Context context, boolean archived, boolean withdrawn, UUID after, int limit)
+        throws SQLException {
+        Query query = createQuery(context,
+                "FROM Item WHERE (inArchive=:in_archive or withdrawn=:withdrawn)" +
+                (after != null ? " AND id > :after" : "") + " ORDER BY id");
+        query.setParameter("in_archive", archived);
+        query.setParameter("withdrawn", withdrawn);
+        if (after != null) {
+            query.setParameter("after", after);
+        }
+        query.setMaxResults(limit);
+        return iterate(query);
+    }
+
     @Override
     public Iterator<Item> findAllRegularItems(Context context) throws SQLException {
         // NOTE: This query includes archived items, withdrawn items and older versions of items.
@@ -93,6 +111,30 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
         return iterate(query);
     }
 
+    @Override
+    public Iterator<Item> findByPredicate(Context context, String predicate, Map<String, Object> parameters,
+                                          List<UUID> itemIds) throws SQLException {
+        List<String> clauses = new ArrayList<>();
+        if (predicate != null) {
+            clauses.add("(" + predicate + ")");
+        }
+        if (itemIds != null) {
+            clauses.add("item.id in (:item_ids)");
+        }
+        Query query = createQuery(context, "SELECT item FROM Item item" +
+                (clauses.isEmpty() ? "" : " WHERE " + String.join(" AND ", clauses)) + " ORDER BY item.id");
+        // the parameters of the statements which could not be translated are left out of the predicate
+        for (Parameter<?> parameter : query.getParameters()) {
+            if (parameters.containsKey(parameter.getName())) {
+                query.setParameter(parameter.getName(), parameters.get(parameter.getName()));
+            }
+        }
+        if (itemIds != null) {
+            query.setParameter("item_ids", itemIds);
+        }
+        return iterate(query);
+    }
+
     @Override
     public Iterator<Item> findAll(Context context, boolean archived,
                                   boolean withdrawn, boolean discoverable, Date lastModified)
@@ -235,9 +277,36 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
                                               List<String> query_op, List<String> query_val, List<UUID> collectionUuids,
                                               String regexClause, int offset, int limit) throws SQLException {
 
-        Criteria criteria = getHibernateSession(context).createCriteria(Item.class, "item");
+        Criteria criteria = createMetadataQueryCriteria(context, listFieldList, query_op, query_val, collectionUuids,
+                                                        regexClause);
         criteria.setFirstResult(offset);
         criteria.setMaxResults(limit);
+        criteria.addOrder(Order.asc("item.id"));
+
+        return ((List<Item>) criteria.list()).iterator();
+    }
+
+    @Override
+    public Iterator<Item> findByMetadataQuery(Context context, List<List<MetadataField>> listFieldList,
+                                              List<String> query_op, List<String> query_val, List<UUID> collectionUuids,
+                                              String regexClause, UUID after, int limit) throws SQLException {
+
+        Criteria criteria = createMetadataQueryCriteria(context, listFieldList, query_op, query_val, collectionUuids,
+                                                        regexClause);
+        if (after != null) {
+            criteria.add(Restrictions.gt("item.id", after));
+        }
+        criteria.setMaxResults(limit);
+        criteria.addOrder(Order.asc("item.id"));
+
+        return ((List<Item>) criteria.list()).iterator();
+    }
+
+    private Criteria createMetadataQueryCriteria(Context context, List<List<MetadataField>> listFieldList,
+                                                 List<String> query_op, List<String> query_val,
+                                                 List<UUID> collectionUuids, String regexClause)
+        throws SQLException {
+        Criteria criteria = getHibernateSession(context).createCriteria(Item.class, "item");
 
         if (!collectionUuids.isEmpty()) {
             DetachedCriteria dcollCriteria = DetachedCriteria.forClass(Collection.class, "coll");
@@ -280,12 +349,10 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
                 criteria.add(Subqueries.notExists(subcriteria));
             }
         }
-        criteria.addOrder(Order.asc("item.id"));
 
         log.debug(String.format("Running custom query with %d filters", index));
 
-        return ((List<Item>) criteria.list()).iterator();
-
+        return criteria;
     }
 
     @Override
@@ -318,6 +385,22 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
         return iterate(query);
     }
 
+    @Override
+    public Iterator<Item> findArchivedByCollection(Context context, Collection collection, UUID after, int limit)
+        throws SQLException {
+        Query query = createQuery(context,
+              "select i from Item i join i.collections c " +
+              "WHERE :collection IN c AND i.inArchive=:in_archive" +
+              (after != null ? " AND i.id > :after" : "") + " ORDER BY i.id");
+        query.setParameter("collection", collection);
+        query.setParameter("in_archive", true);
+        if (after != null) {
+            query.setParameter("after", after);
+        }
+        query.setMaxResults(limit);
+        return iterate(query);
+    }
+
     @Override
     public Iterator<Item> findArchivedByCollectionExcludingOwning(Context context, Collection collection, Integer limit,
                                                                   Integer offset) throws SQLException {
@@ -446,4 +446,41 @@ public class RelationshipDAOImpl extends AbstractHibernateDAO<Relationship> impl
         return count(query);
     }
 
+    @Override
+    public Integer findMaxPlace(Context context, Item item, RelationshipType relationshipType, boolean isLeft,
+                                Relationship excluded) throws SQLException {
+        String side = isLeft ? "leftItem" : "rightItem";
+        String place = isLeft ? "leftPlace" : "rightPlace";
+        Query query = createQuery(context, "SELECT max(" + place + ") " +
+                                           "FROM " + Relationship.class.getSimpleName() +
+                                           " WHERE relationshipType = :type " +
+                                           "AND " + side + " = :item" +
+                                           (excluded != null ? " AND id <> :excludedId" : ""));
+        query.setParameter("type", relationshipType);
+        query.setParameter("item", item);
+        if (excluded != null) {
+            query.setParameter("excludedId", excluded.getID());
+        }
+        return (Integer) query.getSingleResult();
+    }
+
+    @Override
+    public List<Relationship> findByItemAndRelationshipTypeAndPlace(Context context, Item item,
+                                                                    RelationshipType relationshipType,
+                                                                    boolean isLeft, int fromPlace, int toPlace)
+        throws SQLException {
+        String side = isLeft ? "leftItem" : "rightItem";
+        String place = isLeft ? "leftPlace" : "rightPlace";
+        Query query = createQuery(context, "FROM " + Relationship.class.getSimpleName() +
+                                           " WHERE relationshipType = :type " +
+                                           "AND " + side + " = :item " +
+                                           "AND " + place + " BETWEEN :fromPlace AND :toPlace " +
+                                           "ORDER BY " + place);
+        query.setParameter("type", relationshipType);
+        query.setParameter("item", item);
+        query.setParameter("fromPlace", fromPlace);
+        query.setParameter("toPlace", toPlace);
+        return list(query);
+    }
+
 }
@@ -45,6 +45,11 @@ public class DefaultFilter implements Filter {
         return this.statement.getResult(context, item);
     }
 
+    @Override
+    public LogicalPredicate getPredicate(Context context, LogicalQuery query) throws LogicalStatementException {
+        return this.statement.getPredicate(context, query);
+    }
+
     @Override
     public void setBeanName(String name) {
         log.debug("Initialize bean " + name);
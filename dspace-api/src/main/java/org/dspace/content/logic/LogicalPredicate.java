@@ -0,0 +1,144 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content.logic;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The translation of a logical statement into a HQL predicate on the items of a {@link LogicalQuery}.
+ * The predicate selects a superset of the items the statement is true for: when it is exact, it selects exactly
+ * these items, otherwise the statement must still be evaluated on each item it selects.
+ * A null predicate selects all the items.
+ */
+public final class LogicalPredicate {
+
+    /**
+     * The predicate of a statement which is true for all the items
+     */
+    public static final LogicalPredicate ALL = new LogicalPredicate(null, true);
+
+    /**
+     * The predicate of a statement which cannot be translated: all the items are candidates
+     */
+    public static final LogicalPredicate UNSUPPORTED = new LogicalPredicate(null, false);
+
+    /**
+     * The predicate of a statement which is false for all the items
+     */
+    public static final LogicalPredicate NONE = new LogicalPredicate("1 = 0", true);
+
+    private final String predicate;
+
+    private final boolean exact;
+
+    private LogicalPredicate(String predicate, boolean exact) {
+        this.predicate = predicate;
+        this.exact = exact;
+    }
+
+    /**
+     * Create a predicate selecting exactly the items a statement is true for
+     * @param predicate HQL predicate on the item alias of the query
+     * @return the predicate
+     */
+    public static LogicalPredicate exact(String predicate) {
+        return new LogicalPredicate(predicate, true);
+    }
+
+    /**
+     * Create a predicate selecting the candidate items a statement may be true for
+     * @param predicate HQL predicate on the item alias of the query
+     * @return the predicate
+     */
+    public static LogicalPredicate candidates(String predicate) {
+        return new LogicalPredicate(predicate, false);
+    }
+
+    /**
+     * Combine the predicates of the sub-statements of an AND operator. The predicates which cannot be translated
+     * are left out, so that the other ones still restrict the candidates.
+     * @param predicates predicates of the sub-statements
+     * @return the predicate of the operator
+     */
+    public static LogicalPredicate and(List<LogicalPredicate> predicates) {
+        List<String> clauses = new ArrayList<>();
+        boolean allExact = true;
+        for (LogicalPredicate predicate : predicates) {
+            allExact &= predicate.isExact();
+            if (predicate.getPredicate() != null) {
+                clauses.add(predicate.getPredicate());
+            }
+        }
+        if (clauses.isEmpty()) {
+            return allExact ? ALL : UNSUPPORTED;
+        }
+        return new LogicalPredicate(join(clauses, " and "), allExact);
+    }
+
+    /**
+     * Combine the predicates of the sub-statements of an OR operator. All the items are candidates as soon as
+     * one of the sub-statements cannot be translated.
+     * @param predicates predicates of the sub-statements
+     * @return the predicate of the operator
+     */
+    public static LogicalPredicate or(List<LogicalPredicate> predicates) {
+        if (predicates.contains(ALL)) {
+            return ALL;
+        }
+        if (predicates.isEmpty()) {
+            return NONE;
+        }
+        List<String> clauses = new ArrayList<>();
+        boolean allExact = true;
+        for (LogicalPredicate predicate : predicates) {
+            if (predicate.getPredicate() == null) {
+                return UNSUPPORTED;
+            }
+            allExact &= predicate.isExact();
+            clauses.add(predicate.getPredicate());
+        }
+        return new LogicalPredicate(join(clauses, " or "), allExact);
+    }
+
+    /**
+     * Negate the predicate of the sub-statement of a NOT operator. Only exact predicates can be negated.
+     * @param predicate predicate of the sub-statement
+     * @return the predicate of the operator
+     */
+    public static LogicalPredicate not(LogicalPredicate predicate) {
+        if (!predicate.isExact()) {
+            return UNSUPPORTED;
+        }
+        if (predicate.getPredicate() == null) {
+            return NONE;
+        }
+        return exact("not (" + predicate.getPredicate() + ")");
+    }
+
+    private static String join(List<String> clauses, String operator) {
+        if (clauses.size() == 1) {
+            return clauses.get(0);
+        }
+        return "(" + String.join(")" + operator + "(", clauses) + ")";
+    }
+
+    /**
+     * @return the HQL predicate, or null if all the items are selected
+     */
+    public String getPredicate() {
+        return predicate;
+    }
+
+    /**
+     * @return true if the statement is true for all the items selected by the predicate
+     */
+    public boolean isExact() {
+        return exact;
+    }
+}
@@ -0,0 +1,56 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content.logic;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A database query on the items, in which logical statements are translated into HQL predicates
+ * (see {@link LogicalStatement#getPredicate(org.dspace.core.Context, LogicalQuery)}). The predicates refer to the
+ * items with the {@link #ITEM} alias, and register their values as parameters of the query.
+ */
+public class LogicalQuery {
+
+    /**
+     * The alias of the items in the predicates
+     */
+    public static final String ITEM = "item";
+
+    private final Map<String, Object> parameters = new HashMap<>();
+
+    private int aliases = 0;
+
+    /**
+     * Add a parameter to the query
+     * @param value the value of the parameter
+     * @return the placeholder of the parameter, to use in the predicate
+     */
+    public String addParameter(Object value) {
+        String name = "logic" + parameters.size();
+        parameters.put(name, value);
+        return ":" + name;
+    }
+
+    /**
+     * Create an alias which is unique in the query, for the entities of a subquery
+     * @param prefix prefix of the alias
+     * @return the alias
+     */
+    public String createAlias(String prefix) {
+        return prefix + aliases++;
+    }
+
+    /**
+     * @return the parameters of the query, by name
+     */
+    public Map<String, Object> getParameters() {
+        return Collections.unmodifiableMap(parameters);
+    }
+}
@@ -27,4 +27,17 @@ public interface LogicalStatement {
      * @throws LogicalStatementException
      */
     boolean getResult(Context context, Item item) throws LogicalStatementException;
+
+    /**
+     * Translate this statement into a predicate of a database query, selecting the items it may be true for
+     * without loading them. The statements which cannot be translated return {@link LogicalPredicate#UNSUPPORTED}
+     * and are evaluated item by item on the items selected by the query.
+     * @param context   DSpace context
+     * @param query     Query in which the predicate is used
+     * @return the predicate
+     * @throws LogicalStatementException
+     */
+    default LogicalPredicate getPredicate(Context context, LogicalQuery query) throws LogicalStatementException {
+        return LogicalPredicate.UNSUPPORTED;
+    }
 }
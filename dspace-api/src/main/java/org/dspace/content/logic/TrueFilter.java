@@ -28,6 +28,11 @@ public class TrueFilter implements Filter {
         return true;
     }
 
+    @Override
+    public LogicalPredicate getPredicate(Context context, LogicalQuery query) throws LogicalStatementException {
+        return LogicalPredicate.ALL;
+    }
+
     @Override
     public void setBeanName(String name) {
         log.debug("Initialize bean " + name);
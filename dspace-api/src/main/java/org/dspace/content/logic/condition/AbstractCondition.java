@@ -12,6 +12,7 @@ import java.util.Map;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.dspace.content.Item;
+import org.dspace.content.logic.LogicalQuery;
 import org.dspace.content.logic.LogicalStatementException;
 import org.dspace.content.service.CollectionService;
 import org.dspace.content.service.ItemService;
@@ -86,4 +87,15 @@ public abstract class AbstractCondition implements Condition {
     public void setItemService(ItemService itemService) {
         this.itemService = itemService;
     }
+
+    /**
+     * Get a predicate selecting the items which are neither archived nor withdrawn, whose collection is only known
+     * by their workspace or workflow item
+     * @param query     Query in which the predicate is used
+     * @return the predicate
+     */
+    protected String getInProgressPredicate(LogicalQuery query) {
+        return LogicalQuery.ITEM + ".inArchive = " + query.addParameter(false) + " and " + LogicalQuery.ITEM
+            + ".withdrawn = " + query.addParameter(false);
+    }
 }
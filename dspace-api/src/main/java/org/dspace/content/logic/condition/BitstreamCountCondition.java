@@ -11,6 +11,9 @@ import java.util.List;
 
 import org.dspace.content.Bundle;
 import org.dspace.content.Item;
+import org.dspace.content.MetadataSchemaEnum;
+import org.dspace.content.logic.LogicalPredicate;
+import org.dspace.content.logic.LogicalQuery;
 import org.dspace.content.logic.LogicalStatementException;
 import org.dspace.core.Context;
 
@@ -68,4 +71,54 @@ public class BitstreamCountCondition extends AbstractCondition {
         }
         return (count <= max && count >= min);
     }
+
+    /**
+     * Select the items whose bitstream count is within bounds of min and/or max parameters
+     * @param context   DSpace context
+     * @param query     Query in which the predicate is used
+     * @return predicate of the condition
+     * @throws LogicalStatementException
+     */
+    @Override
+    public LogicalPredicate getPredicate(Context context, LogicalQuery query) throws LogicalStatementException {
+        int min = -1;
+        if (getParameters().get("min") != null) {
+            min = Integer.parseInt((String)getParameters().get("min"));
+        }
+        int max = -1;
+        if (getParameters().get("max") != null) {
+            max = Integer.parseInt((String)getParameters().get("max"));
+        }
+        String bundleName = (String)getParameters().get("bundle");
+        if (min < 0 && max < 0) {
+            throw new LogicalStatementException("Either min or max parameter must be 0 or bigger.");
+        }
+
+        String bundle = query.createAlias("bundle");
+        String bitstream = query.createAlias("bitstream");
+        String bundleItem = query.createAlias("item");
+        StringBuilder count = new StringBuilder("(select count(" + bitstream + ".id) from Bundle " + bundle
+            + " join " + bundle + ".bitstreams " + bitstream + " join " + bundle + ".items " + bundleItem
+            + " where " + bundleItem + " = " + LogicalQuery.ITEM);
+        if (bundleName != null) {
+            // the name of a bundle is its title
+            String value = query.createAlias("value");
+            String field = query.createAlias("field");
+            count.append(" and exists (select " + value + ".id from MetadataValue " + value + " join " + value
+                + ".metadataField " + field + " where " + value + ".dSpaceObject = " + bundle + " and " + field
+                + ".metadataSchema.name = " + query.addParameter(MetadataSchemaEnum.DC.getName()) + " and "
+                + field + ".element = " + query.addParameter("title") + " and " + field
+                + ".qualifier is null and str(" + value + ".value) = " + query.addParameter(bundleName) + ")");
+        }
+        count.append(")");
+
+        if (min < 0) {
+            return LogicalPredicate.exact(count + " <= " + query.addParameter((long) max));
+        }
+        if (max < 0) {
+            return LogicalPredicate.exact(count + " >= " + query.addParameter((long) min));
+        }
+        return LogicalPredicate.exact(count + " between " + query.addParameter((long) min) + " and "
+            + query.addParameter((long) max));
+    }
 }
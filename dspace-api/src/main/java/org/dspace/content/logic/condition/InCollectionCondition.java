@@ -15,6 +15,8 @@ import org.apache.logging.log4j.Logger;
 import org.dspace.content.Collection;
 import org.dspace.content.DSpaceObject;
 import org.dspace.content.Item;
+import org.dspace.content.logic.LogicalPredicate;
+import org.dspace.content.logic.LogicalQuery;
 import org.dspace.content.logic.LogicalStatementException;
 import org.dspace.core.Context;
 
@@ -76,4 +78,28 @@ public class InCollectionCondition extends AbstractCondition {
 
         return false;
     }
+
+    /**
+     * Select the items in one of the specified collections. The items which are neither archived nor withdrawn are
+     * candidates too, as their collection is only known by their workspace or workflow item.
+     * @param context   DSpace context
+     * @param query     Query in which the predicate is used
+     * @return predicate of the condition
+     * @throws LogicalStatementException
+     */
+    @Override
+    public LogicalPredicate getPredicate(Context context, LogicalQuery query) throws LogicalStatementException {
+        List<String> collectionHandles = (List<String>)getParameters().get("collections");
+        if (collectionHandles == null || collectionHandles.isEmpty()) {
+            return LogicalPredicate.candidates(getInProgressPredicate(query));
+        }
+        String item = query.createAlias("item");
+        String collection = query.createAlias("collection");
+        String handle = query.createAlias("handle");
+        return LogicalPredicate.candidates(
+            "exists (select " + item + ".id from Item " + item + " join " + item + ".collections " + collection
+                + " join " + collection + ".handles " + handle + " where " + item + " = " + LogicalQuery.ITEM
+                + " and " + handle + ".handle in (" + query.addParameter(collectionHandles) + ")) or ("
+                + getInProgressPredicate(query) + ")");
+    }
 }
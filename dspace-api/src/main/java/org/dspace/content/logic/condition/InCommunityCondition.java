@@ -16,6 +16,8 @@ import org.dspace.content.Collection;
 import org.dspace.content.Community;
 import org.dspace.content.DSpaceObject;
 import org.dspace.content.Item;
+import org.dspace.content.logic.LogicalPredicate;
+import org.dspace.content.logic.LogicalQuery;
 import org.dspace.content.logic.LogicalStatementException;
 import org.dspace.core.Context;
 
@@ -87,4 +89,29 @@ public class InCommunityCondition extends AbstractCondition {
 
         return false;
     }
+
+    /**
+     * Select the items in a collection of one of the specified communities. The items which are neither archived nor
+     * withdrawn are candidates too, as their collection is only known by their workspace or workflow item.
+     * @param context   DSpace context
+     * @param query     Query in which the predicate is used
+     * @return predicate of the condition
+     * @throws LogicalStatementException
+     */
+    @Override
+    public LogicalPredicate getPredicate(Context context, LogicalQuery query) throws LogicalStatementException {
+        List<String> communityHandles = (List<String>)getParameters().get("communities");
+        if (communityHandles == null || communityHandles.isEmpty()) {
+            return LogicalPredicate.candidates(getInProgressPredicate(query));
+        }
+        String item = query.createAlias("item");
+        String collection = query.createAlias("collection");
+        String community = query.createAlias("community");
+        String handle = query.createAlias("handle");
+        return LogicalPredicate.candidates(
+            "exists (select " + item + ".id from Item " + item + " join " + item + ".collections " + collection
+                + " join " + collection + ".communities " + community + " join " + community + ".handles "
+                + handle + " where " + item + " = " + LogicalQuery.ITEM + " and " + handle + ".handle in ("
+                + query.addParameter(communityHandles) + ")) or (" + getInProgressPredicate(query) + ")");
+    }
 }
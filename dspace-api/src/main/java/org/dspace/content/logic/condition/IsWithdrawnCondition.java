@@ -10,6 +10,8 @@ package org.dspace.content.logic.condition;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.dspace.content.Item;
+import org.dspace.content.logic.LogicalPredicate;
+import org.dspace.content.logic.LogicalQuery;
 import org.dspace.content.logic.LogicalStatementException;
 import org.dspace.core.Context;
 
@@ -34,4 +36,16 @@ public class IsWithdrawnCondition extends AbstractCondition {
         log.debug("Result of isWithdrawn is " + item.isWithdrawn());
         return item.isWithdrawn();
     }
+
+    /**
+     * Select the withdrawn items
+     * @param context   DSpace context
+     * @param query     Query in which the predicate is used
+     * @return predicate of the condition
+     * @throws LogicalStatementException
+     */
+    @Override
+    public LogicalPredicate getPredicate(Context context, LogicalQuery query) throws LogicalStatementException {
+        return LogicalPredicate.exact(LogicalQuery.ITEM + ".withdrawn = " + query.addParameter(true));
+    }
 }
@@ -16,6 +16,8 @@ import org.dspace.authorize.ResourcePolicy;
 import org.dspace.authorize.factory.AuthorizeServiceFactory;
 import org.dspace.authorize.service.AuthorizeService;
 import org.dspace.content.Item;
+import org.dspace.content.logic.LogicalPredicate;
+import org.dspace.content.logic.LogicalQuery;
 import org.dspace.content.logic.LogicalStatementException;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
@@ -61,4 +63,25 @@ public class ReadableByGroupCondition extends AbstractCondition {
 
         return false;
     }
+
+    /**
+     * Select the items with a policy for the action and the group
+     * @param context   DSpace context
+     * @param query     Query in which the predicate is used
+     * @return predicate of the condition
+     * @throws LogicalStatementException
+     */
+    @Override
+    public LogicalPredicate getPredicate(Context context, LogicalQuery query) throws LogicalStatementException {
+        String group = (String)getParameters().get("group");
+        String action = (String)getParameters().get("action");
+
+        String policy = query.createAlias("policy");
+        String policyGroup = query.createAlias("group");
+        return LogicalPredicate.exact(
+            "exists (select " + policy + ".id from ResourcePolicy " + policy + " join " + policy + ".epersonGroup "
+                + policyGroup + " where " + policy + ".dSpaceObject = " + LogicalQuery.ITEM + " and " + policy
+                + ".actionId = " + query.addParameter(Constants.getActionID(action)) + " and " + policyGroup
+                + ".name = " + query.addParameter(group) + ")");
+    }
 }
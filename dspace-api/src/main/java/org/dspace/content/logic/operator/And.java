@@ -7,9 +7,12 @@
  */
 package org.dspace.content.logic.operator;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.dspace.content.Item;
+import org.dspace.content.logic.LogicalPredicate;
+import org.dspace.content.logic.LogicalQuery;
 import org.dspace.content.logic.LogicalStatement;
 import org.dspace.content.logic.LogicalStatementException;
 import org.dspace.core.Context;
@@ -56,4 +59,20 @@ public class And extends AbstractOperator {
 
         return true;
     }
+
+    /**
+     * Combine the predicates of all statements, leaving out the ones which cannot be translated
+     * @param context   DSpace context
+     * @param query     Query in which the predicate is used
+     * @return predicate of AND
+     * @throws LogicalStatementException
+     */
+    @Override
+    public LogicalPredicate getPredicate(Context context, LogicalQuery query) throws LogicalStatementException {
+        List<LogicalPredicate> predicates = new ArrayList<>();
+        for (LogicalStatement statement : getStatements()) {
+            predicates.add(statement.getPredicate(context, query));
+        }
+        return LogicalPredicate.and(predicates);
+    }
 }
@@ -10,6 +10,8 @@ package org.dspace.content.logic.operator;
 import java.util.List;
 
 import org.dspace.content.Item;
+import org.dspace.content.logic.LogicalPredicate;
+import org.dspace.content.logic.LogicalQuery;
 import org.dspace.content.logic.LogicalStatement;
 import org.dspace.content.logic.LogicalStatementException;
 import org.dspace.core.Context;
@@ -48,4 +50,16 @@ public class Nand extends AbstractOperator {
     public boolean getResult(Context context, Item item) throws LogicalStatementException {
         return !(new And(getStatements()).getResult(context, item));
     }
+
+    /**
+     * Negate the combined predicates of all statements, if they are exact
+     * @param context   DSpace context
+     * @param query     Query in which the predicate is used
+     * @return predicate of NAND
+     * @throws LogicalStatementException
+     */
+    @Override
+    public LogicalPredicate getPredicate(Context context, LogicalQuery query) throws LogicalStatementException {
+        return LogicalPredicate.not(new And(getStatements()).getPredicate(context, query));
+    }
 }
@@ -8,6 +8,8 @@
 package org.dspace.content.logic.operator;
 
 import org.dspace.content.Item;
+import org.dspace.content.logic.LogicalPredicate;
+import org.dspace.content.logic.LogicalQuery;
 import org.dspace.content.logic.LogicalStatement;
 import org.dspace.content.logic.LogicalStatementException;
 import org.dspace.core.Context;
@@ -65,4 +67,16 @@ public class Not implements LogicalStatement {
     public boolean getResult(Context context, Item item) throws LogicalStatementException {
         return !statement.getResult(context, item);
     }
+
+    /**
+     * Negate the predicate of the statement, if it is exact
+     * @param context   DSpace context
+     * @param query     Query in which the predicate is used
+     * @return predicate of NOT
+     * @throws LogicalStatementException
+     */
+    @Override
+    public LogicalPredicate getPredicate(Context context, LogicalQuery query) throws LogicalStatementException {
+        return LogicalPredicate.not(statement.getPredicate(context, query));
+    }
 }
@@ -7,9 +7,12 @@
  */
 package org.dspace.content.logic.operator;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.dspace.content.Item;
+import org.dspace.content.logic.LogicalPredicate;
+import org.dspace.content.logic.LogicalQuery;
 import org.dspace.content.logic.LogicalStatement;
 import org.dspace.content.logic.LogicalStatementException;
 import org.dspace.core.Context;
@@ -56,4 +59,20 @@ public class Or extends AbstractOperator {
 
         return false;
     }
+
+    /**
+     * Combine the predicates of all statements, if they can all be translated
+     * @param context   DSpace context
+     * @param query     Query in which the predicate is used
+     * @return predicate of OR
+     * @throws LogicalStatementException
+     */
+    @Override
+    public LogicalPredicate getPredicate(Context context, LogicalQuery query) throws LogicalStatementException {
+        List<LogicalPredicate> predicates = new ArrayList<>();
+        for (LogicalStatement statement : getStatements()) {
+            predicates.add(statement.getPredicate(context, query));
+        }
+        return LogicalPredicate.or(predicates);
+    }
 }
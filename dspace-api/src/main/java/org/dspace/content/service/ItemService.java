@@ -27,6 +27,7 @@ import org.dspace.content.MetadataField;
 import org.dspace.content.MetadataValue;
 import org.dspace.content.Thumbnail;
 import org.dspace.content.WorkspaceItem;
+import org.dspace.content.logic.LogicalStatement;
 import org.dspace.core.Context;
 import org.dspace.discovery.SearchServiceException;
 import org.dspace.eperson.EPerson;
@@ -116,6 +117,20 @@ public interface ItemService
     @Deprecated
     public Iterator<Item> findAllUnfiltered(Context context) throws SQLException;
 
+    /**
+     * Get a page of the "final" items, both archived ("in archive" flag) or
+     * withdrawn items are included. The items are sorted by identifier, and the
+     * page starts after the last item of the previous page, so that reading a
+     * page costs the same whatever its position.
+     *
+     * @param context DSpace context object
+     * @param after   identifier of the last item of the previous page, or null for the first page
+     * @param limit   maximum number of items in the page
+     * @return an iterator over the items of the page.
+     * @throws SQLException if database error
+     */
+    public Iterator<Item> findAllUnfiltered(Context context, UUID after, int limit) throws SQLException;
+
     /**
      * Find all items that are:
      * - NOT in the workspace
@@ -129,6 +144,20 @@ public interface ItemService
      */
     public Iterator<Item> findAllRegularItems(Context context) throws SQLException;
 
+    /**
+     * Find the items a logical filter is true for. The filter is translated into a database query as far as
+     * its statements allow, and evaluated on each candidate item found by the query otherwise, so that the
+     * items it can exclude up front are never loaded.
+     *
+     * @param context DSpace context object
+     * @param filter  the logical filter
+     * @param itemIds the identifiers of the items to select from, or null to select from all the items
+     * @return an iterator over the items the filter is true for, sorted by identifier
+     * @throws SQLException if database error
+     */
+    public Iterator<Item> findByFilter(Context context, LogicalStatement filter, List<UUID> itemIds)
+        throws SQLException;
+
     /**
      * Find all the items in the archive by a given submitter. The order is
      * indeterminate. Only items with the "in archive" flag set are included.
@@ -191,6 +220,20 @@ public interface ItemService
     public Iterator<Item> findByCollection(Context context, Collection collection, Integer limit, Integer offset)
         throws SQLException;
 
+    /**
+     * Get a page of the archived items in this collection, sorted by identifier,
+     * starting after the last item of the previous page.
+     *
+     * @param context    DSpace context object
+     * @param collection Collection (parent)
+     * @param after      identifier of the last item of the previous page, or null for the first page
+     * @param limit      maximum number of items in the page
+     * @return an iterator over the items of the page.
+     * @throws SQLException if database error
+     */
+    public Iterator<Item> findByCollection(Context context, Collection collection, UUID after, int limit)
+        throws SQLException;
+
     /**
      * Get all the archived items mapped to this collection (excludes owning collection). The order is indeterminate.
      *
@@ -669,6 +712,28 @@ public interface ItemService
                                               String regexClause, int offset, int limit)
         throws SQLException, AuthorizeException, IOException;
 
+    /**
+     * Get a page of the items matching a metadata query, sorted by identifier,
+     * starting after the last item of the previous page.
+     *
+     * @param context         DSpace context object
+     * @param listFieldList   metadata fields of each condition
+     * @param query_op        operator of each condition
+     * @param query_val       value of each condition
+     * @param collectionUuids owning collections of the items, or an empty list for all collections
+     * @param regexClause     SQL clause of the regular expression operators
+     * @param after           identifier of the last item of the previous page, or null for the first page
+     * @param limit           maximum number of items in the page
+     * @return an iterator over the items of the page
+     * @throws SQLException       if database error
+     * @throws AuthorizeException if authorization error
+     * @throws IOException        if IO error
+     */
+    public Iterator<Item> findByMetadataQuery(Context context, List<List<MetadataField>> listFieldList,
+                                              List<String> query_op, List<String> query_val, List<UUID> collectionUuids,
+                                              String regexClause, UUID after, int limit)
+        throws SQLException, AuthorizeException, IOException;
+
     /**
      * Find all the items in the archive with a given authority key value
      * in the indicated metadata field.
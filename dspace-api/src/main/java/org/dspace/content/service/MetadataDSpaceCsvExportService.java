@@ -7,6 +7,7 @@
  */
 package org.dspace.content.service;
 
+import java.io.OutputStream;
 import java.util.Iterator;
 
 import org.dspace.app.bulkedit.DSpaceCSV;
@@ -14,6 +15,7 @@ import org.dspace.content.Community;
 import org.dspace.content.Item;
 import org.dspace.core.Context;
 import org.dspace.scripts.handler.DSpaceRunnableHandler;
+import org.dspace.util.ThrowingSupplier;
 
 /**
  * This is the interface to be implemented by a Service that deals with the exporting of Metadata
@@ -36,6 +38,22 @@ public interface MetadataDSpaceCsvExportService {
     public DSpaceCSV handleExport(Context context, boolean exportAllItems, boolean exportAllMetadata,
                                   String identifier, DSpaceRunnableHandler dSpaceRunnableHandler) throws Exception;
 
+    /**
+     * This method will export DSpaceObject objects depending on the parameters it gets, like
+     * {@link #handleExport(Context, boolean, boolean, String, DSpaceRunnableHandler)}, but writes them as CSV to the
+     * given output stream item by item instead of holding them all in a DSpaceCSV
+     * @param context           The relevant DSpace context
+     * @param exportAllItems    A boolean indicating whether or not the entire repository should be exported
+     * @param exportAllMetadata Defines if all metadata should be exported or only the allowed ones
+     * @param identifier        The handle or UUID for the DSpaceObject to be exported, can be a Community,
+     *                          Collection or Item
+     * @param outputStream      The output stream to write the CSV to, which is left open
+     * @throws Exception        If something goes wrong
+     */
+    public void handleExport(Context context, boolean exportAllItems, boolean exportAllMetadata,
+                             String identifier, DSpaceRunnableHandler dSpaceRunnableHandler,
+                             OutputStream outputStream) throws Exception;
+
     /**
      * This method will export all the Items in the given toExport iterator to a DSpaceCSV
      * @param context       The relevant DSpace context
@@ -46,6 +64,19 @@ public interface MetadataDSpaceCsvExportService {
      */
     public DSpaceCSV export(Context context, Iterator<Item> toExport, boolean exportAll) throws Exception;
 
+    /**
+     * This method will write all the Items to export as CSV to the given output stream. The items are iterated
+     * twice, once to determine the columns of the CSV and once to write its lines, so that they don't have to be
+     * held in memory
+     * @param context       The relevant DSpace context
+     * @param toExport      The supplier of the iterators of the items to export, called once per iteration
+     * @param exportAll     Defines if all metadata should be exported or only the allowed ones
+     * @param outputStream  The output stream to write the CSV to, which is left open
+     * @throws Exception    If something goes wrong
+     */
+    public void export(Context context, ThrowingSupplier<Iterator<Item>, Exception> toExport, boolean exportAll,
+                       OutputStream outputStream) throws Exception;
+
     /**
      * This method will export all the Items within the given Community to a DSpaceCSV
      * @param context       The relevant DSpace context
@@ -9,8 +9,11 @@ package org.dspace.core;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Deque;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
@@ -20,6 +23,8 @@ import java.util.UUID;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Iterators;
 import org.apache.logging.log4j.Logger;
 import org.dspace.authorize.ResourcePolicy;
 import org.dspace.content.DSpaceObject;
@@ -109,6 +114,11 @@ public class Context implements AutoCloseable {
      */
     private LinkedList<Event> events = null;
 
+    /**
+     * Actions to run once the current transaction is over
+     */
+    private List<Runnable> afterTransactionActions = null;
+
     /**
      * Event dispatcher name
      */
@@ -443,6 +453,7 @@ public class Context implements AutoCloseable {
                 dbConnection.commit();
                 reloadContextBoundEntities();
             }
+            runAfterTransactionActions();
         }
     }
 
@@ -565,6 +576,7 @@ public class Context implements AutoCloseable {
             }
         } finally {
             events = null;
+            runAfterTransactionActions();
         }
     }
 
@@ -603,6 +615,7 @@ public class Context implements AutoCloseable {
                 log.error("Error closing the database connection", ex);
             }
             events = null;
+            runAfterTransactionActions();
         }
     }
 
@@ -880,6 +893,83 @@ public class Context implements AutoCloseable {
         dbConnection.uncacheEntity(entity);
     }
 
+    /**
+     * Load the associations of the given fetch plan for all the given entities at once. This avoids loading them
+     * one entity at a time when they are first accessed, e.g. when processing a page or a batch of items.
+     *
+     * @param fetchPlan the associations to load
+     * @param entities  the entities to load the associations of
+     * @throws SQLException When loading the associations from the database fails.
+     */
+    public void applyFetchPlan(FetchPlan fetchPlan, Collection<? extends ReloadableEntity> entities)
+        throws SQLException {
+        dbConnection.applyFetchPlan(fetchPlan, entities);
+    }
+
+    /**
+     * Run an action once the current transaction is over, i.e. once it is committed or rolled back. As the events
+     * are dispatched before the transaction is committed, this lets a consumer start a task which reads the changes
+     * from another context.
+     *
+     * @param action the action to run
+     */
+    public void afterTransaction(Runnable action) {
+        if (afterTransactionActions == null) {
+            afterTransactionActions = new ArrayList<>();
+        }
+        afterTransactionActions.add(action);
+    }
+
+    private void runAfterTransactionActions() {
+        if (afterTransactionActions == null) {
+            return;
+        }
+        List<Runnable> actions = afterTransactionActions;
+        afterTransactionActions = null;
+        for (Runnable action : actions) {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                log.error("Error running an action after the transaction", e);
+            }
+        }
+    }
+
+    /**
+     * Wrap an iterator of entities, loading the associations of the given fetch plan for each batch of entities
+     * before returning them. The entities of a batch can be uncached once processed.
+     *
+     * @param fetchPlan the associations to load
+     * @param entities  the entities to iterate over
+     * @param batchSize the number of entities to load the associations of at once
+     * @param <E>       The class of the entities.
+     * @return an iterator over the same entities
+     */
+    public <E extends ReloadableEntity> Iterator<E> applyFetchPlan(FetchPlan fetchPlan, Iterator<E> entities,
+                                                                   int batchSize) {
+        Iterator<List<E>> batches = Iterators.partition(entities, batchSize);
+        return new AbstractIterator<E>() {
+            private Iterator<E> batch = Collections.emptyIterator();
+
+            @Override
+            protected E computeNext() {
+                while (!batch.hasNext()) {
+                    if (!batches.hasNext()) {
+                        return endOfData();
+                    }
+                    List<E> next = batches.next();
+                    try {
+                        applyFetchPlan(fetchPlan, next);
+                    } catch (SQLException e) {
+                        throw new RuntimeException(e.getMessage(), e);
+                    }
+                    batch = next.iterator();
+                }
+                return batch.next();
+            }
+        };
+    }
+
     public Boolean getCachedAuthorizationResult(DSpaceObject dspaceObject, int action, EPerson eperson) {
         if (isReadOnly()) {
             return readOnlyCache.getCachedAuthorizationResult(dspaceObject, action, eperson);
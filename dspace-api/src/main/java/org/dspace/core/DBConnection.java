@@ -8,6 +8,7 @@
 package org.dspace.core;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import javax.sql.DataSource;
 
 import org.dspace.storage.rdbms.DatabaseConfigVO;
@@ -148,4 +149,16 @@ public interface DBConnection<T> {
      * @throws java.sql.SQLException passed through.
      */
     public <E extends ReloadableEntity> void uncacheEntity(E entity) throws SQLException;
+
+    /**
+     * Load the associations of the given fetch plan for all the given
+     * entities at once, instead of one entity at a time when they are first
+     * accessed. Entities which aren't cached in this session are ignored.
+     *
+     * @param fetchPlan the associations to load
+     * @param entities  the DSpace objects to load the associations of.
+     * @throws java.sql.SQLException passed through.
+     */
+    public void applyFetchPlan(FetchPlan fetchPlan, Collection<? extends ReloadableEntity> entities)
+        throws SQLException;
 }
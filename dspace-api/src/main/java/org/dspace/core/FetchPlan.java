@@ -0,0 +1,50 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.core;
+
+import java.util.List;
+
+/**
+ * Named sets of lazy associations to load up front for a batch of entities, see
+ * {@link Context#applyFetchPlan(FetchPlan, java.util.Collection)}.
+ * <P>
+ * The associations of all the entities of a batch are loaded with one query per association, instead of one query
+ * per entity and association when they are first accessed. Nested associations are given as paths, e.g.
+ * "bundles.bitstreams" loads the bitstreams of all the bundles of the entities. Associations the class of an entity
+ * doesn't have are ignored, so a plan can be applied to entities of different classes.
+ */
+public enum FetchPlan {
+
+    /**
+     * The associations used to build the discovery documents of items and containers
+     */
+    INDEXING("metadata", "handles", "collections.handles", "bundles.bitstreams.metadata"),
+
+    /**
+     * The associations used to list items, collections and communities in the REST API
+     */
+    REST_LISTING("metadata", "handles"),
+
+    /**
+     * The associations used by the metadata export of items
+     */
+    EXPORT("metadata", "handles", "collections.handles");
+
+    private final List<String> associations;
+
+    FetchPlan(String... associations) {
+        this.associations = List.of(associations);
+    }
+
+    /**
+     * @return the paths of the associations to load, relative to the entities the plan is applied to
+     */
+    public List<String> getAssociations() {
+        return associations;
+    }
+}
@@ -7,11 +7,21 @@
  */
 package org.dspace.core;
 
+import java.io.Serializable;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import javax.sql.DataSource;
 
+import com.google.common.collect.Lists;
+import org.apache.commons.lang3.StringUtils;
 import org.dspace.authorize.ResourcePolicy;
 import org.dspace.content.Bitstream;
 import org.dspace.content.Bundle;
@@ -27,6 +37,8 @@ import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.Transaction;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.proxy.HibernateProxyHelper;
 import org.hibernate.resource.transaction.spi.TransactionStatus;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -61,6 +73,11 @@ public class HibernateDBConnection implements DBConnection<Session> {
     @Qualifier("sessionFactory")
     private SessionFactory sessionFactory;
 
+    /**
+     * The maximum number of entities an association is loaded for by a single query
+     */
+    private static final int FETCH_BATCH_SIZE = 500;
+
     private boolean batchModeEnabled = false;
     private boolean readOnlyEnabled = false;
 
@@ -337,4 +354,83 @@ public class HibernateDBConnection implements DBConnection<Session> {
             }
         }
     }
+
+    /**
+     * Load the associations of the given fetch plan for all the given entities at once. Each association is loaded
+     * for a batch of entities by a single query joining it, which initializes the association of all the entities of
+     * the batch in the session. The associations are loaded one at a time, as Hibernate can't join several lists in a
+     * single query. Nested associations are loaded for all the entities of their parent association.
+     *
+     * @param fetchPlan the associations to load
+     * @param entities  the entities to load the associations of, entities which aren't in the session are ignored
+     * @throws SQLException When loading the associations from the database fails.
+     */
+    @Override
+    public void applyFetchPlan(FetchPlan fetchPlan, java.util.Collection<? extends ReloadableEntity> entities)
+        throws SQLException {
+        fetchAssociations(new ArrayList<>(entities), fetchPlan.getAssociations());
+    }
+
+    private void fetchAssociations(List<Object> entities, List<String> paths) throws SQLException {
+        // Group the paths by their first association, to load each association once
+        Map<String, List<String>> nestedPaths = new LinkedHashMap<>();
+        for (String path : paths) {
+            List<String> nested = nestedPaths.computeIfAbsent(StringUtils.substringBefore(path, "."),
+                association -> new ArrayList<>());
+            if (path.contains(".")) {
+                nested.add(StringUtils.substringAfter(path, "."));
+            }
+        }
+
+        Map<Class<?>, List<Object>> entitiesByClass = new LinkedHashMap<>();
+        for (Object entity : entities) {
+            if (entity != null && getSession().contains(entity)) {
+                Object unproxied = Hibernate.unproxy(entity);
+                entitiesByClass.computeIfAbsent(unproxied.getClass(), clazz -> new ArrayList<>()).add(unproxied);
+            }
+        }
+
+        for (Map.Entry<String, List<String>> entry : nestedPaths.entrySet()) {
+            String association = entry.getKey();
+            Set<Object> associated = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (Map.Entry<Class<?>, List<Object>> classEntities : entitiesByClass.entrySet()) {
+                EntityPersister persister = sessionFactory.unwrap(SessionFactoryImplementor.class).getMetamodel()
+                                                          .entityPersister(classEntities.getKey());
+                if (persister.getEntityMetamodel().getPropertyIndexOrNull(association) == null) {
+                    continue;
+                }
+                fetchAssociation(persister, association, classEntities.getValue());
+                if (!entry.getValue().isEmpty()) {
+                    for (Object entity : classEntities.getValue()) {
+                        Object value = persister.getPropertyValue(entity, association);
+                        if (value instanceof java.util.Collection) {
+                            associated.addAll((java.util.Collection<?>) value);
+                        } else if (value != null) {
+                            associated.add(value);
+                        }
+                    }
+                }
+            }
+            if (!associated.isEmpty()) {
+                fetchAssociations(new ArrayList<>(associated), entry.getValue());
+            }
+        }
+    }
+
+    private void fetchAssociation(EntityPersister persister, String association, List<Object> entities)
+        throws SQLException {
+        List<Serializable> ids = new ArrayList<>();
+        for (Object entity : entities) {
+            if (!Hibernate.isInitialized(persister.getPropertyValue(entity, association))) {
+                ids.add(persister.getIdentifier(entity, getSession().unwrap(SharedSessionContractImplementor.class)));
+            }
+        }
+        for (List<Serializable> batch : Lists.partition(ids, FETCH_BATCH_SIZE)) {
+            getSession().createQuery("select e from " + persister.getEntityName() + " e"
+                                         + " left join fetch e." + association
+                                         + " where e." + persister.getIdentifierPropertyName() + " in (:ids)")
+                        .setParameterList("ids", batch)
+                        .getResultList();
+        }
+    }
 }
@@ -7,6 +7,7 @@
  */
 package org.dspace.core.factory;
 
+import org.dspace.cache.service.CacheInvalidationService;
 import org.dspace.core.service.LicenseService;
 import org.dspace.core.service.NewsService;
 import org.dspace.core.service.PluginService;
@@ -29,6 +30,8 @@ public abstract class CoreServiceFactory {
 
     public abstract ClientInfoService getClientInfoService();
 
+    public abstract CacheInvalidationService getCacheInvalidationService();
+
     public static CoreServiceFactory getInstance() {
         return DSpaceServicesFactory.getInstance().getServiceManager()
                                     .getServiceByName("coreServiceFactory", CoreServiceFactory.class);
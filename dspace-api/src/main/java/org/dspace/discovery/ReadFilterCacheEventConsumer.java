@@ -0,0 +1,63 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import org.apache.logging.log4j.Logger;
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.core.factory.CoreServiceFactory;
+import org.dspace.event.Consumer;
+import org.dspace.event.Event;
+
+/**
+ * This consumer clears the cache of the read filter queries of the users (see
+ * {@link SolrServiceResourceRestrictionPlugin}) when their security principals may have changed: when the members
+ * of a group change or when the policies or the hierarchy of a community or collection change.
+ */
+public class ReadFilterCacheEventConsumer implements Consumer {
+
+    private final static Logger log = org.apache.logging.log4j.LogManager.getLogger(ReadFilterCacheEventConsumer.class);
+
+    // When true all entries will be cleared from cache.
+    private boolean clearAll = false;
+
+    @Override
+    public void initialize() throws Exception {
+    }
+
+    @Override
+    public void consume(Context ctx, Event event) throws Exception {
+        int st = event.getSubjectType();
+        if (st == Constants.GROUP) {
+            clearAll = true;
+        } else if ((st == Constants.COMMUNITY || st == Constants.COLLECTION)
+            && event.getObjectType() != Constants.ITEM) {
+            // the ADMIN policies granted, changed or revoked through the ResourcePolicyService arrive here as a
+            // MODIFY of the community or collection without object (see updateLastModified), while the items
+            // added to or removed from a collection don't change who administers what
+            clearAll = true;
+        }
+    }
+
+    @Override
+    public void end(Context ctx) throws Exception {
+        if (clearAll) {
+            log.debug("Clearing the discovery read filter cache");
+            // cleared through the cache invalidation service, so that the caches of the other nodes are cleared too
+            CoreServiceFactory.getInstance().getCacheInvalidationService()
+                              .clearCache(ctx, SolrServiceResourceRestrictionPlugin.READ_FILTER_CACHE);
+        }
+        clearAll = false;
+    }
+
+    @Override
+    public void finish(Context ctx) throws Exception {
+
+    }
+
+}
@@ -10,6 +10,7 @@ package org.dspace.discovery;
 import java.sql.SQLException;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 
 import org.dspace.content.Item;
 import org.dspace.core.Context;
@@ -106,6 +107,16 @@ public interface SearchService {
      */
     String createLocationQueryForAdministrableItems(Context context) throws SQLException;
 
+    /**
+     * Retrieves the values of the location field of the communities and collections the current user may
+     * administrate, see {@link #createLocationQueryForAdministrableItems(Context)}.
+     *
+     * @param context The relevant DSpace Context.
+     * @return the sorted location values ("m" + community id or "l" + collection id), empty for anonymous users
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    Set<String> findAdministrableLocations(Context context) throws SQLException;
+
     /**
      * Transforms the metadata field of the given sort configuration into the indexed field which we can then use in
      * our Solr queries.
@@ -28,10 +28,14 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.TimeZone;
+import java.util.TreeSet;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import javax.mail.MessagingException;
 
+import com.google.common.collect.Iterators;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.collections4.Transformer;
@@ -60,6 +64,7 @@ import org.dspace.content.factory.ContentServiceFactory;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
 import org.dspace.core.Email;
+import org.dspace.core.FetchPlan;
 import org.dspace.core.I18nUtil;
 import org.dspace.core.LogHelper;
 import org.dspace.discovery.configuration.DiscoveryConfiguration;
@@ -109,6 +114,9 @@ public class SolrServiceImpl implements SearchService, IndexingService {
     // facet by indexing "each word to end of value' partial value
     public static final String SOLR_FIELD_SUFFIX_FACET_PREFIXES = "_prefix";
 
+    // Number of objects whose associations are loaded at once when updating the whole index
+    private static final int INDEXING_BATCH_SIZE = 100;
+
     @Autowired
     protected ContentServiceFactory contentServiceFactory;
     @Autowired
@@ -119,6 +127,8 @@ public class SolrServiceImpl implements SearchService, IndexingService {
     protected SolrSearchCore solrSearchCore;
     @Autowired
     protected ConfigurationService configurationService;
+    @Autowired
+    protected StaleDocumentRepairQueue staleDocumentRepairQueue;
 
     protected SolrServiceImpl() {
 
@@ -344,10 +354,18 @@ public class SolrServiceImpl implements SearchService, IndexingService {
             for (IndexFactory indexableObjectService : indexableObjectServices) {
                 if (type == null || StringUtils.equals(indexableObjectService.getType(), type)) {
                     final Iterator<IndexableObject> indexableObjects = indexableObjectService.findAll(context);
-                    while (indexableObjects.hasNext()) {
-                        final IndexableObject indexableObject = indexableObjects.next();
-                        indexContent(context, indexableObject, force);
-                        context.uncacheEntity(indexableObject.getIndexedObject());
+                    // load the associations needed to index the objects a batch at a time
+                    final Iterator<List<IndexableObject>> batches =
+                        Iterators.partition(indexableObjects, INDEXING_BATCH_SIZE);
+                    while (batches.hasNext()) {
+                        final List<IndexableObject> batch = batches.next();
+                        context.applyFetchPlan(FetchPlan.INDEXING, batch.stream()
+                            .map(IndexableObject::getIndexedObject)
+                            .collect(Collectors.toList()));
+                        for (IndexableObject indexableObject : batch) {
+                            indexContent(context, indexableObject, force);
+                            context.uncacheEntity(indexableObject.getIndexedObject());
+                        }
                     }
                 }
             }
@@ -590,7 +608,20 @@ public class SolrServiceImpl implements SearchService, IndexingService {
     @Override
     public String createLocationQueryForAdministrableItems(Context context)
         throws SQLException {
-        StringBuilder locationQuery = new StringBuilder();
+        Set<String> locations = findAdministrableLocations(context);
+        if (locations.isEmpty()) {
+            if (context.getCurrentUser() != null) {
+                log.warn("We have a collection or community admin with ID: " + context.getCurrentUser().getID()
+                             + " without any administrable collection or community!");
+            }
+            return "";
+        }
+        return locations.stream().collect(joining(" OR ", "location:( ", ")"));
+    }
+
+    @Override
+    public Set<String> findAdministrableLocations(Context context) throws SQLException {
+        Set<String> locations = new TreeSet<>();
 
         if (context.getCurrentUser() != null) {
             List<Group> groupList = EPersonServiceFactory.getInstance().getGroupService()
@@ -606,51 +637,21 @@ public class SolrServiceImpl implements SearchService, IndexingService {
                                                                                     groupList, Constants.ADMIN,
                                                                                     Constants.COLLECTION);
 
-            List<Collection> allCollections = new ArrayList<>();
-
             for (ResourcePolicy rp : collectionsPolicies) {
-                Collection collection = ContentServiceFactory.getInstance().getCollectionService()
-                                                             .find(context, rp.getdSpaceObject().getID());
-                allCollections.add(collection);
+                locations.add("l" + rp.getdSpaceObject().getID());
             }
 
-            if (CollectionUtils.isNotEmpty(communitiesPolicies) || CollectionUtils.isNotEmpty(allCollections)) {
-                locationQuery.append("location:( ");
-
-                for (int i = 0; i < communitiesPolicies.size(); i++) {
-                    ResourcePolicy rp = communitiesPolicies.get(i);
-                    Community community = ContentServiceFactory.getInstance().getCommunityService()
-                                                               .find(context, rp.getdSpaceObject().getID());
-
-                    locationQuery.append("m").append(community.getID());
-
-                    if (i != (communitiesPolicies.size() - 1)) {
-                        locationQuery.append(" OR ");
-                    }
-                    allCollections.addAll(ContentServiceFactory.getInstance().getCommunityService()
-                                                               .getAllCollections(context, community));
-                }
-
-                Iterator<Collection> collIter = allCollections.iterator();
-
-                if (communitiesPolicies.size() > 0 && allCollections.size() > 0) {
-                    locationQuery.append(" OR ");
+            for (ResourcePolicy rp : communitiesPolicies) {
+                Community community = ContentServiceFactory.getInstance().getCommunityService()
+                                                           .find(context, rp.getdSpaceObject().getID());
+                locations.add("m" + community.getID());
+                for (Collection collection : ContentServiceFactory.getInstance().getCommunityService()
+                                                                  .getAllCollections(context, community)) {
+                    locations.add("l" + collection.getID());
                 }
-
-                while (collIter.hasNext()) {
-                    locationQuery.append("l").append(collIter.next().getID());
-
-                    if (collIter.hasNext()) {
-                        locationQuery.append(" OR ");
-                    }
-                }
-                locationQuery.append(")");
-            } else {
-                log.warn("We have a collection or community admin with ID: " + context.getCurrentUser().getID()
-                             + " without any administrable collection or community!");
             }
         }
-        return locationQuery.toString();
+        return locations;
     }
 
     /**
@@ -976,107 +977,76 @@ public class SolrServiceImpl implements SearchService, IndexingService {
         return solrQuery;
     }
 
+    /**
+     * Run the query and resolve its results. The stale documents found, whose DSpace object no longer exists, are
+     * left out of the results and added to the {@link StaleDocumentRepairQueue}, which removes them from the index
+     * in the background, unless discovery.removestale.attempts is -1.
+     */
     protected DiscoverResult retrieveResult(Context context, DiscoverQuery query)
         throws SQLException, SolrServerException, IOException, SearchServiceException {
-        // we use valid and executeLimit to decide if the solr query need to be re-run if we found some stale objects
-        boolean valid = false;
-        int executionCount = 0;
-        DiscoverResult result = null;
+        DiscoverResult result = new DiscoverResult();
         SolrQuery solrQuery = resolveToSolrQuery(context, query);
-        // how many re-run of the query are allowed other than the first run
-        int maxAttempts = configurationService.getIntProperty("discovery.removestale.attempts", 3);
-        do {
-            executionCount++;
-            result = new DiscoverResult();
-            // if we found stale objects we can decide to skip execution of the remaining code to improve performance
-            boolean skipLoadingResponse = false;
-            // use zombieDocs to collect stale found objects
-            List<String> zombieDocs = new ArrayList<>();
-            QueryResponse solrQueryResponse = solrSearchCore.getSolr().query(solrQuery,
-                          solrSearchCore.REQUEST_METHOD);
-            if (solrQueryResponse != null) {
-                result.setSearchTime(solrQueryResponse.getQTime());
-                result.setStart(query.getStart());
-                result.setMaxResults(query.getMaxResults());
-                result.setTotalSearchResults(solrQueryResponse.getResults().getNumFound());
-
-                List<String> searchFields = query.getSearchFields();
-                for (SolrDocument doc : solrQueryResponse.getResults()) {
-                    IndexableObject indexableObject = findIndexableObject(context, doc);
-
-                    if (indexableObject != null) {
-                        result.addIndexableObject(indexableObject);
-                    } else {
-                        // log has warn because we try to fix the issue
-                        log.warn(LogHelper.getHeader(context,
-                                "Stale entry found in Discovery index,"
-                              + " as we could not find the DSpace object it refers to. ",
-                                "Unique identifier: " + doc.getFirstValue(SearchUtils.RESOURCE_UNIQUE_ID)));
-                        // Enables solr to remove documents related to items not on database anymore (Stale)
-                        // if maxAttemps is greater than 0 cleanup the index on each step
-                        if (maxAttempts >= 0) {
-                            Object statusObj = doc.getFirstValue(STATUS_FIELD);
-                            if (!(statusObj instanceof String && statusObj.equals(STATUS_FIELD_PREDB))) {
-                                zombieDocs.add((String) doc.getFirstValue(SearchUtils.RESOURCE_UNIQUE_ID));
-                                // avoid to process the response except if we are in the last allowed execution.
-                                // When maxAttempts is 0 this will be just the first and last run as the
-                                // executionCount is increased at the start of the loop it will be equals to 1
-                                skipLoadingResponse = maxAttempts + 1 != executionCount;
-                            }
-                        }
-                        continue;
+        boolean removeStale = configurationService.getIntProperty("discovery.removestale.attempts", 3) >= 0;
+        // use zombieDocs to collect stale found objects
+        List<String> zombieDocs = new ArrayList<>();
+        QueryResponse solrQueryResponse = solrSearchCore.getSolr().query(solrQuery,
+                      solrSearchCore.REQUEST_METHOD);
+        if (solrQueryResponse != null) {
+            result.setSearchTime(solrQueryResponse.getQTime());
+            result.setStart(query.getStart());
+            result.setMaxResults(query.getMaxResults());
+
+            List<String> searchFields = query.getSearchFields();
+            for (SolrDocument doc : solrQueryResponse.getResults()) {
+                IndexableObject indexableObject = findIndexableObject(context, doc);
+
+                if (indexableObject == null) {
+                    log.warn(LogHelper.getHeader(context,
+                            "Stale entry found in Discovery index,"
+                          + " as we could not find the DSpace object it refers to. ",
+                            "Unique identifier: " + doc.getFirstValue(SearchUtils.RESOURCE_UNIQUE_ID)));
+                    // the documents of objects which may not be committed to the database yet are left alone
+                    Object statusObj = doc.getFirstValue(STATUS_FIELD);
+                    if (removeStale && !(statusObj instanceof String && statusObj.equals(STATUS_FIELD_PREDB))) {
+                        zombieDocs.add((String) doc.getFirstValue(SearchUtils.RESOURCE_UNIQUE_ID));
                     }
-                    if (!skipLoadingResponse) {
-                        DiscoverResult.SearchDocument resultDoc = new DiscoverResult.SearchDocument();
-                        // Add information about our search fields
-                        for (String field : searchFields) {
-                            List<String> valuesAsString = new ArrayList<>();
-                            for (Object o : doc.getFieldValues(field)) {
-                                valuesAsString.add(String.valueOf(o));
-                            }
-                            resultDoc.addSearchField(field, valuesAsString.toArray(new String[valuesAsString.size()]));
-                        }
-                        result.addSearchDocument(indexableObject, resultDoc);
-
-                        if (solrQueryResponse.getHighlighting() != null) {
-                            Map<String, List<String>> highlightedFields = solrQueryResponse.getHighlighting().get(
-                                indexableObject.getUniqueIndexID());
-                            if (MapUtils.isNotEmpty(highlightedFields)) {
-                                //We need to remove all the "_hl" appendix strings from our keys
-                                Map<String, List<String>> resultMap = new HashMap<>();
-                                for (String key : highlightedFields.keySet()) {
-                                    resultMap.put(key.substring(0, key.lastIndexOf("_hl")), highlightedFields.get(key));
-                                }
-
-                                result.addHighlightedResult(indexableObject,
-                                    new DiscoverResult.IndexableObjectHighlightResult(indexableObject, resultMap));
-                            }
+                    continue;
+                }
+                result.addIndexableObject(indexableObject);
+
+                DiscoverResult.SearchDocument resultDoc = new DiscoverResult.SearchDocument();
+                // Add information about our search fields
+                for (String field : searchFields) {
+                    List<String> valuesAsString = new ArrayList<>();
+                    for (Object o : doc.getFieldValues(field)) {
+                        valuesAsString.add(String.valueOf(o));
+                    }
+                    resultDoc.addSearchField(field, valuesAsString.toArray(new String[valuesAsString.size()]));
+                }
+                result.addSearchDocument(indexableObject, resultDoc);
+
+                if (solrQueryResponse.getHighlighting() != null) {
+                    Map<String, List<String>> highlightedFields = solrQueryResponse.getHighlighting().get(
+                        indexableObject.getUniqueIndexID());
+                    if (MapUtils.isNotEmpty(highlightedFields)) {
+                        //We need to remove all the "_hl" appendix strings from our keys
+                        Map<String, List<String>> resultMap = new HashMap<>();
+                        for (String key : highlightedFields.keySet()) {
+                            resultMap.put(key.substring(0, key.lastIndexOf("_hl")), highlightedFields.get(key));
                         }
+
+                        result.addHighlightedResult(indexableObject,
+                            new DiscoverResult.IndexableObjectHighlightResult(indexableObject, resultMap));
                     }
                 }
-                //Resolve our facet field values
-                resolveFacetFields(context, query, result, skipLoadingResponse, solrQueryResponse);
             }
-            // If any stale entries are found in the current page of results,
-            // we remove those stale entries and rerun the same query again.
-            // Otherwise, the query is valid and the results are returned.
-            if (!zombieDocs.isEmpty()) {
-                log.info("Cleaning " + zombieDocs.size() + " stale objects from Discovery Index");
-                log.info("ZombieDocs ");
-                zombieDocs.forEach(log::info);
-                solrSearchCore.getSolr().deleteById(zombieDocs);
-                solrSearchCore.getSolr().commit();
-            } else {
-                valid = true;
-            }
-        } while (!valid && executionCount <= maxAttempts);
-
-        if (!valid && executionCount == maxAttempts) {
-            String message = "The Discovery (Solr) index has a large number of stale entries,"
-                    + " and we could not complete this request. Please reindex all content"
-                    + " to remove these stale entries (e.g. dspace index-discovery -f).";
-            log.fatal(message);
-            throw new RuntimeException(message);
+            // the stale documents found are already left out of the total, as they are about to be removed
+            result.setTotalSearchResults(solrQueryResponse.getResults().getNumFound() - zombieDocs.size());
+            //Resolve our facet field values
+            resolveFacetFields(context, query, result, solrQueryResponse);
+        }
+        if (!zombieDocs.isEmpty()) {
+            staleDocumentRepairQueue.add(zombieDocs);
         }
         return result;
     }
@@ -1084,84 +1054,82 @@ public class SolrServiceImpl implements SearchService, IndexingService {
 
 
     private void resolveFacetFields(Context context, DiscoverQuery query, DiscoverResult result,
-            boolean skipLoadingResponse, QueryResponse solrQueryResponse) throws SQLException {
+            QueryResponse solrQueryResponse) throws SQLException {
         List<FacetField> facetFields = solrQueryResponse.getFacetFields();
-        if (!skipLoadingResponse) {
-            if (facetFields != null) {
-                for (int i = 0; i < facetFields.size(); i++) {
-                    FacetField facetField = facetFields.get(i);
-                    DiscoverFacetField facetFieldConfig = query.getFacetFields().get(i);
-                    List<FacetField.Count> facetValues = facetField.getValues();
-                    if (facetValues != null) {
-                        if (facetFieldConfig.getType()
-                                            .equals(DiscoveryConfigurationParameters.TYPE_DATE) && facetFieldConfig
-                            .getSortOrder().equals(DiscoveryConfigurationParameters.SORT.VALUE)) {
-                            //If we have a date & are sorting by value, ensure that the results are flipped for a
-                            // proper result
-                            Collections.reverse(facetValues);
-                        }
+        if (facetFields != null) {
+            for (int i = 0; i < facetFields.size(); i++) {
+                FacetField facetField = facetFields.get(i);
+                DiscoverFacetField facetFieldConfig = query.getFacetFields().get(i);
+                List<FacetField.Count> facetValues = facetField.getValues();
+                if (facetValues != null) {
+                    if (facetFieldConfig.getType()
+                                        .equals(DiscoveryConfigurationParameters.TYPE_DATE) && facetFieldConfig
+                        .getSortOrder().equals(DiscoveryConfigurationParameters.SORT.VALUE)) {
+                        //If we have a date & are sorting by value, ensure that the results are flipped for a
+                        // proper result
+                        Collections.reverse(facetValues);
+                    }
 
-                        for (FacetField.Count facetValue : facetValues) {
-                            String displayedValue = transformDisplayedValue(context, facetField.getName(),
-                                                                            facetValue.getName());
-                            String field = transformFacetField(facetFieldConfig, facetField.getName(), true);
-                            String authorityValue = transformAuthorityValue(context, facetField.getName(),
-                                                                            facetValue.getName());
-                            String sortValue = transformSortValue(context,
-                                                                  facetField.getName(), facetValue.getName());
-                            String filterValue = displayedValue;
-                            if (StringUtils.isNotBlank(authorityValue)) {
-                                filterValue = authorityValue;
-                            }
-                            result.addFacetResult(
-                                field,
-                                new DiscoverResult.FacetResult(filterValue,
-                                                               displayedValue, authorityValue,
-                                                               sortValue, facetValue.getCount(),
-                                                               facetFieldConfig.getType()));
+                    for (FacetField.Count facetValue : facetValues) {
+                        String displayedValue = transformDisplayedValue(context, facetField.getName(),
+                                                                        facetValue.getName());
+                        String field = transformFacetField(facetFieldConfig, facetField.getName(), true);
+                        String authorityValue = transformAuthorityValue(context, facetField.getName(),
+                                                                        facetValue.getName());
+                        String sortValue = transformSortValue(context,
+                                                              facetField.getName(), facetValue.getName());
+                        String filterValue = displayedValue;
+                        if (StringUtils.isNotBlank(authorityValue)) {
+                            filterValue = authorityValue;
                         }
+                        result.addFacetResult(
+                            field,
+                            new DiscoverResult.FacetResult(filterValue,
+                                                           displayedValue, authorityValue,
+                                                           sortValue, facetValue.getCount(),
+                                                           facetFieldConfig.getType()));
                     }
                 }
             }
+        }
 
-            if (solrQueryResponse.getFacetQuery() != null && !skipLoadingResponse) {
-                // just retrieve the facets in the order they where requested!
-                // also for the date we ask it in proper (reverse) order
-                // At the moment facet queries are only used for dates
-                LinkedHashMap<String, Integer> sortedFacetQueries = new LinkedHashMap<>(
-                    solrQueryResponse.getFacetQuery());
-                for (String facetQuery : sortedFacetQueries.keySet()) {
-                    //TODO: do not assume this, people may want to use it for other ends, use a regex to make sure
-                    //We have a facet query, the values looks something like:
-                    //dateissued.year:[1990 TO 2000] AND -2000
-                    //Prepare the string from {facet.field.name}:[startyear TO endyear] to startyear - endyear
-                    String facetField = facetQuery.substring(0, facetQuery.indexOf(":"));
-                    String name = "";
-                    String filter = "";
-                    if (facetQuery.indexOf('[') > -1 && facetQuery.lastIndexOf(']') > -1) {
-                        name = facetQuery.substring(facetQuery.indexOf('[') + 1);
-                        name = name.substring(0, name.lastIndexOf(']')).replaceAll("TO", "-");
-                        filter = facetQuery.substring(facetQuery.indexOf('['));
-                        filter = filter.substring(0, filter.lastIndexOf(']') + 1);
-                    }
-                    Integer count = sortedFacetQueries.get(facetQuery);
-
-                    //No need to show empty years
-                    if (0 < count) {
-                        result.addFacetResult(facetField,
-                                              new DiscoverResult.FacetResult(filter, name, null, name, count,
-                                                                             DiscoveryConfigurationParameters
-                                                                                 .TYPE_DATE));
-                    }
+        if (solrQueryResponse.getFacetQuery() != null) {
+            // just retrieve the facets in the order they where requested!
+            // also for the date we ask it in proper (reverse) order
+            // At the moment facet queries are only used for dates
+            LinkedHashMap<String, Integer> sortedFacetQueries = new LinkedHashMap<>(
+                solrQueryResponse.getFacetQuery());
+            for (String facetQuery : sortedFacetQueries.keySet()) {
+                //TODO: do not assume this, people may want to use it for other ends, use a regex to make sure
+                //We have a facet query, the values looks something like:
+                //dateissued.year:[1990 TO 2000] AND -2000
+                //Prepare the string from {facet.field.name}:[startyear TO endyear] to startyear - endyear
+                String facetField = facetQuery.substring(0, facetQuery.indexOf(":"));
+                String name = "";
+                String filter = "";
+                if (facetQuery.indexOf('[') > -1 && facetQuery.lastIndexOf(']') > -1) {
+                    name = facetQuery.substring(facetQuery.indexOf('[') + 1);
+                    name = name.substring(0, name.lastIndexOf(']')).replaceAll("TO", "-");
+                    filter = facetQuery.substring(facetQuery.indexOf('['));
+                    filter = filter.substring(0, filter.lastIndexOf(']') + 1);
                 }
-            }
-            if (solrQueryResponse.getSpellCheckResponse() != null && !skipLoadingResponse) {
-                String recommendedQuery = solrQueryResponse.getSpellCheckResponse().getCollatedResult();
-                if (StringUtils.isNotBlank(recommendedQuery)) {
-                    result.setSpellCheckQuery(recommendedQuery);
+                Integer count = sortedFacetQueries.get(facetQuery);
+
+                //No need to show empty years
+                if (0 < count) {
+                    result.addFacetResult(facetField,
+                                          new DiscoverResult.FacetResult(filter, name, null, name, count,
+                                                                         DiscoveryConfigurationParameters
+                                                                             .TYPE_DATE));
                 }
             }
         }
+        if (solrQueryResponse.getSpellCheckResponse() != null) {
+            String recommendedQuery = solrQueryResponse.getSpellCheckResponse().getCollatedResult();
+            if (StringUtils.isNotBlank(recommendedQuery)) {
+                result.setSpellCheckQuery(recommendedQuery);
+            }
+        }
     }
 
     /**
@@ -10,8 +10,9 @@ package org.dspace.discovery;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
 
-import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.Logger;
 import org.apache.solr.client.solrj.SolrQuery;
 import org.apache.solr.common.SolrInputDocument;
@@ -40,6 +41,8 @@ import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.xmlworkflow.storedcomponents.ClaimedTask;
 import org.dspace.xmlworkflow.storedcomponents.PoolTask;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 
 /**
  * Restriction plugin that ensures that indexes all the resource policies.
@@ -54,6 +57,11 @@ public class SolrServiceResourceRestrictionPlugin implements SolrServiceIndexPlu
     private static final Logger log =
             org.apache.logging.log4j.LogManager.getLogger(SolrServiceResourceRestrictionPlugin.class);
 
+    /**
+     * The name of the cache of the read filter queries of the users
+     */
+    public static final String READ_FILTER_CACHE = "discovery.readFilters";
+
     @Autowired(required = true)
     protected AuthorizeService authorizeService;
     @Autowired(required = true)
@@ -64,6 +72,8 @@ public class SolrServiceResourceRestrictionPlugin implements SolrServiceIndexPlu
     protected GroupService groupService;
     @Autowired(required = true)
     protected ResourcePolicyService resourcePolicyService;
+    @Autowired(required = true)
+    protected CacheManager cacheManager;
 
     @Override
     public void additionalIndex(Context context, IndexableObject idxObj, SolrInputDocument document) {
@@ -140,42 +150,79 @@ public class SolrServiceResourceRestrictionPlugin implements SolrServiceIndexPlu
     public void additionalSearchParameters(Context context, DiscoverQuery discoveryQuery, SolrQuery solrQuery) {
         try {
             if (!authorizeService.isAdmin(context)) {
-                StringBuilder resourceQuery = new StringBuilder();
-                //Always add the anonymous group id to the query
-                Group anonymousGroup = groupService.findByName(context, Group.ANONYMOUS);
-                String anonGroupId = "";
-                if (anonymousGroup != null) {
-                    anonGroupId = anonymousGroup.getID().toString();
-                }
-                resourceQuery.append("read:(g" + anonGroupId);
-                EPerson currentUser = context.getCurrentUser();
-                if (currentUser != null) {
-                    resourceQuery.append(" OR e").append(currentUser.getID());
-                }
-
-                //Retrieve all the groups the current user is a member of !
-                Set<Group> groups = groupService.allMemberGroupsSet(context, currentUser);
-                for (Group group : groups) {
-                    resourceQuery.append(" OR g").append(group.getID());
+                // The filter only depends on the security principals of the current user, which rarely change, so
+                // it's cached across requests (see ReadFilterCacheEventConsumer for its invalidation)
+                Cache cache = cacheManager.getCache(READ_FILTER_CACHE);
+                String cacheKey = getReadFilterCacheKey(context);
+                String readFilter = cache != null ? cache.get(cacheKey, String.class) : null;
+                if (readFilter == null) {
+                    readFilter = createReadFilterQuery(context);
+                    if (cache != null) {
+                        cache.put(cacheKey, readFilter);
+                    }
                 }
+                solrQuery.addFilterQuery(readFilter);
+            }
+        } catch (SQLException e) {
+            log.error(LogHelper.getHeader(context, "Error while adding resource policy information to query", ""), e);
+        }
+    }
 
-                resourceQuery.append(")");
+    /**
+     * Create the filter query restricting the results to the objects the current user has READ access to, either
+     * through a policy for one of its security principals (the anonymous group, the user itself and the groups the
+     * user is a member of) or because the user administers the community or collection the object is located in.
+     * The values are sorted and sent as terms queries, so the same user always gets exactly the same filter query
+     * and Solr's filterCache can reuse it across requests.
+     *
+     * @param context The relevant DSpace Context.
+     * @return the filter query
+     * @throws SQLException if database error
+     */
+    protected String createReadFilterQuery(Context context) throws SQLException {
+        Set<String> readValues = new TreeSet<>();
+        //Always add the anonymous group id to the query
+        Group anonymousGroup = groupService.findByName(context, Group.ANONYMOUS);
+        String anonGroupId = "";
+        if (anonymousGroup != null) {
+            anonGroupId = anonymousGroup.getID().toString();
+        }
+        readValues.add("g" + anonGroupId);
+        EPerson currentUser = context.getCurrentUser();
+        if (currentUser != null) {
+            readValues.add("e" + currentUser.getID());
+        }
 
-                String locations = DSpaceServicesFactory.getInstance()
-                                                          .getServiceManager()
-                                                          .getServiceByName(SearchService.class.getName(),
-                                                                            SearchService.class)
-                                                          .createLocationQueryForAdministrableItems(context);
+        //Retrieve all the groups the current user is a member of !
+        Set<Group> groups = groupService.allMemberGroupsSet(context, currentUser);
+        for (Group group : groups) {
+            readValues.add("g" + group.getID());
+        }
 
-                if (StringUtils.isNotBlank(locations)) {
-                    resourceQuery.append(" OR ");
-                    resourceQuery.append(locations);
-                }
+        String readQuery = "{!terms f=read}" + String.join(",", readValues);
 
-                solrQuery.addFilterQuery(resourceQuery.toString());
-            }
-        } catch (SQLException e) {
-            log.error(LogHelper.getHeader(context, "Error while adding resource policy information to query", ""), e);
+        Set<String> locations = DSpaceServicesFactory.getInstance()
+                                                     .getServiceManager()
+                                                     .getServiceByName(SearchService.class.getName(),
+                                                                       SearchService.class)
+                                                     .findAdministrableLocations(context);
+        if (locations.isEmpty()) {
+            return readQuery;
         }
+        String locationQuery = "{!terms f=location}" + String.join(",", locations);
+        return "{!bool should='" + readQuery + "' should='" + locationQuery + "'}";
+    }
+
+    /**
+     * The read filter of a user depends on the user and on the special groups it got when authenticating.
+     */
+    private String getReadFilterCacheKey(Context context) {
+        EPerson currentUser = context.getCurrentUser();
+        StringBuilder cacheKey = new StringBuilder(currentUser != null ? currentUser.getID().toString() : "");
+        context.getSpecialGroupUuids().stream()
+               .map(UUID::toString)
+               .sorted()
+               .forEach(specialGroupId -> cacheKey.append(",").append(specialGroupId));
+        return cacheKey.toString();
     }
 }
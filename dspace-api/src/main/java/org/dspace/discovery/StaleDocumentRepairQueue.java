@@ -0,0 +1,200 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Queue of the stale documents of the Discovery index, i.e. the documents whose DSpace object no longer exists.
+ * The searches only filter these documents out of their results and add them to this queue: a background thread
+ * removes them from the index by batches, letting Solr commit the deletions within the configured delay, so that
+ * the searches neither wait for the deletions nor trigger a commit each.
+ * <p>
+ * The queued documents are deduplicated, and the documents which were deleted recently aren't queued again while
+ * the deletion isn't committed yet. The number of stale hits and of repaired documents are counted, and logged
+ * after each repair.
+ */
+public class StaleDocumentRepairQueue implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LogManager.getLogger(StaleDocumentRepairQueue.class);
+
+    @Autowired
+    protected SolrSearchCore solrSearchCore;
+
+    @Autowired
+    protected ConfigurationService configurationService;
+
+    /**
+     * The unique ids of the documents waiting to be deleted, in the order they were found
+     */
+    private final Set<String> pendingDocuments = new LinkedHashSet<>();
+
+    /**
+     * The time at which the documents deleted recently were deleted, by unique id
+     */
+    private final Map<String, Long> deletedDocuments = new HashMap<>();
+
+    private final AtomicLong staleHits = new AtomicLong();
+
+    private final AtomicLong repairedDocuments = new AtomicLong();
+
+    private ScheduledExecutorService executor;
+
+    @Override
+    public void afterPropertiesSet() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "discovery-stale-repair");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long delay = getRepairDelay();
+        executor.scheduleWithFixedDelay(this::repair, delay, delay, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Queue stale documents to be removed from the index. The documents are deleted at once by the background
+     * thread if a whole batch is waiting.
+     *
+     * @param uniqueIds the unique ids of the documents
+     */
+    public void add(Collection<String> uniqueIds) {
+        if (uniqueIds.isEmpty()) {
+            return;
+        }
+        staleHits.addAndGet(uniqueIds.size());
+        boolean fullBatch;
+        synchronized (pendingDocuments) {
+            for (String uniqueId : uniqueIds) {
+                if (!deletedDocuments.containsKey(uniqueId)) {
+                    pendingDocuments.add(uniqueId);
+                }
+            }
+            fullBatch = pendingDocuments.size() >= getBatchSize();
+        }
+        if (fullBatch && executor != null && !executor.isShutdown()) {
+            executor.execute(this::repair);
+        }
+    }
+
+    /**
+     * Delete all the queued documents from the index, by batches. A batch which cannot be deleted is queued
+     * again for the next repair.
+     */
+    public void repair() {
+        int commitWithin = getCommitWithin();
+        forgetCommittedDeletions(commitWithin);
+        List<String> batch;
+        while (!(batch = nextBatch()).isEmpty()) {
+            try {
+                solrSearchCore.getSolr().deleteById(batch, commitWithin);
+            } catch (SolrServerException | IOException | RuntimeException e) {
+                log.error("Unable to remove " + batch.size() + " stale documents from the Discovery index", e);
+                synchronized (pendingDocuments) {
+                    pendingDocuments.addAll(batch);
+                }
+                return;
+            }
+            long now = System.currentTimeMillis();
+            synchronized (pendingDocuments) {
+                for (String uniqueId : batch) {
+                    deletedDocuments.put(uniqueId, now);
+                }
+            }
+            long repaired = repairedDocuments.addAndGet(batch.size());
+            log.info("Removed {} stale documents from the Discovery index ({} stale hits, {} documents removed "
+                         + "since startup)", batch.size(), staleHits.get(), repaired);
+            if (log.isDebugEnabled()) {
+                log.debug("Stale documents: " + String.join(", ", batch));
+            }
+        }
+    }
+
+    private List<String> nextBatch() {
+        int batchSize = getBatchSize();
+        List<String> batch = new ArrayList<>(batchSize);
+        synchronized (pendingDocuments) {
+            Iterator<String> iterator = pendingDocuments.iterator();
+            while (iterator.hasNext() && batch.size() < batchSize) {
+                batch.add(iterator.next());
+                iterator.remove();
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Forget the deleted documents whose deletion was committed, so that they can be queued again if they are
+     * indexed and found stale again later
+     */
+    private void forgetCommittedDeletions(int commitWithin) {
+        long committed = System.currentTimeMillis() - commitWithin;
+        synchronized (pendingDocuments) {
+            deletedDocuments.values().removeIf(deleted -> deleted < committed);
+        }
+    }
+
+    /**
+     * @return the number of stale documents found by the searches since startup, including the duplicates
+     */
+    public long getStaleHits() {
+        return staleHits.get();
+    }
+
+    /**
+     * @return the number of stale documents removed from the index since startup
+     */
+    public long getRepairedDocuments() {
+        return repairedDocuments.get();
+    }
+
+    /**
+     * @return the number of stale documents waiting to be removed from the index
+     */
+    public int getPendingDocuments() {
+        synchronized (pendingDocuments) {
+            return pendingDocuments.size();
+        }
+    }
+
+    private int getBatchSize() {
+        return Math.max(1, configurationService.getIntProperty("discovery.removestale.batch-size", 100));
+    }
+
+    private int getCommitWithin() {
+        return configurationService.getIntProperty("discovery.removestale.commit-within", 10000);
+    }
+
+    private long getRepairDelay() {
+        return Math.max(1, configurationService.getLongProperty("discovery.removestale.repair-delay", 5000));
+    }
+}
@@ -0,0 +1,207 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery.indexobject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+import org.dspace.content.Item;
+import org.dspace.content.MetadataField;
+import org.dspace.discovery.configuration.DiscoveryConfiguration;
+import org.dspace.discovery.configuration.DiscoveryHitHighlightFieldConfiguration;
+import org.dspace.discovery.configuration.DiscoveryHitHighlightingConfiguration;
+import org.dspace.discovery.configuration.DiscoveryMoreLikeThisConfiguration;
+import org.dspace.discovery.configuration.DiscoveryRecentSubmissionsConfiguration;
+import org.dspace.discovery.configuration.DiscoverySearchFilter;
+import org.dspace.discovery.configuration.DiscoverySearchFilterFacet;
+import org.dspace.discovery.configuration.DiscoverySortConfiguration;
+import org.dspace.discovery.configuration.DiscoverySortFieldConfiguration;
+
+/**
+ * The metadata indexing plan of a list of discovery configurations: for each metadata field, the search filters,
+ * sort, hit highlighting and more like this fields its values have to be indexed in.
+ * The plan is compiled once from the configurations so that an item's metadata can be indexed in a single pass,
+ * without going through all the configurations for each of its values.
+ */
+public class DiscoveryIndexingPlan {
+
+    // search filters by metadata field, e.g. dc.contributor.author or dc.subject.*
+    private final Map<String, List<DiscoverySearchFilter>> searchFilters = new HashMap<>();
+
+    // search filters exposing the min and max values of the metadata fields they are made of
+    private final Map<DiscoverySearchFilter, List<String[]>> minMaxSearchFilters = new LinkedHashMap<>();
+
+    // type of the sort value of the metadata fields which have to be sortable
+    private final Map<String, String> sortFieldTypes = new HashMap<>();
+
+    private final Set<String> hitHighlightingFields = new HashSet<>();
+
+    private final Set<String> moreLikeThisFields = new HashSet<>();
+
+    /**
+     * Compile the indexing plan of the given discovery configurations
+     *
+     * @param discoveryConfigurations the discovery configurations an item has to be indexed for
+     */
+    public DiscoveryIndexingPlan(List<DiscoveryConfiguration> discoveryConfigurations) {
+        Map<String, String> recentSubmissionsFieldTypes = new HashMap<>();
+        // some configuration are returned multiple times, skip them
+        Set<String> appliedConf = new HashSet<>();
+        // it is common to have search filter shared between multiple configurations
+        Set<String> appliedDiscoverySearchFilter = new HashSet<>();
+
+        for (DiscoveryConfiguration discoveryConfiguration : discoveryConfigurations) {
+            if (!appliedConf.add(discoveryConfiguration.getId())) {
+                continue;
+            }
+            for (DiscoverySearchFilter discoverySearchFilter : discoveryConfiguration.getSearchFilters()) {
+                if (!appliedDiscoverySearchFilter.add(discoverySearchFilter.getIndexFieldName())) {
+                    continue;
+                }
+                boolean shouldExposeMinMax = StringUtils.equalsIgnoreCase(discoverySearchFilter.getFilterType(),
+                                                                          "facet")
+                    && ((DiscoverySearchFilterFacet) discoverySearchFilter).exposeMinAndMaxValue();
+                for (String metadataField : discoverySearchFilter.getMetadataFields()) {
+                    searchFilters.computeIfAbsent(metadataField, field -> new ArrayList<>())
+                                 .add(discoverySearchFilter);
+                    if (shouldExposeMinMax) {
+                        String[] splittedMetadataField = metadataField.split("\\.");
+                        String schema = splittedMetadataField[0];
+                        String element = splittedMetadataField.length > 1 ? splittedMetadataField[1] : null;
+                        String qualifier = splittedMetadataField.length > 2 ? splittedMetadataField[2] : null;
+                        minMaxSearchFilters.computeIfAbsent(discoverySearchFilter, filter -> new ArrayList<>())
+                                           .add(new String[] {schema, element, qualifier});
+                    }
+                }
+            }
+
+            DiscoverySortConfiguration sortConfiguration = discoveryConfiguration.getSearchSortConfiguration();
+            if (sortConfiguration != null) {
+                for (DiscoverySortFieldConfiguration discoverySortConfiguration : sortConfiguration.getSortFields()) {
+                    sortFieldTypes.put(discoverySortConfiguration.getMetadataField(),
+                                       discoverySortConfiguration.getType());
+                }
+            }
+
+            DiscoveryRecentSubmissionsConfiguration recentSubmissionConfiguration = discoveryConfiguration
+                .getRecentSubmissionConfiguration();
+            if (recentSubmissionConfiguration != null) {
+                recentSubmissionsFieldTypes.put(recentSubmissionConfiguration.getMetadataSortField(),
+                                                recentSubmissionConfiguration.getType());
+            }
+
+            DiscoveryHitHighlightingConfiguration hitHighlightingConfiguration = discoveryConfiguration
+                .getHitHighlightingConfiguration();
+            if (hitHighlightingConfiguration != null) {
+                for (DiscoveryHitHighlightFieldConfiguration fieldConfiguration : hitHighlightingConfiguration
+                    .getMetadataFields()) {
+                    hitHighlightingFields.add(fieldConfiguration.getField());
+                }
+            }
+
+            DiscoveryMoreLikeThisConfiguration moreLikeThisConfiguration = discoveryConfiguration
+                .getMoreLikeThisConfiguration();
+            if (moreLikeThisConfiguration != null) {
+                moreLikeThisFields.addAll(moreLikeThisConfiguration.getSimilarityMetadataFields());
+            }
+        }
+
+        // the sort configuration takes precedence over the recent submissions one
+        recentSubmissionsFieldTypes.forEach(sortFieldTypes::putIfAbsent);
+    }
+
+    /**
+     * @param field            the metadata field, e.g. dc.contributor.author
+     * @param unqualifiedField the metadata field without qualifier, e.g. dc.contributor
+     * @return the search filters the values of the metadata field have to be indexed in
+     */
+    public List<DiscoverySearchFilter> getSearchFilters(String field, String unqualifiedField) {
+        List<DiscoverySearchFilter> searchFilterConfigs = searchFilters.get(field);
+        if (searchFilterConfigs == null) {
+            searchFilterConfigs = searchFilters.get(unqualifiedField + "." + Item.ANY);
+        }
+        return searchFilterConfigs != null ? searchFilterConfigs : Collections.emptyList();
+    }
+
+    /**
+     * @param metadataField the metadata field
+     * @return the search filters exposing the min and max values whose metadata fields include the given one
+     */
+    public List<DiscoverySearchFilter> getMinMaxSearchFilters(MetadataField metadataField) {
+        List<DiscoverySearchFilter> result = new ArrayList<>(0);
+        for (Map.Entry<DiscoverySearchFilter, List<String[]>> entry : minMaxSearchFilters.entrySet()) {
+            for (String[] field : entry.getValue()) {
+                if (matches(field[0], field[1], field[2], metadataField)) {
+                    result.add(entry.getKey());
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return whether some search filters expose their min and max values
+     */
+    public boolean hasMinMaxSearchFilters() {
+        return !minMaxSearchFilters.isEmpty();
+    }
+
+    /**
+     * @param field the metadata field, e.g. dc.date.issued
+     * @return the type of the sort value of the metadata field, null if it isn't sortable
+     */
+    public String getSortFieldType(String field) {
+        return sortFieldTypes.get(field);
+    }
+
+    /**
+     * @param field            the metadata field, e.g. dc.contributor.author
+     * @param unqualifiedField the metadata field without qualifier, e.g. dc.contributor
+     * @return whether the values of the metadata field have to be indexed for hit highlighting
+     */
+    public boolean isHitHighlightingField(String field, String unqualifiedField) {
+        return hitHighlightingFields.contains(field) || hitHighlightingFields.contains("*")
+            || hitHighlightingFields.contains(unqualifiedField + "." + Item.ANY);
+    }
+
+    /**
+     * @param field            the metadata field, e.g. dc.contributor.author
+     * @param unqualifiedField the metadata field without qualifier, e.g. dc.contributor
+     * @return whether the values of the metadata field have to be indexed for more like this queries
+     */
+    public boolean isMoreLikeThisField(String field, String unqualifiedField) {
+        return moreLikeThisFields.contains(field) || moreLikeThisFields.contains(unqualifiedField + "." + Item.ANY);
+    }
+
+    /**
+     * Same matching as {@link org.dspace.content.service.DSpaceObjectService#getMetadata(
+     * org.dspace.content.DSpaceObject, String, String, String, String)} for any language
+     */
+    private boolean matches(String schema, String element, String qualifier, MetadataField metadataField) {
+        if (!Item.ANY.equals(element) && !StringUtils.equals(element, metadataField.getElement())) {
+            return false;
+        }
+        if (StringUtils.isBlank(qualifier)) {
+            if (metadataField.getQualifier() != null) {
+                return false;
+            }
+        } else if (!qualifier.equals(Item.ANY) && !qualifier.equals(metadataField.getQualifier())) {
+            return false;
+        }
+        return schema.equals(Item.ANY) || metadataField.getMetadataSchema() == null
+            || metadataField.getMetadataSchema().getName().equals(schema);
+    }
+}
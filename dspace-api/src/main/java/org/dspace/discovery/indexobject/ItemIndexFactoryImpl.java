@@ -16,12 +16,13 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -50,20 +51,15 @@ import org.dspace.discovery.FullTextContentStreams;
 import org.dspace.discovery.SearchUtils;
 import org.dspace.discovery.configuration.DiscoveryConfiguration;
 import org.dspace.discovery.configuration.DiscoveryConfigurationParameters;
-import org.dspace.discovery.configuration.DiscoveryHitHighlightFieldConfiguration;
-import org.dspace.discovery.configuration.DiscoveryHitHighlightingConfiguration;
-import org.dspace.discovery.configuration.DiscoveryMoreLikeThisConfiguration;
-import org.dspace.discovery.configuration.DiscoveryRecentSubmissionsConfiguration;
 import org.dspace.discovery.configuration.DiscoverySearchFilter;
 import org.dspace.discovery.configuration.DiscoverySearchFilterFacet;
-import org.dspace.discovery.configuration.DiscoverySortConfiguration;
-import org.dspace.discovery.configuration.DiscoverySortFieldConfiguration;
 import org.dspace.discovery.configuration.HierarchicalSidebarFacetConfiguration;
 import org.dspace.discovery.indexobject.factory.ItemIndexFactory;
 import org.dspace.discovery.indexobject.factory.WorkflowItemIndexFactory;
 import org.dspace.discovery.indexobject.factory.WorkspaceItemIndexFactory;
 import org.dspace.eperson.EPerson;
 import org.dspace.handle.service.HandleService;
+import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.util.MultiFormatDateParser;
 import org.dspace.util.SolrUtils;
@@ -109,6 +105,11 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
     @Autowired
     protected VersionHistoryService versionHistoryService;
 
+    /**
+     * The compiled indexing plans, by list of discovery configurations (compared by identity)
+     */
+    private final Map<List<DiscoveryConfiguration>, DiscoveryIndexingPlan> indexingPlans = new ConcurrentHashMap<>();
+
 
     @Override
     public Iterator<IndexableItem> findAll(Context context) throws SQLException {
@@ -234,119 +235,13 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
         // use the item service to retrieve the owning collection also for inprogress submission
         Collection collection = (Collection) itemService.getParentObject(context, item);
         //Keep a list of our sort values which we added, sort values can only be added once
-        List<String> sortFieldsAdded = new ArrayList<>();
-        Map<String, List<DiscoverySearchFilter>> searchFilters = new HashMap<>();
-        Set<String> hitHighlightingFields = new HashSet<>();
+        Set<String> sortFieldsAdded = new HashSet<>();
         try {
-            //A map used to save each sidebarFacet config by the metadata fields
-            Map<String, DiscoverySortFieldConfiguration> sortFields = new HashMap<>();
-            Map<String, DiscoveryRecentSubmissionsConfiguration> recentSubmissionsConfigurationMap = new
-                    HashMap<>();
-            Set<String> moreLikeThisFields = new HashSet<>();
-            // some configuration are returned multiple times, skip them to save CPU cycles
-            Set<String> appliedConf = new HashSet<>();
-            // it is common to have search filter shared between multiple configurations
-            Set<String> appliedDiscoverySearchFilter = new HashSet<>();
-
-            for (DiscoveryConfiguration discoveryConfiguration : discoveryConfigurations) {
-                if (appliedConf.contains(discoveryConfiguration.getId())) {
-                    continue;
-                } else {
-                    appliedConf.add(discoveryConfiguration.getId());
-                }
-                for (int i = 0; i < discoveryConfiguration.getSearchFilters().size(); i++) {
-                    if (appliedDiscoverySearchFilter
-                            .contains(discoveryConfiguration.getSearchFilters().get(i).getIndexFieldName())) {
-                        continue;
-                    } else {
-                        appliedDiscoverySearchFilter
-                                .add(discoveryConfiguration.getSearchFilters().get(i).getIndexFieldName());
-                    }
-                    List<MetadataValue> metadataValueList = new LinkedList<>();
-                    boolean shouldExposeMinMax = false;
-                    DiscoverySearchFilter discoverySearchFilter = discoveryConfiguration.getSearchFilters().get(i);
-                    if (StringUtils.equalsIgnoreCase(discoverySearchFilter.getFilterType(), "facet")) {
-                        if (((DiscoverySearchFilterFacet) discoverySearchFilter).exposeMinAndMaxValue()) {
-                            shouldExposeMinMax = true;
-                        }
-                    }
-                    for (int j = 0; j < discoverySearchFilter.getMetadataFields().size(); j++) {
-                        String metadataField = discoverySearchFilter.getMetadataFields().get(j);
-                        List<DiscoverySearchFilter> resultingList;
-                        if (searchFilters.get(metadataField) != null) {
-                            resultingList = searchFilters.get(metadataField);
-                        } else {
-                            //New metadata field, create a new list for it
-                            resultingList = new ArrayList<>();
-                        }
-
-
-                        if (shouldExposeMinMax) {
-                            String[] splittedMetadataField = metadataField.split("\\.");
-                            String schema = splittedMetadataField[0];
-                            String element = splittedMetadataField.length > 1 ? splittedMetadataField[1] : null;
-                            String qualifier = splittedMetadataField.length > 2 ? splittedMetadataField[2] : null;
-
-                            metadataValueList.addAll(itemService.getMetadata(item, schema,
-                                    element, qualifier, Item.ANY));
-
-                        }
-
-                        resultingList.add(discoverySearchFilter);
-
-                        searchFilters.put(metadataField, resultingList);
-                    }
+            DiscoveryIndexingPlan indexingPlan = getIndexingPlan(discoveryConfigurations);
+            // the values of the search filters exposing their min and max values
+            Map<DiscoverySearchFilter, List<String>> minMaxValues = new LinkedHashMap<>();
 
-                    if (!metadataValueList.isEmpty() && shouldExposeMinMax) {
-                        metadataValueList.sort((mdv1, mdv2) -> mdv1.getValue().compareTo(mdv2.getValue()));
-                        MetadataValue firstMetadataValue = metadataValueList.get(0);
-                        MetadataValue lastMetadataValue = metadataValueList.get(metadataValueList.size() - 1);
-
-                        doc.addField(discoverySearchFilter.getIndexFieldName() + "_min", firstMetadataValue.getValue());
-                        doc.addField(discoverySearchFilter.getIndexFieldName()
-                                + "_min_sort", firstMetadataValue.getValue());
-                        doc.addField(discoverySearchFilter.getIndexFieldName() + "_max", lastMetadataValue.getValue());
-                        doc.addField(discoverySearchFilter.getIndexFieldName()
-                                + "_max_sort", lastMetadataValue.getValue());
-
-                    }
-                }
-
-                DiscoverySortConfiguration sortConfiguration = discoveryConfiguration.getSearchSortConfiguration();
-                if (sortConfiguration != null) {
-                    for (DiscoverySortFieldConfiguration discoverySortConfiguration : sortConfiguration
-                            .getSortFields()) {
-                        sortFields.put(discoverySortConfiguration.getMetadataField(), discoverySortConfiguration);
-                    }
-                }
-
-                DiscoveryRecentSubmissionsConfiguration recentSubmissionConfiguration = discoveryConfiguration
-                        .getRecentSubmissionConfiguration();
-                if (recentSubmissionConfiguration != null) {
-                    recentSubmissionsConfigurationMap
-                            .put(recentSubmissionConfiguration.getMetadataSortField(), recentSubmissionConfiguration);
-                }
-
-                DiscoveryHitHighlightingConfiguration hitHighlightingConfiguration = discoveryConfiguration
-                        .getHitHighlightingConfiguration();
-                if (hitHighlightingConfiguration != null) {
-                    List<DiscoveryHitHighlightFieldConfiguration> fieldConfigurations = hitHighlightingConfiguration
-                            .getMetadataFields();
-                    for (DiscoveryHitHighlightFieldConfiguration fieldConfiguration : fieldConfigurations) {
-                        hitHighlightingFields.add(fieldConfiguration.getField());
-                    }
-                }
-                DiscoveryMoreLikeThisConfiguration moreLikeThisConfiguration = discoveryConfiguration
-                        .getMoreLikeThisConfiguration();
-                if (moreLikeThisConfiguration != null) {
-                    for (String metadataField : moreLikeThisConfiguration.getSimilarityMetadataFields()) {
-                        moreLikeThisFields.add(metadataField);
-                    }
-                }
-            }
-
-
-            List<String> toProjectionFields = new ArrayList<>();
+            Set<String> toProjectionFields = new HashSet<>();
             String[] projectionFields = DSpaceServicesFactory.getInstance().getConfigurationService()
                     .getArrayProperty("discovery.index.projection");
             if (projectionFields != null) {
@@ -355,7 +250,19 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
                 }
             }
 
-            List<String> toIgnoreMetadataFields = SearchUtils.getIgnoredMetadataFields(item.getType());
+            Set<String> toIgnoreMetadataFields = new HashSet<>();
+            List<String> ignoredMetadataFields = SearchUtils.getIgnoredMetadataFields(item.getType());
+            if (ignoredMetadataFields != null) {
+                toIgnoreMetadataFields.addAll(ignoredMetadataFields);
+            }
+            String separator = DSpaceServicesFactory.getInstance().getConfigurationService()
+                    .getProperty("discovery.solr.facets.split.char");
+            if (separator == null) {
+                separator = SearchUtils.FILTER_SEPARATOR;
+            }
+            // the authority indexing settings, by property and metadata field
+            Map<String, Boolean> authorityIndexingSettings = new HashMap<>();
+
             List<MetadataValue> mydc = itemService.getMetadata(item, Item.ANY, Item.ANY, Item.ANY, Item.ANY);
             for (MetadataValue meta : mydc) {
                 MetadataField metadataField = meta.getMetadataField();
@@ -369,13 +276,19 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
                     continue;
                 }
 
+                if (indexingPlan.hasMinMaxSearchFilters()) {
+                    for (DiscoverySearchFilter searchFilter : indexingPlan.getMinMaxSearchFilters(metadataField)) {
+                        minMaxValues.computeIfAbsent(searchFilter, filter -> new ArrayList<>()).add(value);
+                    }
+                }
+
                 if (metadataField.getQualifier() != null && !metadataField.getQualifier().trim().equals("")) {
                     field += "." + metadataField.getQualifier();
                 }
 
                 //We are not indexing provenance, this is useless
-                if (toIgnoreMetadataFields != null && (toIgnoreMetadataFields.contains(field) || toIgnoreMetadataFields
-                        .contains(unqualifiedField + "." + Item.ANY))) {
+                if (toIgnoreMetadataFields.contains(field) || toIgnoreMetadataFields
+                        .contains(unqualifiedField + "." + Item.ANY)) {
                     continue;
                 }
 
@@ -390,33 +303,13 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
 
                 if (isAuthorityControlled && meta.getAuthority() != null
                         && meta.getConfidence() >= minConfidence) {
-                    boolean ignoreAuthority =
-                            DSpaceServicesFactory
-                                    .getInstance()
-                                    .getConfigurationService()
-                                    .getPropertyAsType("discovery.index.authority.ignore." + field,
-                                            DSpaceServicesFactory
-                                                    .getInstance()
-                                                    .getConfigurationService()
-                                                    .getPropertyAsType(
-                                                            "discovery.index.authority.ignore",
-                                                            Boolean.FALSE),
-                                            true);
+                    boolean ignoreAuthority = getAuthorityIndexingSetting(authorityIndexingSettings,
+                            "discovery.index.authority.ignore", field);
                     if (!ignoreAuthority) {
                         authority = meta.getAuthority();
 
-                        boolean ignorePrefered =
-                                DSpaceServicesFactory
-                                        .getInstance()
-                                        .getConfigurationService()
-                                        .getPropertyAsType("discovery.index.authority.ignore-prefered." + field,
-                                                DSpaceServicesFactory
-                                                        .getInstance()
-                                                        .getConfigurationService()
-                                                        .getPropertyAsType(
-                                                                "discovery.index.authority.ignore-prefered",
-                                                                Boolean.FALSE),
-                                                true);
+                        boolean ignorePrefered = getAuthorityIndexingSetting(authorityIndexingSettings,
+                                "discovery.index.authority.ignore-prefered", field);
 
                         if (!ignorePrefered && !authority.startsWith(AuthorityValueService.GENERATE)) {
                             try {
@@ -426,17 +319,8 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
                             }
                         }
 
-                        boolean ignoreVariants =
-                                DSpaceServicesFactory
-                                        .getInstance()
-                                        .getConfigurationService()
-                                        .getPropertyAsType("discovery.index.authority.ignore-variants." + field,
-                                                DSpaceServicesFactory
-                                                        .getInstance()
-                                                        .getConfigurationService()
-                                                        .getPropertyAsType("discovery.index.authority.ignore-variants",
-                                                                Boolean.FALSE),
-                                                true);
+                        boolean ignoreVariants = getAuthorityIndexingSetting(authorityIndexingSettings,
+                                "discovery.index.authority.ignore-variants", field);
                         if (!ignoreVariants) {
                             try {
                                 variants = choiceAuthorityService
@@ -449,20 +333,11 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
                     }
                 }
 
-                if ((searchFilters.get(field) != null || searchFilters
-                        .get(unqualifiedField + "." + Item.ANY) != null)) {
-                    List<DiscoverySearchFilter> searchFilterConfigs = searchFilters.get(field);
-                    if (searchFilterConfigs == null) {
-                        searchFilterConfigs = searchFilters.get(unqualifiedField + "." + Item.ANY);
-                    }
-
+                List<DiscoverySearchFilter> searchFilterConfigs =
+                        indexingPlan.getSearchFilters(field, unqualifiedField);
+                if (!searchFilterConfigs.isEmpty()) {
                     for (DiscoverySearchFilter searchFilter : searchFilterConfigs) {
                         Date date = null;
-                        String separator = DSpaceServicesFactory.getInstance().getConfigurationService()
-                                .getProperty("discovery.solr.facets.split.char");
-                        if (separator == null) {
-                            separator = SearchUtils.FILTER_SEPARATOR;
-                        }
                         if (searchFilter.getType().equals(DiscoveryConfigurationParameters.TYPE_DATE)) {
                             //For our search filters that are dates we format them properly
                             date = MultiFormatDateParser.parse(value);
@@ -534,15 +409,9 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
                     }
                 }
 
-                if ((sortFields.get(field) != null || recentSubmissionsConfigurationMap
-                        .get(field) != null) && !sortFieldsAdded.contains(field)) {
+                String type = indexingPlan.getSortFieldType(field);
+                if (type != null && !sortFieldsAdded.contains(field)) {
                     //Only add sort value once
-                    String type;
-                    if (sortFields.get(field) != null) {
-                        type = sortFields.get(field).getType();
-                    } else {
-                        type = recentSubmissionsConfigurationMap.get(field).getType();
-                    }
 
                     if (type.equals(DiscoveryConfigurationParameters.TYPE_DATE)) {
                         Date date = MultiFormatDateParser.parse(value);
@@ -559,8 +428,7 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
                     sortFieldsAdded.add(field);
                 }
 
-                if (hitHighlightingFields.contains(field) || hitHighlightingFields
-                        .contains("*") || hitHighlightingFields.contains(unqualifiedField + "." + Item.ANY)) {
+                if (indexingPlan.isHitHighlightingField(field, unqualifiedField)) {
                     if (authority != null) {
                         doc.addField(field + "_hl", value + SearchUtils.AUTHORITY_SEPARATOR + authority);
                     } else {
@@ -568,8 +436,7 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
                     }
                 }
 
-                if (moreLikeThisFields.contains(field) || moreLikeThisFields
-                        .contains(unqualifiedField + "." + Item.ANY)) {
+                if (indexingPlan.isMoreLikeThisField(field, unqualifiedField)) {
                     doc.addField(field + "_mlt", value);
                 }
 
@@ -604,6 +471,19 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
                 }
             }
 
+            for (Map.Entry<DiscoverySearchFilter, List<String>> entry : minMaxValues.entrySet()) {
+                String indexFieldName = entry.getKey().getIndexFieldName();
+                List<String> values = entry.getValue();
+                values.sort(String::compareTo);
+                String firstValue = values.get(0);
+                String lastValue = values.get(values.size() - 1);
+
+                doc.addField(indexFieldName + "_min", firstValue);
+                doc.addField(indexFieldName + "_min_sort", firstValue);
+                doc.addField(indexFieldName + "_max", lastValue);
+                doc.addField(indexFieldName + "_max_sort", lastValue);
+            }
+
         } catch (Exception e) {
             log.error(LogHelper.getHeader(context, "item_metadata_discovery_error",
                     "Item identifier: " + item.getID()), e);
@@ -636,6 +516,25 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
         log.debug("  Added Grouping");
     }
 
+    /**
+     * Get the indexing plan of the given discovery configurations, compiling it the first time
+     */
+    protected DiscoveryIndexingPlan getIndexingPlan(List<DiscoveryConfiguration> discoveryConfigurations) {
+        return indexingPlans.computeIfAbsent(new ArrayList<>(discoveryConfigurations), DiscoveryIndexingPlan::new);
+    }
+
+    /**
+     * Get a boolean authority indexing setting for the given metadata field, which defaults to the setting for all
+     * fields. The settings are kept in the given map so that they are only looked up once per document and field.
+     */
+    private boolean getAuthorityIndexingSetting(Map<String, Boolean> settings, String property, String field) {
+        return settings.computeIfAbsent(property + "." + field, fieldProperty -> {
+            ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+            return configurationService.getPropertyAsType(fieldProperty,
+                    configurationService.getPropertyAsType(property, Boolean.FALSE), true);
+        });
+    }
+
     @Override
     public void writeDocument(Context context, IndexableItem indexableObject, SolrInputDocument solrInputDocument)
             throws SQLException, IOException, SolrServerException {
@@ -12,17 +12,23 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
@@ -89,6 +95,22 @@ public class CitationDocumentServiceImpl implements CitationDocumentService, Ini
 
     protected File tempDir;
 
+    /**
+     * Directory holding the cached cited documents.
+     */
+    protected File cacheDir;
+
+    /**
+     * Upper bound (in bytes) of the total size of the cached cited documents.
+     */
+    protected long cacheMaxSize;
+
+    /**
+     * Digest of all the settings which influence the generated cover page, so that cached documents are
+     * not served anymore once the cover page layout is reconfigured.
+     */
+    protected String templateVersion;
+
     protected String[] header1;
     protected String[] header2;
     protected String[] fields;
@@ -221,6 +243,28 @@ public class CitationDocumentServiceImpl implements CitationDocumentService, Ini
                 log.info("Unable to create temp directory at: " + tempDirString);
             }
         }
+
+        initCache();
+    }
+
+    /**
+     * Set up the disk-backed cache of cited documents, see citation-page.cache.* configuration.
+     */
+    protected void initCache() {
+        templateVersion = DigestUtils.md5Hex(String.join("|",
+            String.join(",", header1), String.join(",", header2), String.join(",", fields), footer,
+            String.valueOf(citationPageFormat.getWidth()), String.valueOf(citationPageFormat.getHeight()),
+            String.valueOf(isCitationFirstPage()),
+            configurationService.getProperty("citation-page.cache.template_version", "")));
+
+        cacheMaxSize = configurationService.getLongProperty("citation-page.cache.max_size", 1024) * 1024 * 1024;
+        cacheDir = new File(configurationService.getProperty("citation-page.cache.dir",
+            tempDir.getAbsolutePath() + File.separator + "citation-cache"));
+        if (!cacheDir.exists() && !cacheDir.mkdirs()) {
+            log.warn("Unable to create citation cache directory at: " + cacheDir.getAbsolutePath()
+                         + ", using " + tempDir.getAbsolutePath());
+            cacheDir = tempDir;
+        }
     }
 
 
@@ -298,13 +342,104 @@ public class CitationDocumentServiceImpl implements CitationDocumentService, Ini
     @Override
     public Pair<byte[], Long> makeCitedDocument(Context context, Bitstream bitstream)
             throws IOException, SQLException, AuthorizeException {
-        PDDocument document = new PDDocument();
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            writeCitedDocument(context, bitstream, out);
+
+            byte[] data = out.toByteArray();
+            return Pair.of(data, Long.valueOf(data.length));
+        }
+    }
+
+    @Override
+    public File getCitedDocumentFile(Context context, Bitstream bitstream)
+            throws IOException, SQLException, AuthorizeException {
+        Item item = (Item) bitstreamService.getParentObject(context, bitstream);
+        File target = new File(cacheDir, getCacheKey(item, bitstream) + ".pdf");
+        if (target.exists()) {
+            // Refresh the modification time, it is used as access time by the eviction
+            target.setLastModified(System.currentTimeMillis());
+            return target;
+        }
+
+        // Generate next to the final location and move it in place once complete, so concurrent requests
+        // never see a partially written document
+        File partial = File.createTempFile("citation-", ".part", cacheDir);
+        try {
+            try (OutputStream out = Files.newOutputStream(partial.toPath())) {
+                writeCitedDocument(context, bitstream, out);
+            }
+            Files.move(partial.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                       StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(partial.toPath());
+        }
+        evictCache(target);
+        return target;
+    }
+
+    /**
+     * Key under which the cited version of the bitstream is cached. It changes whenever the content of the
+     * bitstream, the metadata of the item or the cover page template changes.
+     *
+     * @param item      the item owning the bitstream
+     * @param bitstream the cited bitstream
+     * @return the cache key
+     */
+    protected String getCacheKey(Item item, Bitstream bitstream) {
+        return DigestUtils.sha256Hex(String.join("|", bitstream.getChecksum(), item.getID().toString(),
+            String.valueOf(item.getLastModified() != null ? item.getLastModified().getTime() : 0),
+            templateVersion));
+    }
+
+    /**
+     * Delete the least recently used cached documents until the cache fits in citation-page.cache.max_size
+     *
+     * @param keep the document just generated, which is never evicted
+     */
+    protected synchronized void evictCache(File keep) {
+        File[] files = cacheDir.listFiles((dir, name) -> name.endsWith(".pdf"));
+        if (files == null) {
+            return;
+        }
+        long total = 0;
+        for (File file : files) {
+            total += file.length();
+        }
+        if (total <= cacheMaxSize) {
+            return;
+        }
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (File file : files) {
+            if (total <= cacheMaxSize) {
+                break;
+            }
+            if (file.equals(keep)) {
+                continue;
+            }
+            long length = file.length();
+            if (file.delete()) {
+                total -= length;
+            }
+        }
+    }
+
+    /**
+     * Write the cited version of the bitstream to the given stream. The source document is buffered in
+     * temporary files by PDFBox rather than loaded entirely in memory.
+     *
+     * @param context   DSpace context
+     * @param bitstream The source bitstream being cited. This must be a PDF.
+     * @param out       stream the cited document is written to
+     */
+    protected void writeCitedDocument(Context context, Bitstream bitstream, OutputStream out)
+            throws IOException, SQLException, AuthorizeException {
+        PDDocument document = new PDDocument(MemoryUsageSetting.setupTempFileOnly());
         PDDocument sourceDocument = new PDDocument();
         try {
             Item item = (Item) bitstreamService.getParentObject(context, bitstream);
             final InputStream inputStream = bitstreamService.retrieve(context, bitstream);
             try {
-                sourceDocument = sourceDocument.load(inputStream);
+                sourceDocument = PDDocument.load(inputStream, MemoryUsageSetting.setupTempFileOnly());
             } finally {
                 inputStream.close();
             }
@@ -312,14 +447,7 @@ public class CitationDocumentServiceImpl implements CitationDocumentService, Ini
             generateCoverPage(context, document, coverPage, item);
             addCoverPageToDocument(document, sourceDocument, coverPage);
 
-            //We already have the full PDF in memory, so keep it there
-            try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
-                document.save(out);
-
-                byte[] data = out.toByteArray();
-                return Pair.of(data, Long.valueOf(data.length));
-            }
-
+            document.save(out);
         } finally {
             sourceDocument.close();
             document.close();
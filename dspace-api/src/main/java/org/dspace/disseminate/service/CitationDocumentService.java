@@ -7,6 +7,7 @@
  */
 package org.dspace.disseminate.service;
 
+import java.io.File;
 import java.io.IOException;
 import java.sql.SQLException;
 
@@ -86,6 +87,22 @@ public interface CitationDocumentService {
     public Pair<byte[], Long> makeCitedDocument(Context context, Bitstream bitstream)
             throws IOException, SQLException, AuthorizeException;
 
+    /**
+     * Returns the cited version of the given bitstream as a file. Generated documents are kept in a
+     * size-bounded disk cache (see citation-page.cache.*) keyed by the bitstream checksum, the last modification
+     * date of the item and the cover page template, so that repeated downloads (including Range requests) are
+     * streamed from disk instead of being regenerated.
+     *
+     * @param context   DSpace context
+     * @param bitstream The source bitstream being cited. This must be a PDF.
+     * @return the file containing the cited document
+     * @throws IOException        if IO error
+     * @throws SQLException       if database error
+     * @throws AuthorizeException if authorization error
+     */
+    public File getCitedDocumentFile(Context context, Bitstream bitstream)
+            throws IOException, SQLException, AuthorizeException;
+
     /**
      * @param page          page
      * @param contentStream content stream
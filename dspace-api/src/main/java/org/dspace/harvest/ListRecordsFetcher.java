@@ -0,0 +1,156 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.harvest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.oclc.oai.harvester2.verb.ListRecords;
+
+/**
+ * Fetcher of the pages of an OAI-PMH ListRecords response. The pages following the first one are requested in the
+ * background, by following their resumption tokens, while the records of the previous pages are being processed.
+ * At most the given number of pages are fetched ahead of the one being processed.
+ */
+public class ListRecordsFetcher implements Closeable {
+
+    private static final Logger log = LogManager.getLogger();
+
+    /**
+     * The marker of the end of the list in the queue of fetched pages
+     */
+    private static final FetchedPage END = new FetchedPage(null, null);
+
+    private final String oaiSource;
+
+    private final BlockingQueue<FetchedPage> fetchedPages;
+
+    private final Thread fetcherThread;
+
+    private volatile boolean ended = false;
+
+    /**
+     * Start fetching the pages following the given first page
+     *
+     * @param oaiSource     the address of the OAI-PMH server
+     * @param firstPage     the first page of the list, already fetched
+     * @param prefetchPages the maximum number of pages to fetch ahead, at least 1
+     */
+    public ListRecordsFetcher(String oaiSource, ListRecords firstPage, int prefetchPages) {
+        this.oaiSource = oaiSource;
+        // the fetcher thread holds the last page it fetched until there's room for it in the queue, so the queue
+        // only has to hold the other pages fetched ahead
+        this.fetchedPages = prefetchPages > 1
+            ? new ArrayBlockingQueue<>(prefetchPages - 1) : new SynchronousQueue<>();
+        this.fetcherThread = new Thread(() -> fetchPages(firstPage), "oai-harvester-fetcher");
+        this.fetcherThread.setDaemon(true);
+        this.fetcherThread.start();
+    }
+
+    /**
+     * Get the next page of the list, waiting for it to be fetched if needed
+     *
+     * @return the next page, or null when all the pages have been returned
+     * @throws IOException         if the page could not be fetched
+     * @throws HarvestingException if the fetching was interrupted or failed for another reason
+     */
+    public ListRecords next() throws IOException, HarvestingException {
+        if (ended) {
+            return null;
+        }
+        FetchedPage fetchedPage;
+        try {
+            fetchedPage = fetchedPages.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HarvestingException("Interrupted while waiting for the next page of records", e);
+        }
+        if (fetchedPage == END) {
+            ended = true;
+            return null;
+        }
+        if (fetchedPage.error != null) {
+            ended = true;
+            if (fetchedPage.error instanceof IOException) {
+                throw (IOException) fetchedPage.error;
+            }
+            throw new HarvestingException("Could not fetch the next page of records", fetchedPage.error);
+        }
+        return fetchedPage.page;
+    }
+
+    /**
+     * Stop fetching pages, the pages already fetched are discarded
+     */
+    @Override
+    public void close() {
+        ended = true;
+        fetcherThread.interrupt();
+        fetchedPages.clear();
+    }
+
+    private void fetchPages(ListRecords firstPage) {
+        ListRecords page = firstPage;
+        try {
+            while (page != null) {
+                // the token is read before the page is handed over, as its document isn't safe for concurrent use
+                String resumptionToken = page.getResumptionToken();
+                if (!put(new FetchedPage(page, null))) {
+                    return;
+                }
+                if (StringUtils.isEmpty(resumptionToken)) {
+                    page = null;
+                } else {
+                    page = new ListRecords(oaiSource, resumptionToken);
+                    log.info("HTTP Request: " + page.getRequestURL());
+                }
+            }
+            put(END);
+        } catch (Exception e) {
+            put(new FetchedPage(null, e));
+        }
+    }
+
+    /**
+     * Queue a fetched page, waiting for room in the queue unless the fetcher is closed
+     *
+     * @return false if the fetcher was closed
+     */
+    private boolean put(FetchedPage fetchedPage) {
+        try {
+            while (!fetchedPages.offer(fetchedPage, 1, TimeUnit.SECONDS)) {
+                if (ended) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (InterruptedException e) {
+            return false;
+        }
+    }
+
+    /**
+     * A fetched page, or the error which occurred while fetching it
+     */
+    private static class FetchedPage {
+        private final ListRecords page;
+        private final Exception error;
+
+        FetchedPage(ListRecords page, Exception error) {
+            this.page = page;
+            this.error = error;
+        }
+    }
+}
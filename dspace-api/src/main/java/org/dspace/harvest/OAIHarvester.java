@@ -275,6 +275,15 @@ public class OAIHarvester {
 
         String dateGranularity;
 
+        // the records are ingested either serially in our context, or by a pool of workers with their own contexts,
+        // while the next pages of records are fetched in the background
+        int ingestThreads = configurationService.getIntProperty("oai.harvester.ingestThreads", 1);
+        int prefetchPages = configurationService.getIntProperty("oai.harvester.prefetchPages", 1);
+        int batchSize = Math.max(configurationService.getIntProperty("oai.harvester.batchSize", 1), 1);
+        int uncommitted = 0;
+        ListRecordsFetcher fetcher = null;
+        ParallelRecordIngester ingester = null;
+
         try {
             // obtain the desired descriptive metadata format and verify that the OAI server actually provides it
             // do the same thing for ORE, which should be encoded in Atom and carry its namespace
@@ -310,7 +319,6 @@ public class OAIHarvester {
 
             Document oaiResponse = null;
             Element root = null;
-            String resumptionToken;
 
             // set the status indicating the collection is currently being processed
             harvestRow.setHarvestStatus(HarvestedCollection.STATUS_BUSY);
@@ -340,6 +348,13 @@ public class OAIHarvester {
                     oaiSetId + " " + descMDPrefix);
             log.info("HTTP Request: " + listRecords.getRequestURL());
 
+            fetcher = new ListRecordsFetcher(oaiSource, listRecords, prefetchPages);
+            if (ingestThreads > 1) {
+                ingester = new ParallelRecordIngester(ourContext, targetCollection, OREPrefix, ingestThreads, batchSize,
+                    configurationService.getIntProperty("oai.harvester.ingestQueueSize", 100));
+            }
+
+            listRecords = fetcher.next();
             while (listRecords != null) {
                 records = new ArrayList<>();
                 oaiResponse = db.build(listRecords.getDocument());
@@ -391,20 +406,24 @@ public class OAIHarvester {
 
                         currentRecord++;
 
-                        processRecord(record, OREPrefix, currentRecord, totalListSize);
-                        ourContext.dispatchEvents();
-
-                        intermediateCommit();
+                        if (ingester != null) {
+                            String itemOaiID = record.getChild("header", OAI_NS).getChildText("identifier", OAI_NS);
+                            ingester.submit(record, itemOaiID, currentRecord, totalListSize);
+                        } else {
+                            processRecord(record, OREPrefix, currentRecord, totalListSize);
+                            ourContext.dispatchEvents();
+
+                            uncommitted++;
+                            if (uncommitted >= batchSize) {
+                                intermediateCommit();
+                                uncommitted = 0;
+                            }
+                        }
                     }
                 }
 
                 // keep going if there are more records to process
-                resumptionToken = listRecords.getResumptionToken();
-                if (resumptionToken == null || resumptionToken.length() == 0) {
-                    listRecords = null;
-                } else {
-                    listRecords = new ListRecords(oaiSource, resumptionToken);
-                }
+                listRecords = fetcher.next();
                 ourContext.turnOffAuthorisationSystem();
                 try {
                     collectionService.update(ourContext, targetCollection);
@@ -420,6 +439,11 @@ public class OAIHarvester {
 
                 ourContext.dispatchEvents();
                 intermediateCommit();
+                uncommitted = 0;
+            }
+
+            if (ingester != null) {
+                ingester.finish();
             }
         } catch (HarvestingException hex) {
             log.error("Harvesting error occurred while processing an OAI record: " + hex.getMessage(), hex);
@@ -443,6 +467,12 @@ public class OAIHarvester {
             ourContext.complete();
             return;
         } finally {
+            if (fetcher != null) {
+                fetcher.close();
+            }
+            if (ingester != null) {
+                ingester.close();
+            }
             harvestedCollectionService.update(ourContext, harvestRow);
             ourContext.turnOffAuthorisationSystem();
             collectionService.update(ourContext, targetCollection);
@@ -464,7 +494,7 @@ public class OAIHarvester {
         ourContext.setMode(originalMode);
     }
 
-    private void intermediateCommit() throws SQLException {
+    protected void intermediateCommit() throws SQLException {
         ourContext.commit();
         reloadRequiredEntities();
     }
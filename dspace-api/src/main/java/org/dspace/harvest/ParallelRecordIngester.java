@@ -0,0 +1,230 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.harvest;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.content.Collection;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.CollectionService;
+import org.dspace.core.Context;
+import org.dspace.eperson.EPerson;
+import org.dspace.eperson.factory.EPersonServiceFactory;
+import org.dspace.eperson.service.EPersonService;
+import org.dspace.harvest.factory.HarvestServiceFactory;
+import org.dspace.harvest.service.HarvestedCollectionService;
+import org.jdom2.Element;
+
+/**
+ * Ingester of the records of an OAI-PMH harvest by a pool of worker threads. Each worker has its own
+ * {@link Context} and {@link OAIHarvester}, processes the records it is given in order and commits them in batches.
+ * The records are assigned to the workers by OAI identifier, so the records of a same item are always processed in
+ * the order they were harvested. Each worker only queues a bounded number of records, so that the harvest doesn't
+ * get ahead of the ingestion.
+ */
+public class ParallelRecordIngester implements Closeable {
+
+    private static final Logger log = LogManager.getLogger();
+
+    /**
+     * The marker of the end of the records in the queues of the workers
+     */
+    private static final HarvestedRecord END = new HarvestedRecord(null, 0, 0);
+
+    private final UUID collectionId;
+
+    private final UUID ePersonId;
+
+    private final String orePrefix;
+
+    private final int batchSize;
+
+    private final List<BlockingQueue<HarvestedRecord>> queues = new ArrayList<>();
+
+    private final List<Thread> workers = new ArrayList<>();
+
+    /**
+     * The first error a worker ran into, which stops the ingestion
+     */
+    private final AtomicReference<Exception> failure = new AtomicReference<>();
+
+    private volatile boolean stopped = false;
+
+    protected CollectionService collectionService = ContentServiceFactory.getInstance().getCollectionService();
+    protected HarvestedCollectionService harvestedCollectionService =
+        HarvestServiceFactory.getInstance().getHarvestedCollectionService();
+    protected EPersonService ePersonService = EPersonServiceFactory.getInstance().getEPersonService();
+
+    /**
+     * Start the workers ingesting the records harvested into the given collection
+     *
+     * @param context    the context of the harvest, whose current user the records are ingested as
+     * @param collection the collection the records are harvested into
+     * @param orePrefix  the metadata prefix used by the OAI-PMH server to disseminate ORE
+     * @param threads    the number of workers
+     * @param batchSize  the number of records a worker ingests before committing them
+     * @param queueSize  the maximum number of records queued for each worker
+     */
+    public ParallelRecordIngester(Context context, Collection collection, String orePrefix, int threads,
+                                  int batchSize, int queueSize) {
+        this.collectionId = collection.getID();
+        this.ePersonId = context.getCurrentUser() != null ? context.getCurrentUser().getID() : null;
+        this.orePrefix = orePrefix;
+        this.batchSize = Math.max(batchSize, 1);
+        for (int i = 0; i < threads; i++) {
+            BlockingQueue<HarvestedRecord> queue = new ArrayBlockingQueue<>(Math.max(queueSize, 1));
+            Thread worker = new Thread(() -> ingestRecords(queue), "oai-harvester-ingester-" + (i + 1));
+            worker.setDaemon(true);
+            queues.add(queue);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    /**
+     * Queue a record for ingestion, waiting for room in the queue of its worker. The record is detached from its
+     * document, as the workers may modify their records concurrently.
+     *
+     * @param record        the record to ingest
+     * @param oaiId         the OAI identifier of the record
+     * @param currentRecord the number of the record in the harvest
+     * @param totalListSize the total number of records of the harvest
+     * @throws HarvestingException if a worker failed to ingest a record, or if interrupted
+     */
+    public void submit(Element record, String oaiId, long currentRecord, long totalListSize)
+        throws HarvestingException {
+        BlockingQueue<HarvestedRecord> queue = queues.get(Math.floorMod(oaiId.hashCode(), queues.size()));
+        put(queue, new HarvestedRecord(record.detach(), currentRecord, totalListSize));
+    }
+
+    /**
+     * Wait for all the queued records to be ingested and committed
+     *
+     * @throws HarvestingException if a worker failed to ingest a record, or if interrupted
+     */
+    public void finish() throws HarvestingException {
+        for (BlockingQueue<HarvestedRecord> queue : queues) {
+            put(queue, END);
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new HarvestingException("Interrupted while waiting for the records to be ingested", e);
+            }
+        }
+        checkFailure();
+    }
+
+    /**
+     * Stop the workers, the records they haven't committed yet are discarded
+     */
+    @Override
+    public void close() {
+        stopped = true;
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join(TimeUnit.MINUTES.toMillis(1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void put(BlockingQueue<HarvestedRecord> queue, HarvestedRecord harvestedRecord)
+        throws HarvestingException {
+        try {
+            while (!queue.offer(harvestedRecord, 1, TimeUnit.SECONDS)) {
+                checkFailure();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HarvestingException("Interrupted while queuing a record for ingestion", e);
+        }
+        checkFailure();
+    }
+
+    private void checkFailure() throws HarvestingException {
+        Exception e = failure.get();
+        if (e instanceof HarvestingException) {
+            throw (HarvestingException) e;
+        } else if (e != null) {
+            throw new HarvestingException("Error occurred while ingesting an OAI record: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * The loop of a worker, ingesting the records of its queue in its own context until the end marker is reached
+     */
+    private void ingestRecords(BlockingQueue<HarvestedRecord> queue) {
+        Context context = new Context(Context.Mode.BATCH_EDIT);
+        try {
+            if (ePersonId != null) {
+                EPerson ePerson = ePersonService.find(context, ePersonId);
+                context.setCurrentUser(ePerson);
+            }
+            Collection collection = collectionService.find(context, collectionId);
+            HarvestedCollection harvestRow = harvestedCollectionService.find(context, collection);
+            OAIHarvester harvester = new OAIHarvester(context, collection, harvestRow);
+
+            int uncommitted = 0;
+            HarvestedRecord harvestedRecord = queue.take();
+            while (harvestedRecord != END && !stopped && failure.get() == null) {
+                harvester.processRecord(harvestedRecord.record, orePrefix, harvestedRecord.currentRecord,
+                                        harvestedRecord.totalListSize);
+                uncommitted++;
+                if (uncommitted >= batchSize) {
+                    harvester.intermediateCommit();
+                    uncommitted = 0;
+                }
+                harvestedRecord = queue.take();
+            }
+            if (!stopped && failure.get() == null) {
+                context.complete();
+            }
+        } catch (InterruptedException e) {
+            log.debug("Ingestion of the harvested records interrupted");
+        } catch (Exception e) {
+            log.error("Error occurred while ingesting an OAI record: " + e.getMessage(), e);
+            failure.compareAndSet(null, e);
+        } finally {
+            if (context.isValid()) {
+                context.abort();
+            }
+        }
+    }
+
+    /**
+     * A harvested record, with its number in the harvest
+     */
+    private static class HarvestedRecord {
+        private final Element record;
+        private final long currentRecord;
+        private final long totalListSize;
+
+        HarvestedRecord(Element record, long currentRecord, long totalListSize) {
+            this.record = record;
+            this.currentRecord = currentRecord;
+            this.totalListSize = totalListSize;
+        }
+    }
+}
@@ -11,14 +11,24 @@ package org.dspace.identifier.doi;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.mail.MessagingException;
 
+import com.google.common.collect.Lists;
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
 import org.apache.commons.cli.DefaultParser;
@@ -29,6 +39,7 @@ import org.apache.commons.cli.ParseException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.dspace.content.DSpaceObject;
+import org.dspace.content.Item;
 import org.dspace.content.factory.ContentServiceFactory;
 import org.dspace.content.logic.Filter;
 import org.dspace.content.logic.FilterUtils;
@@ -58,6 +69,12 @@ public class DOIOrganiser {
 
     private static final Logger LOG = LogManager.getLogger(DOIOrganiser.class);
 
+    // Number of items selected by each database query when a filter is specified
+    private static final int FILTER_BATCH_SIZE = 500;
+
+    // Marks the end of the DOIs queued for the worker threads
+    private static final String END_OF_DOIS = "";
+
     private static final Integer TO_BE_REGISTERED = 1;
     // The DOI is queued for reservation with the service provider
     private static final Integer TO_BE_RESERVED = 2;
@@ -93,6 +110,18 @@ public class DOIOrganiser {
     protected ConfigurationService configurationService;
     // This filter will override the default provider filter / behaviour
     protected Filter filter;
+    // Number of threads processing the queued DOIs
+    protected int threads;
+    // Number of DOIs a thread processes before committing their status
+    protected int batchSize;
+
+    /**
+     * An operation of the organiser on a queued DOI
+     */
+    @FunctionalInterface
+    public interface DOIOperation {
+        void process(DOIOrganiser organiser, DOI doi) throws SQLException, DOIIdentifierException;
+    }
 
     /**
      * Constructor to be called within the main() method
@@ -109,6 +138,8 @@ public class DOIOrganiser {
         this.configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
         this.filter = DSpaceServicesFactory.getInstance().getServiceManager().getServiceByName(
                 "always_true_filter", TrueFilter.class);
+        this.threads = configurationService.getIntProperty("identifier.doi.organiser.threads", 1);
+        this.batchSize = configurationService.getIntProperty("identifier.doi.organiser.batch-size", 100);
     }
 
     /**
@@ -156,6 +187,11 @@ public class DOIOrganiser {
         options.addOption("q", "quiet", false,
                 "Turn the command line output off.");
 
+        Option threadsOption = Option.builder("t").longOpt("threads").hasArg().argName("threads")
+                .desc("Number of threads processing the queued identifiers concurrently with --register-all, "
+                        + "--reserve-all, --update-all and --delete-all.").build();
+        options.addOption(threadsOption);
+
         Option filterDoi = Option.builder().optionalArg(true).longOpt("filter").hasArg().argName("filterName")
                 .desc("Use the specified filter name instead of the provider's filter. Defaults to a special " +
                         "'always true' filter to force operations").build();
@@ -225,6 +261,15 @@ public class DOIOrganiser {
             organiser.setQuiet();
         }
 
+        if (line.hasOption('t')) {
+            try {
+                organiser.setThreads(Integer.parseInt(line.getOptionValue('t')));
+            } catch (NumberFormatException ex) {
+                System.err.println("The number of threads must be a number: " + line.getOptionValue('t'));
+                System.exit(1);
+            }
+        }
+
         if (line.hasOption('l')) {
             organiser.list("reservation", null, null, "DOIs", TO_BE_RESERVED);
             organiser.list("registration", null, null, "DOIs", TO_BE_REGISTERED);
@@ -255,45 +300,40 @@ public class DOIOrganiser {
 
         if (line.hasOption('s')) {
             try {
-                List<DOI> dois = doiService
-                        .getDOIsByStatus(context, Arrays.asList(TO_BE_RESERVED));
+                List<DOI> dois = organiser.selectFiltered(doiService
+                        .getDOIsByStatus(context, Arrays.asList(TO_BE_RESERVED)));
                 if (dois.isEmpty()) {
                     System.err.println("There are no objects in the database "
                             + "that could be reserved.");
                 }
 
-                for (DOI doi : dois) {
-                    organiser.reserve(doi);
-                    context.uncacheEntity(doi);
-                }
+                organiser.processAll(dois, DOIOrganiser::reserve);
             } catch (SQLException ex) {
                 System.err.println("Error in database connection:" + ex.getMessage());
                 ex.printStackTrace(System.err);
+            } catch (DOIIdentifierException ex) {
+                System.err.println("Error reserving DOI identifier:" + ex.getMessage());
             }
         }
 
         if (line.hasOption('r')) {
             try {
-                List<DOI> dois = doiService
-                        .getDOIsByStatus(context, Arrays.asList(TO_BE_REGISTERED));
+                List<DOI> dois = organiser.selectFiltered(doiService
+                        .getDOIsByStatus(context, Arrays.asList(TO_BE_REGISTERED)));
                 if (dois.isEmpty()) {
                     System.out.println("There are no DOI objects in the database that could be registered.");
                 }
-                for (DOI doi : dois) {
-                    organiser.register(doi);
-                    context.uncacheEntity(doi);
-                }
+                organiser.processAll(dois, DOIOrganiser::register);
 
                 List<DOI> darks = doiService
                         .getDOIsByStatus(context, Arrays.asList(TO_BE_REGISTERED + START_RANGE_DARK_STATUS));
                 if (darks.isEmpty()) {
                     System.out.println("There are no dark objects in the database that could be registered.");
                 }
-                for (DOI doi : darks) {
+                organiser.processAll(darks, (darkOrganiser, doi) -> {
                     System.out.println("Registering dark: " + doi.getDoi());
-                    organiser.register(doi);
-                    context.uncacheEntity(doi);
-                }
+                    darkOrganiser.register(doi);
+                });
 
             } catch (SQLException ex) {
                 System.err.println("Error in database connection:" + ex.getMessage());
@@ -314,13 +354,12 @@ public class DOIOrganiser {
                             + "whose metadata needs an update.");
                 }
 
-                for (DOI doi : dois) {
-                    organiser.update(doi);
-                    context.uncacheEntity(doi);
-                }
+                organiser.processAll(dois, DOIOrganiser::update);
             } catch (SQLException ex) {
                 System.err.println("Error in database connection:" + ex.getMessage());
                 ex.printStackTrace(System.err);
+            } catch (DOIIdentifierException ex) {
+                System.err.println("Error updating DOI identifier:" + ex.getMessage());
             }
         }
 
@@ -333,16 +372,12 @@ public class DOIOrganiser {
                             + "that could be deleted.");
                 }
 
-                Iterator<DOI> iterator = dois.iterator();
-                while (iterator.hasNext()) {
-                    DOI doi = iterator.next();
-                    iterator.remove();
-                    organiser.delete(doi.getDoi());
-                    context.uncacheEntity(doi);
-                }
+                organiser.processAll(dois, (deleteOrganiser, doi) -> deleteOrganiser.delete(doi.getDoi()));
             } catch (SQLException ex) {
                 System.err.println("Error in database connection:" + ex.getMessage());
                 ex.printStackTrace(System.err);
+            } catch (DOIIdentifierException ex) {
+                System.err.println("Error deleting DOI identifier:" + ex.getMessage());
             }
         }
 
@@ -448,6 +483,170 @@ public class DOIOrganiser {
         }
     }
 
+    /**
+     * Process queued DOIs. With several threads, each thread processes the DOIs with its own context and
+     * organiser, so that the crosswalks and the requests to the registration agency run concurrently, and
+     * commits the status of its DOIs every batch of DOIs. The DOIs which cannot be processed are logged.
+     * @param dois          - DOIs to process
+     * @param operation     - operation to apply to each DOI
+     * @throws SQLException
+     * @throws DOIIdentifierException
+     */
+    public void processAll(List<DOI> dois, DOIOperation operation) throws SQLException, DOIIdentifierException {
+        if (threads <= 1 || dois.size() <= 1) {
+            for (DOI doi : dois) {
+                operation.process(this, doi);
+                context.uncacheEntity(doi);
+            }
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        AtomicInteger errors = new AtomicInteger();
+        AtomicInteger running = new AtomicInteger(threads);
+        BlockingQueue<String> queue = new ArrayBlockingQueue<>(threads * 2);
+        AtomicInteger count = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(threads, runnable ->
+                new Thread(runnable, "doi-organiser-" + count.incrementAndGet()));
+        for (int i = 0; i < threads; i++) {
+            workers.submit(() -> {
+                try {
+                    processQueued(queue, operation, errors);
+                } finally {
+                    running.decrementAndGet();
+                }
+            });
+        }
+        try {
+            int queued = 0;
+            for (DOI doi : dois) {
+                if (!enqueue(queue, doi.getDoi(), running)) {
+                    // all the threads failed, the remaining DOIs are left to the next run
+                    errors.addAndGet(dois.size() - queued);
+                    break;
+                }
+                queued++;
+                context.uncacheEntity(doi);
+            }
+            for (int i = 0; i < threads; i++) {
+                enqueue(queue, END_OF_DOIS, running);
+            }
+            workers.shutdown();
+            workers.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        if (!quiet) {
+            long elapsed = Math.max(System.currentTimeMillis() - start, 1);
+            System.out.println(dois.size() + " identifiers processed in " + elapsed / 1000 + " secs ("
+                    + dois.size() * 1000L / elapsed + " identifiers/sec)");
+        }
+        if (errors.get() > 0) {
+            System.err.println(errors.get() + " identifiers could not be processed, see the log for details.");
+        }
+    }
+
+    /**
+     * Worker loop: processes the queued DOIs in its own context, committing every batchSize DOIs.
+     */
+    private void processQueued(BlockingQueue<String> queue, DOIOperation operation, AtomicInteger errors) {
+        Context workerContext = null;
+        List<DOI> uncommitted = new ArrayList<>();
+        try {
+            workerContext = new Context(Context.Mode.BATCH_EDIT);
+            workerContext.turnOffAuthorisationSystem();
+            DOIOrganiser worker = new DOIOrganiser(workerContext, provider);
+            worker.filter = filter;
+            worker.quiet = quiet;
+            String doi;
+            while (!END_OF_DOIS.equals(doi = queue.take())) {
+                try {
+                    DOI doiRow = doiService.findByDoi(workerContext, doi);
+                    if (null != doiRow) {
+                        operation.process(worker, doiRow);
+                        uncommitted.add(doiRow);
+                    }
+                } catch (SQLException | DOIIdentifierException | RuntimeException ex) {
+                    LOG.error("It wasn't possible to process this identifier: " + DOI.SCHEME + doi, ex);
+                    errors.incrementAndGet();
+                }
+                if (uncommitted.size() >= batchSize) {
+                    commit(workerContext, uncommitted);
+                }
+            }
+            commit(workerContext, uncommitted);
+            workerContext.complete();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (SQLException ex) {
+            // the remaining DOIs are left to the other threads
+            LOG.error("It wasn't possible to save the status of the identifiers", ex);
+            errors.addAndGet(uncommitted.size());
+        } finally {
+            if (null != workerContext && workerContext.isValid()) {
+                workerContext.abort();
+            }
+        }
+    }
+
+    private void commit(Context workerContext, List<DOI> uncommitted) throws SQLException {
+        workerContext.commit();
+        for (DOI doi : uncommitted) {
+            workerContext.uncacheEntity(doi);
+        }
+        uncommitted.clear();
+    }
+
+    private boolean enqueue(BlockingQueue<String> queue, String doi, AtomicInteger running)
+            throws InterruptedException {
+        while (!queue.offer(doi, 1, TimeUnit.SECONDS)) {
+            if (running.get() == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Select the DOIs of the items the filter is true for. The items are selected by batches of database queries,
+     * so that the items the filter excludes are neither loaded nor sent to the provider.
+     * @param dois          - DOIs to select from
+     * @return the DOIs of the items the filter is true for, all of them if no filter was specified
+     * @throws SQLException
+     */
+    public List<DOI> selectFiltered(List<DOI> dois) throws SQLException {
+        if (filter == null || filter instanceof TrueFilter) {
+            return dois;
+        }
+        List<DOI> selected = new ArrayList<>();
+        for (List<DOI> batch : Lists.partition(dois, FILTER_BATCH_SIZE)) {
+            Map<UUID, DOI> doisByItem = new HashMap<>();
+            for (DOI doi : batch) {
+                DSpaceObject dso = doi.getDSpaceObject();
+                if (dso != null && Constants.ITEM == dso.getType()) {
+                    doisByItem.put(dso.getID(), doi);
+                } else {
+                    // let reserve and register report the DOIs which don't identify an item
+                    selected.add(doi);
+                }
+            }
+            if (doisByItem.isEmpty()) {
+                continue;
+            }
+            Iterator<Item> items = itemService.findByFilter(context, filter, new ArrayList<>(doisByItem.keySet()));
+            while (items.hasNext()) {
+                selected.add(doisByItem.get(items.next().getID()));
+            }
+        }
+        if (!quiet && selected.size() < dois.size()) {
+            System.out.println("Skipping " + (dois.size() - selected.size()) + " DOI(s) of items excluded by "
+                    + "the filter " + filter.getName() + ".");
+        }
+        return selected;
+    }
+
     /**
      * Register DOI with the provider
      * @param doiRow        - doi to register
@@ -857,4 +1056,12 @@ public class DOIOrganiser {
         this.quiet = true;
     }
 
+    /**
+     * Set the number of threads processing the queued DOIs
+     * @param threads   - number of threads
+     */
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
 }
\ No newline at end of file
@@ -14,8 +14,14 @@ import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
 
+import com.google.common.util.concurrent.RateLimiter;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.apache.http.Header;
 import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
 import org.apache.http.HttpResponse;
 import org.apache.http.StatusLine;
 import org.apache.http.auth.AuthScope;
@@ -44,6 +50,7 @@ import org.dspace.core.Context;
 import org.dspace.core.factory.CoreServiceFactory;
 import org.dspace.handle.service.HandleService;
 import org.dspace.identifier.DOI;
+import org.dspace.service.impl.HttpConnectionPoolService;
 import org.dspace.services.ConfigurationService;
 import org.jdom2.Document;
 import org.jdom2.Element;
@@ -77,6 +84,14 @@ public class DataCiteConnector
         = "crosswalk.dissemination.DataCite.hostingInstitution";
     static final String CFG_NAMESPACE
         = "crosswalk.dissemination.DataCite.namespace";
+    static final String CFG_REQUESTS_PER_SECOND = "identifier.doi.requests-per-second";
+    static final String CFG_MAX_RETRIES = "identifier.doi.max-retries";
+    static final String CFG_RETRY_DELAY = "identifier.doi.retry-delay";
+
+    /**
+     * The status codes of the requests which failed temporarily, and are sent again
+     */
+    protected static final Set<Integer> RETRY_STATUS_CODES = Set.of(429, 500, 502, 503, 504);
 
     /**
      * Stores the scheme used to connect to the DataCite server. It will be set
@@ -88,6 +103,11 @@ public class DataCiteConnector
      * injection.
      */
     protected String HOST;
+    /**
+     * Port of the DataCite server, or -1 to use the default port of the
+     * scheme. Set by spring dependency injection.
+     */
+    protected int PORT = -1;
 
     /**
      * Path on the DataCite server used to generate DOIs. Set by spring
@@ -108,9 +128,10 @@ public class DataCiteConnector
      * DisseminationCrosswalk to map local metadata into DataCite metadata.
      * The name of the crosswalk is set by spring dependency injection using
      * {@link #setDisseminationCrosswalkName(String) setDisseminationCrosswalkName} which
-     * instantiates the crosswalk.
+     * instantiates the crosswalk. Each thread gets its own crosswalk, as the
+     * XSLT crosswalks reuse a transformer which is not thread safe.
      */
-    protected ParameterizedDisseminationCrosswalk xwalk;
+    protected final ThreadLocal<ParameterizedDisseminationCrosswalk> xwalk = new ThreadLocal<>();
 
     protected ConfigurationService configurationService;
 
@@ -119,8 +140,21 @@ public class DataCiteConnector
     @Autowired
     protected HandleService handleService;
 
+    /**
+     * Pool of the connections to the DataCite server, shared by the threads
+     * sending requests concurrently.
+     */
+    protected HttpConnectionPoolService httpConnectionPoolService;
+    private CloseableHttpClient httpClient;
+
+    /**
+     * Limits the rate of the requests sent to the DataCite server, null if
+     * the rate is not limited.
+     */
+    private RateLimiter rateLimiter;
+    private boolean rateLimiterConfigured = false;
+
     public DataCiteConnector() {
-        this.xwalk = null;
         this.USERNAME = null;
         this.PASSWORD = null;
     }
@@ -147,6 +181,17 @@ public class DataCiteConnector
         this.HOST = DATACITE_HOST;
     }
 
+    /**
+     * Set the port of the DataCite server, if it isn't the default port of
+     * the scheme (f.e. to test against a local server). Used by spring
+     * dependency injection.
+     *
+     * @param DATACITE_PORT Port to connect to register DOIs.
+     */
+    public void setDATACITE_PORT(int DATACITE_PORT) {
+        this.PORT = DATACITE_PORT;
+    }
+
     /**
      * Set the path on the DataCite server to register DOIs. Used by spring
      * dependency injection.
@@ -201,20 +246,34 @@ public class DataCiteConnector
         this.CROSSWALK_NAME = CROSSWALK_NAME;
     }
 
-    protected void prepareXwalk() {
-        if (null != this.xwalk) {
-            return;
+    /**
+     * Set the pool of the connections to the DataCite server. Used by spring
+     * dependency injection; without a pool, each request opens its own
+     * connection.
+     *
+     * @param httpConnectionPoolService The pool of connections.
+     */
+    public void setHttpConnectionPoolService(HttpConnectionPoolService httpConnectionPoolService) {
+        this.httpConnectionPoolService = httpConnectionPoolService;
+    }
+
+    protected ParameterizedDisseminationCrosswalk prepareXwalk() {
+        ParameterizedDisseminationCrosswalk crosswalk = this.xwalk.get();
+        if (null != crosswalk) {
+            return crosswalk;
         }
 
-        this.xwalk = (ParameterizedDisseminationCrosswalk) CoreServiceFactory.getInstance().getPluginService()
-                                                                             .getNamedPlugin(
-                                                                                 DisseminationCrosswalk.class,
-                                                                                 this.CROSSWALK_NAME);
+        crosswalk = (ParameterizedDisseminationCrosswalk) CoreServiceFactory.getInstance().getPluginService()
+                                                                            .getNamedPlugin(
+                                                                                DisseminationCrosswalk.class,
+                                                                                this.CROSSWALK_NAME);
 
-        if (this.xwalk == null) {
+        if (crosswalk == null) {
             throw new RuntimeException("Can't find crosswalk '"
                                            + CROSSWALK_NAME + "'!");
         }
+        this.xwalk.set(crosswalk);
+        return crosswalk;
     }
 
     protected String getUsername() {
@@ -350,12 +409,12 @@ public class DataCiteConnector
     @Override
     public void reserveDOI(Context context, DSpaceObject dso, String doi)
         throws DOIIdentifierException {
-        this.prepareXwalk();
+        ParameterizedDisseminationCrosswalk crosswalk = this.prepareXwalk();
 
         DSpaceObjectService<DSpaceObject> dSpaceObjectService = ContentServiceFactory.getInstance()
                                                                                      .getDSpaceObjectService(dso);
 
-        if (!this.xwalk.canDisseminate(dso)) {
+        if (!crosswalk.canDisseminate(dso)) {
             log.error("Crosswalk " + this.CROSSWALK_NAME
                           + " cannot disseminate DSO with type " + dso.getType()
                           + " and ID " + dso.getID() + ". Giving up reserving the DOI "
@@ -388,7 +447,7 @@ public class DataCiteConnector
 
         Element root = null;
         try {
-            root = xwalk.disseminateElement(context, dso, parameters);
+            root = crosswalk.disseminateElement(context, dso, parameters);
         } catch (AuthorizeException ae) {
             log.error("Caught an AuthorizeException while disseminating DSO "
                           + "with type " + dso.getType() + " and ID " + dso.getID()
@@ -534,7 +593,7 @@ public class DataCiteConnector
         // post mds/doi/
         // body must contaion "doi=<doi>\nurl=<url>}n"
         URIBuilder uribuilder = new URIBuilder();
-        uribuilder.setScheme(SCHEME).setHost(HOST).setPath(DOI_PATH);
+        uribuilder.setScheme(SCHEME).setHost(HOST).setPort(PORT).setPath(DOI_PATH);
 
         HttpPost httppost = null;
         try {
@@ -575,7 +634,7 @@ public class DataCiteConnector
         throws DOIIdentifierException {
         // delete mds/metadata/<doi>
         URIBuilder uribuilder = new URIBuilder();
-        uribuilder.setScheme(SCHEME).setHost(HOST).setPath(METADATA_PATH
+        uribuilder.setScheme(SCHEME).setHost(HOST).setPort(PORT).setPath(METADATA_PATH
                                                                + doi.substring(DOI.SCHEME.length()));
 
         HttpDelete httpdelete = null;
@@ -607,7 +666,7 @@ public class DataCiteConnector
     protected DataCiteResponse sendGetRequest(String doi, String path)
         throws DOIIdentifierException {
         URIBuilder uribuilder = new URIBuilder();
-        uribuilder.setScheme(SCHEME).setHost(HOST).setPath(path
+        uribuilder.setScheme(SCHEME).setHost(HOST).setPort(PORT).setPath(path
                                                                + doi.substring(DOI.SCHEME.length()));
 
         HttpGet httpget = null;
@@ -639,7 +698,7 @@ public class DataCiteConnector
         // post mds/metadata/
         // body must contain metadata in DataCite-XML.
         URIBuilder uribuilder = new URIBuilder();
-        uribuilder.setScheme(SCHEME).setHost(HOST).setPath(METADATA_PATH);
+        uribuilder.setScheme(SCHEME).setHost(HOST).setPort(PORT).setPath(METADATA_PATH);
 
         HttpPost httppost = null;
         try {
@@ -686,15 +745,17 @@ public class DataCiteConnector
     protected DataCiteResponse sendHttpRequest(HttpUriRequest req, String doi)
         throws DOIIdentifierException {
         CredentialsProvider credentialsProvider = new BasicCredentialsProvider();
-        credentialsProvider.setCredentials(new AuthScope(HOST, 443),
+        credentialsProvider.setCredentials(new AuthScope(HOST, PORT > 0 ? PORT : 443),
                 new UsernamePasswordCredentials(this.getUsername(), this.getPassword()));
 
         HttpClientContext httpContext = HttpClientContext.create();
         httpContext.setCredentialsProvider(credentialsProvider);
 
         HttpEntity entity = null;
-        try ( CloseableHttpClient httpclient = HttpClientBuilder.create().build(); ) {
-            HttpResponse response = httpclient.execute(req, httpContext);
+        CloseableHttpClient httpclient = null;
+        try {
+            httpclient = getHttpClient();
+            HttpResponse response = executeWithRetries(httpclient, req, httpContext, doi);
 
             StatusLine status = response.getStatusLine();
             int statusCode = status.getStatusCode();
@@ -789,12 +850,120 @@ public class DataCiteConnector
                 if (null != entity) {
                     EntityUtils.consume(entity);
                 }
+                // The pooled client is shared, the other ones are used once.
+                if (null != httpclient && null == httpConnectionPoolService) {
+                    httpclient.close();
+                }
             } catch (IOException e) {
                 log.warn("Can't release HTTP-Entity: " + e.getMessage());
             }
         }
     }
 
+    /**
+     * Get the client to send a request with: the client of the connection
+     * pool if there is one, or a new client otherwise.
+     *
+     * @return the HTTP client
+     */
+    protected synchronized CloseableHttpClient getHttpClient() {
+        if (null == httpConnectionPoolService) {
+            return HttpClientBuilder.create().build();
+        }
+        if (null == httpClient) {
+            httpClient = httpConnectionPoolService.getClient();
+        }
+        return httpClient;
+    }
+
+    /**
+     * Send a request, within the configured rate limit. The requests failing
+     * temporarily, because of an I/O error or a status code of
+     * {@link #RETRY_STATUS_CODES}, are sent again after a delay doubled on
+     * each retry, or the delay asked by the server in a Retry-After header.
+     *
+     * @param httpclient  client to send the request with
+     * @param req         request to send
+     * @param httpContext context of the request
+     * @param doi         DOI string to operate on
+     * @return the response to the last attempt
+     * @throws IOException if the last attempt failed with an I/O error
+     */
+    protected HttpResponse executeWithRetries(CloseableHttpClient httpclient, HttpUriRequest req,
+                                              HttpClientContext httpContext, String doi)
+        throws IOException {
+        int maxRetries = configurationService.getIntProperty(CFG_MAX_RETRIES, 3);
+        long retryDelay = configurationService.getLongProperty(CFG_RETRY_DELAY, 1000);
+
+        for (int attempt = 0; ; attempt++) {
+            acquireRequestPermit();
+            HttpResponse response;
+            try {
+                response = httpclient.execute(req, httpContext);
+            } catch (IOException e) {
+                if (attempt >= maxRetries) {
+                    throw e;
+                }
+                log.info("Caught an IOException while managing DOI {}, retrying: {}", doi, e.getMessage());
+                sleep(retryDelay << attempt);
+                continue;
+            }
+
+            int statusCode = response.getStatusLine().getStatusCode();
+            if (attempt >= maxRetries || !RETRY_STATUS_CODES.contains(statusCode)) {
+                return response;
+            }
+            long delay = getRetryAfter(response, retryDelay << attempt);
+            EntityUtils.consume(response.getEntity());
+            log.info("Caught an http status code {} while managing DOI {}, retrying in {} ms.",
+                     statusCode, doi, delay);
+            sleep(delay);
+        }
+    }
+
+    /**
+     * Get the delay asked by the server before sending a request again.
+     *
+     * @param response     response of the server
+     * @param defaultDelay delay to use if the server did not ask for one, in milliseconds
+     * @return the delay, in milliseconds
+     */
+    protected long getRetryAfter(HttpResponse response, long defaultDelay) {
+        Header retryAfter = response.getFirstHeader(HttpHeaders.RETRY_AFTER);
+        if (null != retryAfter && StringUtils.isNumeric(retryAfter.getValue())) {
+            return Long.parseLong(retryAfter.getValue()) * 1000;
+        }
+        return defaultDelay;
+    }
+
+    /**
+     * Wait until a request can be sent within the configured rate limit.
+     */
+    protected void acquireRequestPermit() {
+        RateLimiter limiter;
+        synchronized (this) {
+            if (!rateLimiterConfigured) {
+                double requestsPerSecond = NumberUtils.toDouble(
+                    configurationService.getProperty(CFG_REQUESTS_PER_SECOND), 0);
+                rateLimiter = requestsPerSecond > 0 ? RateLimiter.create(requestsPerSecond) : null;
+                rateLimiterConfigured = true;
+            }
+            limiter = rateLimiter;
+        }
+        if (null != limiter) {
+            limiter.acquire();
+        }
+    }
+
+    private void sleep(long delay) {
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting to send a request to DataCite.", e);
+        }
+    }
+
     // returns null or handle
     protected String extractAlternateIdentifier(Context context, String content)
         throws SQLException, DOIIdentifierException {
@@ -7,6 +7,11 @@
  */
 package org.dspace.iiif;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
 import org.dspace.content.Bitstream;
 
 /**
@@ -21,4 +26,20 @@ public interface IIIFApiQueryService {
      */
     int[] getImageDimensions(Bitstream bitstream);
 
+    /**
+     * Returns the canvas width and height of several bitstreams
+     * @param bitstreams the bitstreams
+     * @return the dimensions by bitstream identifier, of the bitstreams whose dimensions were found
+     */
+    default Map<UUID, int[]> getImageDimensions(List<Bitstream> bitstreams) {
+        Map<UUID, int[]> dimensions = new HashMap<>();
+        for (Bitstream bitstream : bitstreams) {
+            int[] dims = getImageDimensions(bitstream);
+            if (dims != null) {
+                dimensions.put(bitstream.getID(), dims);
+            }
+        }
+        return dimensions;
+    }
+
 }
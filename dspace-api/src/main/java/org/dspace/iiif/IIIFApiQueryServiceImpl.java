@@ -14,16 +14,32 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.logging.log4j.Logger;
 import org.dspace.content.Bitstream;
 import org.dspace.iiif.util.IIIFSharedUtils;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
 
 
 /**
  * Queries the configured IIIF image server via the Image API.
+ * <p>
+ * The dimensions of several images are requested concurrently, by a pool of at most
+ * "iiif.image.server.lookup-threads" threads (default 4). The requests time out after
+ * "iiif.image.server.timeout" milliseconds (default 10000).
  *
  * @author Michael Spalti mspalti@willamette.edu
  */
@@ -31,6 +47,52 @@ public class IIIFApiQueryServiceImpl implements IIIFApiQueryService {
 
     private static final Logger log = org.apache.logging.log4j.LogManager.getLogger(IIIFApiQueryServiceImpl.class);
 
+    @Autowired
+    private ConfigurationService configurationService;
+
+    // Created on the first lookup of several images.
+    private ExecutorService lookupPool;
+
+    @Override
+    public Map<UUID, int[]> getImageDimensions(List<Bitstream> bitstreams) {
+        if (bitstreams.size() <= 1) {
+            return IIIFApiQueryService.super.getImageDimensions(bitstreams);
+        }
+        Map<UUID, Future<int[]>> lookups = new LinkedHashMap<>();
+        for (Bitstream bitstream : bitstreams) {
+            lookups.put(bitstream.getID(), getLookupPool().submit(() -> getImageDimensions(bitstream)));
+        }
+        Map<UUID, int[]> dimensions = new HashMap<>();
+        for (Map.Entry<UUID, Future<int[]>> lookup : lookups.entrySet()) {
+            try {
+                int[] dims = lookup.getValue().get();
+                if (dims != null) {
+                    dimensions.put(lookup.getKey(), dims);
+                }
+            } catch (ExecutionException e) {
+                log.error("Unable to retrieve the dimensions of the image " + lookup.getKey(), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                lookups.values().forEach(future -> future.cancel(true));
+                break;
+            }
+        }
+        return dimensions;
+    }
+
+    private synchronized ExecutorService getLookupPool() {
+        if (lookupPool == null) {
+            int threads = configurationService.getIntProperty("iiif.image.server.lookup-threads", 4);
+            AtomicInteger count = new AtomicInteger();
+            lookupPool = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "iiif-image-lookup-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return lookupPool;
+    }
+
     @Override
     public int[] getImageDimensions(Bitstream bitstream) {
         int[] arr = new int[2];
@@ -41,6 +103,9 @@ public class IIIFApiQueryServiceImpl implements IIIFApiQueryService {
             url = new URL(path);
             HttpURLConnection con = (HttpURLConnection) url.openConnection();
             con.setRequestMethod("GET");
+            int timeout = configurationService.getIntProperty("iiif.image.server.timeout", 10000);
+            con.setConnectTimeout(timeout);
+            con.setReadTimeout(timeout);
             in = new BufferedReader(
                 new InputStreamReader(con.getInputStream()));
             String inputLine;
@@ -84,6 +84,10 @@ public class CanvasDimensionCLI {
             "do not print anything except in the event of errors");
         options.addOption("m", "maximum", true,
             "process no more than maximum items");
+        options.addOption("t", "threads", true,
+            "number of threads processing the items (defaults to iiif.canvas.dimensions.threads)");
+        options.addOption("c", "checkpoint", true,
+            "file recording the items processed, used to resume an interrupted run");
         options.addOption("h", "help", false,
             "display help");
 
@@ -147,6 +151,23 @@ public class CanvasDimensionCLI {
                 max2Process = Integer.MAX_VALUE;
             }
         }
+        if (line.hasOption('t')) {
+            int threads = 0;
+            try {
+                threads = Integer.parseInt(line.getOptionValue('t'));
+            } catch (NumberFormatException e) {
+                // reported below
+            }
+            if (threads < 1) {
+                System.out.println("Invalid number of threads '" +
+                    line.getOptionValue('t') + "' - ignoring");
+            } else {
+                canvasProcessor.setThreads(threads);
+            }
+        }
+        if (line.hasOption('c')) {
+            canvasProcessor.setCheckpointFile(line.getOptionValue('c'));
+        }
         String[] skipIds;
 
         if (line.hasOption('s')) {
@@ -0,0 +1,101 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.iiif.canvasdimension;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Records the items whose canvas dimensions were committed, one identifier per line, so that an interrupted run
+ * can be resumed without processing these items again. The file is deleted once a run completes.
+ */
+public class CanvasDimensionCheckpoint {
+
+    private final Path file;
+
+    private final Set<UUID> completedItems = new HashSet<>();
+
+    private BufferedWriter writer;
+
+    /**
+     * Opens a checkpoint, reading the items completed by the previous runs if the file exists.
+     * @param file the checkpoint file
+     * @throws IOException if the file cannot be read
+     */
+    public CanvasDimensionCheckpoint(Path file) throws IOException {
+        this.file = file;
+        if (Files.exists(file)) {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                if (StringUtils.isNotBlank(line)) {
+                    completedItems.add(UUID.fromString(line.trim()));
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the number of items completed by the previous runs
+     */
+    public int getCompletedCount() {
+        return completedItems.size();
+    }
+
+    /**
+     * Tests whether the item was completed by a previous run.
+     * @param itemId the item identifier
+     * @return true if the item doesn't need to be processed again
+     */
+    public boolean isCompleted(UUID itemId) {
+        return completedItems.contains(itemId);
+    }
+
+    /**
+     * Records items whose changes were committed.
+     * @param itemIds the item identifiers
+     * @throws IOException if the file cannot be written
+     */
+    public synchronized void record(Collection<UUID> itemIds) throws IOException {
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        if (writer == null) {
+            writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                                             StandardOpenOption.APPEND);
+        }
+        for (UUID itemId : itemIds) {
+            writer.write(itemId.toString());
+            writer.newLine();
+        }
+        writer.flush();
+    }
+
+    /**
+     * Closes the checkpoint, deleting the file when the run is complete.
+     * @param complete true if all the items were processed
+     * @throws IOException if the file cannot be closed or deleted
+     */
+    public synchronized void close(boolean complete) throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+        if (complete) {
+            Files.deleteIfExists(file);
+        }
+    }
+}
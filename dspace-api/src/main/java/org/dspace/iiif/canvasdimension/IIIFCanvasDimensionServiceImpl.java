@@ -14,11 +14,23 @@ import static org.dspace.iiif.util.IIIFSharedUtils.METADATA_IIIF_WIDTH_QUALIFIER
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Paths;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.content.Bitstream;
 import org.dspace.content.Bundle;
@@ -31,19 +43,35 @@ import org.dspace.content.service.CommunityService;
 import org.dspace.content.service.DSpaceObjectService;
 import org.dspace.content.service.ItemService;
 import org.dspace.core.Context;
+import org.dspace.eperson.service.EPersonService;
 import org.dspace.iiif.IIIFApiQueryService;
 import org.dspace.iiif.canvasdimension.service.IIIFCanvasDimensionService;
 import org.dspace.iiif.util.IIIFSharedUtils;
+import org.dspace.services.ConfigurationService;
 import org.springframework.beans.factory.annotation.Autowired;
 
 /**
  * This service sets canvas dimensions for bitstreams. Processes communities,
  * collections, and individual items.
+ * <p>
+ * The items of communities and collections are processed by a pool of worker threads
+ * ("iiif.canvas.dimensions.threads", by default the number of processors), each of them
+ * committing its changes every "iiif.canvas.dimensions.batch-size" images (default 100).
+ * When a checkpoint file is set, the committed items are recorded in it, and skipped when
+ * an interrupted run is started again.
  *
  * @author Michael Spalti mspalti@willamette.edu
  */
 public class IIIFCanvasDimensionServiceImpl implements IIIFCanvasDimensionService {
 
+    private static final Logger log = LogManager.getLogger(IIIFCanvasDimensionServiceImpl.class);
+
+    // Tells a worker that all the items were submitted.
+    private static final UUID END_OF_ITEMS = new UUID(0, 0);
+
+    // The number of images between two progress reports.
+    private static final int PROGRESS_INTERVAL = 1000;
+
     @Autowired()
     ItemService itemService;
     @Autowired()
@@ -54,12 +82,35 @@ public class IIIFCanvasDimensionServiceImpl implements IIIFCanvasDimensionServic
     DSpaceObjectService<Bitstream> dSpaceObjectService;
     @Autowired()
     IIIFApiQueryService iiifApiQuery;
+    @Autowired()
+    EPersonService ePersonService;
+    @Autowired()
+    ConfigurationService configurationService;
 
     private boolean forceProcessing = false;
     private boolean isQuiet = false;
     private List<String> skipList = null;
     private int max2Process = Integer.MAX_VALUE;
-    private int processed = 0;
+    private int threads = 0;
+    private String checkpointFile = null;
+
+    private final AtomicInteger processed = new AtomicInteger();
+    private final AtomicLong images = new AtomicLong();
+    private final AtomicInteger errors = new AtomicInteger();
+
+    // State of a run over a community or a collection.
+    private ExecutorService workers;
+    private int workerCount;
+    // The workers still running, guarded by "this".
+    private int running;
+    private BlockingQueue<UUID> queue;
+    private CanvasDimensionCheckpoint checkpoint;
+    private UUID currentUserId;
+    private int batchSize;
+    private long startTime;
+    private long nextProgressReport;
+    // The items submitted to the workers and not processed yet, guarded by "this".
+    private int inFlight = 0;
 
     // used to check for existing canvas dimension
     private static final String IIIF_WIDTH_METADATA = METADATA_IIIF_SCHEMA + "." + METADATA_IIIF_IMAGE_ELEMENT +
@@ -85,30 +136,40 @@ public class IIIFCanvasDimensionServiceImpl implements IIIFCanvasDimensionServic
         this.skipList = skipList;
     }
 
+    @Override
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    @Override
+    public void setCheckpointFile(String checkpointFile) {
+        this.checkpointFile = checkpointFile;
+    }
+
     @Override
     public int processCommunity(Context context, Community community) throws Exception {
-        if (!inSkipList(community.getHandle())) {
-            List<Community> subcommunities = community.getSubcommunities();
-            for (Community subcommunity : subcommunities) {
-                processCommunity(context, subcommunity);
-            }
-            List<Collection> collections = community.getCollections();
-            for (Collection collection : collections) {
-                processCollection(context, collection);
+        boolean started = startWorkers(context);
+        try {
+            submitCommunity(context, community);
+        } finally {
+            if (started) {
+                stopWorkers();
             }
         }
-        return processed;
+        return processed.get();
     }
 
     @Override
     public int processCollection(Context context, Collection collection) throws Exception {
-        if (!inSkipList(collection.getHandle())) {
-            Iterator<Item> itemIterator = itemService.findAllByCollection(context, collection);
-            while (itemIterator.hasNext() && processed < max2Process) {
-                processItem(context, itemIterator.next());
+        boolean started = startWorkers(context);
+        try {
+            submitCollection(context, collection);
+        } finally {
+            if (started) {
+                stopWorkers();
             }
         }
-        return processed;
+        return processed.get();
     }
 
     @Override
@@ -116,32 +177,277 @@ public class IIIFCanvasDimensionServiceImpl implements IIIFCanvasDimensionServic
         if (!inSkipList(item.getHandle())) {
             boolean isIIIFItem = IIIFSharedUtils.isIIIFItem(item);
             if (isIIIFItem) {
-                if (processItemBundles(context, item)) {
-                    ++processed;
+                if (processItemBundles(context, item) > 0) {
+                    processed.incrementAndGet();
                 }
                 context.uncacheEntity(item);
             }
         }
     }
 
+    /**
+     * @return false when all the workers stopped, leaving the remaining items to the next run
+     */
+    private boolean submitCommunity(Context context, Community community) throws Exception {
+        if (!inSkipList(community.getHandle())) {
+            List<Community> subcommunities = community.getSubcommunities();
+            for (Community subcommunity : subcommunities) {
+                if (!submitCommunity(context, subcommunity)) {
+                    return false;
+                }
+            }
+            List<Collection> collections = community.getCollections();
+            for (Collection collection : collections) {
+                if (!submitCollection(context, collection)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return false when all the workers stopped, leaving the remaining items to the next run
+     */
+    private boolean submitCollection(Context context, Collection collection) throws Exception {
+        if (!inSkipList(collection.getHandle())) {
+            Iterator<Item> itemIterator = itemService.findAllByCollection(context, collection);
+            while (itemIterator.hasNext() && processed.get() < max2Process) {
+                Item item = itemIterator.next();
+                if ((checkpoint == null || !checkpoint.isCompleted(item.getID()))
+                    && !inSkipList(item.getHandle()) && IIIFSharedUtils.isIIIFItem(item)
+                    && !submitItem(item.getID())) {
+                    log.error("All the workers stopped, the remaining items are left to the next run");
+                    return false;
+                }
+                context.uncacheEntity(item);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Hands an item over to the workers. The items submitted are limited so that no more than
+     * max2Process items are processed.
+     * @return false when all the workers stopped
+     */
+    private boolean submitItem(UUID itemId) throws InterruptedException {
+        synchronized (this) {
+            while (running > 0 && inFlight > 0 && processed.get() + inFlight >= max2Process) {
+                wait();
+            }
+            if (running == 0) {
+                return false;
+            }
+            if (processed.get() >= max2Process) {
+                return true;
+            }
+            inFlight++;
+        }
+        return enqueue(itemId);
+    }
+
+    private boolean enqueue(UUID itemId) throws InterruptedException {
+        while (!queue.offer(itemId, 1, TimeUnit.SECONDS)) {
+            synchronized (this) {
+                if (running == 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private synchronized void workerStopped() {
+        running--;
+        notifyAll();
+    }
+
+    private synchronized void itemDone(boolean updated) {
+        inFlight--;
+        if (updated) {
+            processed.incrementAndGet();
+        }
+        notifyAll();
+        if (!isQuiet && images.get() >= nextProgressReport) {
+            nextProgressReport = images.get() + PROGRESS_INTERVAL;
+            System.out.println(images.get() + " images processed (" + getImagesPerSecond() + " images/sec)");
+        }
+    }
+
+    /**
+     * Uncount the updated items of an aborted batch, which are no longer processed.
+     */
+    private synchronized void itemsRolledBack(int updated) {
+        if (updated > 0) {
+            processed.addAndGet(-updated);
+            notifyAll();
+        }
+    }
+
+    private boolean startWorkers(Context context) throws IOException {
+        if (workers != null) {
+            return false;
+        }
+        workerCount = threads > 0 ? threads
+            : configurationService.getIntProperty("iiif.canvas.dimensions.threads",
+                                                  Runtime.getRuntime().availableProcessors());
+        batchSize = configurationService.getIntProperty("iiif.canvas.dimensions.batch-size", 100);
+        currentUserId = context.getCurrentUser() != null ? context.getCurrentUser().getID() : null;
+        if (checkpointFile != null) {
+            checkpoint = new CanvasDimensionCheckpoint(Paths.get(checkpointFile));
+            if (!isQuiet && checkpoint.getCompletedCount() > 0) {
+                System.out.println("Resuming: skipping the " + checkpoint.getCompletedCount()
+                                       + " items completed by the previous runs");
+            }
+        }
+        startTime = System.currentTimeMillis();
+        nextProgressReport = PROGRESS_INTERVAL;
+        queue = new ArrayBlockingQueue<>(workerCount * 2);
+        AtomicInteger count = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(workerCount, runnable ->
+            new Thread(runnable, "iiif-canvas-dimensions-" + count.incrementAndGet()));
+        synchronized (this) {
+            running = workerCount;
+        }
+        for (int i = 0; i < workerCount; i++) {
+            workers.submit(() -> {
+                try {
+                    processSubmittedItems();
+                } finally {
+                    workerStopped();
+                }
+            });
+        }
+        return true;
+    }
+
+    private void stopWorkers() throws IOException, InterruptedException {
+        try {
+            for (int i = 0; i < workerCount; i++) {
+                if (!enqueue(END_OF_ITEMS)) {
+                    break;
+                }
+            }
+            workers.shutdown();
+            workers.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } finally {
+            workers = null;
+            if (checkpoint != null) {
+                // keep the checkpoint while there are items left to process
+                checkpoint.close(errors.get() == 0 && processed.get() < max2Process);
+                checkpoint = null;
+            }
+        }
+        if (!isQuiet) {
+            System.out.println(images.get() + " images processed in "
+                                   + (System.currentTimeMillis() - startTime) / 1000 + " secs ("
+                                   + getImagesPerSecond() + " images/sec)");
+            if (errors.get() > 0) {
+                System.out.println(errors.get() + " items could not be processed, see the log for details.");
+            }
+        }
+    }
+
+    private long getImagesPerSecond() {
+        long elapsed = Math.max(System.currentTimeMillis() - startTime, 1);
+        return images.get() * 1000 / elapsed;
+    }
+
+    /**
+     * Worker loop: processes the submitted items in its own context, committing every batchSize images.
+     */
+    private void processSubmittedItems() {
+        Context workerContext = null;
+        List<UUID> uncommitted = new ArrayList<>();
+        int uncommittedImages = 0;
+        int uncommittedUpdates = 0;
+        try {
+            workerContext = createWorkerContext();
+            UUID itemId;
+            while (!END_OF_ITEMS.equals(itemId = queue.take())) {
+                int updated = 0;
+                try {
+                    Item item = itemService.find(workerContext, itemId);
+                    if (item != null) {
+                        updated = processItemBundles(workerContext, item);
+                        workerContext.uncacheEntity(item);
+                    }
+                    uncommitted.add(itemId);
+                    uncommittedImages += updated;
+                    if (updated > 0) {
+                        uncommittedUpdates++;
+                    }
+                    if (uncommittedImages >= batchSize) {
+                        commit(workerContext, uncommitted);
+                        uncommittedImages = 0;
+                        uncommittedUpdates = 0;
+                    }
+                } catch (Exception e) {
+                    log.error("Unable to set the canvas dimensions of the item " + itemId, e);
+                    errors.incrementAndGet();
+                    // the uncommitted items are left to the next run
+                    workerContext.abort();
+                    itemsRolledBack(uncommittedUpdates);
+                    uncommitted.clear();
+                    uncommittedImages = 0;
+                    uncommittedUpdates = 0;
+                    updated = 0;
+                    workerContext = createWorkerContext();
+                } finally {
+                    itemDone(updated > 0);
+                }
+            }
+            commit(workerContext, uncommitted);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (SQLException | IOException e) {
+            log.error("Unable to commit the canvas dimensions", e);
+            errors.incrementAndGet();
+        } finally {
+            if (workerContext != null && workerContext.isValid()) {
+                workerContext.abort();
+            }
+        }
+    }
+
+    private Context createWorkerContext() throws SQLException {
+        Context workerContext = new Context(Context.Mode.BATCH_EDIT);
+        if (currentUserId != null) {
+            workerContext.setCurrentUser(ePersonService.find(workerContext, currentUserId));
+        }
+        return workerContext;
+    }
+
+    private void commit(Context workerContext, List<UUID> uncommitted) throws SQLException, IOException {
+        workerContext.commit();
+        if (checkpoint != null) {
+            checkpoint.record(uncommitted);
+        }
+        uncommitted.clear();
+    }
+
     /**
      * Process all IIIF bundles for an item.
      * @param context
      * @param item
-     * @return
+     * @return the number of bitstreams updated
      * @throws Exception
      */
-    private boolean processItemBundles(Context context, Item item) throws Exception {
+    private int processItemBundles(Context context, Item item) throws Exception {
         List<Bundle> bundles = IIIFSharedUtils.getIIIFBundles(item);
-        boolean done = false;
+        int done = 0;
         for (Bundle bundle : bundles) {
             List<Bitstream> bitstreams = bundle.getBitstreams();
             for (Bitstream bit : bitstreams) {
-                done |= processBitstream(context, bit);
+                if (processBitstream(context, bit)) {
+                    done++;
+                    images.incrementAndGet();
+                }
                 context.uncacheEntity(bit);
             }
         }
-        if (done) {
+        if (done > 0) {
             if (!isQuiet) {
                 System.out.println("Updated canvas metadata for item: " + item.getID());
             }
@@ -9,10 +9,12 @@ package org.dspace.iiif.canvasdimension;
 
 import static org.dspace.iiif.canvasdimension.Util.checkDimensions;
 
-import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Iterator;
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 
 /**
  * Reads and return height and width dimensions for image bitstreams.
@@ -24,21 +26,35 @@ public class ImageDimensionReader {
     private ImageDimensionReader() {}
 
     /**
-     * Uses ImageIO to read height and width dimensions.
+     * Uses an ImageIO reader to read height and width dimensions from the image header, without decoding the
+     * pixels: the memory needed doesn't depend on the size of the image.
      * @param image inputstream for dspace image
      * @return image dimensions or null if the image format cannot be read.
-     * @throws Exception
+     * @throws IOException if the image header cannot be read
      */
     public static int[] getImageDimensions(InputStream image) throws IOException {
-        int[] dims = new int[2];
-        BufferedImage buf = ImageIO.read(image);
-        if (buf != null) {
-            int width = buf.getWidth(null);
-            int height = buf.getHeight(null);
-            if (width > 0 && height > 0) {
-                dims[0] = width;
-                dims[1] = height;
-                return checkDimensions(dims);
+        try (ImageInputStream input = ImageIO.createImageInputStream(image)) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                // the first image of the stream is enough, its metadata is not needed
+                reader.setInput(input, true, true);
+                int[] dims = new int[2];
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if (width > 0 && height > 0) {
+                    dims[0] = width;
+                    dims[1] = height;
+                    return checkDimensions(dims);
+                }
+            } finally {
+                reader.dispose();
             }
         }
         return null;
@@ -66,4 +66,16 @@ public interface IIIFCanvasDimensionService {
      */
     void setSkipList(List<String> skipList);
 
+    /**
+     * Set the number of threads processing the items of communities and collections.
+     * @param threads the number of threads, or 0 to use the configured number
+     */
+    void setThreads(int threads);
+
+    /**
+     * Set the file recording the items processed, to resume an interrupted run.
+     * @param checkpointFile the path of the file
+     */
+    void setCheckpointFile(String checkpointFile);
+
 }
@@ -7,22 +7,29 @@
  */
 package org.dspace.iiif.consumer;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
 import org.apache.logging.log4j.Logger;
+import org.dspace.cache.service.CacheInvalidationService;
 import org.dspace.content.Bitstream;
 import org.dspace.content.Bundle;
 import org.dspace.content.DSpaceObject;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
+import org.dspace.core.factory.CoreServiceFactory;
 import org.dspace.event.Consumer;
 import org.dspace.event.Event;
+import org.dspace.iiif.manifest.ManifestStore;
+import org.dspace.services.factory.DSpaceServicesFactory;
 
 
 /**
- * This consumer is used to evict modified items from the manifests cache.
+ * This consumer is used to evict modified items from the manifests cache. The stored manifests of the modified
+ * items are invalidated, and rendered again in the background.
  */
 public class IIIFCacheEventConsumer implements Consumer {
 
@@ -132,25 +139,34 @@ public class IIIFCacheEventConsumer implements Consumer {
 
     @Override
     public void end(Context ctx) throws Exception {
-        // Get the eviction service beans.
-        ManifestsCacheEvictService manifestsCacheEvictService = CacheEvictBeanLocator.getManifestsCacheEvictService();
-        CanvasCacheEvictService canvasCacheEvictService = CacheEvictBeanLocator.getCanvasCacheEvictService();
-
-        if (manifestsCacheEvictService != null) {
-            if (clearAll) {
-                manifestsCacheEvictService.evictAllCacheValues();
-            } else {
-                for (DSpaceObject dso : toEvictFromManifestCache) {
-                    UUID uuid = dso.getID();
-                    manifestsCacheEvictService.evictSingleCacheValue(uuid.toString());
-                }
-            }
+        // Evict through the cache invalidation service, so that the caches of the other nodes are evicted too.
+        CacheInvalidationService cacheInvalidationService =
+            CoreServiceFactory.getInstance().getCacheInvalidationService();
+        ManifestStore manifestStore = DSpaceServicesFactory.getInstance().getServiceManager()
+                                                           .getServiceByName(ManifestStore.class.getName(),
+                                                                             ManifestStore.class);
+
+        List<UUID> toRegenerate = new ArrayList<>();
+        if (clearAll) {
+            cacheInvalidationService.clearCache(ctx, ManifestsCacheEvictService.CACHE_NAME);
         }
-        if (canvasCacheEvictService != null) {
-            for (DSpaceObject dso : toEvictFromCanvasCache) {
-                UUID uuid = dso.getID();
-                canvasCacheEvictService.evictSingleCacheValue(uuid.toString());
+        for (DSpaceObject dso : toEvictFromManifestCache) {
+            if (dso == null) {
+                continue;
             }
+            UUID uuid = dso.getID();
+            if (!clearAll) {
+                cacheInvalidationService.evictCache(ctx, ManifestsCacheEvictService.CACHE_NAME, uuid.toString());
+            }
+            toRegenerate.add(uuid);
+        }
+        for (DSpaceObject dso : toEvictFromCanvasCache) {
+            UUID uuid = dso.getID();
+            cacheInvalidationService.evictCache(ctx, CanvasCacheEvictService.CACHE_NAME, uuid.toString());
+        }
+        // the manifests are rendered again once the changes are committed
+        if (clearAll || !toRegenerate.isEmpty()) {
+            manifestStore.invalidate(ctx, toRegenerate, clearAll);
         }
 
         clearAll = false;
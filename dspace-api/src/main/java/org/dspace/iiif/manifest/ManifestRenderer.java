@@ -0,0 +1,29 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.iiif.manifest;
+
+import java.util.UUID;
+
+import org.dspace.core.Context;
+
+/**
+ * Renders the IIIF manifests of the items, for the {@link ManifestStore} to regenerate them in the background.
+ * It is implemented by the IIIF module, which registers it in the store when it is loaded: the manifests are only
+ * invalidated where no renderer is available, as in the command line tools.
+ */
+public interface ManifestRenderer {
+
+    /**
+     * Render the manifest of an item
+     *
+     * @param context the DSpace context, dedicated to the rendering
+     * @param id      the uuid of the item
+     * @return the manifest as JSON, or null if the item doesn't exist or isn't IIIF enabled
+     */
+    public String render(Context context, UUID id);
+}
@@ -0,0 +1,581 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.iiif.manifest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Pattern;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.cache.CacheInvalidation;
+import org.dspace.cache.CacheInvalidationListener;
+import org.dspace.cache.CacheLookupCounter;
+import org.dspace.cache.service.CacheInvalidationService;
+import org.dspace.core.Context;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Persistent store of the rendered IIIF manifests. The manifests are written to a directory
+ * ("iiif.manifest.store.dir"), whose size is bounded by removing the oldest manifests
+ * ("iiif.manifest.store.max-size", in megabytes), and the most used ones are kept in the "manifests" cache.
+ * The manifests thus survive the restarts and the evictions of the cache, and are served with an entity tag and a
+ * modification time.
+ * <p>
+ * The manifests are stored in a subdirectory named after the configuration they depend on, so that they are all
+ * rendered again when it changes: the subdirectories of the other configurations are removed once a renderer is
+ * registered.
+ * <p>
+ * The IIIF consumer invalidates the manifests of the modified items, and queues them to be rendered again by a
+ * background thread through the registered {@link ManifestRenderer} once the changes are committed, so that the
+ * viewers don't wait for them. A manifest rendered before an invalidation of its item is never stored, see
+ * {@link #getVersion(UUID)}. The invalidations published by the other nodes and by the command line tools are
+ * received from the {@link CacheInvalidationService}.
+ */
+public class ManifestStore implements InitializingBean, DisposableBean, CacheInvalidationListener {
+
+    private static final Logger log = LogManager.getLogger(ManifestStore.class);
+
+    /**
+     * The name of the cache holding the most used manifests
+     */
+    public static final String CACHE_NAME = "manifests";
+
+    private static final String EXTENSION = ".json";
+
+    private static final int STRIPES = 64;
+
+    private static final int LOOKUP_LOG_INTERVAL = 1000;
+
+    /**
+     * The configuration properties the manifests depend on, besides the iiif.* ones
+     */
+    private static final String[] CONFIGURATION = {"dspace.server.url", "dspace.ui.url"};
+
+    /**
+     * The iiif.* properties the manifests don't depend on
+     */
+    private static final String[] IGNORED_CONFIGURATION = {"iiif.manifest.store.", "iiif.canvas.dimensions."};
+
+    private static final Pattern CONFIGURATION_DIRECTORY = Pattern.compile("[0-9a-f]{32}");
+
+    @Autowired
+    protected CacheManager cacheManager;
+
+    @Autowired
+    protected ConfigurationService configurationService;
+
+    @Autowired(required = false)
+    protected CacheInvalidationService cacheInvalidationService;
+
+    /**
+     * The number of invalidations of the items, by stripe of uuids, and the locks of these stripes
+     */
+    private final AtomicLongArray invalidations = new AtomicLongArray(STRIPES);
+    private final Object[] locks = new Object[STRIPES];
+
+    /**
+     * The size of the stored manifests, in bytes, or -1 while it isn't known
+     */
+    private final AtomicLong storedBytes = new AtomicLong(-1);
+
+    private final CacheLookupCounter lookups = new CacheLookupCounter("IIIF manifest store", LOOKUP_LOG_INTERVAL);
+    private final AtomicLong renderedManifests = new AtomicLong();
+
+    /**
+     * The uuids of the items waiting to be rendered, in the order they were modified
+     */
+    private final Set<UUID> pendingItems = new LinkedHashSet<>();
+
+    private volatile ManifestRenderer renderer;
+
+    private volatile ExecutorService executor;
+
+    /**
+     * The directory of the manifests rendered with the current configuration
+     */
+    private Path directory;
+
+    public ManifestStore() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        directory = getRootDirectory().resolve(getConfigurationDigest());
+        if (cacheInvalidationService != null) {
+            cacheInvalidationService.addListener(this);
+        }
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (cacheInvalidationService != null) {
+            cacheInvalidationService.removeListener(this);
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Register the renderer of the manifests, enabling their regeneration in the background. The manifests rendered
+     * with another configuration are removed when the first renderer is registered: the store is only managed where
+     * the manifests are rendered, not by the command line tools.
+     *
+     * @param renderer the renderer, or null to disable the regeneration
+     */
+    public synchronized void setRenderer(ManifestRenderer renderer) {
+        this.renderer = renderer;
+        if (renderer != null && executor == null) {
+            removeOutdatedManifests(getRootDirectory());
+            // the cache may hold manifests rendered with a previous configuration
+            Cache cache = getCache();
+            if (cache != null) {
+                cache.invalidate();
+            }
+            executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "iiif-manifest-render");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Get the stored manifest of an item
+     *
+     * @param id the uuid of the item
+     * @return the manifest, or null if it isn't stored
+     */
+    public StoredManifest get(UUID id) {
+        Cache cache = getCache();
+        StoredManifest manifest = cache != null ? cache.get(id.toString(), StoredManifest.class) : null;
+        if (manifest == null) {
+            manifest = read(id);
+            if (manifest != null && cache != null) {
+                cache.put(id.toString(), manifest);
+            }
+        }
+        lookups.count(manifest != null);
+        return manifest;
+    }
+
+    /**
+     * Get the version of the manifest of an item, to read before it is rendered and give to
+     * {@link #put(UUID, String, long)}
+     *
+     * @param id the uuid of the item
+     * @return the number of invalidations of the item
+     */
+    public long getVersion(UUID id) {
+        return invalidations.get(getStripe(id));
+    }
+
+    /**
+     * Store the rendered manifest of an item, unless the item was invalidated while it was rendered. The manifest
+     * is returned even if it cannot be written, so that it can be served anyway.
+     *
+     * @param id       the uuid of the item
+     * @param json     the manifest as JSON
+     * @param version  the version of the manifest read before it was rendered
+     * @return the stored manifest
+     */
+    public StoredManifest put(UUID id, String json, long version) {
+        // HTTP dates have a precision of one second
+        long lastModified = System.currentTimeMillis() / 1000 * 1000;
+        StoredManifest manifest = new StoredManifest(json, DigestUtils.md5Hex(json), lastModified);
+        int stripe = getStripe(id);
+        synchronized (locks[stripe]) {
+            if (invalidations.get(stripe) != version) {
+                log.debug("Not storing the manifest of item {}, modified while it was rendered", id);
+                return manifest;
+            }
+            try {
+                write(id, manifest);
+            } catch (IOException e) {
+                log.warn("Unable to store the manifest of item " + id, e);
+                return manifest;
+            }
+            Cache cache = getCache();
+            if (cache != null) {
+                cache.put(id.toString(), manifest);
+            }
+        }
+        if (storedBytes.get() < 0 || storedBytes.get() > getMaxSize()) {
+            prune();
+        }
+        return manifest;
+    }
+
+    /**
+     * Invalidate the manifest of an item, removing it from the store
+     *
+     * @param id the uuid of the item
+     */
+    public void remove(UUID id) {
+        int stripe = getStripe(id);
+        synchronized (locks[stripe]) {
+            invalidations.incrementAndGet(stripe);
+            Cache cache = getCache();
+            if (cache != null) {
+                cache.evictIfPresent(id.toString());
+            }
+            try {
+                delete(getFile(id));
+            } catch (IOException e) {
+                log.warn("Unable to remove the manifest of item " + id, e);
+            }
+        }
+    }
+
+    /**
+     * Invalidate all the manifests, removing them from the store
+     */
+    public void clear() {
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            synchronized (locks[stripe]) {
+                invalidations.incrementAndGet(stripe);
+            }
+        }
+        Cache cache = getCache();
+        if (cache != null) {
+            cache.invalidate();
+        }
+        synchronized (storedBytes) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+                for (Path file : files) {
+                    delete(file);
+                }
+            } catch (NoSuchFileException e) {
+                // nothing stored yet
+            } catch (IOException e) {
+                log.warn("Unable to remove the stored manifests", e);
+            }
+            storedBytes.set(-1);
+        }
+    }
+
+    /**
+     * Invalidate the manifests of items modified in a transaction, and render them again in the background once it
+     * is over. They are invalidated a second time then, as a manifest rendered meanwhile may have been read from
+     * the items before their changes were committed.
+     *
+     * @param context the context modifying the items
+     * @param ids     the uuids of the items
+     * @param all     whether all the manifests should be invalidated, not only those of the given items
+     */
+    public void invalidate(Context context, Collection<UUID> ids, boolean all) {
+        List<UUID> items = new ArrayList<>(ids);
+        invalidate(items, all);
+        context.afterTransaction(() -> {
+            invalidate(items, all);
+            regenerate(items);
+        });
+    }
+
+    private void invalidate(Collection<UUID> ids, boolean all) {
+        if (all) {
+            clear();
+        } else {
+            ids.forEach(this::remove);
+        }
+    }
+
+    /**
+     * Invalidate the manifests modified by another node. Its invalidations are only received once committed, so
+     * that the manifests can be rendered again at once.
+     *
+     * @param invalidation the invalidation published by the other node
+     */
+    @Override
+    public void invalidate(CacheInvalidation invalidation) {
+        if (invalidation.getType() != CacheInvalidation.Type.CACHE || !CACHE_NAME.equals(invalidation.getRegion())) {
+            return;
+        }
+        if (invalidation.getKey() == null) {
+            clear();
+        } else {
+            UUID id = UUID.fromString(invalidation.getKey());
+            remove(id);
+            regenerate(List.of(id));
+        }
+    }
+
+    /**
+     * Queue items whose manifest should be rendered again in the background. The items are ignored if no renderer
+     * is registered: their manifests are rendered when they are requested.
+     *
+     * @param ids the uuids of the items
+     */
+    public void regenerate(Collection<UUID> ids) {
+        if (renderer == null || ids.isEmpty() || executor == null || executor.isShutdown()) {
+            return;
+        }
+        synchronized (pendingItems) {
+            pendingItems.addAll(ids);
+        }
+        executor.execute(this::renderPendingItems);
+    }
+
+    private void renderPendingItems() {
+        UUID id;
+        while ((id = nextPendingItem()) != null) {
+            // a manifest stored since the invalidation of the item is up to date
+            if (!Files.exists(getFile(id))) {
+                render(id);
+            }
+        }
+    }
+
+    private UUID nextPendingItem() {
+        synchronized (pendingItems) {
+            Iterator<UUID> iterator = pendingItems.iterator();
+            if (!iterator.hasNext()) {
+                return null;
+            }
+            UUID id = iterator.next();
+            iterator.remove();
+            return id;
+        }
+    }
+
+    private void render(UUID id) {
+        long version = getVersion(id);
+        Context context = new Context(Context.Mode.READ_ONLY);
+        try {
+            String json = renderer.render(context, id);
+            if (json != null) {
+                renderedManifests.incrementAndGet();
+                put(id, json, version);
+                log.debug("Rendered the manifest of item {} in the background", id);
+            }
+        } catch (RuntimeException e) {
+            log.error("Unable to render the manifest of item " + id, e);
+        } finally {
+            context.abort();
+        }
+    }
+
+    /**
+     * @return the number of manifests found in the store since startup
+     */
+    public long getHits() {
+        return lookups.getHits();
+    }
+
+    /**
+     * @return the number of manifests which had to be rendered on request since startup
+     */
+    public long getMisses() {
+        return lookups.getMisses();
+    }
+
+    /**
+     * @return the number of manifests rendered in the background since startup
+     */
+    public long getRenderedManifests() {
+        return renderedManifests.get();
+    }
+
+    /**
+     * @return the number of items waiting to be rendered in the background
+     */
+    public int getPendingItems() {
+        synchronized (pendingItems) {
+            return pendingItems.size();
+        }
+    }
+
+    private StoredManifest read(UUID id) {
+        Path file = getFile(id);
+        try {
+            String json = Files.readString(file, StandardCharsets.UTF_8);
+            long lastModified = Files.getLastModifiedTime(file).toMillis();
+            return new StoredManifest(json, DigestUtils.md5Hex(json), lastModified);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            log.warn("Unable to read the stored manifest of item " + id, e);
+            return null;
+        }
+    }
+
+    /**
+     * Write a manifest to a temporary file moved to its final name, so that it is never read partially written
+     */
+    private void write(UUID id, StoredManifest manifest) throws IOException {
+        Files.createDirectories(directory);
+        Path file = getFile(id);
+        Path tmp = Files.createTempFile(directory, id.toString(), ".tmp");
+        try {
+            Files.writeString(tmp, manifest.getManifest(), StandardCharsets.UTF_8);
+            Files.setLastModifiedTime(tmp, FileTime.fromMillis(manifest.getLastModified()));
+            long replaced = Files.exists(file) ? Files.size(file) : 0;
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            addStoredBytes(Files.size(file) - replaced);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private void delete(Path file) throws IOException {
+        try {
+            long size = Files.size(file);
+            if (Files.deleteIfExists(file)) {
+                addStoredBytes(-size);
+            }
+        } catch (NoSuchFileException e) {
+            // already removed
+        }
+    }
+
+    private void addStoredBytes(long bytes) {
+        storedBytes.getAndUpdate(stored -> stored < 0 ? stored : stored + bytes);
+    }
+
+    /**
+     * Compute the size of the store, and remove the oldest manifests until it is 10% below its maximum size if
+     * it is exceeded
+     */
+    private void prune() {
+        long maxSize = getMaxSize();
+        synchronized (storedBytes) {
+            List<Pair<Path, BasicFileAttributes>> files = new ArrayList<>();
+            long size = 0;
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+                for (Path file : stream) {
+                    try {
+                        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                        files.add(Pair.of(file, attributes));
+                        size += attributes.size();
+                    } catch (NoSuchFileException e) {
+                        // removed meanwhile
+                    }
+                }
+            } catch (IOException e) {
+                log.warn("Unable to compute the size of the stored manifests", e);
+                return;
+            }
+            if (size > maxSize) {
+                long target = maxSize / 10 * 9;
+                files.sort(Comparator.comparing(file -> file.getValue().lastModifiedTime()));
+                int removed = 0;
+                for (Pair<Path, BasicFileAttributes> file : files) {
+                    if (size <= target) {
+                        break;
+                    }
+                    try {
+                        if (Files.deleteIfExists(file.getKey())) {
+                            size -= file.getValue().size();
+                            removed++;
+                        }
+                    } catch (IOException e) {
+                        log.warn("Unable to remove the stored manifest " + file.getKey(), e);
+                    }
+                }
+                log.info("Removed the {} oldest stored manifests, exceeding the maximum size of the store", removed);
+            }
+            storedBytes.set(size);
+        }
+    }
+
+    private Path getRootDirectory() {
+        String root = configurationService.getProperty("iiif.manifest.store.dir");
+        if (root == null) {
+            return Paths.get(configurationService.getProperty("dspace.dir"), "iiif", "manifests");
+        }
+        return Paths.get(root);
+    }
+
+    Path getFile(UUID id) {
+        return directory.resolve(id + EXTENSION);
+    }
+
+    /**
+     * @return the digest of the configuration the manifests depend on
+     */
+    private String getConfigurationDigest() {
+        List<String> keys = new ArrayList<>(List.of(CONFIGURATION));
+        for (String key : configurationService.getPropertyKeys("iiif")) {
+            if (key.startsWith("iiif.") && !StringUtils.startsWithAny(key, IGNORED_CONFIGURATION)) {
+                keys.add(key);
+            }
+        }
+        Collections.sort(keys);
+        StringBuilder configuration = new StringBuilder();
+        for (String key : keys) {
+            configuration.append(key).append('=')
+                         .append(String.join(",", configurationService.getArrayProperty(key))).append('\n');
+        }
+        return DigestUtils.md5Hex(configuration.toString());
+    }
+
+    /**
+     * Remove the subdirectories of the manifests rendered with another configuration
+     */
+    private void removeOutdatedManifests(Path root) {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(root)) {
+            for (Path file : files) {
+                if (!file.equals(directory) && Files.isDirectory(file)
+                    && CONFIGURATION_DIRECTORY.matcher(file.getFileName().toString()).matches()) {
+                    log.info("Removing the IIIF manifests rendered with another configuration from {}", file);
+                    FileUtils.deleteDirectory(file.toFile());
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // nothing stored yet
+        } catch (IOException e) {
+            log.warn("Unable to remove the outdated manifests from " + root, e);
+        }
+    }
+
+    private long getMaxSize() {
+        return configurationService.getLongProperty("iiif.manifest.store.max-size", 1000) * 1024 * 1024;
+    }
+
+    private int getStripe(UUID id) {
+        return Math.floorMod(id.hashCode(), STRIPES);
+    }
+
+    private Cache getCache() {
+        return cacheManager != null ? cacheManager.getCache(CACHE_NAME) : null;
+    }
+}
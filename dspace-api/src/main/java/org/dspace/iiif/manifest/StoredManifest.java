@@ -0,0 +1,52 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.iiif.manifest;
+
+import java.io.Serializable;
+
+/**
+ * A rendered IIIF manifest of the {@link ManifestStore}, with the entity tag and the modification time used to
+ * answer the conditional requests of the viewers.
+ */
+public class StoredManifest implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String manifest;
+
+    private final String eTag;
+
+    private final long lastModified;
+
+    public StoredManifest(String manifest, String eTag, long lastModified) {
+        this.manifest = manifest;
+        this.eTag = eTag;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * @return the manifest as JSON
+     */
+    public String getManifest() {
+        return manifest;
+    }
+
+    /**
+     * @return the entity tag of the manifest, a digest of its content
+     */
+    public String getETag() {
+        return eTag;
+    }
+
+    /**
+     * @return the time at which the manifest was rendered, in milliseconds
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+}
@@ -7,13 +7,17 @@
  */
 package org.dspace.importer.external.liveimportclient.service;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.Serializable;
+import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.charset.Charset;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.TreeMap;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -28,13 +32,23 @@ import org.apache.http.client.utils.URIBuilder;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClients;
+import org.apache.http.util.EntityUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.dspace.cache.CacheLookupCounter;
+import org.dspace.service.impl.HttpConnectionPoolService;
 import org.dspace.services.ConfigurationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 
 /**
  * Implementation of {@link LiveImportClient}.
+ * <p>
+ * The requests are sent through the pooled connections of the {@link HttpConnectionPoolService}, if one is set.
+ * The responses of the GET requests are cached for the number of seconds configured by the
+ * {@code liveimportclient.cache.ttl} property, or by the {@code liveimportclient.cache.ttl.<host>} property for the
+ * requests to a given host: the same searches of a provider are then not sent again while the cache is fresh.
  *
  * @author Mykhaylo Boychuk (mykhaylo.boychuk at 4science dot com)
  */
@@ -45,26 +59,70 @@ public class LiveImportClientImpl implements LiveImportClient {
     public static final String URI_PARAMETERS = "uriParameters";
     public static final String HEADER_PARAMETERS = "headerParameters";
 
+    /**
+     * The name of the cache of the responses to the GET requests
+     */
+    public static final String RESPONSE_CACHE = "liveimport.responses";
+
+    /**
+     * The number of lookups in the cache of the responses after which its hit rate is logged
+     */
+    private static final int RESPONSE_CACHE_LOG_INTERVAL = 100;
+
     private CloseableHttpClient httpClient;
 
+    private HttpConnectionPoolService httpConnectionPoolService;
+
     @Autowired
     private ConfigurationService configurationService;
 
+    @Autowired(required = false)
+    private CacheManager cacheManager;
+
+    private final CacheLookupCounter responseCacheLookups =
+        new CacheLookupCounter(getClass().getSimpleName() + " response cache", RESPONSE_CACHE_LOG_INTERVAL);
+
     @Override
     public String executeHttpGetRequest(int timeout, String URL, Map<String, Map<String, String>> params) {
-        HttpGet method = null;
-        try (CloseableHttpClient httpClient = Optional.ofNullable(this.httpClient)
-                                                      .orElseGet(HttpClients::createDefault)) {
+        String uri;
+        try {
+            uri = buildUrl(URL, params.get(URI_PARAMETERS));
+        } catch (URISyntaxException e) {
+            log.error(e.getMessage(), e);
+            return StringUtils.EMPTY;
+        }
+        Map<String, String> headerParams = params.get(HEADER_PARAMETERS);
+
+        long ttl = getResponseCacheTtl(uri);
+        Cache cache = ttl > 0 ? getResponseCache() : null;
+        String cacheKey = null;
+        if (cache != null) {
+            cacheKey = getResponseCacheKey(uri, headerParams);
+            CachedResponse cachedResponse = cache.get(cacheKey, CachedResponse.class);
+            boolean hit = cachedResponse != null && cachedResponse.isFresh(ttl);
+            responseCacheLookups.count(hit);
+            if (hit) {
+                return cachedResponse.getBody();
+            }
+        }
+
+        String response = sendHttpGetRequest(timeout, uri, headerParams);
+        if (cache != null && StringUtils.isNotEmpty(response)) {
+            cache.put(cacheKey, new CachedResponse(response));
+        }
+        return response;
+    }
 
+    private String sendHttpGetRequest(int timeout, String uri, Map<String, String> headerParams) {
+        HttpGet method = null;
+        try {
             Builder requestConfigBuilder = RequestConfig.custom();
             requestConfigBuilder.setConnectionRequestTimeout(timeout);
             RequestConfig defaultRequestConfig = requestConfigBuilder.build();
 
-            String uri = buildUrl(URL, params.get(URI_PARAMETERS));
             method = new HttpGet(uri);
             method.setConfig(defaultRequestConfig);
 
-            Map<String, String> headerParams = params.get(HEADER_PARAMETERS);
             if (MapUtils.isNotEmpty(headerParams)) {
                 for (String param : headerParams.keySet()) {
                     method.setHeader(param, headerParams.get(param));
@@ -75,13 +133,7 @@ public class LiveImportClientImpl implements LiveImportClient {
             if (log.isDebugEnabled()) {
                 log.debug("Performing GET request to \"" + uri + "\"...");
             }
-            HttpResponse httpResponse = httpClient.execute(method);
-            if (isNotSuccessfull(httpResponse)) {
-                throw new RuntimeException("The request failed with: " + getStatusCode(httpResponse) + " code, reason= "
-                                           + httpResponse.getStatusLine().getReasonPhrase());
-            }
-            InputStream inputStream = httpResponse.getEntity().getContent();
-            return IOUtils.toString(inputStream, Charset.defaultCharset());
+            return execute(method);
         } catch (Exception e1) {
             log.error(e1.getMessage(), e1);
         } finally {
@@ -95,9 +147,7 @@ public class LiveImportClientImpl implements LiveImportClient {
     @Override
     public String executeHttpPostRequest(String URL, Map<String, Map<String, String>> params, String entry) {
         HttpPost method = null;
-        try (CloseableHttpClient httpClient = Optional.ofNullable(this.httpClient)
-                                                      .orElseGet(HttpClients::createDefault)) {
-
+        try {
             Builder requestConfigBuilder = RequestConfig.custom();
             RequestConfig defaultRequestConfig = requestConfigBuilder.build();
 
@@ -113,12 +163,7 @@ public class LiveImportClientImpl implements LiveImportClient {
             if (log.isDebugEnabled()) {
                 log.debug("Performing POST request to \"" + uri + "\"..." );
             }
-            HttpResponse httpResponse = httpClient.execute(method);
-            if (isNotSuccessfull(httpResponse)) {
-                throw new RuntimeException();
-            }
-            InputStream inputStream = httpResponse.getEntity().getContent();
-            return IOUtils.toString(inputStream, Charset.defaultCharset());
+            return execute(method);
         } catch (Exception e1) {
             log.error(e1.getMessage(), e1);
         } finally {
@@ -129,6 +174,39 @@ public class LiveImportClientImpl implements LiveImportClient {
         return StringUtils.EMPTY;
     }
 
+    /**
+     * Execute a request with the client set on this instance, or with a client of the connection pool. These
+     * clients are shared and never closed: a default client is only created, and closed, for a single request
+     * when neither is set.
+     *
+     * @param method the request
+     * @return the content of the response
+     * @throws IOException if the request fails
+     */
+    private String execute(HttpRequestBase method) throws IOException {
+        CloseableHttpClient sharedClient = this.httpClient;
+        if (sharedClient == null && httpConnectionPoolService != null) {
+            sharedClient = httpConnectionPoolService.getClient();
+        }
+        if (sharedClient != null) {
+            return readResponse(sharedClient.execute(method));
+        }
+        try (CloseableHttpClient defaultClient = HttpClients.createDefault()) {
+            return readResponse(defaultClient.execute(method));
+        }
+    }
+
+    private String readResponse(HttpResponse httpResponse) throws IOException {
+        if (isNotSuccessfull(httpResponse)) {
+            // consume the content so that the connection can be reused
+            EntityUtils.consumeQuietly(httpResponse.getEntity());
+            throw new RuntimeException("The request failed with: " + getStatusCode(httpResponse) + " code, reason= "
+                                       + httpResponse.getStatusLine().getReasonPhrase());
+        }
+        InputStream inputStream = httpResponse.getEntity().getContent();
+        return IOUtils.toString(inputStream, Charset.defaultCharset());
+    }
+
     private void configureProxy(HttpRequestBase method, RequestConfig defaultRequestConfig) {
         String proxyHost = configurationService.getProperty("http.proxy.host");
         String proxyPort = configurationService.getProperty("http.proxy.port");
@@ -183,6 +261,63 @@ public class LiveImportClientImpl implements LiveImportClient {
         return response.getStatusLine().getStatusCode();
     }
 
+    /**
+     * Get the number of seconds the responses to the requests sent to the host of a URL are cached for
+     *
+     * @param uri the URL of the request
+     * @return the time to live of the responses, 0 if they aren't cached
+     */
+    private long getResponseCacheTtl(String uri) {
+        long ttl = configurationService.getLongProperty("liveimportclient.cache.ttl", 0);
+        String host = URI.create(uri).getHost();
+        if (StringUtils.isNotBlank(host)) {
+            ttl = configurationService.getLongProperty("liveimportclient.cache.ttl." + host, ttl);
+        }
+        return ttl;
+    }
+
+    /**
+     * Get the key of the response to a request in the cache. The key is a digest of the URL and of the sorted
+     * header parameters, so that the credentials which may be sent in the headers aren't kept in memory.
+     *
+     * @param uri the URL of the request, including its parameters
+     * @param headerParams the header parameters of the request
+     * @return the key
+     */
+    private String getResponseCacheKey(String uri, Map<String, String> headerParams) {
+        StringBuilder key = new StringBuilder(uri);
+        if (MapUtils.isNotEmpty(headerParams)) {
+            for (Map.Entry<String, String> header : new TreeMap<>(headerParams).entrySet()) {
+                key.append('\n').append(header.getKey()).append(": ").append(header.getValue());
+            }
+        }
+        return DigestUtils.sha256Hex(key.toString());
+    }
+
+    /**
+     * Get the number of GET requests answered from the cache of the responses
+     * @return the number of hits of the cache
+     */
+    public long getResponseCacheHits() {
+        return responseCacheLookups.getHits();
+    }
+
+    /**
+     * Get the number of cacheable GET requests which had to be sent to the provider
+     * @return the number of misses of the cache
+     */
+    public long getResponseCacheMisses() {
+        return responseCacheLookups.getMisses();
+    }
+
+    /**
+     * Get the cache of the responses
+     * @return the cache, or null if caching isn't available
+     */
+    private Cache getResponseCache() {
+        return cacheManager != null ? cacheManager.getCache(RESPONSE_CACHE) : null;
+    }
+
     public CloseableHttpClient getHttpClient() {
         return httpClient;
     }
@@ -191,4 +326,33 @@ public class LiveImportClientImpl implements LiveImportClient {
         this.httpClient = httpClient;
     }
 
+    public void setHttpConnectionPoolService(HttpConnectionPoolService httpConnectionPoolService) {
+        this.httpConnectionPoolService = httpConnectionPoolService;
+    }
+
+    /**
+     * A response in the cache, with the time it was received at: the time to live of the responses is checked
+     * on each lookup, as it can be configured for each host.
+     */
+    private static class CachedResponse implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String body;
+
+        private final long created;
+
+        CachedResponse(String body) {
+            this.body = body;
+            this.created = System.currentTimeMillis();
+        }
+
+        String getBody() {
+            return body;
+        }
+
+        boolean isFresh(long ttl) {
+            return System.currentTimeMillis() - created < ttl * 1000;
+        }
+    }
 }
@@ -12,6 +12,7 @@ import java.util.List;
 import java.util.UUID;
 
 import org.dspace.content.Item;
+import org.dspace.content.MetadataField;
 import org.dspace.core.Context;
 import org.dspace.core.GenericDAO;
 import org.dspace.orcid.OrcidQueue;
@@ -104,4 +105,40 @@ public interface OrcidQueueDAO extends GenericDAO<OrcidQueue> {
      * @throws SQLException if database error
      */
     public List<OrcidQueue> findByAttemptsLessThan(Context context, int attempts) throws SQLException;
+
+
+    /**
+     * Get a page of the OrcidQueue records whose profileItem has the given
+     * synchronization mode, ordered by id. The records are paged by id, so that
+     * the pages stay consistent while the previous records are synchronized and
+     * removed from the queue.
+     *
+     * @param  context       DSpace context object
+     * @param  syncModeField the metadata field of the synchronization mode
+     * @param  syncMode      the synchronization mode
+     * @param  attempts      the maximum value of attempts, or null to ignore
+     *                       the attempts
+     * @param  lastId        the id of the last record of the previous page, 0
+     *                       for the first page
+     * @param  limit         the maximum number of records
+     * @return               the found OrcidQueue records
+     * @throws SQLException  if database error
+     */
+    public List<OrcidQueue> findBySynchronizationMode(Context context, MetadataField syncModeField, String syncMode,
+        Integer attempts, int lastId, int limit) throws SQLException;
+
+    /**
+     * Count the OrcidQueue records whose profileItem has the given
+     * synchronization mode.
+     *
+     * @param  context       DSpace context object
+     * @param  syncModeField the metadata field of the synchronization mode
+     * @param  syncMode      the synchronization mode
+     * @param  attempts      the maximum value of attempts, or null to ignore
+     *                       the attempts
+     * @return               the count result
+     * @throws SQLException  if database error
+     */
+    public long countBySynchronizationMode(Context context, MetadataField syncModeField, String syncMode,
+        Integer attempts) throws SQLException;
 }
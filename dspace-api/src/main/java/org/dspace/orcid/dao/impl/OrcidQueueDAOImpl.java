@@ -13,6 +13,7 @@ import java.util.UUID;
 import javax.persistence.Query;
 
 import org.dspace.content.Item;
+import org.dspace.content.MetadataField;
 import org.dspace.core.AbstractHibernateDAO;
 import org.dspace.core.Context;
 import org.dspace.orcid.OrcidQueue;
@@ -87,4 +88,42 @@ public class OrcidQueueDAOImpl extends AbstractHibernateDAO<OrcidQueue> implemen
         return query.getResultList();
     }
 
+
+    @Override
+    public List<OrcidQueue> findBySynchronizationMode(Context context, MetadataField syncModeField, String syncMode,
+        Integer attempts, int lastId, int limit) throws SQLException {
+        Query query = createQuery(context, "SELECT queue FROM OrcidQueue queue WHERE queue.id > :lastId AND "
+            + getSynchronizationModeCondition(attempts) + " ORDER BY queue.id");
+        setSynchronizationModeParameters(query, syncModeField, syncMode, attempts);
+        query.setParameter("lastId", lastId);
+        query.setMaxResults(limit);
+        return query.getResultList();
+    }
+
+    @Override
+    public long countBySynchronizationMode(Context context, MetadataField syncModeField, String syncMode,
+        Integer attempts) throws SQLException {
+        Query query = createQuery(context, "SELECT COUNT(queue) FROM OrcidQueue queue WHERE "
+            + getSynchronizationModeCondition(attempts));
+        setSynchronizationModeParameters(query, syncModeField, syncMode, attempts);
+        return (long) query.getSingleResult();
+    }
+
+    private String getSynchronizationModeCondition(Integer attempts) {
+        String condition = "EXISTS (SELECT mv.id FROM MetadataValue mv WHERE mv.dSpaceObject = queue.profileItem"
+            + " AND mv.metadataField = :syncModeField AND STR(mv.value) = :syncMode)";
+        if (attempts != null) {
+            condition += " AND (queue.attempts IS NULL OR queue.attempts < :attempts)";
+        }
+        return condition;
+    }
+
+    private void setSynchronizationModeParameters(Query query, MetadataField syncModeField, String syncMode,
+        Integer attempts) {
+        query.setParameter("syncModeField", syncModeField);
+        query.setParameter("syncMode", syncMode);
+        if (attempts != null) {
+            query.setParameter("attempts", attempts);
+        }
+    }
 }
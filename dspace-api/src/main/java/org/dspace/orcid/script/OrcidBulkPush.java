@@ -9,29 +9,34 @@ package org.dspace.orcid.script;
 
 import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 import static org.dspace.profile.OrcidSynchronizationMode.BATCH;
-import static org.dspace.profile.OrcidSynchronizationMode.MANUAL;
 
 import java.sql.SQLException;
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import javax.persistence.PersistenceException;
 
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.RateLimiter;
 import org.apache.commons.cli.ParseException;
 import org.apache.commons.lang3.exception.ExceptionUtils;
-import org.dspace.content.Item;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.dspace.core.Context;
 import org.dspace.eperson.EPerson;
 import org.dspace.eperson.factory.EPersonServiceFactory;
+import org.dspace.eperson.service.EPersonService;
 import org.dspace.orcid.OrcidHistory;
 import org.dspace.orcid.OrcidQueue;
 import org.dspace.orcid.exception.OrcidValidationException;
 import org.dspace.orcid.factory.OrcidServiceFactory;
 import org.dspace.orcid.service.OrcidHistoryService;
 import org.dspace.orcid.service.OrcidQueueService;
-import org.dspace.orcid.service.OrcidSynchronizationService;
-import org.dspace.profile.OrcidSynchronizationMode;
 import org.dspace.scripts.DSpaceRunnable;
 import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
@@ -43,6 +48,13 @@ import org.slf4j.LoggerFactory;
  * Script that perform the bulk synchronization with ORCID registry of all the
  * ORCID queue records that has an profileItem that configure the
  * synchronization mode equals to BATCH.
+ * <p>
+ * The records are read by pages and synchronized by batches, each in its own
+ * context. Every record is committed as soon as it is sent to ORCID, so that
+ * an interrupted run can be resumed: the synchronized records are removed from
+ * the queue and the attempts of the failed ones are saved. The batches can be
+ * synchronized by several threads, under the configured rate of requests to
+ * ORCID.
  * @author Luca Giamminonni (luca.giamminonni at 4science.it)
  *
  */
@@ -54,31 +66,49 @@ public class OrcidBulkPush extends DSpaceRunnable<OrcidBulkPushScriptConfigurati
 
     private OrcidHistoryService orcidHistoryService;
 
-    private OrcidSynchronizationService orcidSynchronizationService;
+    private EPersonService ePersonService;
 
     private ConfigurationService configurationService;
 
     private Context context;
 
+    private boolean ignoreMaxAttempts = false;
+
     /**
-     * Cache that stores the synchronization mode set for a specific profile item.
+     * The number of threads synchronizing the batches of records.
      */
-    private Map<Item, OrcidSynchronizationMode> synchronizationModeByProfileItem = new HashMap<>();
+    private int threads = 1;
 
-    private boolean ignoreMaxAttempts = false;
+    /**
+     * The number of records synchronized by a thread in a single context.
+     */
+    private int batchSize = 20;
+
+    /**
+     * The limiter of the rate of the records sent to ORCID, null if the rate
+     * isn't limited.
+     */
+    private RateLimiter rateLimiter;
 
     @Override
     public void setup() throws ParseException {
         OrcidServiceFactory orcidServiceFactory = OrcidServiceFactory.getInstance();
         this.orcidQueueService = orcidServiceFactory.getOrcidQueueService();
         this.orcidHistoryService = orcidServiceFactory.getOrcidHistoryService();
-        this.orcidSynchronizationService = orcidServiceFactory.getOrcidSynchronizationService();
+        this.ePersonService = EPersonServiceFactory.getInstance().getEPersonService();
         this.configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
 
         if (commandLine.hasOption('f')) {
             ignoreMaxAttempts = true;
         }
 
+        threads = Math.max(1, configurationService.getIntProperty("orcid.bulk-synchronization.threads", threads));
+        batchSize = Math.max(1, configurationService.getIntProperty("orcid.bulk-synchronization.batch-size",
+            batchSize));
+        double requestsPerSecond = NumberUtils.toDouble(
+            configurationService.getProperty("orcid.bulk-synchronization.requests-per-second"), 0);
+        rateLimiter = requestsPerSecond > 0 ? RateLimiter.create(requestsPerSecond) : null;
+
     }
 
     @Override
@@ -106,85 +136,174 @@ public class OrcidBulkPush extends DSpaceRunnable<OrcidBulkPushScriptConfigurati
 
     /**
      * Find all the Orcid Queue records that need to be synchronized and perfom the
-     * synchronization.
+     * synchronization. The records are read by pages of one batch for each
+     * thread, and the next page is only read once the batches of the previous one
+     * are synchronized.
      */
-    private void performBulkSynchronization() throws SQLException {
+    private void performBulkSynchronization() throws SQLException, InterruptedException, ExecutionException {
 
-        List<OrcidQueue> queueRecords = findQueueRecordsToSynchronize();
-        handler.logInfo("Found " + queueRecords.size() + " queue records to synchronize with ORCID");
+        Integer maxAttempts = getMaxAttempts();
+        long count = orcidQueueService.countBySynchronizationMode(context, BATCH, maxAttempts);
+        logInfo("Found " + count + " queue records to synchronize with ORCID");
 
-        for (OrcidQueue queueRecord : queueRecords) {
-            performSynchronization(queueRecord);
+        ExecutorService executor = threads > 1 ? createExecutor() : null;
+        try {
+            long processed = 0;
+            int lastId = 0;
+            List<OrcidQueue> page;
+            while (!(page = findQueueRecordsToSynchronize(maxAttempts, lastId)).isEmpty()) {
+                lastId = page.get(page.size() - 1).getID();
+                List<Integer> queueRecordIds = page.stream()
+                    .map(OrcidQueue::getID)
+                    .collect(Collectors.toList());
+                for (OrcidQueue queueRecord : page) {
+                    context.uncacheEntity(queueRecord);
+                }
+
+                if (executor == null) {
+                    synchronizeBatch(context, queueRecordIds);
+                } else {
+                    synchronizeConcurrently(executor, queueRecordIds);
+                }
+
+                processed += queueRecordIds.size();
+                LOGGER.info("Processed {} of {} ORCID queue records", processed, count);
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
         }
 
     }
 
     /**
-     * Returns all the stored Orcid Queue records (ignoring or not the max attempts)
-     * related to a profile that has the synchronization mode set to BATCH.
+     * Returns the next page of the stored Orcid Queue records (ignoring or not
+     * the max attempts) related to a profile that has the synchronization mode
+     * set to BATCH.
      */
-    private List<OrcidQueue> findQueueRecordsToSynchronize() throws SQLException {
-        return findQueueRecords().stream()
-            .filter(record -> getProfileItemSynchronizationMode(record.getProfileItem()) == BATCH)
-            .collect(Collectors.toList());
+    private List<OrcidQueue> findQueueRecordsToSynchronize(Integer maxAttempts, int lastId) throws SQLException {
+        return orcidQueueService.findBySynchronizationMode(context, BATCH, maxAttempts, lastId, batchSize * threads);
     }
 
     /**
      * If the current script execution is configued to ignore the max attemps,
-     * returns all the ORCID Queue records, otherwise returns the ORCID Queue
-     * records that has an attempts value less than the configured max attempts
-     * value.
+     * returns null, otherwise returns the configured max attempts value: only
+     * the ORCID Queue records that has an attempts value less than it are
+     * synchronized.
      */
-    private List<OrcidQueue> findQueueRecords() throws SQLException {
+    private Integer getMaxAttempts() {
         if (ignoreMaxAttempts) {
-            return orcidQueueService.findAll(context);
-        } else {
-            int attempts = configurationService.getIntProperty("orcid.bulk-synchronization.max-attempts");
-            return orcidQueueService.findByAttemptsLessThan(context, attempts);
+            return null;
         }
+        return configurationService.getIntProperty("orcid.bulk-synchronization.max-attempts");
+    }
+
+    private ExecutorService createExecutor() {
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable ->
+            new Thread(runnable, "orcid-bulk-push-" + count.incrementAndGet()));
     }
 
     /**
-     * Try to synchronize the given queue record with ORCID, handling any errors.
+     * Synchronize the batches of the given records concurrently, each in its own
+     * context, waiting for all of them to complete.
      */
-    private void performSynchronization(OrcidQueue queueRecord) {
+    private void synchronizeConcurrently(ExecutorService executor, List<Integer> queueRecordIds)
+        throws InterruptedException, ExecutionException {
+        List<Future<Void>> batches = new ArrayList<>();
+        for (List<Integer> batch : Lists.partition(queueRecordIds, batchSize)) {
+            batches.add(executor.submit(() -> {
+                synchronizeBatchInNewContext(batch);
+                return null;
+            }));
+        }
+        for (Future<Void> batch : batches) {
+            batch.get();
+        }
+    }
 
+    private void synchronizeBatchInNewContext(List<Integer> queueRecordIds) throws SQLException {
+        Context batchContext = new Context();
         try {
+            UUID uuid = getEpersonIdentifier();
+            if (uuid != null) {
+                batchContext.setCurrentUser(ePersonService.find(batchContext, uuid));
+            }
+            batchContext.turnOffAuthorisationSystem();
+            synchronizeBatch(batchContext, queueRecordIds);
+            batchContext.complete();
+        } finally {
+            if (batchContext.isValid()) {
+                batchContext.abort();
+            }
+        }
+    }
 
-            queueRecord = reload(queueRecord);
+    /**
+     * Synchronize the given records with ORCID, committing the result of each
+     * of them: once a record is sent to ORCID, its history and its removal from
+     * the queue must not be rolled back by an error on the next records, which
+     * would send it again.
+     */
+    private void synchronizeBatch(Context batchContext, List<Integer> queueRecordIds) throws SQLException {
+        for (Integer queueRecordId : queueRecordIds) {
+            if (rateLimiter != null) {
+                rateLimiter.acquire();
+            }
+            // the record is skipped if it was removed from the queue in the meantime
+            OrcidQueue queueRecord = orcidQueueService.find(batchContext, queueRecordId);
+            if (queueRecord != null) {
+                performSynchronization(batchContext, queueRecord);
+                commitTransaction(batchContext);
+                batchContext.uncacheEntity(queueRecord);
+            }
+        }
+    }
 
-            handler.logInfo(getOperationInfoMessage(queueRecord));
+    /**
+     * Try to synchronize the given queue record with ORCID, handling any errors.
+     * A database error rolls back the record only, as the previous records of
+     * the batch are already committed.
+     */
+    private void performSynchronization(Context batchContext, OrcidQueue queueRecord) {
+
+        try {
 
-            OrcidHistory orcidHistory = orcidHistoryService.synchronizeWithOrcid(context, queueRecord, false);
+            logInfo(getOperationInfoMessage(queueRecord));
 
-            handler.logInfo(getSynchronizationResultMessage(orcidHistory));
+            OrcidHistory orcidHistory = orcidHistoryService.synchronizeWithOrcid(batchContext, queueRecord, false);
 
-            commitTransaction();
+            logInfo(getSynchronizationResultMessage(orcidHistory));
 
         } catch (OrcidValidationException ex) {
-            rollbackTransaction();
-            handler.logError(getValidationErrorMessage(ex));
+            logError(getValidationErrorMessage(ex));
+        } catch (SQLException | PersistenceException ex) {
+            rollbackTransaction(batchContext);
+            logUnexpectedError(ex);
         } catch (Exception ex) {
-            rollbackTransaction();
-            String errorMessage = getUnexpectedErrorMessage(ex);
-            LOGGER.error(errorMessage, ex);
-            handler.logError(errorMessage);
+            logUnexpectedError(ex);
         } finally {
-            incrementAttempts(queueRecord);
+            incrementAttempts(batchContext, queueRecord);
         }
 
     }
 
+    private void logUnexpectedError(Exception ex) {
+        String errorMessage = getUnexpectedErrorMessage(ex);
+        LOGGER.error(errorMessage, ex);
+        logError(errorMessage);
+    }
+
     /**
-     * Returns the Synchronization mode related to the given profile item.
+     * The handler may be called by several threads.
      */
-    private OrcidSynchronizationMode getProfileItemSynchronizationMode(Item profileItem) {
-        OrcidSynchronizationMode synchronizationMode = synchronizationModeByProfileItem.get(profileItem);
-        if (synchronizationMode == null) {
-            synchronizationMode = orcidSynchronizationService.getSynchronizationMode(profileItem).orElse(MANUAL);
-            synchronizationModeByProfileItem.put(profileItem, synchronizationMode);
-        }
-        return synchronizationMode;
+    private synchronized void logInfo(String message) {
+        handler.logInfo(message);
+    }
+
+    private synchronized void logError(String message) {
+        handler.logError(message);
     }
 
     /**
@@ -257,16 +376,15 @@ public class OrcidBulkPush extends DSpaceRunnable<OrcidBulkPushScriptConfigurati
         return "An unexpected error occurs during the synchronization: " + getRootMessage(ex);
     }
 
-    private void incrementAttempts(OrcidQueue queueRecord) {
-        queueRecord = reload(queueRecord);
+    private void incrementAttempts(Context batchContext, OrcidQueue queueRecord) {
+        queueRecord = reload(batchContext, queueRecord);
         if (queueRecord == null) {
             return;
         }
 
         try {
             queueRecord.setAttempts(queueRecord.getAttempts() != null ? queueRecord.getAttempts() + 1 : 1);
-            orcidQueueService.update(context, queueRecord);
-            commitTransaction();
+            orcidQueueService.update(batchContext, queueRecord);
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
@@ -283,30 +401,30 @@ public class OrcidBulkPush extends DSpaceRunnable<OrcidBulkPushScriptConfigurati
     private void assignCurrentUserInContext() throws SQLException {
         UUID uuid = getEpersonIdentifier();
         if (uuid != null) {
-            EPerson ePerson = EPersonServiceFactory.getInstance().getEPersonService().find(context, uuid);
+            EPerson ePerson = ePersonService.find(context, uuid);
             context.setCurrentUser(ePerson);
         }
     }
 
-    private OrcidQueue reload(OrcidQueue queueRecord) {
+    private OrcidQueue reload(Context batchContext, OrcidQueue queueRecord) {
         try {
-            return context.reloadEntity(queueRecord);
+            return batchContext.reloadEntity(queueRecord);
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
     }
 
-    private void commitTransaction() {
+    private void commitTransaction(Context batchContext) {
         try {
-            context.commit();
+            batchContext.commit();
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
     }
 
-    private void rollbackTransaction() {
+    private void rollbackTransaction(Context batchContext) {
         try {
-            context.rollback();
+            batchContext.rollback();
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
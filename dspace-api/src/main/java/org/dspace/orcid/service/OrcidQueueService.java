@@ -17,6 +17,7 @@ import org.dspace.core.Context;
 import org.dspace.orcid.OrcidQueue;
 import org.dspace.orcid.model.OrcidEntityType;
 import org.dspace.profile.OrcidEntitySyncPreference;
+import org.dspace.profile.OrcidSynchronizationMode;
 
 /**
  * Service that handles ORCID queue records.
@@ -174,6 +175,37 @@ public interface OrcidQueueService {
      */
     public List<OrcidQueue> findByAttemptsLessThan(Context context, int attempts) throws SQLException;
 
+    /**
+     * Get a page of the OrcidQueue records whose profileItem has the given
+     * synchronization mode set, ordered by id.
+     *
+     * @param  context      DSpace context object
+     * @param  mode         the synchronization mode
+     * @param  attempts     the maximum value of attempts, or null to ignore the
+     *                      attempts
+     * @param  lastId       the id of the last record of the previous page, 0 for
+     *                      the first page
+     * @param  limit        the maximum number of records
+     * @return              the found OrcidQueue records
+     * @throws SQLException if database error
+     */
+    public List<OrcidQueue> findBySynchronizationMode(Context context, OrcidSynchronizationMode mode,
+        Integer attempts, int lastId, int limit) throws SQLException;
+
+    /**
+     * Count the OrcidQueue records whose profileItem has the given
+     * synchronization mode set.
+     *
+     * @param  context      DSpace context object
+     * @param  mode         the synchronization mode
+     * @param  attempts     the maximum value of attempts, or null to ignore the
+     *                      attempts
+     * @return              the record's count
+     * @throws SQLException if database error
+     */
+    public long countBySynchronizationMode(Context context, OrcidSynchronizationMode mode, Integer attempts)
+        throws SQLException;
+
     /**
      * Returns the number of records on the OrcidQueue associated with the given
      * profileItemId.
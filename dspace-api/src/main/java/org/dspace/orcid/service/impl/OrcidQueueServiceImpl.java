@@ -8,15 +8,18 @@
 package org.dspace.orcid.service.impl;
 
 import java.sql.SQLException;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 import org.dspace.content.Item;
+import org.dspace.content.MetadataField;
 import org.dspace.content.MetadataFieldName;
 import org.dspace.content.Relationship;
 import org.dspace.content.service.ItemService;
+import org.dspace.content.service.MetadataFieldService;
 import org.dspace.content.service.RelationshipService;
 import org.dspace.core.Context;
 import org.dspace.orcid.OrcidOperation;
@@ -26,6 +29,7 @@ import org.dspace.orcid.model.OrcidEntityType;
 import org.dspace.orcid.service.OrcidHistoryService;
 import org.dspace.orcid.service.OrcidQueueService;
 import org.dspace.profile.OrcidEntitySyncPreference;
+import org.dspace.profile.OrcidSynchronizationMode;
 import org.springframework.beans.factory.annotation.Autowired;
 
 /**
@@ -48,6 +52,9 @@ public class OrcidQueueServiceImpl implements OrcidQueueService {
     @Autowired
     private RelationshipService relationshipService;
 
+    @Autowired
+    private MetadataFieldService metadataFieldService;
+
     @Override
     public List<OrcidQueue> findByProfileItemId(Context context, UUID profileItemId) throws SQLException {
         return orcidQueueDAO.findByProfileItemId(context, profileItemId, -1, 0);
@@ -167,6 +174,26 @@ public class OrcidQueueServiceImpl implements OrcidQueueService {
         return orcidQueueDAO.findByAttemptsLessThan(context, attempts);
     }
 
+    @Override
+    public List<OrcidQueue> findBySynchronizationMode(Context context, OrcidSynchronizationMode mode,
+        Integer attempts, int lastId, int limit) throws SQLException {
+        MetadataField syncModeField = findSynchronizationModeField(context);
+        if (syncModeField == null) {
+            return Collections.emptyList();
+        }
+        return orcidQueueDAO.findBySynchronizationMode(context, syncModeField, mode.name(), attempts, lastId, limit);
+    }
+
+    @Override
+    public long countBySynchronizationMode(Context context, OrcidSynchronizationMode mode, Integer attempts)
+        throws SQLException {
+        MetadataField syncModeField = findSynchronizationModeField(context);
+        if (syncModeField == null) {
+            return 0;
+        }
+        return orcidQueueDAO.countBySynchronizationMode(context, syncModeField, mode.name(), attempts);
+    }
+
     @Override
     public void delete(Context context, OrcidQueue orcidQueue) throws SQLException {
         orcidQueueDAO.delete(context, orcidQueue);
@@ -239,4 +266,9 @@ public class OrcidQueueServiceImpl implements OrcidQueueService {
     private String getMetadataValue(Item item, String metadatafield) {
         return itemService.getMetadataFirstValue(item, new MetadataFieldName(metadatafield), Item.ANY);
     }
+
+
+    private MetadataField findSynchronizationModeField(Context context) throws SQLException {
+        return metadataFieldService.findByElement(context, "dspace", "orcid", "sync-mode");
+    }
 }
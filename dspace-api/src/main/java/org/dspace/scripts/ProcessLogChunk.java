@@ -0,0 +1,64 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.scripts;
+
+/**
+ * A part of the log of a {@link Process}, starting at a byte offset of the log. The log of a running process can be
+ * followed by reading the chunk starting at the next offset of the previous one until the log is complete.
+ */
+public class ProcessLogChunk {
+
+    private final long offset;
+
+    private final long nextOffset;
+
+    private final String content;
+
+    private final boolean complete;
+
+    /**
+     * @param offset     the byte offset of the chunk in the log
+     * @param nextOffset the byte offset of the next chunk in the log
+     * @param content    the lines of the chunk
+     * @param complete   whether the log is complete, i.e. the process has ended and there's nothing after this chunk
+     */
+    public ProcessLogChunk(long offset, long nextOffset, String content, boolean complete) {
+        this.offset = offset;
+        this.nextOffset = nextOffset;
+        this.content = content;
+        this.complete = complete;
+    }
+
+    /**
+     * @return the byte offset of the chunk in the log
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return the byte offset to read the next chunk of the log from
+     */
+    public long getNextOffset() {
+        return nextOffset;
+    }
+
+    /**
+     * @return the lines of the chunk
+     */
+    public String getContent() {
+        return content;
+    }
+
+    /**
+     * @return whether the log is complete, in which case there won't be any chunk after this one
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+}
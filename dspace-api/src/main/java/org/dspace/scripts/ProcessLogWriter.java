@@ -0,0 +1,81 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.scripts;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writer of the log of a running {@link Process} to its temporary log file. The file is kept open while the
+ * process runs and the lines are buffered, they are written to the file when the writer is flushed, which the
+ * {@link org.dspace.scripts.service.ProcessService} does at regular intervals and before the log is read.
+ */
+public class ProcessLogWriter implements Flushable, Closeable {
+
+    private final File file;
+
+    private final Writer writer;
+
+    private boolean dirty = false;
+
+    /**
+     * Open the log file of a process, the lines are appended to its existing content
+     *
+     * @param file the log file of the process
+     * @throws IOException thrown if the file can't be opened
+     */
+    public ProcessLogWriter(File file) throws IOException {
+        this.file = file;
+        this.writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, true),
+                                                                StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the log file of the process
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Append a line to the log
+     *
+     * @param line the line to append, without line separator
+     * @throws IOException thrown if the buffer can't be written to the file
+     */
+    public synchronized void appendLine(String line) throws IOException {
+        writer.append(line);
+        writer.append(System.lineSeparator());
+        dirty = true;
+    }
+
+    /**
+     * Write the buffered lines to the log file, if any
+     *
+     * @throws IOException thrown if the lines can't be written to the file
+     */
+    @Override
+    public synchronized void flush() throws IOException {
+        if (dirty) {
+            writer.flush();
+            dirty = false;
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+}
@@ -7,12 +7,12 @@
  */
 package org.dspace.scripts;
 
-import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -21,12 +21,18 @@ import java.util.Comparator;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
 import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.Logger;
 import org.dspace.authorize.AuthorizeException;
@@ -47,6 +53,7 @@ import org.dspace.eperson.EPerson;
 import org.dspace.eperson.Group;
 import org.dspace.eperson.service.EPersonService;
 import org.dspace.scripts.service.ProcessService;
+import org.dspace.services.ConfigurationService;
 import org.springframework.beans.factory.annotation.Autowired;
 
 /**
@@ -74,6 +81,16 @@ public class ProcessServiceImpl implements ProcessService {
     @Autowired
     private EPersonService ePersonService;
 
+    @Autowired
+    private ConfigurationService configurationService;
+
+    /**
+     * The writers of the logs of the processes running in this JVM, by process ID
+     */
+    private final Map<Integer, ProcessLogWriter> logWriters = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService logFlusher;
+
     @Override
     public Process create(Context context, EPerson ePerson, String scriptName,
                           List<DSpaceCommandLineParameter> parameters,
@@ -286,30 +303,51 @@ public class ProcessServiceImpl implements ProcessService {
     @Override
     public void appendLog(int processId, String scriptName, String output, ProcessLogLevel processLogLevel)
             throws IOException {
-        File tmpDir = FileUtils.getTempDirectory();
-        File tempFile = new File(tmpDir, scriptName + processId + ".log");
-        FileWriter out = new FileWriter(tempFile, true);
-        try {
-            try (BufferedWriter writer = new BufferedWriter(out)) {
-                writer.append(formatLogLine(processId, scriptName, output, processLogLevel));
-                writer.newLine();
-            }
-        } finally {
-            out.close();
-        }
+        getLogWriter(processId, scriptName).appendLine(formatLogLine(processId, scriptName, output, processLogLevel));
     }
 
     @Override
     public void createLogBitstream(Context context, Process process)
             throws IOException, SQLException, AuthorizeException {
-        File tmpDir = FileUtils.getTempDirectory();
-        File tempFile = new File(tmpDir, process.getName() + process.getID() + ".log");
+        closeLogWriter(process.getID());
+        File tempFile = getLogFile(process.getID(), process.getName());
         FileInputStream inputStream = FileUtils.openInputStream(tempFile);
         appendFile(context, process, inputStream, Process.OUTPUT_TYPE, process.getName() + process.getID() + ".log");
         inputStream.close();
         tempFile.delete();
     }
 
+    @Override
+    public ProcessLogChunk readLog(Context context, Process process, long offset, int maxLength)
+            throws IOException, SQLException, AuthorizeException {
+        ProcessLogWriter logWriter = logWriters.get(process.getID());
+        if (logWriter != null) {
+            logWriter.flush();
+        }
+        File tempFile = getLogFile(process.getID(), process.getName());
+        if (tempFile.exists()) {
+            // The process is still running, only its complete lines are read
+            try (RandomAccessFile file = new RandomAccessFile(tempFile, "r")) {
+                file.seek(Math.min(offset, file.length()));
+                byte[] buffer = new byte[(int) Math.min(maxLength, file.length() - file.getFilePointer())];
+                file.readFully(buffer);
+                return toLogChunk(offset, buffer, buffer.length, false);
+            }
+        }
+
+        Bitstream bitstream = getBitstream(context, process, Process.OUTPUT_TYPE);
+        if (bitstream == null) {
+            return new ProcessLogChunk(offset, offset, "", isEnded(process));
+        }
+        try (InputStream inputStream = bitstreamService.retrieve(context, bitstream)) {
+            long skipped = IOUtils.skip(inputStream, offset);
+            byte[] buffer = new byte[maxLength];
+            int length = IOUtils.read(inputStream, buffer);
+            boolean complete = length < maxLength || inputStream.read() == -1;
+            return toLogChunk(skipped, buffer, length, complete);
+        }
+    }
+
     @Override
     public List<Process> findByStatusAndCreationTimeOlderThan(Context context, List<ProcessStatus> statuses,
         Date date) throws SQLException {
@@ -321,6 +359,109 @@ public class ProcessServiceImpl implements ProcessService {
         return processDAO.countByUser(context, user);
     }
 
+    /**
+     * Get the writer of the log of a process, opening its log file if the process has no open writer. The flushing
+     * of the open writers is scheduled along with the first one.
+     */
+    private ProcessLogWriter getLogWriter(int processId, String scriptName) throws IOException {
+        ProcessLogWriter logWriter = logWriters.get(processId);
+        if (logWriter == null) {
+            synchronized (logWriters) {
+                logWriter = logWriters.get(processId);
+                if (logWriter == null) {
+                    if (logFlusher == null) {
+                        long interval = configurationService.getLongProperty("process.log.flush-interval", 1000);
+                        logFlusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                            Thread thread = new Thread(runnable, "process-log-flusher");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+                        logFlusher.scheduleWithFixedDelay(this::flushLogWriters, interval, interval,
+                                                          TimeUnit.MILLISECONDS);
+                    }
+                    logWriter = new ProcessLogWriter(getLogFile(processId, scriptName));
+                    logWriters.put(processId, logWriter);
+                }
+            }
+        }
+        return logWriter;
+    }
+
+    private void closeLogWriter(int processId) throws IOException {
+        ProcessLogWriter logWriter;
+        synchronized (logWriters) {
+            logWriter = logWriters.remove(processId);
+        }
+        if (logWriter != null) {
+            logWriter.close();
+        }
+    }
+
+    private void flushLogWriters() {
+        for (Map.Entry<Integer, ProcessLogWriter> entry : logWriters.entrySet()) {
+            try {
+                entry.getValue().flush();
+            } catch (IOException e) {
+                log.error("Could not write the log of process " + entry.getKey(), e);
+            }
+        }
+    }
+
+    /**
+     * Stop flushing the logs and close the writers of the processes still running, so that no log line is lost
+     * when shutting down.
+     */
+    public void destroy() {
+        synchronized (logWriters) {
+            if (logFlusher != null) {
+                logFlusher.shutdownNow();
+                logFlusher = null;
+            }
+            for (Map.Entry<Integer, ProcessLogWriter> entry : logWriters.entrySet()) {
+                try {
+                    entry.getValue().close();
+                } catch (IOException e) {
+                    log.error("Could not write the log of process " + entry.getKey(), e);
+                }
+            }
+            logWriters.clear();
+        }
+    }
+
+    private File getLogFile(int processId, String scriptName) {
+        return new File(FileUtils.getTempDirectory(), scriptName + processId + ".log");
+    }
+
+    private boolean isEnded(Process process) {
+        return process.getProcessStatus() == ProcessStatus.COMPLETED
+            || process.getProcessStatus() == ProcessStatus.FAILED;
+    }
+
+    /**
+     * Turn the bytes read from a log into a chunk. Unless the end of the log was read, the chunk ends with the last
+     * complete line read, so that lines still being written and multibyte characters aren't split over two chunks.
+     */
+    private ProcessLogChunk toLogChunk(long offset, byte[] buffer, int length, boolean complete) {
+        int end = length;
+        if (!complete) {
+            while (end > 0 && buffer[end - 1] != '\n') {
+                end--;
+            }
+            if (end == 0 && length == buffer.length && length > 0) {
+                // A single line longer than the chunk, it's split at the last character boundary
+                end = length;
+                while (end > 0 && (buffer[end - 1] & 0xC0) == 0x80) {
+                    end--;
+                }
+                if (end > 0 && (buffer[end - 1] & 0x80) != 0) {
+                    end--;
+                }
+            }
+        }
+        return new ProcessLogChunk(offset, offset + end, new String(buffer, 0, end, StandardCharsets.UTF_8),
+                                   complete);
+    }
+
     private String formatLogLine(int processId, String scriptName, String output, ProcessLogLevel processLogLevel) {
         SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
         StringBuilder sb = new StringBuilder();
@@ -22,6 +22,7 @@ import org.dspace.eperson.EPerson;
 import org.dspace.eperson.Group;
 import org.dspace.scripts.DSpaceCommandLineParameter;
 import org.dspace.scripts.Process;
+import org.dspace.scripts.ProcessLogChunk;
 import org.dspace.scripts.ProcessLogLevel;
 import org.dspace.scripts.ProcessQueryParameterContainer;
 
@@ -243,6 +244,22 @@ public interface ProcessService {
     void createLogBitstream(Context context, Process process)
              throws IOException, SQLException, AuthorizeException;
 
+    /**
+     * This method will read a part of the logs of the given {@link Process}, starting at the given byte offset.
+     * The logs of a running {@link Process} are read from the log being written, the ones of an ended
+     * {@link Process} from its log {@link Bitstream}. Only complete lines are returned for a running {@link Process}.
+     * @param context       The relevant DSpace context
+     * @param process       The {@link Process} to read the logs of
+     * @param offset        The byte offset to start reading the logs at
+     * @param maxLength     The maximum number of bytes to read
+     * @return              The part of the logs read, with the offset to read the next part at
+     * @throws IOException  If something goes wrong
+     * @throws SQLException If something goes wrong
+     * @throws AuthorizeException   If something goes wrong
+     */
+    ProcessLogChunk readLog(Context context, Process process, long offset, int maxLength)
+            throws IOException, SQLException, AuthorizeException;
+
     /**
      * Find all the processes with one of the given status and with a creation time
      * older than the specified date.
@@ -9,6 +9,7 @@ package org.dspace.service.impl;
 
 import java.util.concurrent.TimeUnit;
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
@@ -77,6 +78,8 @@ public class HttpConnectionPoolService {
 
     private PoolingHttpClientConnectionManager connManager;
 
+    private IdleConnectionMonitorThread connectionMonitor;
+
     private final ConnectionKeepAliveStrategy keepAliveStrategy
             = new KeepAliveStrategy();
 
@@ -101,11 +104,24 @@ public class HttpConnectionPoolService {
                 configurationService.getIntProperty(configPrefix + ".client.maxPerRoute",
                         DEFAULT_MAX_PER_ROUTE));
 
-        Thread connectionMonitor = new IdleConnectionMonitorThread(connManager);
+        connectionMonitor = new IdleConnectionMonitorThread(connManager);
         connectionMonitor.setDaemon(true);
         connectionMonitor.start();
     }
 
+    /**
+     * Stop the monitoring of the pool and close its connections.
+     */
+    @PreDestroy
+    public void destroy() {
+        if (connectionMonitor != null) {
+            connectionMonitor.shutdown();
+        }
+        if (connManager != null) {
+            connManager.shutdown();
+        }
+    }
+
     /**
      * Create an HTTP client which uses a pooled connection.
      *
@@ -63,9 +63,9 @@ import org.apache.solr.client.solrj.request.AbstractUpdateRequest;
 import org.apache.solr.client.solrj.request.ContentStreamUpdateRequest;
 import org.apache.solr.client.solrj.request.CoreAdminRequest;
 import org.apache.solr.client.solrj.request.LukeRequest;
-import org.apache.solr.client.solrj.response.CoreAdminResponse;
 import org.apache.solr.client.solrj.response.FacetField;
 import org.apache.solr.client.solrj.response.LukeResponse;
+import org.apache.solr.client.solrj.response.PivotField;
 import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.client.solrj.response.RangeFacet;
 import org.apache.solr.client.solrj.response.SolrPingResponse;
@@ -75,12 +75,10 @@ import org.apache.solr.common.SolrDocumentList;
 import org.apache.solr.common.SolrInputDocument;
 import org.apache.solr.common.luke.FieldFlag;
 import org.apache.solr.common.params.CommonParams;
-import org.apache.solr.common.params.CoreAdminParams.CoreAdminAction;
 import org.apache.solr.common.params.FacetParams;
 import org.apache.solr.common.params.MapSolrParams;
 import org.apache.solr.common.params.ModifiableSolrParams;
 import org.apache.solr.common.params.ShardParams;
-import org.apache.solr.common.util.NamedList;
 import org.dspace.content.Bitstream;
 import org.dspace.content.Bundle;
 import org.dspace.content.Collection;
@@ -128,8 +126,8 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
     protected boolean useProxies;
 
-    private static final List<String> statisticYearCores = new ArrayList<>();
-    private static boolean statisticYearCoresInit = false;
+    /** Routes the queries to the year cores when the statistics core is sharded by year. */
+    private volatile StatisticsShardRouter shardRouter;
 
     private static final String IP_V4_REGEX = "^((?:\\d{1,3}\\.){3})\\d{1,3}$";
     private static final String IP_V6_REGEX = "^(.*):.*:.*$";
@@ -222,8 +220,6 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
         if (solr == null) {
             return;
         }
-        initSolrYearCores();
-
 
         try {
             SolrInputDocument doc1 = getCommonSolrDoc(dspaceObject, request, currentUser, referrer);
@@ -269,7 +265,6 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
         if (solr == null) {
             return;
         }
-        initSolrYearCores();
 
         try {
             SolrInputDocument doc1 = getCommonSolrDoc(dspaceObject, ip, userAgent, xforwardedfor,
@@ -523,7 +518,6 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
             if (solrDoc == null) {
                 return;
             }
-            initSolrYearCores();
 
             for (String query : queries) {
                 solrDoc.addField("query", query);
@@ -567,7 +561,6 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
     @Override
     public void postWorkflow(UsageWorkflowEvent usageWorkflowEvent) throws SQLException {
-        initSolrYearCores();
         try {
             SolrInputDocument solrDoc = getCommonSolrDoc(usageWorkflowEvent.getObject(), null, null);
 
@@ -702,8 +695,9 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
             Map<String, String> params = new HashMap<>();
             params.put("q", query);
             params.put("rows", "10");
-            if (0 < statisticYearCores.size()) {
-                params.put(ShardParams.SHARDS, StringUtils.join(statisticYearCores.iterator(), ','));
+            StatisticsShardRouter router = getShardRouter();
+            if (router != null) {
+                params.put(ShardParams.SHARDS, StringUtils.join(router.getAllShards(), ','));
             }
             MapSolrParams solrParams = new MapSolrParams(params);
             QueryResponse response = solr.query(solrParams);
@@ -962,6 +956,13 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
                                         String filterQuery, int max, String dateType, String dateStart,
                                         String dateEnd, boolean showTotal, Context context, int facetMinCount)
             throws SolrServerException, IOException {
+        if (!showTotal && dateType != null) {
+            // Only the counts of the date facet are used, so the events outside of its range can be filtered out.
+            // This doesn't change the counts, but allows to query only the year cores overlapping with the range.
+            String rangeQuery = "time:[NOW/" + dateType + dateStart + dateType + "S TO NOW/"
+                + dateType + dateEnd + dateType + "}";
+            filterQuery = filterQuery != null ? rangeQuery + " AND (" + filterQuery + ")" : rangeQuery;
+        }
         QueryResponse queryResponse = query(query, filterQuery, null, 0, max,
                                             dateType, dateStart, dateEnd, null, null, false, facetMinCount);
         if (queryResponse == null) {
@@ -1083,7 +1084,6 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
         // System.out.println("QUERY");
         SolrQuery solrQuery = new SolrQuery().setRows(rows).setQuery(query)
                                              .setFacetMinCount(facetMinCount);
-        addAdditionalSolrYearCores(solrQuery);
 
         // Set the date facet if present
         if (dateType != null) {
@@ -1118,29 +1118,55 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
             solrQuery.setFacetLimit(max);
         }
 
+        if (defaultFilterQueries) {
+            addDefaultFilterQueries(solrQuery);
+        }
+
+        if (sort != null) {
+            solrQuery.addSort(sort, (ascending ? SolrQuery.ORDER.asc : SolrQuery.ORDER.desc));
+        }
+
+        if (filterQuery != null) {
+            solrQuery.addFilterQuery(filterQuery);
+        }
+        addAdditionalSolrYearCores(solrQuery);
+
+        QueryResponse response;
+        try {
+            // solr.set
+            response = solr.query(solrQuery);
+        } catch (SolrServerException | IOException e) {
+            log.error("Error searching Solr usage events using query {}", query, e);
+            throw e;
+        }
+        return response;
+    }
+
+    /**
+     * Add the configured default filter queries (spider IPs, isBot flag and bundles) to the given query.
+     *
+     * @param solrQuery the query to filter
+     */
+    protected void addDefaultFilterQueries(SolrQuery solrQuery) {
         // A filter is used instead of a regular query to improve
         // performance and ensure the search result ordering will
         // not be influenced
 
         // Choose to filter by the Legacy spider IP list (may get too long to properly filter all IP's
-        if (defaultFilterQueries && configurationService.getBooleanProperty(
+        if (configurationService.getBooleanProperty(
                 "solr-statistics.query.filter.spiderIp", false)) {
             solrQuery.addFilterQuery(getIgnoreSpiderIPs());
         }
 
         // Choose to filter by isBot field, may be overriden in future
         // to allow views on stats based on bots.
-        if (defaultFilterQueries && configurationService.getBooleanProperty(
+        if (configurationService.getBooleanProperty(
                 "solr-statistics.query.filter.isBot", true)) {
             solrQuery.addFilterQuery("-isBot:true");
         }
 
-        if (sort != null) {
-            solrQuery.addSort(sort, (ascending ? SolrQuery.ORDER.asc : SolrQuery.ORDER.desc));
-        }
-
         String[] bundles = configurationService.getArrayProperty("solr-statistics.query.filter.bundles");
-        if (defaultFilterQueries && bundles != null && bundles.length > 0) {
+        if (bundles != null && bundles.length > 0) {
 
             /**
              * The code below creates a query that will allow only records which do not have a bundlename
@@ -1161,23 +1187,37 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
             solrQuery.addFilterQuery(bundleQuery.toString());
         }
+    }
+
+    @Override
+    public List<PivotField> queryFacetPivot(String query, String filterQuery, String... pivotFields)
+            throws SolrServerException, IOException {
+        if (solr == null) {
+            return new ArrayList<>();
+        }
 
+        String pivot = StringUtils.join(pivotFields, ",");
+        SolrQuery solrQuery = new SolrQuery().setRows(0).setQuery(query)
+                                             .setFacet(true).setFacetMinCount(1).setFacetLimit(-1)
+                                             .setFacetMissing(true);
+        solrQuery.addFacetPivotField(pivot);
+        addDefaultFilterQueries(solrQuery);
         if (filterQuery != null) {
             solrQuery.addFilterQuery(filterQuery);
         }
+        addAdditionalSolrYearCores(solrQuery);
 
         QueryResponse response;
         try {
-            // solr.set
             response = solr.query(solrQuery);
         } catch (SolrServerException | IOException e) {
             log.error("Error searching Solr usage events using query {}", query, e);
             throw e;
         }
-        return response;
+        List<PivotField> result = response.getFacetPivot() != null ? response.getFacetPivot().get(pivot) : null;
+        return result != null ? result : new ArrayList<>();
     }
 
-
     /**
      * String of IP and Ranges in IPTable as a Solr Query
      */
@@ -1351,6 +1391,12 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
         }
 
         FileUtils.deleteDirectory(tempDirectory);
+
+        //Make sure the new year cores are queried from now on
+        StatisticsShardRouter router = getShardRouter();
+        if (router != null) {
+            router.refresh();
+        }
     }
 
     protected HttpSolrClient createCore(HttpSolrClient solr, String coreName)
@@ -1642,64 +1688,42 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
         return result.toString();
     }
 
+    /**
+     * Add the year cores which can contain usage events matching the given query to it, if the statistics core is
+     * sharded by year. This should be called once the query and all filter queries have been set.
+     *
+     * @param solrQuery the query
+     */
     protected void addAdditionalSolrYearCores(SolrQuery solrQuery) {
-        //Only add if needed
-        initSolrYearCores();
-        if (0 < statisticYearCores.size()) {
-            //The shards are a comma separated list of the urls to the cores
-            solrQuery.add(ShardParams.SHARDS, StringUtils.join(statisticYearCores.iterator(), ","));
+        StatisticsShardRouter router = getShardRouter();
+        if (router != null) {
+            router.route(solrQuery);
         }
-
     }
 
-    /*
-     * The statistics shards should not be initialized until all tomcat webapps
-     * are fully initialized.  DS-3457 uncovered an issue in DSpace 6x in which
-     * this code triggered Tomcat to hang when statistics shards are present.
-     * This code is synchonized in the event that 2 threads trigger the
-     * initialization at the same time.
+    /**
+     * @return the router of the queries on the year cores, null if the statistics core isn't sharded by year
      */
-    protected synchronized void initSolrYearCores() {
-        if (statisticYearCoresInit || !(solr instanceof HttpSolrClient) || !configurationService.getBooleanProperty(
+    protected StatisticsShardRouter getShardRouter() {
+        if (!(solr instanceof HttpSolrClient) || !configurationService.getBooleanProperty(
             "usage-statistics.shardedByYear", false)) {
-            return;
+            return null;
         }
-
-        //Base url should like : http://localhost:{port.number}/solr
-        String baseSolrUrl = ((HttpSolrClient) solr).getBaseURL().replace(statisticsCoreBase, "");
-
-        try (HttpSolrClient enumClient = new HttpSolrClient.Builder(baseSolrUrl).build();) {
-            //Attempt to retrieve all the statistic year cores
-            CoreAdminRequest coresRequest = new CoreAdminRequest();
-            coresRequest.setAction(CoreAdminAction.STATUS);
-            CoreAdminResponse coresResponse = coresRequest.process(enumClient);
-            NamedList<Object> response = coresResponse.getResponse();
-            NamedList<Object> coreStatuses = (NamedList<Object>) response.get("status");
-            List<String> statCoreNames = new ArrayList<>(coreStatuses.size());
-            for (Map.Entry<String, Object> coreStatus : coreStatuses) {
-                String coreName = coreStatus.getKey();
-                if (coreName.startsWith(statisticsCoreBase)) {
-                    statCoreNames.add(coreName);
+        StatisticsShardRouter router = shardRouter;
+        if (router == null) {
+            synchronized (this) {
+                if (shardRouter == null) {
+                    //Base url should like : http://localhost:{port.number}/solr
+                    String baseSolrUrl = ((HttpSolrClient) solr).getBaseURL().replace(statisticsCoreBase, "");
+                    long refreshInterval = configurationService.getLongProperty(
+                        "usage-statistics.shardedByYear.refresh-interval", 3600) * 1000;
+                    shardRouter = new StatisticsShardRouter(baseSolrUrl, statisticsCoreBase,
+                                                            ((HttpSolrClient) solr).getBaseURL(), refreshInterval);
                 }
+                router = shardRouter;
             }
-
-            for (String statCoreName : statCoreNames) {
-                log.info("Loading core with name: " + statCoreName);
-
-                createCore((HttpSolrClient) solr, statCoreName);
-                //Add it to our cores list so we can query it !
-                statisticYearCores
-                    .add(baseSolrUrl.replace("http://", "").replace("https://", "") + statCoreName);
-            }
-            //Also add the core containing the current year !
-            statisticYearCores.add(((HttpSolrClient) solr)
-                    .getBaseURL()
-                    .replace("http://", "")
-                    .replace("https://", ""));
-        } catch (IOException | SolrServerException e) {
-            log.error(e.getMessage(), e);
         }
-        statisticYearCoresInit = true;
+        return router;
     }
 
     public Object anonymizeIp(String ip) throws UnknownHostException {
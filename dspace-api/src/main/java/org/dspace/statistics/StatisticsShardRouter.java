@@ -0,0 +1,421 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.impl.HttpSolrClient;
+import org.apache.solr.client.solrj.request.CoreAdminRequest;
+import org.apache.solr.client.solrj.response.CoreAdminResponse;
+import org.apache.solr.common.params.CommonParams;
+import org.apache.solr.common.params.CoreAdminParams.CoreAdminAction;
+import org.apache.solr.common.params.ShardParams;
+import org.apache.solr.common.util.NamedList;
+
+/**
+ * Routes the queries on a statistics core which is sharded by year (see "dspace stats-util -s") to the year cores
+ * which can contain matching usage events.
+ * <p>
+ * The known cores are kept in an immutable snapshot, so routing a query never takes a lock once the first snapshot
+ * has been loaded. The snapshot is reloaded in a background thread once it is older than the refresh interval,
+ * picking up the cores created in the meantime (possibly by another JVM).
+ * <p>
+ * The time range of a query is derived from the {@code time:[from TO to]} clauses of its query and filter queries.
+ * A clause is only taken into account if it is certainly required, i.e. it is a top level clause which is not
+ * negated in a query without top level OR operators. Queries without such clauses are sent to all cores.
+ */
+public class StatisticsShardRouter {
+
+    private static final Logger log = LogManager.getLogger();
+
+    private static final Pattern TIME_RANGE = Pattern.compile(
+        "(?<![\\w.])time:\\s*[\\[{]\\s*(\\S+)\\s+TO\\s+(\\S+?)\\s*[\\]}]");
+
+    private static final Pattern OR_OPERATOR = Pattern.compile("(?<![\\w\\\\])(OR|\\|\\|)(?!\\w)");
+
+    private static final Pattern DATE_MATH = Pattern.compile("([+\\-/])(\\d*)([A-Z]+)");
+
+    private static final Pattern YEAR_SUFFIX = Pattern.compile("-(\\d{4})");
+
+    /**
+     * Base url of the Solr server (with trailing slash)
+     */
+    private final String baseSolrUrl;
+
+    /**
+     * Name of the main statistics core, the year cores are named after it
+     */
+    private final String statisticsCoreBase;
+
+    /**
+     * The main statistics core (without scheme), which holds the events of the current year
+     */
+    private final String mainCore;
+
+    private final long refreshInterval;
+
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+
+    private volatile Shards shards;
+
+    /**
+     * @param baseSolrUrl        base url of the Solr server (with trailing slash)
+     * @param statisticsCoreBase name of the main statistics core
+     * @param mainCoreUrl        url of the main statistics core
+     * @param refreshInterval    interval (in milliseconds) after which the known cores are reloaded
+     */
+    public StatisticsShardRouter(String baseSolrUrl, String statisticsCoreBase, String mainCoreUrl,
+                                 long refreshInterval) {
+        this.baseSolrUrl = baseSolrUrl;
+        this.statisticsCoreBase = statisticsCoreBase;
+        this.mainCore = stripScheme(mainCoreUrl);
+        this.refreshInterval = refreshInterval;
+    }
+
+    /**
+     * Add the shards which can contain usage events matching the given query to it. Nothing is added if only the
+     * main statistics core needs to be queried.
+     *
+     * @param solrQuery the query to route, with its filter queries already set
+     */
+    public void route(SolrQuery solrQuery) {
+        List<String> routed = getShards().select(getTimeRange(solrQuery));
+        if (routed.size() > 1) {
+            //The shards are a comma separated list of the urls to the cores
+            solrQuery.set(ShardParams.SHARDS, StringUtils.join(routed, ","));
+        }
+    }
+
+    /**
+     * @return all the cores of the statistics index, including the main core
+     */
+    public List<String> getAllShards() {
+        return getShards().all;
+    }
+
+    /**
+     * Reload the known cores from the Solr server. This is done automatically in the background; it only needs to
+     * be called explicitly after new year cores have been created.
+     */
+    public void refresh() {
+        Shards loaded = loadShards();
+        // Keep using the previous snapshot if the cores could not be listed
+        if (loaded != null || shards == null) {
+            shards = loaded != null ? loaded : new Shards(mainCore, new TreeMap<>(), new ArrayList<>());
+        }
+    }
+
+    /*
+     * The statistics shards should not be initialized until all tomcat webapps
+     * are fully initialized.  DS-3457 uncovered an issue in DSpace 6x in which
+     * this code triggered Tomcat to hang when statistics shards are present.
+     * The first snapshot is therefore loaded on first use only.
+     */
+    private Shards getShards() {
+        Shards current = shards;
+        if (current == null) {
+            synchronized (this) {
+                if (shards == null) {
+                    refresh();
+                }
+                return shards;
+            }
+        }
+        if (System.currentTimeMillis() - current.loaded > refreshInterval && refreshing.compareAndSet(false, true)) {
+            Thread refresher = new Thread(() -> {
+                try {
+                    refresh();
+                } finally {
+                    refreshing.set(false);
+                }
+            }, "statistics-shard-refresh");
+            refresher.setDaemon(true);
+            refresher.start();
+        }
+        return current;
+    }
+
+    /**
+     * @return a snapshot of the current cores, null if they could not be listed
+     */
+    private Shards loadShards() {
+        NavigableMap<Integer, String> yearCores = new TreeMap<>();
+        List<String> otherCores = new ArrayList<>();
+        try {
+            for (String coreName : listCores()) {
+                if (!coreName.startsWith(statisticsCoreBase) || coreName.equals(statisticsCoreBase)) {
+                    continue;
+                }
+                log.info("Loading core with name: " + coreName);
+                String core = stripScheme(baseSolrUrl) + coreName;
+                Matcher year = YEAR_SUFFIX.matcher(coreName.substring(statisticsCoreBase.length()));
+                if (year.matches()) {
+                    yearCores.put(Integer.valueOf(year.group(1)), core);
+                } else {
+                    otherCores.add(core);
+                }
+            }
+        } catch (IOException | SolrServerException e) {
+            log.error(e.getMessage(), e);
+            return null;
+        }
+        return new Shards(mainCore, yearCores, otherCores);
+    }
+
+    /**
+     * @return the names of all the cores of the Solr server
+     */
+    @SuppressWarnings("unchecked")
+    protected List<String> listCores() throws IOException, SolrServerException {
+        try (HttpSolrClient enumClient = new HttpSolrClient.Builder(baseSolrUrl).build()) {
+            //Attempt to retrieve all the statistic year cores
+            CoreAdminRequest coresRequest = new CoreAdminRequest();
+            coresRequest.setAction(CoreAdminAction.STATUS);
+            CoreAdminResponse coresResponse = coresRequest.process(enumClient);
+            NamedList<Object> coreStatuses = (NamedList<Object>) coresResponse.getResponse().get("status");
+            List<String> coreNames = new ArrayList<>(coreStatuses.size());
+            for (Map.Entry<String, Object> coreStatus : coreStatuses) {
+                coreNames.add(coreStatus.getKey());
+            }
+            return coreNames;
+        }
+    }
+
+    /**
+     * Determine the time range the usage events matching the given query must fall in.
+     *
+     * @param solrQuery the query
+     * @return the time range as {from, to} (inclusive), null if it could not be determined
+     */
+    protected Instant[] getTimeRange(SolrQuery solrQuery) {
+        Instant[] range = new Instant[] {Instant.MIN, Instant.MAX};
+        List<String> queries = new ArrayList<>();
+        queries.add(solrQuery.getQuery());
+        String[] filterQueries = solrQuery.getParams(CommonParams.FQ);
+        if (filterQueries != null) {
+            Collections.addAll(queries, filterQueries);
+        }
+        for (String query : queries) {
+            Instant[] queryRange = getTimeRange(query);
+            if (queryRange != null) {
+                // All the queries need to match, so the ranges can be intersected
+                range[0] = queryRange[0].isAfter(range[0]) ? queryRange[0] : range[0];
+                range[1] = queryRange[1].isBefore(range[1]) ? queryRange[1] : range[1];
+            }
+        }
+        return Instant.MIN.equals(range[0]) && Instant.MAX.equals(range[1]) ? null : range;
+    }
+
+    /**
+     * @return the time range required by the given query as {from, to} (inclusive), null if the query does not
+     * (certainly) restrict the time
+     */
+    private Instant[] getTimeRange(String query) {
+        if (query == null || query.startsWith("{!")) {
+            return null;
+        }
+        int[] depths = getDepths(query);
+        Matcher or = OR_OPERATOR.matcher(query);
+        while (or.find()) {
+            if (depths[or.start()] == 0) {
+                return null;
+            }
+        }
+        Instant[] range = null;
+        Matcher timeRange = TIME_RANGE.matcher(query);
+        while (timeRange.find()) {
+            // Only top level clauses are certainly required (q.op is AND for the statistics core), nested clauses
+            // only restrict the time range further so they can be ignored
+            if (depths[timeRange.start()] != 0 || isNegation(query, timeRange.start())) {
+                continue;
+            }
+            Instant from = parseDate(timeRange.group(1), false);
+            Instant to = parseDate(timeRange.group(2), true);
+            if (from == null || to == null) {
+                continue;
+            }
+            if (range == null) {
+                range = new Instant[] {from, to};
+            } else {
+                range[0] = from.isAfter(range[0]) ? from : range[0];
+                range[1] = to.isBefore(range[1]) ? to : range[1];
+            }
+        }
+        return range;
+    }
+
+    /**
+     * @return the nesting depth (in groups) of each character of the given query
+     */
+    private int[] getDepths(String query) {
+        int[] depths = new int[query.length()];
+        int depth = 0;
+        for (int i = 0; i < query.length(); i++) {
+            char c = query.charAt(i);
+            if (c == ')' && depth > 0) {
+                depth--;
+            }
+            depths[i] = depth;
+            if (c == '(') {
+                depth++;
+            } else if (c == '\\' && i + 1 < query.length()) {
+                depths[++i] = depth;
+            }
+        }
+        return depths;
+    }
+
+    private boolean isNegation(String query, int position) {
+        String before = query.substring(0, position).stripTrailing();
+        return before.endsWith("-") || before.endsWith("!") || before.matches("(?s)(.*\\W)?NOT");
+    }
+
+    /**
+     * Parse a bound of a range on the time field: a date, a date math expression or a wildcard
+     *
+     * @return the parsed bound, null if it isn't supported
+     */
+    private Instant parseDate(String value, boolean upper) {
+        String date = StringUtils.remove(StringUtils.strip(value, "\""), '\\');
+        if ("*".equals(date)) {
+            return upper ? Instant.MAX : Instant.MIN;
+        }
+        try {
+            if (date.startsWith("NOW")) {
+                // The date math is evaluated again by Solr, allow for some difference around year boundaries
+                Instant now = evaluateDateMath(date.substring("NOW".length()));
+                return now == null ? null : upper ? now.plus(1, ChronoUnit.DAYS) : now.minus(1, ChronoUnit.DAYS);
+            }
+            return Instant.parse(date);
+        } catch (DateTimeParseException | ArithmeticException e) {
+            return null;
+        }
+    }
+
+    private Instant evaluateDateMath(String expression) {
+        ZonedDateTime date = ZonedDateTime.now(ZoneOffset.UTC);
+        Matcher operation = DATE_MATH.matcher(expression);
+        int end = 0;
+        while (operation.find() && operation.start() == end) {
+            end = operation.end();
+            ChronoUnit unit = getUnit(operation.group(3));
+            if (unit == null) {
+                return null;
+            }
+            if ("/".equals(operation.group(1))) {
+                date = truncate(date, unit);
+            } else {
+                long amount = operation.group(2).isEmpty() ? 1 : Long.parseLong(operation.group(2));
+                date = date.plus("-".equals(operation.group(1)) ? -amount : amount, unit);
+            }
+        }
+        return end == expression.length() ? date.toInstant() : null;
+    }
+
+    private ChronoUnit getUnit(String unit) {
+        switch (StringUtils.removeEnd(unit, "S")) {
+            case "YEAR":
+                return ChronoUnit.YEARS;
+            case "MONTH":
+                return ChronoUnit.MONTHS;
+            case "DAY":
+            case "DATE":
+                return ChronoUnit.DAYS;
+            case "HOUR":
+                return ChronoUnit.HOURS;
+            case "MINUTE":
+                return ChronoUnit.MINUTES;
+            case "SECOND":
+                return ChronoUnit.SECONDS;
+            case "MILLI":
+            case "MILLISECOND":
+                return ChronoUnit.MILLIS;
+            default:
+                return null;
+        }
+    }
+
+    private ZonedDateTime truncate(ZonedDateTime date, ChronoUnit unit) {
+        switch (unit) {
+            case YEARS:
+                return date.withDayOfYear(1).truncatedTo(ChronoUnit.DAYS);
+            case MONTHS:
+                return date.withDayOfMonth(1).truncatedTo(ChronoUnit.DAYS);
+            default:
+                return date.truncatedTo(unit);
+        }
+    }
+
+    private static String stripScheme(String url) {
+        return url.replace("http://", "").replace("https://", "");
+    }
+
+    /**
+     * Immutable snapshot of the cores of the statistics index
+     */
+    private static class Shards {
+        private final long loaded = System.currentTimeMillis();
+        private final String mainCore;
+        private final NavigableMap<Integer, String> yearCores;
+        private final List<String> otherCores;
+        private final List<String> all;
+
+        Shards(String mainCore, NavigableMap<Integer, String> yearCores, List<String> otherCores) {
+            this.mainCore = mainCore;
+            this.yearCores = Collections.unmodifiableNavigableMap(yearCores);
+            this.otherCores = Collections.unmodifiableList(otherCores);
+            List<String> all = new ArrayList<>(yearCores.values());
+            all.addAll(otherCores);
+            all.add(mainCore);
+            this.all = Collections.unmodifiableList(all);
+        }
+
+        /**
+         * @param range the time range of a query, null if unknown
+         * @return the cores which can contain usage events in the given time range
+         */
+        List<String> select(Instant[] range) {
+            if (range == null || yearCores.isEmpty()) {
+                return all;
+            }
+            int fromYear = Instant.MIN.equals(range[0]) ? Integer.MIN_VALUE : year(range[0]);
+            int toYear = Instant.MAX.equals(range[1]) ? Integer.MAX_VALUE : year(range[1]);
+            if (fromYear > toYear) {
+                return all;
+            }
+            List<String> selected = new ArrayList<>(yearCores.subMap(fromYear, true, toYear, true).values());
+            selected.addAll(otherCores);
+            // The main core holds all the events which haven't been moved to a year core yet
+            selected.add(mainCore);
+            return selected;
+        }
+
+        private static int year(Instant instant) {
+            return instant.atZone(ZoneOffset.UTC).getYear();
+        }
+    }
+}
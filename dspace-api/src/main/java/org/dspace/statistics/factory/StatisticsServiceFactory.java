@@ -8,6 +8,7 @@
 package org.dspace.statistics.factory;
 
 import org.dspace.services.factory.DSpaceServicesFactory;
+import org.dspace.statistics.rollup.service.StatisticsRollupService;
 import org.dspace.statistics.service.SolrLoggerService;
 import org.dspace.statistics.util.SpiderDetectorService;
 
@@ -23,6 +24,8 @@ public abstract class StatisticsServiceFactory {
 
     public abstract SpiderDetectorService getSpiderDetectorService();
 
+    public abstract StatisticsRollupService getStatisticsRollupService();
+
     public static StatisticsServiceFactory getInstance() {
         return DSpaceServicesFactory.getInstance().getServiceManager()
                                     .getServiceByName("statisticsServiceFactory", StatisticsServiceFactory.class);
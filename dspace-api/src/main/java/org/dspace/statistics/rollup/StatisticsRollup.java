@@ -0,0 +1,141 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.rollup;
+
+import java.util.Date;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+
+import org.dspace.core.ReloadableEntity;
+
+/**
+ * Daily aggregate of the usage events (views and downloads) of a single DSpace object, coming from a given
+ * country and city. These rows are maintained by the statistics-rollup script from the statistics core, so that
+ * usage reports can be answered without faceting over the raw usage events.
+ * The object identifiers are stored as they appear in the statistics core, which may be legacy (integer)
+ * identifiers for old usage events.
+ */
+@Entity
+@Table(name = "statistics_rollup")
+public class StatisticsRollup implements ReloadableEntity<Integer> {
+
+    @Id
+    @Column(name = "rollup_id")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "statistics_rollup_id_seq")
+    @SequenceGenerator(name = "statistics_rollup_id_seq", sequenceName = "statistics_rollup_id_seq",
+                       allocationSize = 1)
+    private Integer id;
+
+    @Column(name = "rollup_day", nullable = false)
+    @Temporal(TemporalType.DATE)
+    private Date day;
+
+    @Column(name = "dso_id", nullable = false, length = 64)
+    private String dsoId;
+
+    @Column(name = "dso_type", nullable = false)
+    private int dsoType;
+
+    @Column(name = "owning_item", length = 64)
+    private String owningItem;
+
+    @Column(name = "country_code", length = 16)
+    private String countryCode;
+
+    @Column(name = "city", length = 256)
+    private String city;
+
+    @Column(name = "views", nullable = false)
+    private long views;
+
+    protected StatisticsRollup() {
+    }
+
+    @Override
+    public Integer getID() {
+        return id;
+    }
+
+    /**
+     * @return the day the usage events of this aggregate took place
+     */
+    public Date getDay() {
+        return day;
+    }
+
+    public void setDay(Date day) {
+        this.day = day;
+    }
+
+    /**
+     * @return the identifier of the viewed object, as stored in the statistics core
+     */
+    public String getDsoId() {
+        return dsoId;
+    }
+
+    public void setDsoId(String dsoId) {
+        this.dsoId = dsoId;
+    }
+
+    /**
+     * @return the type of the viewed object, see {@link org.dspace.core.Constants}
+     */
+    public int getDsoType() {
+        return dsoType;
+    }
+
+    public void setDsoType(int dsoType) {
+        this.dsoType = dsoType;
+    }
+
+    /**
+     * @return the identifier of the item owning the viewed bitstream, null for other objects
+     */
+    public String getOwningItem() {
+        return owningItem;
+    }
+
+    public void setOwningItem(String owningItem) {
+        this.owningItem = owningItem;
+    }
+
+    public String getCountryCode() {
+        return countryCode;
+    }
+
+    public void setCountryCode(String countryCode) {
+        this.countryCode = countryCode;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    /**
+     * @return the number of usage events aggregated in this row
+     */
+    public long getViews() {
+        return views;
+    }
+
+    public void setViews(long views) {
+        this.views = views;
+    }
+}
@@ -0,0 +1,89 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.rollup;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+import org.apache.commons.cli.ParseException;
+import org.dspace.core.Context;
+import org.dspace.scripts.DSpaceRunnable;
+import org.dspace.statistics.factory.StatisticsServiceFactory;
+import org.dspace.statistics.rollup.service.StatisticsRollupService;
+import org.dspace.utils.DSpace;
+
+/**
+ * {@link DSpaceRunnable} implementation computing the daily usage statistics aggregates. Without a start day the
+ * aggregation resumes from the last rolled up day (which is recomputed, as it may have been incomplete) or, when
+ * no aggregates exist yet, from the first recorded usage event. The aggregation always stops with the current day.
+ */
+public class StatisticsRollupCli extends DSpaceRunnable<StatisticsRollupCliScriptConfiguration> {
+
+    private StatisticsRollupService statisticsRollupService;
+
+    private LocalDate from;
+
+    private boolean help;
+
+    @Override
+    public StatisticsRollupCliScriptConfiguration getScriptConfiguration() {
+        return new DSpace().getServiceManager()
+                           .getServiceByName("statistics-rollup", StatisticsRollupCliScriptConfiguration.class);
+    }
+
+    @Override
+    public void setup() throws ParseException {
+        statisticsRollupService = StatisticsServiceFactory.getInstance().getStatisticsRollupService();
+        help = commandLine.hasOption('h');
+        if (commandLine.hasOption('f')) {
+            try {
+                from = LocalDate.parse(commandLine.getOptionValue('f'));
+            } catch (DateTimeParseException e) {
+                throw new ParseException("Invalid start day (expected yyyy-MM-dd): " + commandLine.getOptionValue('f'));
+            }
+        }
+    }
+
+    @Override
+    public void internalRun() throws Exception {
+        if (help) {
+            printHelp();
+            return;
+        }
+
+        Context context = new Context();
+        try {
+            context.turnOffAuthorisationSystem();
+            LocalDate day = from;
+            if (day == null) {
+                day = statisticsRollupService.getLastRolledUpDay(context);
+            }
+            if (day == null) {
+                day = statisticsRollupService.getFirstUsageEventDay();
+            }
+            if (day == null) {
+                handler.logInfo("No usage events found, nothing to roll up");
+                return;
+            }
+
+            LocalDate today = LocalDate.now();
+            for (; !day.isAfter(today); day = day.plusDays(1)) {
+                int created = statisticsRollupService.rollup(context, day);
+                context.commit();
+                handler.logInfo("Rolled up " + day + ": " + created + " aggregates");
+            }
+            context.restoreAuthSystemState();
+            context.complete();
+        } finally {
+            // roll back the day which failed, keeping its previous aggregates
+            if (context.isValid()) {
+                context.abort();
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.rollup;
+
+import org.apache.commons.cli.Options;
+import org.dspace.scripts.configuration.ScriptConfiguration;
+
+/**
+ * The {@link ScriptConfiguration} for the {@link StatisticsRollupCli} script.
+ */
+public class StatisticsRollupCliScriptConfiguration extends ScriptConfiguration<StatisticsRollupCli> {
+    private Class<StatisticsRollupCli> dspaceRunnableClass;
+
+    @Override
+    public Class<StatisticsRollupCli> getDspaceRunnableClass() {
+        return dspaceRunnableClass;
+    }
+
+    @Override
+    public void setDspaceRunnableClass(Class<StatisticsRollupCli> dspaceRunnableClass) {
+        this.dspaceRunnableClass = dspaceRunnableClass;
+    }
+
+    @Override
+    public Options getOptions() {
+        if (options == null) {
+            options = new Options();
+            options.addOption("f", "from", true,
+                              "the first day (yyyy-MM-dd) to roll up, defaults to the last rolled up day");
+            options.addOption("h", "help", false, "help");
+        }
+        return options;
+    }
+}
@@ -0,0 +1,220 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.rollup;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.time.DateFormatUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.response.PivotField;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.dspace.content.DSpaceObject;
+import org.dspace.content.DSpaceObjectLegacySupport;
+import org.dspace.core.Context;
+import org.dspace.services.ConfigurationService;
+import org.dspace.statistics.SolrLoggerServiceImpl;
+import org.dspace.statistics.rollup.dao.StatisticsRollupDAO;
+import org.dspace.statistics.rollup.service.StatisticsRollupService;
+import org.dspace.statistics.service.SolrLoggerService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Implementation of the {@link StatisticsRollupService}. The aggregates of a day are computed with a single pivot
+ * facet query over the usage events of that day, applying the same filters (bots, bundles, view events only) as
+ * the regular usage reports.
+ */
+public class StatisticsRollupServiceImpl implements StatisticsRollupService {
+
+    private static final Logger log = LogManager.getLogger(StatisticsRollupServiceImpl.class);
+
+    /**
+     * Number of created aggregates after which the changes are flushed (not committed) and the session is cleared
+     */
+    protected static final int BATCH_SIZE = 1000;
+
+    @Autowired(required = true)
+    protected StatisticsRollupDAO statisticsRollupDAO;
+
+    @Autowired(required = true)
+    protected SolrLoggerService solrLoggerService;
+
+    @Autowired(required = true)
+    protected ConfigurationService configurationService;
+
+    protected StatisticsRollupServiceImpl() {
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return configurationService.getBooleanProperty("usage-statistics.rollup.enabled", false);
+    }
+
+    @Override
+    public LocalDate getLastRolledUpDay(Context context) throws SQLException {
+        Date lastDay = statisticsRollupDAO.findLastDay(context);
+        return lastDay != null ? toLocalDate(lastDay) : null;
+    }
+
+    @Override
+    public LocalDate getFirstUsageEventDay() throws SolrServerException, IOException {
+        QueryResponse response = solrLoggerService.query("*:*", null, null, 1, -1, null, null, null, null, "time",
+                                                         true, 0, false);
+        if (response == null || response.getResults().isEmpty()) {
+            return null;
+        }
+        Object time = response.getResults().get(0).getFieldValue("time");
+        return time instanceof Date ? toLocalDate((Date) time) : null;
+    }
+
+    @Override
+    public int rollup(Context context, LocalDate day) throws SQLException, SolrServerException, IOException {
+        Date start = toDate(day);
+        Date end = toDate(day.plusDays(1));
+        statisticsRollupDAO.deleteByDays(context, start, end);
+
+        String timeQuery = "time:[" + DateFormatUtils.format(start, SolrLoggerServiceImpl.DATE_FORMAT_8601)
+            + " TO " + DateFormatUtils.format(end, SolrLoggerServiceImpl.DATE_FORMAT_8601) + "}";
+        //Only use the view type and make sure old data (where no view type is present) is also supported
+        String viewQuery = "-(statistics_type:[* TO *] AND -statistics_type:"
+            + SolrLoggerServiceImpl.StatisticsType.VIEW.text() + ")";
+        List<PivotField> types = solrLoggerService.queryFacetPivot(timeQuery, viewQuery,
+                                                                   "type", "id", "owningItem", "countryCode", "city");
+
+        List<StatisticsRollup> batch = new ArrayList<>();
+        int created = 0;
+        for (PivotField type : types) {
+            if (type.getValue() == null) {
+                continue;
+            }
+            int dsoType = Integer.parseInt(type.getValue().toString());
+            for (PivotField id : children(type)) {
+                if (id.getValue() == null) {
+                    continue;
+                }
+                for (PivotField owningItem : children(id)) {
+                    for (PivotField country : children(owningItem)) {
+                        for (PivotField city : children(country)) {
+                            StatisticsRollup rollup = new StatisticsRollup();
+                            rollup.setDay(start);
+                            rollup.setDsoType(dsoType);
+                            rollup.setDsoId(id.getValue().toString());
+                            rollup.setOwningItem(valueOf(owningItem));
+                            rollup.setCountryCode(valueOf(country));
+                            rollup.setCity(valueOf(city));
+                            rollup.setViews(city.getCount());
+                            batch.add(statisticsRollupDAO.create(context, rollup));
+                            created++;
+                            if (batch.size() >= BATCH_SIZE) {
+                                flush(context, batch);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        flush(context, batch);
+        log.debug("Rolled up {} usage statistics aggregates for {}", created, day);
+        return created;
+    }
+
+    @Override
+    public long getTotalViews(Context context, DSpaceObject dso) throws SQLException {
+        return statisticsRollupDAO.sumViews(context, dso.getType(), getIdentifiers(dso));
+    }
+
+    @Override
+    public List<Map.Entry<LocalDate, Long>> getViewsPerMonth(Context context, DSpaceObject dso, LocalDate from,
+                                                             LocalDate to) throws SQLException {
+        Map<LocalDate, Long> months = new LinkedHashMap<>();
+        for (LocalDate month = from.withDayOfMonth(1); !month.isAfter(to); month = month.plusMonths(1)) {
+            months.put(month, 0L);
+        }
+        LocalDate end = to.withDayOfMonth(1).plusMonths(1);
+        for (Map.Entry<Date, Long> day : statisticsRollupDAO.sumViewsPerDay(context, dso.getType(),
+                                                                            getIdentifiers(dso),
+                                                                            toDate(from.withDayOfMonth(1)),
+                                                                            toDate(end))) {
+            months.merge(toLocalDate(day.getKey()).withDayOfMonth(1), day.getValue(), Long::sum);
+        }
+        List<Map.Entry<LocalDate, Long>> result = new ArrayList<>(months.size());
+        for (Map.Entry<LocalDate, Long> month : months.entrySet()) {
+            result.add(new AbstractMap.SimpleEntry<>(month.getKey(), month.getValue()));
+        }
+        return result;
+    }
+
+    @Override
+    public List<Map.Entry<String, Long>> getTopCountries(Context context, DSpaceObject dso, int max)
+        throws SQLException {
+        return statisticsRollupDAO.sumViewsPerCountry(context, dso.getType(), getIdentifiers(dso), max);
+    }
+
+    @Override
+    public List<Map.Entry<String, Long>> getTopCities(Context context, DSpaceObject dso, int max)
+        throws SQLException {
+        return statisticsRollupDAO.sumViewsPerCity(context, dso.getType(), getIdentifiers(dso), max);
+    }
+
+    @Override
+    public List<Map.Entry<String, Long>> getTopObjects(Context context, int dsoType, DSpaceObject owningItem, int max)
+        throws SQLException {
+        return statisticsRollupDAO.sumViewsPerObject(context, dsoType,
+                                                     owningItem != null ? getIdentifiers(owningItem) : null, max);
+    }
+
+    /**
+     * The usage events of an object may be stored under its uuid or, for old events, its legacy id
+     */
+    protected List<String> getIdentifiers(DSpaceObject dso) {
+        List<String> ids = new ArrayList<>(2);
+        ids.add(dso.getID().toString());
+        if (dso instanceof DSpaceObjectLegacySupport && ((DSpaceObjectLegacySupport) dso).getLegacyId() != null) {
+            ids.add(((DSpaceObjectLegacySupport) dso).getLegacyId().toString());
+        }
+        return ids;
+    }
+
+    /**
+     * Flush the created aggregates and remove them from the session, without committing: the aggregates of the
+     * day are replaced in the transaction of the caller
+     */
+    private void flush(Context context, List<StatisticsRollup> batch) throws SQLException {
+        for (StatisticsRollup rollup : batch) {
+            context.uncacheEntity(rollup);
+        }
+        batch.clear();
+    }
+
+    private List<PivotField> children(PivotField pivotField) {
+        return pivotField.getPivot() != null ? pivotField.getPivot() : new ArrayList<>();
+    }
+
+    private String valueOf(PivotField pivotField) {
+        return pivotField.getValue() != null ? pivotField.getValue().toString() : null;
+    }
+
+    private Date toDate(LocalDate day) {
+        return Date.from(day.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    private LocalDate toLocalDate(Date date) {
+        return date instanceof java.sql.Date ? ((java.sql.Date) date).toLocalDate()
+            : date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+}
@@ -0,0 +1,98 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.rollup.dao;
+
+import java.sql.SQLException;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.dspace.core.Context;
+import org.dspace.core.GenericDAO;
+import org.dspace.statistics.rollup.StatisticsRollup;
+
+/**
+ * Database Access Object interface class for the {@link StatisticsRollup} object.
+ * The implementation of this class is responsible for all database calls for the StatisticsRollup object and is
+ * autowired by spring. This class should only be accessed from a single service and should never be exposed
+ * outside of the API
+ */
+public interface StatisticsRollupDAO extends GenericDAO<StatisticsRollup> {
+
+    /**
+     * @param context the DSpace context
+     * @return the most recent day which has been rolled up, null if there are no rollups
+     * @throws SQLException if database error
+     */
+    public Date findLastDay(Context context) throws SQLException;
+
+    /**
+     * Delete the rollups of the days in the given range
+     *
+     * @param context the DSpace context
+     * @param from    the first day to delete (inclusive)
+     * @param to      the last day to delete (exclusive)
+     * @return the number of deleted rows
+     * @throws SQLException if database error
+     */
+    public int deleteByDays(Context context, Date from, Date to) throws SQLException;
+
+    /**
+     * @param context the DSpace context
+     * @param dsoType the type of the object, the legacy ids of the objects of different types colliding
+     * @param dsoIds  the identifiers (uuid and legacy id) of a single object
+     * @return the total number of views of the object
+     * @throws SQLException if database error
+     */
+    public long sumViews(Context context, int dsoType, List<String> dsoIds) throws SQLException;
+
+    /**
+     * @param context the DSpace context
+     * @param dsoType the type of the object, the legacy ids of the objects of different types colliding
+     * @param dsoIds  the identifiers (uuid and legacy id) of a single object
+     * @param from    the first day to include (inclusive)
+     * @param to      the last day to include (exclusive)
+     * @return the number of views of the object per day, ordered by day
+     * @throws SQLException if database error
+     */
+    public List<Map.Entry<Date, Long>> sumViewsPerDay(Context context, int dsoType, List<String> dsoIds, Date from,
+                                                      Date to) throws SQLException;
+
+    /**
+     * @param context the DSpace context
+     * @param dsoType the type of the object, the legacy ids of the objects of different types colliding
+     * @param dsoIds  the identifiers (uuid and legacy id) of a single object
+     * @param limit   the maximum number of countries to return
+     * @return the number of views of the object per country code, most viewing countries first
+     * @throws SQLException if database error
+     */
+    public List<Map.Entry<String, Long>> sumViewsPerCountry(Context context, int dsoType, List<String> dsoIds,
+                                                            int limit) throws SQLException;
+
+    /**
+     * @param context the DSpace context
+     * @param dsoType the type of the object, the legacy ids of the objects of different types colliding
+     * @param dsoIds  the identifiers (uuid and legacy id) of a single object
+     * @param limit   the maximum number of cities to return
+     * @return the number of views of the object per city, most viewing cities first
+     * @throws SQLException if database error
+     */
+    public List<Map.Entry<String, Long>> sumViewsPerCity(Context context, int dsoType, List<String> dsoIds,
+                                                         int limit) throws SQLException;
+
+    /**
+     * @param context     the DSpace context
+     * @param dsoType     the type of the objects to count
+     * @param owningItems the identifiers (uuid and legacy id) of the item owning the objects, null for all objects
+     * @param limit       the maximum number of objects to return
+     * @return the number of views per object identifier, most viewed objects first
+     * @throws SQLException if database error
+     */
+    public List<Map.Entry<String, Long>> sumViewsPerObject(Context context, int dsoType, List<String> owningItems,
+                                                           int limit) throws SQLException;
+}
@@ -0,0 +1,127 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.rollup.dao.impl;
+
+import java.sql.SQLException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import javax.persistence.Query;
+
+import org.dspace.core.AbstractHibernateDAO;
+import org.dspace.core.Context;
+import org.dspace.statistics.rollup.StatisticsRollup;
+import org.dspace.statistics.rollup.dao.StatisticsRollupDAO;
+
+/**
+ * Hibernate implementation of the Database Access Object interface class for the StatisticsRollup object.
+ * This class is responsible for all database calls for the StatisticsRollup object and is autowired by spring
+ * This class should never be accessed directly.
+ */
+public class StatisticsRollupDAOImpl extends AbstractHibernateDAO<StatisticsRollup> implements StatisticsRollupDAO {
+
+    protected StatisticsRollupDAOImpl() {
+        super();
+    }
+
+    @Override
+    public Date findLastDay(Context context) throws SQLException {
+        Query query = createQuery(context, "SELECT max(r.day) FROM StatisticsRollup r");
+        return (Date) query.getSingleResult();
+    }
+
+    @Override
+    public int deleteByDays(Context context, Date from, Date to) throws SQLException {
+        Query query = createQuery(context, "DELETE FROM StatisticsRollup r WHERE r.day >= :from AND r.day < :to");
+        query.setParameter("from", from);
+        query.setParameter("to", to);
+        return query.executeUpdate();
+    }
+
+    @Override
+    public long sumViews(Context context, int dsoType, List<String> dsoIds) throws SQLException {
+        Query query = createQuery(context, "SELECT sum(r.views) FROM StatisticsRollup r" +
+                                      " WHERE r.dsoType = :type AND r.dsoId IN (:ids)");
+        query.setParameter("type", dsoType);
+        query.setParameter("ids", dsoIds);
+        Long sum = (Long) query.getSingleResult();
+        return sum != null ? sum : 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Map.Entry<Date, Long>> sumViewsPerDay(Context context, int dsoType, List<String> dsoIds, Date from,
+                                                      Date to) throws SQLException {
+        Query query = createQuery(context,
+                                  "SELECT r.day, sum(r.views) FROM StatisticsRollup r WHERE r.dsoType = :type" +
+                                      " AND r.dsoId IN (:ids) AND r.day >= :from AND r.day < :to" +
+                                      " GROUP BY r.day ORDER BY r.day");
+        query.setParameter("type", dsoType);
+        query.setParameter("ids", dsoIds);
+        query.setParameter("from", from);
+        query.setParameter("to", to);
+
+        List<Object[]> list = query.getResultList();
+        List<Map.Entry<Date, Long>> returnList = new ArrayList<>(list.size());
+        for (Object[] o : list) {
+            returnList.add(new AbstractMap.SimpleEntry<>((Date) o[0], (Long) o[1]));
+        }
+        return returnList;
+    }
+
+    @Override
+    public List<Map.Entry<String, Long>> sumViewsPerCountry(Context context, int dsoType, List<String> dsoIds,
+                                                            int limit) throws SQLException {
+        return sumViewsPerLocation(context, "countryCode", dsoType, dsoIds, limit);
+    }
+
+    @Override
+    public List<Map.Entry<String, Long>> sumViewsPerCity(Context context, int dsoType, List<String> dsoIds,
+                                                         int limit) throws SQLException {
+        return sumViewsPerLocation(context, "city", dsoType, dsoIds, limit);
+    }
+
+    @SuppressWarnings("unchecked")
+    protected List<Map.Entry<String, Long>> sumViewsPerLocation(Context context, String field, int dsoType,
+                                                               List<String> dsoIds, int limit) throws SQLException {
+        Query query = createQuery(context,
+                                  "SELECT r." + field + ", sum(r.views) FROM StatisticsRollup r" +
+                                      " WHERE r.dsoType = :type AND r.dsoId IN (:ids) AND r." + field + " IS NOT NULL" +
+                                      " GROUP BY r." + field + " ORDER BY sum(r.views) DESC, r." + field);
+        query.setParameter("type", dsoType);
+        query.setParameter("ids", dsoIds);
+        query.setMaxResults(limit);
+        return toEntries(query.getResultList());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Map.Entry<String, Long>> sumViewsPerObject(Context context, int dsoType, List<String> owningItems,
+                                                           int limit) throws SQLException {
+        Query query = createQuery(context,
+                                  "SELECT r.dsoId, sum(r.views) FROM StatisticsRollup r WHERE r.dsoType = :type" +
+                                      (owningItems != null ? " AND r.owningItem IN (:owningItems)" : "") +
+                                      " GROUP BY r.dsoId ORDER BY sum(r.views) DESC, r.dsoId");
+        query.setParameter("type", dsoType);
+        if (owningItems != null) {
+            query.setParameter("owningItems", owningItems);
+        }
+        query.setMaxResults(limit);
+        return toEntries(query.getResultList());
+    }
+
+    private List<Map.Entry<String, Long>> toEntries(List<Object[]> list) {
+        List<Map.Entry<String, Long>> returnList = new ArrayList<>(list.size());
+        for (Object[] o : list) {
+            returnList.add(new AbstractMap.SimpleEntry<>((String) o[0], (Long) o[1]));
+        }
+        return returnList;
+    }
+}
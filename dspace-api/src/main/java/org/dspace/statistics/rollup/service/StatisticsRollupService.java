@@ -0,0 +1,110 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.rollup.service;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.solr.client.solrj.SolrServerException;
+import org.dspace.content.DSpaceObject;
+import org.dspace.core.Context;
+
+/**
+ * Service maintaining and querying the daily usage statistics aggregates (see
+ * {@link org.dspace.statistics.rollup.StatisticsRollup}). Reports answered from the rollups only take into account
+ * the usage events up to the last run of the statistics-rollup script, but their cost does not depend on the size
+ * of the statistics core.
+ */
+public interface StatisticsRollupService {
+
+    /**
+     * @return true if usage reports should be answered from the rollups (usage-statistics.rollup.enabled)
+     */
+    public boolean isEnabled();
+
+    /**
+     * @param context the DSpace context
+     * @return the most recent day which has been rolled up, null if nothing has been rolled up yet
+     * @throws SQLException if database error
+     */
+    public LocalDate getLastRolledUpDay(Context context) throws SQLException;
+
+    /**
+     * @return the day of the oldest usage event in the statistics core, null if it is empty
+     * @throws SolrServerException if solr error
+     * @throws IOException         if IO error
+     */
+    public LocalDate getFirstUsageEventDay() throws SolrServerException, IOException;
+
+    /**
+     * (Re)compute the aggregates of the given day from the statistics core, replacing existing aggregates of
+     * that day. The changes are not committed: the caller should commit them at once, so that the aggregates of
+     * the day are never seen partially replaced, and roll them back if the rollup fails.
+     *
+     * @param context the DSpace context
+     * @param day     the day to roll up
+     * @return the number of aggregates created
+     * @throws SQLException        if database error
+     * @throws SolrServerException if solr error
+     * @throws IOException         if IO error
+     */
+    public int rollup(Context context, LocalDate day) throws SQLException, SolrServerException, IOException;
+
+    /**
+     * @param context the DSpace context
+     * @param dso     the viewed object
+     * @return the total number of views of the object
+     * @throws SQLException if database error
+     */
+    public long getTotalViews(Context context, DSpaceObject dso) throws SQLException;
+
+    /**
+     * @param context the DSpace context
+     * @param dso     the viewed object
+     * @param from    the first month to include
+     * @param to      the last month to include
+     * @return the number of views per month, keyed by the first day of the month, including months without views
+     * @throws SQLException if database error
+     */
+    public List<Map.Entry<LocalDate, Long>> getViewsPerMonth(Context context, DSpaceObject dso, LocalDate from,
+                                                             LocalDate to) throws SQLException;
+
+    /**
+     * @param context the DSpace context
+     * @param dso     the viewed object
+     * @param max     the maximum number of countries to return
+     * @return the number of views per country code, most viewing countries first
+     * @throws SQLException if database error
+     */
+    public List<Map.Entry<String, Long>> getTopCountries(Context context, DSpaceObject dso, int max)
+        throws SQLException;
+
+    /**
+     * @param context the DSpace context
+     * @param dso     the viewed object
+     * @param max     the maximum number of cities to return
+     * @return the number of views per city, most viewing cities first
+     * @throws SQLException if database error
+     */
+    public List<Map.Entry<String, Long>> getTopCities(Context context, DSpaceObject dso, int max)
+        throws SQLException;
+
+    /**
+     * @param context    the DSpace context
+     * @param dsoType    the type of the objects, see {@link org.dspace.core.Constants}
+     * @param owningItem the item owning the objects (for bitstreams), null to consider all objects of the type
+     * @param max        the maximum number of objects to return
+     * @return the number of views per object identifier, most viewed objects first
+     * @throws SQLException if database error
+     */
+    public List<Map.Entry<String, Long>> getTopObjects(Context context, int dsoType, DSpaceObject owningItem, int max)
+        throws SQLException;
+}
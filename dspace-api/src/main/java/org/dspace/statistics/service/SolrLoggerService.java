@@ -15,6 +15,7 @@ import java.util.Map;
 import javax.servlet.http.HttpServletRequest;
 
 import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.response.PivotField;
 import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.common.SolrInputDocument;
 import org.dspace.content.DSpaceObject;
@@ -259,6 +260,20 @@ public interface SolrLoggerService {
                                int facetMinCount, boolean defaultFilterQueries)
             throws SolrServerException, IOException;
 
+    /**
+     * Perform a solr query returning the pivot facet counts of the given fields, using the default filter queries.
+     * All facet values are returned (no limit), including the "missing" values.
+     *
+     * @param query       the query to be used
+     * @param filterQuery filter query
+     * @param pivotFields the fields to pivot on, in order
+     * @return the pivot counts of the first field, with nested pivots of the following fields
+     * @throws SolrServerException Exception from the Solr server to the solrj Java client.
+     * @throws java.io.IOException passed through.
+     */
+    public List<PivotField> queryFacetPivot(String query, String filterQuery, String... pivotFields)
+            throws SolrServerException, IOException;
+
     /**
      * Returns in a filterQuery string all the ip addresses that should be ignored
      *
@@ -0,0 +1,35 @@
+--
+-- The contents of this file are subject to the license and copyright
+-- detailed in the LICENSE and NOTICE files at the root of the source
+-- tree and available online at
+--
+-- http://www.dspace.org/license/
+--
+
+-- ===============================================================
+-- WARNING WARNING WARNING WARNING WARNING WARNING WARNING WARNING
+--
+-- DO NOT MANUALLY RUN THIS DATABASE MIGRATION. IT WILL BE EXECUTED
+-- AUTOMATICALLY (IF NEEDED) BY "FLYWAY" WHEN YOU STARTUP DSPACE.
+-- http://flywaydb.org/
+-- ===============================================================
+
+-------------------------------------------------------------
+-- Cache invalidations exchanged between the nodes of a cluster
+-- (see DatabaseCacheInvalidationBus)
+-------------------------------------------------------------
+
+CREATE SEQUENCE cache_invalidation_id_seq;
+
+CREATE TABLE cache_invalidation
+(
+    invalidation_id BIGINT NOT NULL,
+    origin VARCHAR(64) NOT NULL,
+    invalidation_type VARCHAR(16) NOT NULL,
+    region VARCHAR(256) NOT NULL,
+    cache_key VARCHAR(512),
+    created TIMESTAMP NOT NULL,
+    CONSTRAINT cache_invalidation_pkey PRIMARY KEY (invalidation_id)
+);
+
+CREATE INDEX cache_invalidation_created_idx ON cache_invalidation (created);
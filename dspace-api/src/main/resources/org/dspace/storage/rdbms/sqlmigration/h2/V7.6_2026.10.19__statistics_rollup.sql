@@ -0,0 +1,38 @@
+--
+-- The contents of this file are subject to the license and copyright
+-- detailed in the LICENSE and NOTICE files at the root of the source
+-- tree and available online at
+--
+-- http://www.dspace.org/license/
+--
+
+-- ===============================================================
+-- WARNING WARNING WARNING WARNING WARNING WARNING WARNING WARNING
+--
+-- DO NOT MANUALLY RUN THIS DATABASE MIGRATION. IT WILL BE EXECUTED
+-- AUTOMATICALLY (IF NEEDED) BY "FLYWAY" WHEN YOU STARTUP DSPACE.
+-- http://flywaydb.org/
+-- ===============================================================
+
+-------------------------------------------------------------
+-- Daily usage statistics aggregates (see statistics-rollup script)
+-------------------------------------------------------------
+
+CREATE SEQUENCE statistics_rollup_id_seq;
+
+CREATE TABLE statistics_rollup
+(
+    rollup_id INTEGER NOT NULL,
+    rollup_day DATE NOT NULL,
+    dso_id VARCHAR(64) NOT NULL,
+    dso_type INTEGER NOT NULL,
+    owning_item VARCHAR(64),
+    country_code VARCHAR(16),
+    city VARCHAR(256),
+    views BIGINT NOT NULL,
+    CONSTRAINT statistics_rollup_pkey PRIMARY KEY (rollup_id)
+);
+
+CREATE INDEX statistics_rollup_dso_idx ON statistics_rollup (dso_id, rollup_day);
+CREATE INDEX statistics_rollup_owning_item_idx ON statistics_rollup (owning_item);
+CREATE INDEX statistics_rollup_day_idx ON statistics_rollup (rollup_day);
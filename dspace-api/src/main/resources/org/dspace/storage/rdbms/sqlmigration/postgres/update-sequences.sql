@@ -21,6 +21,7 @@
 
 SELECT setval('alert_id_seq', max(alert_id)) FROM systemwidealert;
 SELECT setval('bitstreamformatregistry_seq', max(bitstream_format_id)) FROM bitstreamformatregistry;
+SELECT setval('cache_invalidation_id_seq', max(invalidation_id)) FROM cache_invalidation;
 SELECT setval('checksum_history_check_id_seq', max(check_id)) FROM checksum_history;
 SELECT setval('cwf_claimtask_seq', max(claimtask_id)) FROM cwf_claimtask;
 SELECT setval('cwf_collectionrole_seq', max(collectionrole_id)) FROM cwf_collectionrole;
@@ -47,6 +48,7 @@ SELECT setval('relationship_id_seq', max(id)) FROM relationship;
 SELECT setval('relationship_type_id_seq', max(id)) FROM relationship_type;
 SELECT setval('requestitem_seq', max(requestitem_id)) FROM requestitem;
 SELECT setval('resourcepolicy_seq', max(policy_id)) FROM resourcepolicy;
+SELECT setval('statistics_rollup_id_seq', max(rollup_id)) FROM statistics_rollup;
 SELECT setval('subscription_parameter_seq', max(subscription_id)) FROM subscription_parameter;
 SELECT setval('subscription_seq', max(subscription_id)) FROM subscription;
 SELECT setval('supervision_orders_seq', max(id)) FROM supervision_orders;
@@ -0,0 +1,48 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dspace.service.impl.HttpConnectionPoolService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+
+/**
+ * Abstract class for the tests of the clients sending their requests through a {@link HttpConnectionPoolService}.
+ * It creates the pools configured by the tests, and shuts them down once each test is done.
+ */
+public abstract class AbstractHttpConnectionPoolTest extends AbstractDSpaceTest {
+
+    private final List<HttpConnectionPoolService> httpConnectionPools = new ArrayList<>();
+
+    /**
+     * Create a pool of connections configured by the properties of the given prefix
+     *
+     * @param configPrefix the prefix of the configuration properties of the pool
+     * @return the initialized pool, shut down after the test
+     */
+    protected HttpConnectionPoolService createHttpConnectionPool(String configPrefix) {
+        AutowireCapableBeanFactory beanFactory = DSpaceServicesFactory.getInstance().getServiceManager()
+                                                                      .getApplicationContext()
+                                                                      .getAutowireCapableBeanFactory();
+        HttpConnectionPoolService pool = new HttpConnectionPoolService(configPrefix);
+        beanFactory.autowireBean(pool);
+        beanFactory.initializeBean(pool, configPrefix + "HttpConnectionPoolService");
+        httpConnectionPools.add(pool);
+        return pool;
+    }
+
+    @After
+    public void destroyHttpConnectionPools() {
+        httpConnectionPools.forEach(HttpConnectionPoolService::destroy);
+        httpConnectionPools.clear();
+    }
+}
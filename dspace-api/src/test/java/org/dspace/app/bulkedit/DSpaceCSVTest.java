@@ -8,6 +8,7 @@
 package org.dspace.app.bulkedit;
 
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.fail;
 
@@ -15,10 +16,13 @@ import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.logging.log4j.Logger;
 import org.dspace.AbstractUnitTest;
 import org.junit.Test;
@@ -147,4 +151,31 @@ public class DSpaceCSVTest extends AbstractUnitTest {
             fail("IO Error while creating test CSV file");
         }
     }
+
+    /**
+     * Test the reading of CSV files one line at a time
+     */
+    @Test
+    public void testDSpaceCSVReader() throws Exception {
+        String csv = "id,collection,dc.title,dc.contributor.author\n"
+            + "+,56599ad5-c7d2-4ac3-8354-a1f277d5a31f,Easy line,\"Lewis, Stuart||Bloggs, Joe\"\n"
+            + "+,56599ad5-c7d2-4ac3-8354-a1f277d5a31f,\"Two line\n\"\"quoted\"\" title\",\"Lewis, Stuart\"\n";
+
+        try (DSpaceCSVReader reader =
+                 new DSpaceCSVReader(IOUtils.toInputStream(csv, StandardCharsets.UTF_8), context)) {
+            assertThat("testDSpaceCSVReader headings", reader.getCSV().getHeadings(),
+                       equalTo(Arrays.asList("collection", "dc.title", "dc.contributor.author")));
+
+            DSpaceCSVLine line = reader.readLine();
+            assertThat("testDSpaceCSVReader first line", line.get("dc.contributor.author"),
+                       equalTo(Arrays.asList("Lewis, Stuart", "Bloggs, Joe")));
+
+            line = reader.readLine();
+            assertThat("testDSpaceCSVReader multiple line value", line.get("dc.title"),
+                       equalTo(Arrays.asList("Two line\n\"quoted\" title")));
+
+            assertThat("testDSpaceCSVReader end of file", reader.readLine(), nullValue());
+            assertThat("testDSpaceCSVReader lines aren't kept", reader.getCSV().getCSVLines().size(), equalTo(0));
+        }
+    }
 }
@@ -0,0 +1,123 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.mediafilter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import javax.imageio.ImageIO;
+
+import org.dspace.AbstractUnitTest;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test the JPEGFilter, generating thumbnails from subsampled source images.
+ */
+public class JPEGFilterTest extends AbstractUnitTest {
+
+    private ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private Object originalMaxWidth;
+    private Object originalMaxHeight;
+
+    @Before
+    public void setUp() {
+        originalMaxWidth = configurationService.getPropertyValue("thumbnail.maxwidth");
+        originalMaxHeight = configurationService.getPropertyValue("thumbnail.maxheight");
+    }
+
+    @After
+    public void tearDown() {
+        configurationService.setProperty("thumbnail.maxwidth", originalMaxWidth);
+        configurationService.setProperty("thumbnail.maxheight", originalMaxHeight);
+    }
+
+    /**
+     * Test of getDestinationStream method, the thumbnail fitting in the configured bounds
+     *
+     * @throws java.lang.Exception passed through.
+     */
+    @Test
+    public void testGetDestinationStream() throws Exception {
+        configurationService.setProperty("thumbnail.maxwidth", "200");
+        configurationService.setProperty("thumbnail.maxheight", "200");
+        JPEGFilter instance = new JPEGFilter();
+
+        try (InputStream result = instance.getDestinationStream(null, createImage(3000, 1500), false)) {
+            BufferedImage thumbnail = ImageIO.read(result);
+            assertNotNull(thumbnail);
+            assertEquals(200, thumbnail.getWidth());
+            assertEquals(100, thumbnail.getHeight());
+        }
+    }
+
+    /**
+     * Test of readImage method, subsampling the source image to twice the thumbnail size at most
+     *
+     * @throws java.lang.Exception passed through.
+     */
+    @Test
+    public void testReadImageSubsampled() throws Exception {
+        JPEGFilter instance = new JPEGFilter();
+
+        BufferedImage image = instance.readImage(createImage(4000, 2000), 200, 200, false);
+        assertEquals(400, image.getWidth());
+        assertEquals(200, image.getHeight());
+
+        // images smaller than twice the thumbnail size are read whole
+        image = instance.readImage(createImage(300, 100), 200, 200, false);
+        assertEquals(300, image.getWidth());
+        assertEquals(100, image.getHeight());
+    }
+
+    /**
+     * Test of getDestinationStream method with a source which isn't an image
+     *
+     * @throws java.lang.Exception passed through.
+     */
+    @Test
+    public void testGetDestinationStreamUnsupportedFormat() throws Exception {
+        JPEGFilter instance = new JPEGFilter();
+        InputStream source = new ByteArrayInputStream("not an image".getBytes(StandardCharsets.UTF_8));
+        assertNull(instance.getDestinationStream(null, source, false));
+    }
+
+    /**
+     * Test of getSubsamplingPeriod method
+     */
+    @Test
+    public void testGetSubsamplingPeriod() {
+        assertEquals(1, JPEGFilter.getSubsamplingPeriod(300, 300, 200, 200));
+        assertEquals(10, JPEGFilter.getSubsamplingPeriod(4000, 1000, 200, 200));
+        assertEquals(50, JPEGFilter.getSubsamplingPeriod(20000, 15000, 200, 200));
+        assertEquals(1, JPEGFilter.getSubsamplingPeriod(20000, 15000, 0, 0));
+    }
+
+    private InputStream createImage(int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = image.createGraphics();
+        g2d.setColor(Color.BLUE);
+        g2d.fillRect(0, 0, width / 2, height);
+        g2d.dispose();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", output);
+        return new ByteArrayInputStream(output.toByteArray());
+    }
+}
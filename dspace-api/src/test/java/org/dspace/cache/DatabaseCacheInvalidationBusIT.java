@@ -0,0 +1,174 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.cache.dao.CacheInvalidationDAO;
+import org.dspace.core.Context;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Integration tests of the {@link DatabaseCacheInvalidationBus} and of the eviction of the invalidations received
+ * from the other nodes by the {@link CacheInvalidationServiceImpl}
+ */
+public class DatabaseCacheInvalidationBusIT extends AbstractIntegrationTestWithDatabase {
+
+    private final ConfigurationService configurationService =
+        DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private final CacheInvalidationDAO cacheInvalidationDAO = DSpaceServicesFactory.getInstance().getServiceManager()
+        .getServicesByType(CacheInvalidationDAO.class).get(0);
+
+    private DatabaseCacheInvalidationBus bus;
+
+    private final List<CacheInvalidation> received = new ArrayList<>();
+
+    /**
+     * The threads of the nodes publishing the invalidations: all the contexts of a thread share its transaction
+     */
+    private final ExecutorService firstNode = Executors.newSingleThreadExecutor();
+    private final ExecutorService secondNode = Executors.newSingleThreadExecutor();
+
+    @Before
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        bus = new DatabaseCacheInvalidationBus();
+        DSpaceServicesFactory.getInstance().getServiceManager().getApplicationContext()
+                             .getAutowireCapableBeanFactory().autowireBean(bus);
+        bus.addListener(received::add);
+        // the first poll only looks for the last invalidation published
+        poll();
+    }
+
+    @After
+    public void deleteInvalidations() throws Exception {
+        firstNode.shutdownNow();
+        secondNode.shutdownNow();
+        configurationService.setProperty("cache.invalidation.retention", null);
+        Context cleanupContext = new Context();
+        cacheInvalidationDAO.deleteCreatedBefore(cleanupContext, new Date(System.currentTimeMillis() + 60000));
+        cleanupContext.complete();
+    }
+
+    @Test
+    public void testDeliveredOnceCommitted() throws Exception {
+        CacheInvalidation invalidation = new CacheInvalidation("node-1", CacheInvalidation.Type.REGION, "region", null);
+        Context publishContext = publish(firstNode, invalidation);
+        poll();
+        assertTrue(received.isEmpty());
+
+        complete(firstNode, publishContext);
+        poll();
+        assertEquals(1, received.size());
+        assertEquals("node-1", received.get(0).getOrigin());
+        assertEquals(CacheInvalidation.Type.REGION, received.get(0).getType());
+        assertEquals("region", received.get(0).getRegion());
+
+        // nothing is delivered twice
+        poll();
+        assertEquals(1, received.size());
+    }
+
+    @Test
+    public void testDeliveredWhenCommittedOutOfOrder() throws Exception {
+        Context firstContext = publish(firstNode,
+                                       new CacheInvalidation("node-1", CacheInvalidation.Type.CACHE, "cache", "first"));
+        Context secondContext = publish(secondNode,
+                                        new CacheInvalidation("node-2", CacheInvalidation.Type.CACHE, "cache",
+                                                              "second"));
+        complete(secondNode, secondContext);
+
+        poll();
+        assertEquals(1, received.size());
+        assertEquals("second", received.get(0).getKey());
+
+        // the skipped invalidation is delivered once its transaction is committed
+        complete(firstNode, firstContext);
+        poll();
+        assertEquals(2, received.size());
+        assertEquals("first", received.get(1).getKey());
+    }
+
+    @Test
+    public void testExpiredInvalidationsDeleted() throws Exception {
+        configurationService.setProperty("cache.invalidation.retention", 0);
+        complete(firstNode, publish(firstNode,
+                                    new CacheInvalidation("node-1", CacheInvalidation.Type.CACHE, "cache", null)));
+        Thread.sleep(10);
+
+        poll();
+        assertEquals(1, received.size());
+        Context readContext = new Context();
+        assertNull(cacheInvalidationDAO.findMaxId(readContext));
+        readContext.abort();
+    }
+
+    @Test
+    public void testRemoteInvalidationEvictsSpringCache() throws Exception {
+        CacheManager cacheManager = DSpaceServicesFactory.getInstance().getServiceManager()
+                                                         .getServiceByName("cacheManager", CacheManager.class);
+        Cache cache = cacheManager.getCache("manifests");
+        assertNotNull(cache);
+        cache.put("evicted", "manifest");
+        cache.put("kept", "manifest");
+
+        CacheInvalidationServiceImpl cacheInvalidationService = DSpaceServicesFactory.getInstance()
+            .getServiceManager().getServicesByType(CacheInvalidationServiceImpl.class).get(0);
+        bus.addListener(cacheInvalidationService);
+
+        complete(firstNode, publish(firstNode, new CacheInvalidation("other-node", CacheInvalidation.Type.CACHE,
+                                                                     "manifests", "evicted")));
+        poll();
+
+        assertNull(cache.get("evicted"));
+        assertNotNull(cache.get("kept"));
+        cache.clear();
+    }
+
+    private Context publish(ExecutorService node, CacheInvalidation invalidation) throws Exception {
+        return node.submit(() -> {
+            Context publishContext = new Context();
+            bus.publish(publishContext, invalidation);
+            return publishContext;
+        }).get();
+    }
+
+    private void complete(ExecutorService node, Context publishContext) throws Exception {
+        node.submit(() -> {
+            publishContext.complete();
+            return null;
+        }).get();
+    }
+
+    /**
+     * Poll from another thread, as the poller of the bus does
+     */
+    private void poll() throws Exception {
+        Thread poller = new Thread(bus::poll);
+        poller.start();
+        poller.join();
+    }
+}
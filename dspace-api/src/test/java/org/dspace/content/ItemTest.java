@@ -1798,6 +1798,58 @@ public class ItemTest extends AbstractDSpaceObjectTest {
 
     }
 
+    /**
+     * Test of findByCollection method paged with the identifier of the last item, of ItemService
+     */
+    @Test
+    public void testFindByCollectionAfter() throws Exception {
+        context.turnOffAuthorisationSystem();
+        this.createItem();
+        this.createItem();
+        context.restoreAuthSystemState();
+
+        List<Item> expected = new ArrayList<>();
+        itemService.findByCollection(context, collection).forEachRemaining(expected::add);
+        assertThat("testFindByCollectionAfter 0", expected.size(), equalTo(3));
+
+        List<Item> paged = new ArrayList<>();
+        UUID after = null;
+        Iterator<Item> page = itemService.findByCollection(context, collection, after, 2);
+        while (page.hasNext()) {
+            int read = 0;
+            while (page.hasNext()) {
+                Item item = page.next();
+                paged.add(item);
+                after = item.getID();
+                read++;
+            }
+            assertTrue("testFindByCollectionAfter 1", read <= 2);
+            page = itemService.findByCollection(context, collection, after, 2);
+        }
+        assertThat("testFindByCollectionAfter 2", paged, equalTo(expected));
+    }
+
+    /**
+     * Test of findAllUnfiltered method paged with the identifier of the last item, of ItemService
+     */
+    @Test
+    public void testFindAllUnfilteredAfter() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Item withdrawn = this.createItem();
+        itemService.withdraw(context, withdrawn);
+        context.restoreAuthSystemState();
+
+        List<Item> expected = new ArrayList<>();
+        itemService.findAllUnfiltered(context).forEachRemaining(expected::add);
+        assertTrue("testFindAllUnfilteredAfter 0", expected.contains(withdrawn));
+
+        List<Item> paged = new ArrayList<>();
+        itemService.findAllUnfiltered(context, null, 1).forEachRemaining(paged::add);
+        assertThat("testFindAllUnfilteredAfter 1", paged.size(), equalTo(1));
+        itemService.findAllUnfiltered(context, paged.get(0).getID(), expected.size()).forEachRemaining(paged::add);
+        assertThat("testFindAllUnfilteredAfter 2", paged, equalTo(expected));
+    }
+
     /**
      * Test of countByCollectionMapping method, of ItemService
      */
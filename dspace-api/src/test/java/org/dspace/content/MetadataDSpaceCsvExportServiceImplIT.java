@@ -10,12 +10,15 @@ package org.dspace.content;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Iterator;
 import java.util.List;
 
 import org.dspace.AbstractIntegrationTestWithDatabase;
 import org.dspace.app.bulkedit.DSpaceCSV;
 import org.dspace.app.bulkedit.DSpaceCSVLine;
+import org.dspace.app.scripts.handler.impl.TestDSpaceRunnableHandler;
 import org.dspace.builder.CollectionBuilder;
 import org.dspace.builder.CommunityBuilder;
 import org.dspace.builder.ItemBuilder;
@@ -112,4 +115,52 @@ public class MetadataDSpaceCsvExportServiceImplIT
         assertEquals("One item mapped twice should produce one line",
                 1, csvLines.size());
     }
+
+    /**
+     * Test of the export written line by line to an output stream.
+     * @throws java.lang.Exception passed through.
+     */
+    @Test
+    public void testExportToOutputStream()
+            throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context)
+                .withName("Community")
+                .build();
+        Community subCommunity = CommunityBuilder.createSubCommunity(context, parentCommunity)
+                .withName("Sub Community")
+                .build();
+        Collection collection1 = CollectionBuilder.createCollection(context, parentCommunity)
+                .withName("Collection1")
+                .build();
+        Collection collection2 = CollectionBuilder.createCollection(context, subCommunity)
+                .withName("Collection2")
+                .build();
+        Item mappedItem = ItemBuilder.createItem(context, collection1)
+                .withTitle("Mapped item")
+                .withAuthor("Smith, Donald")
+                .build();
+        mappedItem.addCollection(collection2);
+        ItemBuilder.createItem(context, collection2)
+                .withTitle("Item")
+                .withIssueDate("1957")
+                .withSubject("Subject")
+                .build();
+        context.restoreAuthSystemState();
+
+        MetadataDSpaceCsvExportService instance = new DSpace()
+                .getServiceManager()
+                .getServiceByName(MetadataDSpaceCsvExportServiceImpl.class.getCanonicalName(),
+                        MetadataDSpaceCsvExportService.class);
+        String expected = instance.export(context, parentCommunity, false).toString();
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        instance.handleExport(context, false, false, parentCommunity.getID().toString(),
+                new TestDSpaceRunnableHandler(), outputStream);
+
+        String result = outputStream.toString(StandardCharsets.UTF_8);
+        assertEquals(expected, result);
+        assertEquals("The headings and one line per item should be written",
+                3, result.split("\n").length);
+    }
 }
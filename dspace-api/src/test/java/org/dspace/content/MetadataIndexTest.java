@@ -0,0 +1,107 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@link MetadataIndex}
+ */
+public class MetadataIndexTest {
+
+    private MetadataValue title;
+    private MetadataValue titleEn;
+    private MetadataValue author;
+    private MetadataValue issued;
+    private MetadataValue personName;
+
+    private List<MetadataValue> metadataValues;
+    private MetadataIndex metadataIndex;
+
+    @Before
+    public void setUp() {
+        title = metadataValue(metadataField("dc", "title", null), null);
+        titleEn = metadataValue(metadataField("dc", "title", null), "en");
+        author = metadataValue(metadataField("dc", "contributor", "author"), null);
+        issued = metadataValue(metadataField("dc", "date", "issued"), null);
+        personName = metadataValue(metadataField("person", "givenName", null), null);
+        metadataValues = new ArrayList<>(Arrays.asList(title, author, titleEn, issued, personName));
+        metadataIndex = new MetadataIndex(metadataValues);
+    }
+
+    @Test
+    public void testGetMetadata() {
+        assertTrue(metadataIndex.isIndexed());
+        assertEquals(Arrays.asList(title, titleEn), metadataIndex.getMetadata("dc", "title", null, Item.ANY));
+        assertEquals(Collections.singletonList(title), metadataIndex.getMetadata("dc", "title", null, null));
+        assertEquals(Collections.singletonList(titleEn), metadataIndex.getMetadata("dc", "title", null, "en"));
+        assertEquals(Collections.singletonList(author),
+                     metadataIndex.getMetadata("dc", "contributor", "author", Item.ANY));
+        assertTrue(metadataIndex.getMetadata("dc", "contributor", null, Item.ANY).isEmpty());
+        assertTrue(metadataIndex.getMetadata("dc", "title", "alternative", Item.ANY).isEmpty());
+        assertTrue(metadataIndex.getMetadata("person", "title", null, Item.ANY).isEmpty());
+    }
+
+    @Test
+    public void testGetMetadataWithWildcards() {
+        assertEquals(Arrays.asList(title, author, titleEn, issued, personName),
+                     metadataIndex.getMetadata(Item.ANY, Item.ANY, Item.ANY, Item.ANY));
+        assertEquals(Arrays.asList(title, author, titleEn, issued),
+                     metadataIndex.getMetadata("dc", Item.ANY, Item.ANY, Item.ANY));
+        assertEquals(Arrays.asList(title, titleEn, personName),
+                     metadataIndex.getMetadata(Item.ANY, Item.ANY, null, Item.ANY));
+        assertEquals(Arrays.asList(title, author, issued), metadataIndex.getMetadata("dc", Item.ANY, Item.ANY, null));
+        assertEquals(Collections.singletonList(issued), metadataIndex.getMetadata(Item.ANY, "date", Item.ANY, null));
+    }
+
+    @Test
+    public void testIsIndexOf() {
+        assertTrue(metadataIndex.isIndexOf(metadataValues));
+        assertFalse(metadataIndex.isIndexOf(new ArrayList<>(metadataValues)));
+        metadataValues.remove(author);
+        assertFalse(metadataIndex.isIndexOf(metadataValues));
+    }
+
+    @Test
+    public void testNotIndexedWithoutSchema() {
+        MetadataValue withoutSchema = metadataValue(metadataField(null, "title", null), null);
+        MetadataIndex index = new MetadataIndex(Arrays.asList(title, withoutSchema));
+        assertFalse(index.isIndexed());
+    }
+
+    private MetadataField metadataField(String schema, String element, String qualifier) {
+        MetadataField metadataField = mock(MetadataField.class);
+        if (schema != null) {
+            MetadataSchema metadataSchema = mock(MetadataSchema.class);
+            when(metadataSchema.getName()).thenReturn(schema);
+            when(metadataField.getMetadataSchema()).thenReturn(metadataSchema);
+        }
+        when(metadataField.getElement()).thenReturn(element);
+        when(metadataField.getQualifier()).thenReturn(qualifier);
+        return metadataField;
+    }
+
+    private MetadataValue metadataValue(MetadataField metadataField, String language) {
+        MetadataValue metadataValue = mock(MetadataValue.class);
+        when(metadataValue.getMetadataField()).thenReturn(metadataField);
+        when(metadataValue.getLanguage()).thenReturn(language);
+        return metadataValue;
+    }
+}
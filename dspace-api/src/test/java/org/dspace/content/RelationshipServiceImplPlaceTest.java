@@ -10,6 +10,7 @@ package org.dspace.content;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.fail;
 
 import java.sql.SQLException;
@@ -21,6 +22,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.Logger;
 import org.dspace.AbstractUnitTest;
 import org.dspace.authorize.AuthorizeException;
+import org.dspace.content.dao.RelationshipDAO;
 import org.dspace.content.factory.ContentServiceFactory;
 import org.dspace.content.service.CollectionService;
 import org.dspace.content.service.CommunityService;
@@ -32,6 +34,7 @@ import org.dspace.content.service.RelationshipService;
 import org.dspace.content.service.RelationshipTypeService;
 import org.dspace.content.service.WorkspaceItemService;
 import org.dspace.core.Constants;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -53,6 +56,8 @@ public class RelationshipServiceImplPlaceTest extends AbstractUnitTest {
     protected InstallItemService installItemService = ContentServiceFactory.getInstance().getInstallItemService();
     protected WorkspaceItemService workspaceItemService = ContentServiceFactory.getInstance().getWorkspaceItemService();
     protected MetadataValueService metadataValueService = ContentServiceFactory.getInstance().getMetadataValueService();
+    protected RelationshipDAO relationshipDAO = DSpaceServicesFactory.getInstance().getServiceManager()
+                                                                     .getServicesByType(RelationshipDAO.class).get(0);
 
     Community community;
     Collection col;
@@ -3268,6 +3273,61 @@ public class RelationshipServiceImplPlaceTest extends AbstractUnitTest {
     }
 
 
+    @Test
+    public void findMaxPlaceTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+
+        assertNull(relationshipDAO.findMaxPlace(context, publication1, isAuthorOfPublication, true, null));
+
+        // Add three Authors to the same Publication, appending to the end
+        relationshipService.create(context, publication1, author1, isAuthorOfPublication, -1, -1);
+        relationshipService.create(context, publication1, author2, isAuthorOfPublication, -1, -1);
+        Relationship r3 = relationshipService.create(context, publication1, author3, isAuthorOfPublication, -1, -1);
+
+        // Add a second Publication to the first Author
+        Relationship r4 = relationshipService.create(context, publication2, author1, isAuthorOfPublication, -1, -1);
+
+        context.restoreAuthSystemState();
+
+        assertEquals(Integer.valueOf(2),
+                     relationshipDAO.findMaxPlace(context, publication1, isAuthorOfPublication, true, null));
+        assertEquals(Integer.valueOf(1),
+                     relationshipDAO.findMaxPlace(context, publication1, isAuthorOfPublication, true, r3));
+        assertEquals(Integer.valueOf(1),
+                     relationshipDAO.findMaxPlace(context, author1, isAuthorOfPublication, false, null));
+        assertEquals(Integer.valueOf(0),
+                     relationshipDAO.findMaxPlace(context, author1, isAuthorOfPublication, false, r4));
+        assertNull(relationshipDAO.findMaxPlace(context, publication1, isProjectOfPublication, true, null));
+    }
+
+    @Test
+    public void findByItemAndRelationshipTypeAndPlaceAfterMoveTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+
+        // Add four Authors to the same Publication, appending to the end
+        Relationship r1 = relationshipService.create(context, publication1, author1, isAuthorOfPublication, -1, -1);
+        Relationship r2 = relationshipService.create(context, publication1, author2, isAuthorOfPublication, -1, -1);
+        Relationship r3 = relationshipService.create(context, publication1, author3, isAuthorOfPublication, -1, -1);
+        Relationship r4 = relationshipService.create(context, publication1, author4, isAuthorOfPublication, -1, -1);
+
+        assertEquals(List.of(r2, r3), relationshipDAO.findByItemAndRelationshipTypeAndPlace(
+            context, publication1, isAuthorOfPublication, true, 1, 2));
+
+        // Move the last Author to leftPlace=1, shifting the Authors in between
+        relationshipService.move(context, r4, 1, null);
+
+        context.restoreAuthSystemState();
+
+        assertEquals(List.of(r1), relationshipDAO.findByItemAndRelationshipTypeAndPlace(
+            context, publication1, isAuthorOfPublication, true, 0, 0));
+        assertEquals(List.of(r4, r2, r3), relationshipDAO.findByItemAndRelationshipTypeAndPlace(
+            context, publication1, isAuthorOfPublication, true, 1, 3));
+        assertEquals(List.of(r1), relationshipDAO.findByItemAndRelationshipTypeAndPlace(
+            context, author1, isAuthorOfPublication, false, 0, 3));
+        assertEquals(Integer.valueOf(3),
+                     relationshipDAO.findMaxPlace(context, publication1, isAuthorOfPublication, true, null));
+    }
+
     private void assertLeftPlace(Relationship relationship, int leftPlace) {
         assertEquals(leftPlace, relationship.getLeftPlace());
     }
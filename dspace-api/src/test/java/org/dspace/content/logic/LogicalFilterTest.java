@@ -7,7 +7,9 @@
  */
 package org.dspace.content.logic;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -19,6 +21,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 import org.apache.logging.log4j.Logger;
 import org.dspace.AbstractUnitTest;
@@ -626,6 +629,60 @@ public class LogicalFilterTest extends AbstractUnitTest {
         }
     }
 
+    /**
+     * Test the selection of the items a filter is true for, with predicates translated into the database query
+     * and per-item evaluation of the candidates of the inexact ones
+     */
+    @Test
+    public void testFindByFilter() throws SQLException {
+        // Items in collectionTwo (inexact, as in-progress items are candidates too) with 2 ORIGINAL bitstreams
+        Condition inCollection = new InCollectionCondition();
+        inCollection.setItemService(itemService);
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("collections", List.of(collectionTwo.getHandle()));
+        inCollection.setParameters(parameters);
+        Condition bitstreamCount = new BitstreamCountCondition();
+        bitstreamCount.setItemService(itemService);
+        parameters = new HashMap<>();
+        parameters.put("bundle", "ORIGINAL");
+        parameters.put("min", String.valueOf(2));
+        parameters.put("max", String.valueOf(2));
+        bitstreamCount.setParameters(parameters);
+        And and = new And();
+        and.setStatements(List.of(inCollection, bitstreamCount));
+        DefaultFilter filter = new DefaultFilter();
+        filter.setStatement(and);
+
+        LogicalPredicate predicate = filter.getPredicate(context, new LogicalQuery());
+        assertNotNull(predicate.getPredicate());
+        assertFalse(predicate.isExact());
+        assertEquals(List.of(itemTwo), getItems(filter, null));
+        assertEquals(List.of(), getItems(filter, List.of(itemOne.getID(), itemThree.getID())));
+
+        // Items which are not withdrawn (exact)
+        Condition isWithdrawn = new IsWithdrawnCondition();
+        isWithdrawn.setItemService(itemService);
+        isWithdrawn.setParameters(new HashMap<>());
+        filter.setStatement(new Not(isWithdrawn));
+
+        predicate = filter.getPredicate(context, new LogicalQuery());
+        assertTrue(predicate.isExact());
+        assertEquals(List.of(itemOne), getItems(filter, List.of(itemOne.getID(), itemTwo.getID())));
+
+        // Statements which cannot be translated are evaluated on each item
+        Or or = new Or();
+        or.setStatements(List.of(isWithdrawn, falseStatementOne));
+        filter.setStatement(or);
+        assertEquals(LogicalPredicate.UNSUPPORTED, filter.getPredicate(context, new LogicalQuery()));
+        assertEquals(List.of(itemTwo), getItems(filter, List.of(itemOne.getID(), itemTwo.getID())));
+    }
+
+    private List<Item> getItems(LogicalStatement filter, List<UUID> itemIds) throws SQLException {
+        List<Item> items = new ArrayList<>();
+        itemService.findByFilter(context, filter, itemIds).forEachRemaining(items::add);
+        return items;
+    }
+
     /**
      * Set up some simple statements for testing out operators
      */
@@ -24,6 +24,7 @@ import java.sql.SQLException;
 import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.dspace.AbstractUnitTest;
 import org.dspace.authorize.AuthorizeException;
@@ -316,6 +317,32 @@ public class ContextTest extends AbstractUnitTest {
         cleanupContext(instance);
     }
 
+    /**
+     * Test of afterTransaction method, of class Context.
+     */
+    @Test
+    public void testAfterTransaction() throws SQLException {
+        Context instance = new Context();
+        AtomicInteger runs = new AtomicInteger();
+
+        // the action runs once the transaction is committed, and only once
+        instance.afterTransaction(runs::incrementAndGet);
+        assertEquals("Action should not run before the commit", 0, runs.get());
+        instance.commit();
+        assertEquals("Action should run on commit", 1, runs.get());
+        instance.commit();
+        assertEquals("Action should run once", 1, runs.get());
+
+        // or once it is rolled back
+        instance.afterTransaction(runs::incrementAndGet);
+        instance.rollback();
+        assertEquals("Action should run on rollback", 2, runs.get());
+
+        instance.afterTransaction(runs::incrementAndGet);
+        instance.abort();
+        assertEquals("Action should run on abort", 3, runs.get());
+    }
+
     /**
      * Test of abort method, of class Context.
      */
@@ -0,0 +1,184 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.BitstreamBuilder;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Bitstream;
+import org.dspace.content.Bundle;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.ItemService;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Integration tests of the {@link FetchPlan}s, counting the SQL statements needed to process a list of items
+ */
+public class FetchPlanIT extends AbstractIntegrationTestWithDatabase {
+
+    private final ItemService itemService = ContentServiceFactory.getInstance().getItemService();
+
+    private Collection collection;
+
+    /**
+     * The number of collections loaded one at a time by the last call to {@link #countStatements(FetchPlan)}
+     */
+    private long collectionFetches;
+
+    @After
+    public void disableStatistics() throws Exception {
+        getStatistics().setStatisticsEnabled(false);
+    }
+
+    @Test
+    public void testIndexingFetchPlanStatementCount() throws Exception {
+        createItems(5);
+        long withoutPlanFew = countStatements(null);
+        assertTrue(collectionFetches >= 5 * 5);
+        long withPlanFew = countStatements(FetchPlan.INDEXING);
+        // no association of the plan is loaded item by item
+        assertEquals(0, collectionFetches);
+
+        createItems(10);
+        long withoutPlanMany = countStatements(null);
+        long withPlanMany = countStatements(FetchPlan.INDEXING);
+        assertEquals(0, collectionFetches);
+
+        assertTrue(withPlanFew < withoutPlanFew);
+        assertTrue(withPlanMany < withoutPlanMany);
+        // the only statements per item left with a plan are the lookups of the inverse one-to-one associations
+        // of the items and bitstreams (template item and logo), which Hibernate can't load lazily
+        assertTrue(withPlanMany - withPlanFew < (withoutPlanMany - withoutPlanFew) / 2);
+    }
+
+    @Test
+    public void testRestListingFetchPlanAssociations() throws Exception {
+        createItems(3);
+
+        List<Item> items = loadItems();
+        context.applyFetchPlan(FetchPlan.REST_LISTING, items);
+
+        for (Item item : items) {
+            assertTrue(Hibernate.isInitialized(item.getMetadata()));
+            assertTrue(Hibernate.isInitialized(item.getHandles()));
+            assertFalse(Hibernate.isInitialized(item.getBundles()));
+            assertEquals(1, item.getHandles().size());
+        }
+    }
+
+    @Test
+    public void testExportFetchPlanIterator() throws Exception {
+        List<Item> created = createItems(7);
+
+        List<Item> items = new ArrayList<>();
+        Iterator<Item> iterator = context.applyFetchPlan(FetchPlan.EXPORT, itemService.findAll(context), 3);
+        while (iterator.hasNext()) {
+            Item item = iterator.next();
+            assertTrue(Hibernate.isInitialized(item.getMetadata()));
+            assertTrue(Hibernate.isInitialized(item.getHandles()));
+            items.add(item);
+        }
+
+        assertEquals(created.size(), items.size());
+        for (int i = 0; i < created.size(); i++) {
+            assertEquals(created.get(i).getID(), items.get(i).getID());
+        }
+    }
+
+    private List<Item> createItems(int count) throws Exception {
+        context.turnOffAuthorisationSystem();
+        if (collection == null) {
+            parentCommunity = CommunityBuilder.createCommunity(context).build();
+            collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        } else {
+            collection = context.reloadEntity(collection);
+        }
+        for (int i = 0; i < count; i++) {
+            Item item = ItemBuilder.createItem(context, collection)
+                                   .withTitle("Item " + i)
+                                   .withAuthor("Author, " + i)
+                                   .build();
+            byte[] content = ("Content " + i).getBytes(StandardCharsets.UTF_8);
+            BitstreamBuilder.createBitstream(context, item, new ByteArrayInputStream(content))
+                            .withName("file-" + i + ".txt")
+                            .build();
+        }
+        context.restoreAuthSystemState();
+        context.commit();
+        getSession().clear();
+        return loadItems();
+    }
+
+    /**
+     * Count the statements needed to load the items and access the associations used to index them
+     */
+    private long countStatements(FetchPlan fetchPlan) throws Exception {
+        getSession().clear();
+        Statistics statistics = getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        List<Item> items = loadItems();
+        if (fetchPlan != null) {
+            context.applyFetchPlan(fetchPlan, items);
+        }
+        for (Item item : items) {
+            item.getMetadata().size();
+            item.getHandles().size();
+            for (Collection itemCollection : item.getCollections()) {
+                itemCollection.getHandles().size();
+            }
+            for (Bundle bundle : item.getBundles()) {
+                for (Bitstream bitstream : bundle.getBitstreams()) {
+                    bitstream.getMetadata().size();
+                }
+            }
+        }
+
+        long count = statistics.getPrepareStatementCount();
+        collectionFetches = statistics.getCollectionFetchCount();
+        statistics.setStatisticsEnabled(false);
+        getSession().clear();
+        return count;
+    }
+
+    private List<Item> loadItems() throws Exception {
+        List<Item> items = new ArrayList<>();
+        Iterator<Item> iterator = itemService.findAll(context);
+        while (iterator.hasNext()) {
+            items.add(iterator.next());
+        }
+        return items;
+    }
+
+    private Session getSession() throws Exception {
+        return (Session) context.getDBConnection().getSession();
+    }
+
+    private Statistics getStatistics() throws Exception {
+        return getSession().getSessionFactory().getStatistics();
+    }
+}
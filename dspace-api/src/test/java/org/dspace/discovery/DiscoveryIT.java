@@ -578,12 +578,9 @@ public class DiscoveryIT extends AbstractIntegrationTestWithDatabase {
     }
 
     @Test
-    public void disabledRerunOfSolrQueryDueToStaleObjectsTest() throws Exception {
+    public void removalOfStaleObjectsInBackgroundTest() throws Exception {
         context.turnOffAuthorisationSystem();
 
-        // disable re-run of the solr query when stale documents are found
-        configurationService.setProperty("discovery.removestale.attempts", 0);
-
         parentCommunity = CommunityBuilder.createCommunity(context)
                                           .withName("Parent Community")
                                           .build();
@@ -655,16 +652,30 @@ public class DiscoveryIT extends AbstractIntegrationTestWithDatabase {
         collectionService.delete(context, col3);
         context.restoreAuthSystemState();
 
-        // check Collection type with start=0 and limit=default,
-        // we expect: indexableObjects=2, totalFound=should be 2 but we have 3 ->(1 stale object here)
-        assertSearchQuery(IndexableCollection.TYPE, 2, 3, 0, -1);
-        // as the previous query hit the stale object running a new query should lead to a clean situation
+        StaleDocumentRepairQueue staleDocumentRepairQueue = DSpaceServicesFactory.getInstance().getServiceManager()
+            .getServicesByType(StaleDocumentRepairQueue.class).get(0);
+        // remove the stale documents queued by the previous tests
+        repairStaleDocuments(staleDocumentRepairQueue);
+        long staleHits = staleDocumentRepairQueue.getStaleHits();
+
+        // check Collection type with start=0 and limit=default, we expect: indexableObjects=2, totalFound=2
+        // as the stale object found is left out of the total, the query isn't run again
+        assertSearchQuery(IndexableCollection.TYPE, 2, 2, 0, -1);
+        // the stale object found again is only queued once
+        assertSearchQuery(IndexableCollection.TYPE, 2, 2, 0, -1);
+        assertEquals(staleHits + 2, staleDocumentRepairQueue.getStaleHits());
+        assertEquals(1, staleDocumentRepairQueue.getPendingDocuments());
+        // once the stale object is removed from the index, running a new query leads to a clean situation
+        repairStaleDocuments(staleDocumentRepairQueue);
+        assertEquals(0, staleDocumentRepairQueue.getPendingDocuments());
         assertSearchQuery(IndexableCollection.TYPE, 2, 2, 0, -1);
+        assertEquals(staleHits + 2, staleDocumentRepairQueue.getStaleHits());
 
         // similar test over the items
         // check Item type with start=0 and limit=default,
-        // we expect: indexableObjects=3, totalFound=6 (3 stale objects here)
+        // we expect: indexableObjects=3, totalFound=6 (3 stale objects here, with predb status they are kept)
         assertSearchQuery(IndexableItem.TYPE, 3, 6, 0, -1);
+        assertEquals(staleHits + 2, staleDocumentRepairQueue.getStaleHits());
 
         // Run SolrDatabaseResyncCli, updating items with "preDB" status and removing stale items
         performSolrDatabaseResyncScript();
@@ -796,6 +807,13 @@ public class DiscoveryIT extends AbstractIntegrationTestWithDatabase {
         }
     }
 
+    private void repairStaleDocuments(StaleDocumentRepairQueue staleDocumentRepairQueue) throws Exception {
+        staleDocumentRepairQueue.repair();
+        // the repair lets solr commit within a few seconds, commit at once instead
+        DSpaceServicesFactory.getInstance().getServiceManager().getServicesByType(SolrSearchCore.class).get(0)
+                             .getSolr().commit();
+    }
+
     private void assertSearchQuery(String resourceType, int size) throws SearchServiceException {
         assertSearchQuery(resourceType, size, size, 0, -1);
     }
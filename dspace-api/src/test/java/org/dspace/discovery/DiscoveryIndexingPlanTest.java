@@ -0,0 +1,137 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.dspace.content.MetadataField;
+import org.dspace.content.MetadataSchema;
+import org.dspace.discovery.configuration.DiscoveryConfiguration;
+import org.dspace.discovery.configuration.DiscoveryConfigurationParameters;
+import org.dspace.discovery.configuration.DiscoveryHitHighlightFieldConfiguration;
+import org.dspace.discovery.configuration.DiscoveryHitHighlightingConfiguration;
+import org.dspace.discovery.configuration.DiscoverySearchFilter;
+import org.dspace.discovery.configuration.DiscoverySearchFilterFacet;
+import org.dspace.discovery.configuration.DiscoverySortConfiguration;
+import org.dspace.discovery.configuration.DiscoverySortFieldConfiguration;
+import org.dspace.discovery.indexobject.DiscoveryIndexingPlan;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@link DiscoveryIndexingPlan}
+ */
+public class DiscoveryIndexingPlanTest {
+
+    private DiscoverySearchFilter authorFilter;
+    private DiscoverySearchFilterFacet subjectFilter;
+    private DiscoverySearchFilterFacet dateFilter;
+
+    private DiscoveryIndexingPlan indexingPlan;
+
+    @Before
+    public void setUp() throws Exception {
+        authorFilter = searchFilter(new DiscoverySearchFilter(), "author", "dc.contributor.author", "dc.creator");
+        subjectFilter = searchFilter(new DiscoverySearchFilterFacet(), "subject", "dc.subject.*");
+        dateFilter = searchFilter(new DiscoverySearchFilterFacet(), "dateIssued", "dc.date.issued");
+        dateFilter.setExposeMinAndMaxValue(true);
+
+        DiscoveryConfiguration defaultConfiguration = new DiscoveryConfiguration();
+        defaultConfiguration.setId("default");
+        defaultConfiguration.setSearchFilters(Arrays.asList(authorFilter, subjectFilter, dateFilter));
+        defaultConfiguration.setSearchSortConfiguration(sortConfiguration("dc.title", "text"));
+        DiscoveryHitHighlightFieldConfiguration hitHighlightField = new DiscoveryHitHighlightFieldConfiguration();
+        hitHighlightField.setField("dc.description.*");
+        DiscoveryHitHighlightingConfiguration hitHighlightingConfiguration =
+            new DiscoveryHitHighlightingConfiguration();
+        hitHighlightingConfiguration.setMetadataFields(Collections.singletonList(hitHighlightField));
+        defaultConfiguration.setHitHighlightingConfiguration(hitHighlightingConfiguration);
+
+        // a configuration sharing a search filter with the default one, which must only be indexed once
+        DiscoveryConfiguration workspaceConfiguration = new DiscoveryConfiguration();
+        workspaceConfiguration.setId("workspace");
+        workspaceConfiguration.setSearchFilters(Collections.singletonList(
+            searchFilter(new DiscoverySearchFilter(), "author", "dc.contributor.author")));
+        workspaceConfiguration.setSearchSortConfiguration(sortConfiguration("dc.date.accessioned",
+            DiscoveryConfigurationParameters.TYPE_DATE));
+
+        indexingPlan = new DiscoveryIndexingPlan(Arrays.asList(defaultConfiguration, workspaceConfiguration,
+                                                               defaultConfiguration));
+    }
+
+    @Test
+    public void testSearchFilters() {
+        assertEquals(Collections.singletonList(authorFilter),
+                     indexingPlan.getSearchFilters("dc.contributor.author", "dc.contributor"));
+        assertEquals(Collections.singletonList(authorFilter),
+                     indexingPlan.getSearchFilters("dc.creator", "dc.creator"));
+        assertEquals(Collections.singletonList(subjectFilter),
+                     indexingPlan.getSearchFilters("dc.subject.lcsh", "dc.subject"));
+        assertTrue(indexingPlan.getSearchFilters("dc.title", "dc.title").isEmpty());
+    }
+
+    @Test
+    public void testSortFields() {
+        assertEquals("text", indexingPlan.getSortFieldType("dc.title"));
+        assertEquals(DiscoveryConfigurationParameters.TYPE_DATE, indexingPlan.getSortFieldType("dc.date.accessioned"));
+        assertNull(indexingPlan.getSortFieldType("dc.contributor.author"));
+    }
+
+    @Test
+    public void testHitHighlightingFields() {
+        assertTrue(indexingPlan.isHitHighlightingField("dc.description.abstract", "dc.description"));
+        assertFalse(indexingPlan.isHitHighlightingField("dc.title", "dc.title"));
+        assertFalse(indexingPlan.isMoreLikeThisField("dc.title", "dc.title"));
+    }
+
+    @Test
+    public void testMinMaxSearchFilters() {
+        assertTrue(indexingPlan.hasMinMaxSearchFilters());
+        assertEquals(Collections.singletonList(dateFilter),
+                     indexingPlan.getMinMaxSearchFilters(metadataField("dc", "date", "issued")));
+        assertTrue(indexingPlan.getMinMaxSearchFilters(metadataField("dc", "date", "accessioned")).isEmpty());
+        assertTrue(indexingPlan.getMinMaxSearchFilters(metadataField("dc", "subject", null)).isEmpty());
+    }
+
+    private <T extends DiscoverySearchFilter> T searchFilter(T searchFilter, String indexFieldName,
+                                                             String... metadataFields) throws Exception {
+        searchFilter.setIndexFieldName(indexFieldName);
+        searchFilter.setMetadataFields(Arrays.asList(metadataFields));
+        searchFilter.setType(DiscoveryConfigurationParameters.TYPE_TEXT);
+        return searchFilter;
+    }
+
+    private DiscoverySortConfiguration sortConfiguration(String metadataField, String type) {
+        DiscoverySortFieldConfiguration sortField = new DiscoverySortFieldConfiguration();
+        sortField.setMetadataField(metadataField);
+        sortField.setType(type);
+        DiscoverySortConfiguration sortConfiguration = new DiscoverySortConfiguration();
+        List<DiscoverySortFieldConfiguration> sortFields = Collections.singletonList(sortField);
+        sortConfiguration.setSortFields(sortFields);
+        return sortConfiguration;
+    }
+
+    private MetadataField metadataField(String schema, String element, String qualifier) {
+        MetadataSchema metadataSchema = mock(MetadataSchema.class);
+        when(metadataSchema.getName()).thenReturn(schema);
+        MetadataField metadataField = mock(MetadataField.class);
+        when(metadataField.getMetadataSchema()).thenReturn(metadataSchema);
+        when(metadataField.getElement()).thenReturn(element);
+        when(metadataField.getQualifier()).thenReturn(qualifier);
+        return metadataField;
+    }
+}
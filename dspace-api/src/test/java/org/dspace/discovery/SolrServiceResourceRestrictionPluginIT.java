@@ -0,0 +1,131 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+
+import org.apache.solr.client.solrj.SolrQuery;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.authorize.ResourcePolicy;
+import org.dspace.authorize.factory.AuthorizeServiceFactory;
+import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.authorize.service.ResourcePolicyService;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.EPersonBuilder;
+import org.dspace.builder.GroupBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Community;
+import org.dspace.core.Constants;
+import org.dspace.eperson.EPerson;
+import org.dspace.eperson.Group;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the cached read filter of the {@link SolrServiceResourceRestrictionPlugin}, which must reflect the
+ * changes of the policies of the communities and collections as soon as they are committed
+ */
+public class SolrServiceResourceRestrictionPluginIT extends AbstractIntegrationTestWithDatabase {
+
+    private final AuthorizeService authorizeService = AuthorizeServiceFactory.getInstance().getAuthorizeService();
+
+    private final ResourcePolicyService resourcePolicyService =
+        AuthorizeServiceFactory.getInstance().getResourcePolicyService();
+
+    private SolrServiceResourceRestrictionPlugin plugin;
+
+    private Community community;
+
+    private Collection collection;
+
+    private EPerson user;
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        plugin = DSpaceServicesFactory.getInstance().getServiceManager()
+                                      .getServicesByType(SolrServiceResourceRestrictionPlugin.class).get(0);
+        context.turnOffAuthorisationSystem();
+        community = CommunityBuilder.createCommunity(context).withName("Community").build();
+        collection = CollectionBuilder.createCollection(context, community).withName("Collection").build();
+        user = EPersonBuilder.createEPerson(context).withEmail("user@example.com").build();
+        context.restoreAuthSystemState();
+        context.commit();
+    }
+
+    @Test
+    public void testAdminPolicyGrantedAndRevoked() throws Exception {
+        context.setCurrentUser(user);
+        assertThat(getReadFilter(), not(containsString("l" + collection.getID())));
+
+        context.turnOffAuthorisationSystem();
+        authorizeService.addPolicy(context, collection, Constants.ADMIN, user);
+        context.restoreAuthSystemState();
+        context.commit();
+        assertThat(getReadFilter(), containsString("l" + collection.getID()));
+
+        context.turnOffAuthorisationSystem();
+        resourcePolicyService.removeDsoEPersonPolicies(context, collection, user);
+        context.restoreAuthSystemState();
+        context.commit();
+        assertThat(getReadFilter(), not(containsString("l" + collection.getID())));
+    }
+
+    @Test
+    public void testAdminPolicyOfGroupGrantedAndRevoked() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Group group = GroupBuilder.createGroup(context).withName("Administrators").addMember(user).build();
+        context.restoreAuthSystemState();
+        context.commit();
+        context.setCurrentUser(user);
+        assertThat(getReadFilter(), not(containsString("m" + community.getID())));
+
+        context.turnOffAuthorisationSystem();
+        authorizeService.addPolicy(context, community, Constants.ADMIN, group);
+        context.restoreAuthSystemState();
+        context.commit();
+        assertThat(getReadFilter(), containsString("m" + community.getID()));
+        assertThat(getReadFilter(), containsString("l" + collection.getID()));
+
+        context.turnOffAuthorisationSystem();
+        authorizeService.removeGroupPolicies(context, community, group);
+        context.restoreAuthSystemState();
+        context.commit();
+        assertThat(getReadFilter(), not(containsString("m" + community.getID())));
+    }
+
+    @Test
+    public void testPolicyChangedToAdmin() throws Exception {
+        context.turnOffAuthorisationSystem();
+        ResourcePolicy policy = authorizeService.createResourcePolicy(context, collection, null, user,
+                                                                      Constants.READ, null);
+        context.restoreAuthSystemState();
+        context.commit();
+        context.setCurrentUser(user);
+        assertThat(getReadFilter(), not(containsString("l" + collection.getID())));
+
+        context.turnOffAuthorisationSystem();
+        policy = context.reloadEntity(policy);
+        policy.setAction(Constants.ADMIN);
+        resourcePolicyService.update(context, policy);
+        context.restoreAuthSystemState();
+        context.commit();
+        assertThat(getReadFilter(), containsString("l" + collection.getID()));
+    }
+
+    private String getReadFilter() {
+        SolrQuery solrQuery = new SolrQuery();
+        plugin.additionalSearchParameters(context, new DiscoverQuery(), solrQuery);
+        return String.join(" ", solrQuery.getFilterQueries());
+    }
+}
@@ -0,0 +1,190 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.harvest;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.ItemService;
+import org.dspace.harvest.factory.HarvestServiceFactory;
+import org.dspace.harvest.service.HarvestedCollectionService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockserver.client.MockServerClient;
+import org.mockserver.junit.MockServerRule;
+import org.mockserver.model.MediaType;
+
+/**
+ * Integration tests for the {@link OAIHarvester}, harvesting from a mock OAI-PMH server
+ */
+public class OAIHarvesterIT extends AbstractIntegrationTestWithDatabase {
+
+    private static final String OAI_PATH = "/oai/request";
+
+    private static final String[] HARVESTER_PROPERTIES = {
+        "oai.harvester.ingestThreads", "oai.harvester.batchSize", "oai.harvester.prefetchPages"
+    };
+
+    @Rule
+    public MockServerRule mockServerRule = new MockServerRule(this);
+
+    private MockServerClient mockServerClient;
+
+    private final ItemService itemService = ContentServiceFactory.getInstance().getItemService();
+    private final HarvestedCollectionService harvestedCollectionService =
+        HarvestServiceFactory.getInstance().getHarvestedCollectionService();
+    private final ConfigurationService configurationService =
+        DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private Collection collection;
+
+    private final Map<String, Object> originalProperties = new HashMap<>();
+
+    @Before
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        for (String property : HARVESTER_PROPERTIES) {
+            originalProperties.put(property, configurationService.getPropertyValue(property));
+        }
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        collection = CollectionBuilder.createCollection(context, parentCommunity).withName("Harvested").build();
+        HarvestedCollection harvestedCollection = harvestedCollectionService.create(context, collection);
+        harvestedCollection.setHarvestParams(HarvestedCollection.TYPE_DMD,
+                                             "http://localhost:" + mockServerRule.getPort() + OAI_PATH, "all", "dc");
+        harvestedCollection.setHarvestStatus(HarvestedCollection.STATUS_READY);
+        harvestedCollectionService.update(context, harvestedCollection);
+        context.restoreAuthSystemState();
+
+        mockOaiResponse("Identify", null, identify());
+        mockOaiResponse("ListMetadataFormats", null, listMetadataFormats());
+        // the page requested by resumption token has to be matched before the first page
+        mockOaiResponse("ListRecords", "page2", listRecords(
+            record("oai:test:4", "2020-01-01T00:00:00Z", "Record 4")
+                + record("oai:test:1", "2099-01-01T00:00:00Z", "Record 1 updated"), null));
+        mockOaiResponse("ListRecords", null, listRecords(
+            record("oai:test:1", "2020-01-01T00:00:00Z", "Record 1")
+                + record("oai:test:2", "2020-01-01T00:00:00Z", "Record 2")
+                + record("oai:test:3", "2020-01-01T00:00:00Z", "Record 3"), "page2"));
+    }
+
+    @After
+    public void tearDown() {
+        originalProperties.forEach(configurationService::setProperty);
+    }
+
+    @Test
+    public void testRunHarvest() throws Exception {
+        harvest();
+
+        assertEquals(List.of("Record 1 updated", "Record 2", "Record 3", "Record 4"), getHarvestedTitles());
+        assertEquals(HarvestedCollection.STATUS_READY,
+                     harvestedCollectionService.find(context, collection).getHarvestStatus());
+    }
+
+    @Test
+    public void testRunHarvestWithIngestThreads() throws Exception {
+        configurationService.setProperty("oai.harvester.ingestThreads", 3);
+        configurationService.setProperty("oai.harvester.batchSize", 2);
+        configurationService.setProperty("oai.harvester.prefetchPages", 2);
+
+        harvest();
+
+        // the update of the first record is ingested after its creation, by the same worker
+        assertEquals(List.of("Record 1 updated", "Record 2", "Record 3", "Record 4"), getHarvestedTitles());
+        assertEquals(HarvestedCollection.STATUS_READY,
+                     harvestedCollectionService.find(context, collection).getHarvestStatus());
+    }
+
+    private void harvest() throws Exception {
+        collection = context.reloadEntity(collection);
+        HarvestedCollection harvestedCollection = harvestedCollectionService.find(context, collection);
+        new OAIHarvester(context, collection, harvestedCollection).runHarvest();
+    }
+
+    private List<String> getHarvestedTitles() throws Exception {
+        collection = context.reloadEntity(collection);
+        List<String> titles = new ArrayList<>();
+        Iterator<Item> items = itemService.findAllByCollection(context, collection);
+        while (items.hasNext()) {
+            titles.add(itemService.getMetadataFirstValue(items.next(), "dc", "title", null, Item.ANY));
+        }
+        Collections.sort(titles);
+        return titles;
+    }
+
+    private void mockOaiResponse(String verb, String resumptionToken, String body) {
+        org.mockserver.model.HttpRequest request = request().withPath(OAI_PATH)
+                                                            .withQueryStringParameter("verb", verb);
+        if (resumptionToken != null) {
+            request = request.withQueryStringParameter("resumptionToken", resumptionToken);
+        }
+        mockServerClient.when(request)
+                        .respond(response().withStatusCode(200)
+                                           .withContentType(MediaType.TEXT_XML_UTF_8)
+                                           .withBody(body));
+    }
+
+    private String oaiResponse(String content) {
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+            + "<OAI-PMH xmlns=\"http://www.openarchives.org/OAI/2.0/\""
+            + " xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\""
+            + " xsi:schemaLocation=\"http://www.openarchives.org/OAI/2.0/"
+            + " http://www.openarchives.org/OAI/2.0/OAI-PMH.xsd\">"
+            + "<responseDate>2020-01-01T00:00:00Z</responseDate>"
+            + "<request>http://localhost" + OAI_PATH + "</request>"
+            + content
+            + "</OAI-PMH>";
+    }
+
+    private String identify() {
+        return oaiResponse("<Identify><repositoryName>Mock</repositoryName>"
+                               + "<granularity>YYYY-MM-DDThh:mm:ssZ</granularity></Identify>");
+    }
+
+    private String listMetadataFormats() {
+        return oaiResponse("<ListMetadataFormats><metadataFormat><metadataPrefix>oai_dc</metadataPrefix>"
+                               + "<metadataNamespace>http://www.openarchives.org/OAI/2.0/oai_dc/</metadataNamespace>"
+                               + "</metadataFormat></ListMetadataFormats>");
+    }
+
+    private String listRecords(String records, String resumptionToken) {
+        return oaiResponse("<ListRecords>" + records
+                               + (resumptionToken != null
+                                   ? "<resumptionToken completeListSize=\"5\">" + resumptionToken + "</resumptionToken>"
+                                   : "<resumptionToken completeListSize=\"5\"/>")
+                               + "</ListRecords>");
+    }
+
+    private String record(String identifier, String datestamp, String title) {
+        return "<record><header><identifier>" + identifier + "</identifier>"
+            + "<datestamp>" + datestamp + "</datestamp></header>"
+            + "<metadata><oai_dc:dc xmlns:oai_dc=\"http://www.openarchives.org/OAI/2.0/oai_dc/\""
+            + " xmlns:dc=\"http://purl.org/dc/elements/1.1/\"><dc:title>" + title + "</dc:title></oai_dc:dc>"
+            + "</metadata></record>";
+    }
+}
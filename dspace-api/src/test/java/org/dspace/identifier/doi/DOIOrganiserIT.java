@@ -0,0 +1,102 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.identifier.doi;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.core.Context;
+import org.dspace.identifier.DOI;
+import org.dspace.identifier.dao.DOIDAO;
+import org.dspace.identifier.factory.IdentifierServiceFactory;
+import org.dspace.identifier.service.DOIService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests of the processing of the queued DOIs by the {@link DOIOrganiser}
+ */
+public class DOIOrganiserIT extends AbstractIntegrationTestWithDatabase {
+
+    private static final Integer TO_BE_REGISTERED = 1;
+
+    private static final Integer IS_REGISTERED = 3;
+
+    private final DOIService doiService = IdentifierServiceFactory.getInstance().getDOIService();
+
+    private final ConfigurationService configurationService =
+        DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private final List<String> dois = new ArrayList<>();
+
+    @Before
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        configurationService.setProperty("identifier.doi.organiser.batch-size", 3);
+        for (int i = 0; i < 20; i++) {
+            DOI doi = doiService.create(context);
+            doi.setDoi("10.5072/dspace-organiser-" + i);
+            doi.setStatus(TO_BE_REGISTERED);
+            doiService.update(context, doi);
+            dois.add(doi.getDoi());
+        }
+        context.commit();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        configurationService.setProperty("identifier.doi.organiser.batch-size", null);
+        DOIDAO doiDAO = DSpaceServicesFactory.getInstance().getServiceManager()
+                                             .getServicesByType(DOIDAO.class).get(0);
+        for (String doi : dois) {
+            DOI doiRow = doiService.findByDoi(context, doi);
+            if (doiRow != null) {
+                doiDAO.delete(context, doiRow);
+            }
+        }
+        context.commit();
+    }
+
+    @Test
+    public void testProcessAllWithSeveralThreads() throws Exception {
+        List<DOI> queued = new ArrayList<>();
+        for (String doi : dois) {
+            queued.add(doiService.findByDoi(context, doi));
+        }
+        Map<String, Integer> processed = new ConcurrentHashMap<>();
+
+        // the operation doesn't send anything to the registration agency, so no provider is needed
+        DOIOrganiser organiser = new DOIOrganiser(context, null);
+        organiser.setThreads(4);
+        organiser.processAll(queued, (worker, doi) -> {
+            processed.merge(doi.getDoi(), 1, Integer::sum);
+            doi.setStatus(IS_REGISTERED);
+        });
+
+        // the status of each DOI is committed by the worker which processed it, once
+        assertEquals(dois.size(), processed.size());
+        Context readContext = new Context(Context.Mode.READ_ONLY);
+        try {
+            for (String doi : dois) {
+                assertEquals(Integer.valueOf(1), processed.get(doi));
+                assertEquals(IS_REGISTERED, doiService.findByDoi(readContext, doi).getStatus());
+            }
+        } finally {
+            readContext.abort();
+        }
+    }
+}
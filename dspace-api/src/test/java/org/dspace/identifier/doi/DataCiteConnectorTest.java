@@ -0,0 +1,121 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.identifier.doi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.dspace.AbstractHttpConnectionPoolTest;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockserver.client.MockServerClient;
+import org.mockserver.junit.MockServerRule;
+import org.mockserver.matchers.Times;
+import org.mockserver.verify.VerificationTimes;
+
+/**
+ * Tests of the requests sent by the {@link DataCiteConnector} to a local mock DataCite server
+ */
+public class DataCiteConnectorTest extends AbstractHttpConnectionPoolTest {
+
+    private static final String DOI = "doi:10.5072/dspace-1";
+
+    private final ConfigurationService configurationService =
+        DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    @Rule
+    public MockServerRule mockServerRule = new MockServerRule(this);
+
+    private MockServerClient mockServerClient;
+
+    private DataCiteConnector connector;
+
+    @Before
+    public void setUp() {
+        configurationService.setProperty("identifier.doi.user", "username");
+        configurationService.setProperty("identifier.doi.password", "password");
+        configurationService.setProperty("identifier.doi.retry-delay", 1);
+
+        connector = new DataCiteConnector();
+        connector.setConfigurationService(configurationService);
+        connector.setDATACITE_SCHEME("http");
+        connector.setDATACITE_HOST("localhost");
+        connector.setDATACITE_PORT(mockServerClient.getPort());
+        connector.setDATACITE_DOI_PATH("/doi/");
+        connector.setDATACITE_METADATA_PATH("/metadata/");
+    }
+
+    @After
+    public void tearDown() {
+        configurationService.setProperty("identifier.doi.retry-delay", null);
+        configurationService.setProperty("identifier.doi.max-retries", null);
+        configurationService.setProperty("identifier.doi.requests-per-second", null);
+    }
+
+    @Test
+    public void testRetryTooManyRequests() throws Exception {
+        mockServerClient.when(request().withMethod("POST").withPath("/doi/"), Times.once())
+                        .respond(response().withStatusCode(429).withHeader("Retry-After", "0"));
+        mockServerClient.when(request().withMethod("POST").withPath("/doi/"))
+                        .respond(response().withStatusCode(201).withBody("OK"));
+
+        DataCiteConnector.DataCiteResponse resp = connector.sendDOIPostRequest(DOI, "http://localhost/handle/1");
+
+        assertEquals(201, resp.getStatusCode());
+        mockServerClient.verify(request().withPath("/doi/"), VerificationTimes.exactly(2));
+    }
+
+    @Test
+    public void testRetriesExhausted() throws Exception {
+        configurationService.setProperty("identifier.doi.max-retries", 2);
+        mockServerClient.when(request().withPath("/doi/10.5072/dspace-1"))
+                        .respond(response().withStatusCode(503));
+
+        DataCiteConnector.DataCiteResponse resp = connector.sendDOIGetRequest(DOI);
+
+        assertEquals(503, resp.getStatusCode());
+        mockServerClient.verify(request().withPath("/doi/10.5072/dspace-1"), VerificationTimes.exactly(3));
+    }
+
+    @Test
+    public void testConcurrentRequestsRateLimited() throws Exception {
+        configurationService.setProperty("identifier.doi.requests-per-second", 10);
+        connector.setHttpConnectionPoolService(createHttpConnectionPool("identifier.doi"));
+        mockServerClient.when(request().withPath("/doi/10.5072/dspace-1"))
+                        .respond(response().withStatusCode(200).withBody("http://localhost/handle/1"));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            long start = System.currentTimeMillis();
+            List<Future<DataCiteConnector.DataCiteResponse>> responses = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                responses.add(executor.submit(() -> connector.sendDOIGetRequest(DOI)));
+            }
+            for (Future<DataCiteConnector.DataCiteResponse> resp : responses) {
+                assertEquals(200, resp.get().getStatusCode());
+            }
+            // the first request is sent at once, the next ones every 100 ms
+            assertTrue(System.currentTimeMillis() - start >= 450);
+        } finally {
+            executor.shutdownNow();
+        }
+        mockServerClient.verify(request().withPath("/doi/10.5072/dspace-1"), VerificationTimes.exactly(6));
+    }
+}
@@ -0,0 +1,105 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.iiif;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.dspace.content.Bitstream;
+import org.dspace.services.ConfigurationService;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Test class for the concurrent lookups of the {@link IIIFApiQueryServiceImpl}
+ */
+public class IIIFApiQueryServiceImplTest {
+
+    private static final int THREADS = 3;
+
+    // Released once THREADS lookups run at the same time.
+    private CountDownLatch concurrentLookups;
+
+    private Bitstream failing;
+
+    private Bitstream unknown;
+
+    private IIIFApiQueryServiceImpl queryService;
+
+    @Before
+    public void setUp() throws Exception {
+        concurrentLookups = new CountDownLatch(THREADS);
+        failing = bitstream();
+        unknown = bitstream();
+        queryService = new IIIFApiQueryServiceImpl() {
+            @Override
+            public int[] getImageDimensions(Bitstream bitstream) {
+                concurrentLookups.countDown();
+                try {
+                    if (!concurrentLookups.await(10, TimeUnit.SECONDS)) {
+                        throw new IllegalStateException("The images were not looked up concurrently");
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (bitstream == failing) {
+                    throw new IllegalStateException("Image server error");
+                }
+                return bitstream == unknown ? null : new int[] {100, 50};
+            }
+        };
+        ConfigurationService configurationService = mock(ConfigurationService.class);
+        when(configurationService.getIntProperty(eq("iiif.image.server.lookup-threads"), anyInt()))
+            .thenReturn(THREADS);
+        ReflectionTestUtils.setField(queryService, "configurationService", configurationService);
+    }
+
+    @Test
+    public void testConcurrentLookups() {
+        List<Bitstream> bitstreams = new ArrayList<>();
+        for (int i = 0; i < THREADS * 2; i++) {
+            bitstreams.add(bitstream());
+        }
+        Map<UUID, int[]> dimensions = queryService.getImageDimensions(bitstreams);
+        assertEquals(bitstreams.size(), dimensions.size());
+        for (Bitstream bitstream : bitstreams) {
+            assertArrayEquals(new int[] {100, 50}, dimensions.get(bitstream.getID()));
+        }
+    }
+
+    @Test
+    public void testFailedLookups() {
+        Bitstream image = bitstream();
+        Map<UUID, int[]> dimensions = queryService.getImageDimensions(List.of(image, failing, unknown));
+        assertEquals(1, dimensions.size());
+        assertTrue(dimensions.containsKey(image.getID()));
+        assertFalse(dimensions.containsKey(failing.getID()));
+        assertFalse(dimensions.containsKey(unknown.getID()));
+    }
+
+    private Bitstream bitstream() {
+        Bitstream bitstream = mock(Bitstream.class);
+        UUID id = UUID.randomUUID();
+        when(bitstream.getID()).thenReturn(id);
+        return bitstream;
+    }
+}
@@ -7,12 +7,16 @@
  */
 package org.dspace.iiif.canvasdimension;
 
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.regex.Pattern;
 
 import org.apache.commons.lang.StringUtils;
@@ -580,21 +584,83 @@ public class CanvasDimensionsIT extends AbstractIntegrationTestWithDatabase  {
 
     }
 
+    @Test
+    public void processCollectionResumeFromCheckpoint() throws Exception {
+        context.turnOffAuthorisationSystem();
+        iiifItem = ItemBuilder.createItem(context, col1)
+                              .withTitle("Test Item")
+                              .withIssueDate("2017-10-17")
+                              .enableIIIF()
+                              .build();
+        iiifItem2 = ItemBuilder.createItem(context, col1)
+                               .withTitle("Test Item2")
+                               .withIssueDate("2017-10-17")
+                               .enableIIIF()
+                               .build();
+
+        // Add jpeg image bitstreams (300 x 200)
+        InputStream input = this.getClass().getResourceAsStream("cat.jpg");
+        bitstream = BitstreamBuilder
+            .createBitstream(context, iiifItem, input)
+            .withName("Bitstream1.jpg")
+            .withMimeType("image/jpeg")
+            .build();
+        input = this.getClass().getResourceAsStream("cat.jpg");
+        bitstream2 = BitstreamBuilder
+            .createBitstream(context, iiifItem2, input)
+            .withName("Bitstream2.jpg")
+            .withMimeType("image/jpeg")
+            .build();
+        context.restoreAuthSystemState();
+
+        // The first item was completed by an interrupted run
+        Path checkpoint = Files.createTempFile("canvas-dimensions", ".checkpoint");
+        Files.write(checkpoint, List.of(iiifItem.getID().toString()));
+
+        runCanvasScript("-e", "admin@email.com", "-i", col1.getID().toString(), "-c", checkpoint.toString());
+
+        assertTrue(bitstream.getMetadata().stream()
+                            .noneMatch(m -> m.getMetadataField().toString('.').contentEquals(METADATA_IIIF_WIDTH)));
+        assertTrue(bitstream2.getMetadata().stream()
+                             .filter(m -> m.getMetadataField().toString('.').contentEquals(METADATA_IIIF_WIDTH))
+                             .anyMatch(m -> m.getValue().contentEquals("600")));
+        // The checkpoint is deleted once the run completes
+        assertFalse(Files.exists(checkpoint));
+    }
+
     private void execCanvasScript(String id) throws Exception {
-        runDSpaceScript("iiif-canvas-dimensions", "-e", "admin@email.com", "-i", id);
+        runCanvasScript("-e", "admin@email.com", "-i", id);
     }
 
     private void execCanvasScriptForceOption(String id) throws Exception {
-        runDSpaceScript("iiif-canvas-dimensions", "-e", "admin@email.com", "-i", id, "-f");
+        runCanvasScript("-e", "admin@email.com", "-i", id, "-f");
     }
 
     private void execCanvasScriptWithMaxRecs(String id) throws Exception {
         // maximum 2
-        runDSpaceScript("iiif-canvas-dimensions", "-e", "admin@email.com", "-i",  id, "-m", "2", "-f", "-q");
+        runCanvasScript("-e", "admin@email.com", "-i",  id, "-m", "2", "-f", "-q");
     }
 
     private void execCanvasScriptWithSkipList(String id, String skip) throws Exception {
-        runDSpaceScript("iiif-canvas-dimensions", "-e", "admin@email.com", "-i", id, "-s", skip, "-f");
+        runCanvasScript("-e", "admin@email.com", "-i", id, "-s", skip, "-f");
+    }
+
+    /**
+     * Runs the script and reloads the test bitstreams, as the items of communities and collections are
+     * updated by worker threads, each in its own database session.
+     */
+    private void runCanvasScript(String... args) throws Exception {
+        context.commit();
+        String[] command = new String[args.length + 1];
+        command[0] = "iiif-canvas-dimensions";
+        System.arraycopy(args, 0, command, 1, args.length);
+        runDSpaceScript(command);
+        if (bitstream != null) {
+            bitstream = context.reloadEntity(bitstream);
+        }
+        if (bitstream2 != null) {
+            bitstream2 = context.reloadEntity(bitstream2);
+        }
     }
 
 }
@@ -0,0 +1,64 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.iiif.canvasdimension;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNull;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import javax.imageio.ImageIO;
+
+import org.junit.Test;
+
+/**
+ * Test class for the {@link ImageDimensionReader}
+ */
+public class ImageDimensionReaderTest {
+
+    // The PNG signature and the IHDR chunk, holding the dimensions of the image.
+    private static final int PNG_HEADER_LENGTH = 33;
+
+    @Test
+    public void testImageDimensions() throws Exception {
+        assertArrayEquals(new int[] {80, 60},
+                          ImageDimensionReader.getImageDimensions(new ByteArrayInputStream(image(40, 30, "png"))));
+        assertArrayEquals(new int[] {80, 60},
+                          ImageDimensionReader.getImageDimensions(new ByteArrayInputStream(image(40, 30, "jpg"))));
+    }
+
+    @Test
+    public void testImageDimensionsReadFromHeader() throws Exception {
+        byte[] header = Arrays.copyOf(image(1600, 1200, "png"), PNG_HEADER_LENGTH);
+        assertArrayEquals(new int[] {1600, 1200},
+                          ImageDimensionReader.getImageDimensions(new ByteArrayInputStream(header)));
+    }
+
+    @Test(expected = IOException.class)
+    public void testTruncatedHeader() throws Exception {
+        byte[] truncated = Arrays.copyOf(image(40, 30, "png"), 20);
+        ImageDimensionReader.getImageDimensions(new ByteArrayInputStream(truncated));
+    }
+
+    @Test
+    public void testUnsupportedFormat() throws Exception {
+        assertNull(ImageDimensionReader.getImageDimensions(
+            new ByteArrayInputStream("not an image".getBytes(StandardCharsets.UTF_8))));
+        assertNull(ImageDimensionReader.getImageDimensions(new ByteArrayInputStream(new byte[0])));
+    }
+
+    private byte[] image(int width, int height, String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), format, out);
+        return out.toByteArray();
+    }
+}
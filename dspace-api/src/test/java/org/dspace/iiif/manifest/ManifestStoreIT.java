@@ -0,0 +1,107 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.iiif.manifest;
+
+import static org.dspace.iiif.manifest.ManifestStoreTest.waitForManifest;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.sql.SQLException;
+import java.util.UUID;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.ItemService;
+import org.dspace.core.Context;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests of the {@link ManifestStore}, rendering the manifests in the background from the items read
+ * from the database
+ */
+public class ManifestStoreIT extends AbstractIntegrationTestWithDatabase {
+
+    private final ItemService itemService = ContentServiceFactory.getInstance().getItemService();
+
+    private ManifestStore manifestStore;
+
+    private Item item;
+
+    @Before
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        manifestStore = DSpaceServicesFactory.getInstance().getServiceManager()
+                                             .getServiceByName(ManifestStore.class.getName(), ManifestStore.class);
+        manifestStore.setRenderer(this::render);
+
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).withName("Parent Community").build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        item = ItemBuilder.createItem(context, collection).withTitle("Original").build();
+        context.restoreAuthSystemState();
+        context.commit();
+        assertEquals("{\"label\":\"Original\"}", waitForManifest(manifestStore, item.getID()).getManifest());
+        item = context.reloadEntity(item);
+    }
+
+    @After
+    public void tearDown() {
+        manifestStore.setRenderer(null);
+        manifestStore.clear();
+    }
+
+    @Test
+    public void testManifestRenderedOnceCommitted() throws Exception {
+        context.turnOffAuthorisationSystem();
+        itemService.clearMetadata(context, item, "dc", "title", null, Item.ANY);
+        itemService.addMetadata(context, item, "dc", "title", null, null, "Modified");
+        itemService.update(context, item);
+        context.restoreAuthSystemState();
+
+        // the events are dispatched before the changes are committed, which the background thread can't read yet
+        context.dispatchEvents();
+        Thread.sleep(500);
+        assertNull(manifestStore.get(item.getID()));
+        assertEquals(0, manifestStore.getPendingItems());
+
+        context.commit();
+        assertEquals("{\"label\":\"Modified\"}", waitForManifest(manifestStore, item.getID()).getManifest());
+    }
+
+    @Test
+    public void testManifestRenderedFromOriginalOnRollback() throws Exception {
+        context.turnOffAuthorisationSystem();
+        itemService.clearMetadata(context, item, "dc", "title", null, Item.ANY);
+        itemService.addMetadata(context, item, "dc", "title", null, null, "Modified");
+        itemService.update(context, item);
+        context.restoreAuthSystemState();
+        context.dispatchEvents();
+        context.rollback();
+
+        // the manifest invalidated by the events is rendered again from the unmodified item
+        assertEquals("{\"label\":\"Original\"}", waitForManifest(manifestStore, item.getID()).getManifest());
+    }
+
+    private String render(Context renderContext, UUID id) {
+        try {
+            Item renderedItem = itemService.find(renderContext, id);
+            return renderedItem != null ? "{\"label\":\"" + renderedItem.getName() + "\"}" : null;
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
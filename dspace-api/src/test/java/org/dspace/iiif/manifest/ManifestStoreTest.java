@@ -0,0 +1,218 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.iiif.manifest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import org.dspace.AbstractUnitTest;
+import org.dspace.cache.CacheInvalidation;
+import org.dspace.cache.CacheInvalidationServiceImpl;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Tests of the {@link ManifestStore}, storing the manifests in a temporary directory
+ */
+public class ManifestStoreTest extends AbstractUnitTest {
+
+    private final ConfigurationService configurationService =
+        DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private CacheManager cacheManager;
+
+    private CacheInvalidationServiceImpl cacheInvalidationService;
+
+    private ManifestStore manifestStore;
+
+    @Before
+    public void setUp() {
+        configurationService.setProperty("iiif.manifest.store.dir", folder.getRoot().getAbsolutePath());
+        AutowireCapableBeanFactory beanFactory = DSpaceServicesFactory.getInstance().getServiceManager()
+                                                                      .getApplicationContext()
+                                                                      .getAutowireCapableBeanFactory();
+        cacheManager = beanFactory.getBean(CacheManager.class);
+        cacheInvalidationService = beanFactory.getBean(CacheInvalidationServiceImpl.class);
+        cacheManager.getCache(ManifestStore.CACHE_NAME).clear();
+        manifestStore = createManifestStore();
+    }
+
+    @After
+    public void tearDown() {
+        manifestStore.destroy();
+        cacheManager.getCache(ManifestStore.CACHE_NAME).clear();
+        configurationService.setProperty("iiif.manifest.store.dir", null);
+        configurationService.setProperty("iiif.manifest.store.max-size", null);
+    }
+
+    @Test
+    public void testManifestPersisted() {
+        UUID id = UUID.randomUUID();
+        assertNull(manifestStore.get(id));
+
+        StoredManifest stored = manifestStore.put(id, "{\"label\":\"test\"}", manifestStore.getVersion(id));
+        assertTrue(Files.exists(getFile(id)));
+
+        // the manifest is read again from the disk once it is evicted from the cache
+        cacheManager.getCache(ManifestStore.CACHE_NAME).clear();
+        StoredManifest manifest = manifestStore.get(id);
+        assertEquals("{\"label\":\"test\"}", manifest.getManifest());
+        assertEquals(stored.getETag(), manifest.getETag());
+        assertEquals(stored.getLastModified(), manifest.getLastModified());
+        assertEquals(1, manifestStore.getHits());
+        assertEquals(1, manifestStore.getMisses());
+
+        manifestStore.remove(id);
+        assertNull(manifestStore.get(id));
+        assertFalse(Files.exists(getFile(id)));
+    }
+
+    @Test
+    public void testManifestRenderedBeforeInvalidationNotStored() {
+        UUID id = UUID.randomUUID();
+        long version = manifestStore.getVersion(id);
+        manifestStore.remove(id);
+
+        StoredManifest manifest = manifestStore.put(id, "{\"label\":\"outdated\"}", version);
+        assertEquals("{\"label\":\"outdated\"}", manifest.getManifest());
+        assertNull(manifestStore.get(id));
+
+        manifestStore.put(id, "{\"label\":\"current\"}", manifestStore.getVersion(id));
+        manifestStore.clear();
+        assertNull(manifestStore.get(id));
+        assertFalse(Files.exists(getFile(id)));
+    }
+
+    @Test
+    public void testStoreSizeBounded() {
+        configurationService.setProperty("iiif.manifest.store.max-size", 0);
+        UUID id = UUID.randomUUID();
+        manifestStore.put(id, "{\"label\":\"test\"}", manifestStore.getVersion(id));
+        assertFalse(Files.exists(getFile(id)));
+    }
+
+    @Test
+    public void testManifestRegeneratedInBackground() throws Exception {
+        UUID id = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        manifestStore.setRenderer((context, uuid) -> uuid.equals(id) ? "{\"label\":\"rendered\"}" : null);
+
+        manifestStore.regenerate(List.of(missing, id));
+
+        assertEquals("{\"label\":\"rendered\"}", waitForManifest(manifestStore, id).getManifest());
+        assertEquals(1, manifestStore.getRenderedManifests());
+        assertEquals(0, manifestStore.getPendingItems());
+        assertNull(manifestStore.get(missing));
+    }
+
+    @Test
+    public void testManifestInvalidatedByAnotherNode() {
+        UUID id = UUID.randomUUID();
+        manifestStore.put(id, "{\"label\":\"test\"}", manifestStore.getVersion(id));
+        long version = manifestStore.getVersion(id);
+
+        cacheInvalidationService.invalidate(new CacheInvalidation("node", CacheInvalidation.Type.CACHE,
+                                                                  "canvasdimensions", id.toString()));
+        assertNotNull(manifestStore.get(id));
+
+        cacheInvalidationService.invalidate(new CacheInvalidation("node", CacheInvalidation.Type.CACHE,
+                                                                  ManifestStore.CACHE_NAME, id.toString()));
+        assertNull(manifestStore.get(id));
+        assertFalse(Files.exists(getFile(id)));
+        assertTrue(manifestStore.getVersion(id) > version);
+    }
+
+    @Test
+    public void testDestroyedStoreNotInvalidated() {
+        UUID id = UUID.randomUUID();
+        manifestStore.put(id, "{\"label\":\"test\"}", manifestStore.getVersion(id));
+        manifestStore.destroy();
+
+        cacheInvalidationService.invalidate(new CacheInvalidation("node", CacheInvalidation.Type.CACHE,
+                                                                  ManifestStore.CACHE_NAME, id.toString()));
+        assertTrue(Files.exists(getFile(id)));
+    }
+
+    @Test
+    public void testManifestsRemovedWhenConfigurationChanges() throws Exception {
+        UUID id = UUID.randomUUID();
+        manifestStore.put(id, "{\"label\":\"test\"}", manifestStore.getVersion(id));
+        Path file = getFile(id);
+        Path other = folder.newFile("other.json").toPath();
+        manifestStore.destroy();
+
+        // the store of the same configuration is kept, or of another one that doesn't change the manifests
+        configurationService.setProperty("iiif.manifest.store.max-size", 10);
+        manifestStore = createManifestStore();
+        manifestStore.setRenderer((context, uuid) -> null);
+        assertNotNull(manifestStore.get(id));
+        manifestStore.destroy();
+
+        String imageServer = configurationService.getProperty("iiif.image.server");
+        try {
+            configurationService.setProperty("iiif.image.server", "http://images.example.com/iiif/2/");
+            // the command line tools don't register any renderer and leave the store untouched
+            manifestStore = createManifestStore();
+            assertTrue(Files.exists(file));
+
+            manifestStore.setRenderer((context, uuid) -> null);
+            assertNull(manifestStore.get(id));
+            assertFalse(Files.exists(file));
+            assertTrue(Files.exists(other));
+        } finally {
+            configurationService.setProperty("iiif.image.server", imageServer);
+        }
+    }
+
+    private ManifestStore createManifestStore() {
+        ManifestStore store = new ManifestStore();
+        DSpaceServicesFactory.getInstance().getServiceManager().getApplicationContext()
+                             .getAutowireCapableBeanFactory().autowireBean(store);
+        store.afterPropertiesSet();
+        return store;
+    }
+
+    private Path getFile(UUID id) {
+        return manifestStore.getFile(id);
+    }
+
+    /**
+     * Wait for the manifest of an item to be rendered in the background
+     *
+     * @param store the store of the manifest
+     * @param id    the UUID of the item
+     * @return the stored manifest
+     */
+    static StoredManifest waitForManifest(ManifestStore store, UUID id) throws InterruptedException {
+        StoredManifest manifest = store.get(id);
+        for (int i = 0; i < 100 && manifest == null; i++) {
+            Thread.sleep(50);
+            manifest = store.get(id);
+        }
+        assertNotNull(manifest);
+        return manifest;
+    }
+}
@@ -0,0 +1,130 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.importer.external.liveimportclient.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+import org.dspace.AbstractHttpConnectionPoolTest;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockserver.client.MockServerClient;
+import org.mockserver.junit.MockServerRule;
+import org.mockserver.verify.VerificationTimes;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Tests of the requests sent by the {@link LiveImportClientImpl} to a local mock provider, through pooled
+ * connections and the cache of the responses
+ */
+public class LiveImportClientImplTest extends AbstractHttpConnectionPoolTest {
+
+    private final ConfigurationService configurationService =
+        DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    @Rule
+    public MockServerRule mockServerRule = new MockServerRule(this);
+
+    private MockServerClient mockServerClient;
+
+    private LiveImportClientImpl liveImportClient;
+
+    @Before
+    public void setUp() {
+        AutowireCapableBeanFactory beanFactory = DSpaceServicesFactory.getInstance().getServiceManager()
+                                                                      .getApplicationContext()
+                                                                      .getAutowireCapableBeanFactory();
+        beanFactory.getBean(CacheManager.class).getCache(LiveImportClientImpl.RESPONSE_CACHE).clear();
+
+        liveImportClient = new LiveImportClientImpl();
+        beanFactory.autowireBean(liveImportClient);
+        liveImportClient.setHttpConnectionPoolService(createHttpConnectionPool("liveimportclient"));
+    }
+
+    @After
+    public void tearDown() {
+        configurationService.setProperty("liveimportclient.cache.ttl", 0);
+        configurationService.setProperty("liveimportclient.cache.ttl.localhost", null);
+    }
+
+    @Test
+    public void testGetResponseCached() {
+        configurationService.setProperty("liveimportclient.cache.ttl", 60);
+        mockServerClient.when(request().withPath("/search"))
+                        .respond(response().withStatusCode(200).withBody("results"));
+
+        assertEquals("results", liveImportClient.executeHttpGetRequest(1000, getUrl(), getParams("test", "key")));
+        assertEquals("results", liveImportClient.executeHttpGetRequest(1000, getUrl(), getParams("test", "key")));
+        mockServerClient.verify(request().withPath("/search"), VerificationTimes.exactly(1));
+
+        // the parameters and the headers are part of the key of the response, and the pooled client is still open
+        assertEquals("results", liveImportClient.executeHttpGetRequest(1000, getUrl(), getParams("other", "key")));
+        assertEquals("results", liveImportClient.executeHttpGetRequest(1000, getUrl(), getParams("test", "other")));
+        mockServerClient.verify(request().withPath("/search"), VerificationTimes.exactly(3));
+
+        assertEquals(1, liveImportClient.getResponseCacheHits());
+        assertEquals(3, liveImportClient.getResponseCacheMisses());
+    }
+
+    @Test
+    public void testGetResponseCachedForHost() {
+        configurationService.setProperty("liveimportclient.cache.ttl.localhost", 60);
+        mockServerClient.when(request().withPath("/search"))
+                        .respond(response().withStatusCode(200).withBody("results"));
+
+        liveImportClient.executeHttpGetRequest(1000, getUrl(), getParams("test", "key"));
+        liveImportClient.executeHttpGetRequest(1000, getUrl(), getParams("test", "key"));
+        mockServerClient.verify(request().withPath("/search"), VerificationTimes.exactly(1));
+        assertEquals(1, liveImportClient.getResponseCacheHits());
+    }
+
+    @Test
+    public void testGetResponseNotCached() {
+        mockServerClient.when(request().withPath("/search"))
+                        .respond(response().withStatusCode(200).withBody("results"));
+
+        liveImportClient.executeHttpGetRequest(1000, getUrl(), getParams("test", "key"));
+        liveImportClient.executeHttpGetRequest(1000, getUrl(), getParams("test", "key"));
+        mockServerClient.verify(request().withPath("/search"), VerificationTimes.exactly(2));
+        assertEquals(0, liveImportClient.getResponseCacheHits() + liveImportClient.getResponseCacheMisses());
+    }
+
+    @Test
+    public void testFailedResponseNotCached() {
+        configurationService.setProperty("liveimportclient.cache.ttl", 60);
+        mockServerClient.when(request().withPath("/search"))
+                        .respond(response().withStatusCode(503));
+
+        assertEquals(StringUtils.EMPTY,
+                     liveImportClient.executeHttpGetRequest(1000, getUrl(), getParams("test", "key")));
+        assertEquals(StringUtils.EMPTY,
+                     liveImportClient.executeHttpGetRequest(1000, getUrl(), getParams("test", "key")));
+        mockServerClient.verify(request().withPath("/search"), VerificationTimes.exactly(2));
+    }
+
+    private String getUrl() {
+        return "http://localhost:" + mockServerClient.getPort() + "/search";
+    }
+
+    private Map<String, Map<String, String>> getParams(String query, String apiKey) {
+        Map<String, Map<String, String>> params = new HashMap<>();
+        params.put(LiveImportClientImpl.URI_PARAMETERS, Map.of("query", query));
+        params.put(LiveImportClientImpl.HEADER_PARAMETERS, Map.of("X-API-Key", apiKey));
+        return params;
+    }
+}
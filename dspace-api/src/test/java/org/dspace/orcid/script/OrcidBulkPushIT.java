@@ -26,6 +26,7 @@ import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -215,6 +216,59 @@ public class OrcidBulkPushIT extends AbstractIntegrationTestWithDatabase {
 
     }
 
+    @Test
+    public void testWithManyOrcidQueueRecordsInConcurrentBatches() throws Exception {
+
+        configurationService.setProperty("orcid.bulk-synchronization.threads", 2);
+        configurationService.setProperty("orcid.bulk-synchronization.batch-size", 2);
+
+        try {
+
+            Item firstProfileItem = createProfileItemItem("0000-1111-2222-3333", eperson, BATCH);
+            Item secondProfileItem = createProfileItemItem("1111-2222-3333-4444", admin, MANUAL);
+
+            Item firstEntity = createPublication("First publication");
+            Item secondEntity = createPublication("Second publication");
+            Item thirdEntity = createPublication("Third publication");
+            Item fourthEntity = createPublication("Fourth publication");
+            Item fifthEntity = createPublication("Fifth publication");
+
+            when(orcidClientMock.push(any(), eq("0000-1111-2222-3333"), any()))
+                .thenReturn(createdResponse("12345"));
+
+            createOrcidQueue(context, firstProfileItem, firstEntity);
+            createOrcidQueue(context, firstProfileItem, secondEntity);
+            createOrcidQueue(context, firstProfileItem, thirdEntity);
+            createOrcidQueue(context, firstProfileItem, fourthEntity);
+            createOrcidQueue(context, firstProfileItem, fifthEntity);
+            createOrcidQueue(context, secondProfileItem, firstEntity);
+
+            context.commit();
+
+            TestDSpaceRunnableHandler handler = runBulkSynchronization(false);
+
+            assertThat(handler.getInfoMessages(), hasSize(11));
+            assertThat(handler.getInfoMessages(), hasItem("Found 5 queue records to synchronize with ORCID"));
+            assertThat(handler.getErrorMessages(), empty());
+            assertThat(handler.getWarningMessages(), empty());
+
+            verify(orcidClientMock, times(5)).push(any(), eq("0000-1111-2222-3333"), any());
+
+            List<OrcidQueue> queueRecords = orcidQueueService.findAll(context);
+            assertThat(queueRecords, hasSize(1));
+            assertThat(queueRecords, hasItem(matches(secondProfileItem, firstEntity, "Publication", INSERT, 0)));
+
+            List<OrcidHistory> historyRecords = orcidHistoryService.findAll(context);
+            assertThat(historyRecords, hasSize(5));
+            assertThat(historyRecords, hasItem(matches(history(firstProfileItem, fifthEntity, 201, INSERT))));
+
+        } finally {
+            configurationService.setProperty("orcid.bulk-synchronization.threads", null);
+            configurationService.setProperty("orcid.bulk-synchronization.batch-size", null);
+        }
+
+    }
+
     @Test
     public void testWithVeryLongTitleQueueRecords() throws Exception {
         Item firstProfileItem = createProfileItemItem("0000-1111-2222-3333", eperson, BATCH);
@@ -0,0 +1,129 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.common.params.ShardParams;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link StatisticsShardRouter}
+ */
+public class StatisticsShardRouterTest {
+
+    private static final String BASE = "localhost:8983/solr/";
+
+    private int listed;
+
+    private StatisticsShardRouter router;
+
+    @Before
+    public void setUp() {
+        listed = 0;
+        router = new StatisticsShardRouter("http://" + BASE, "statistics", "http://" + BASE + "statistics",
+                                           3600 * 1000) {
+            @Override
+            protected List<String> listCores() {
+                listed++;
+                return Arrays.asList("search", "statistics", "statistics-2019", "statistics-2020", "statistics-2021",
+                                     "statistics-old");
+            }
+        };
+    }
+
+    @Test
+    public void testQueryWithoutTimeRangeUsesAllCores() {
+        assertEquals(BASE + "statistics-2019," + BASE + "statistics-2020," + BASE + "statistics-2021,"
+                         + BASE + "statistics-old," + BASE + "statistics", route("*:*", "-isBot:true"));
+    }
+
+    @Test
+    public void testTimeRangeInFilterQuery() {
+        assertEquals(BASE + "statistics-2020," + BASE + "statistics-old," + BASE + "statistics",
+                     route("*:*", "time:[2020-03-01T00:00:00.000Z TO 2020-04-01T00:00:00.000Z}"));
+        assertEquals(BASE + "statistics-2020," + BASE + "statistics-2021," + BASE + "statistics-old,"
+                         + BASE + "statistics",
+                     route("type:2", "time:[2020\\-03\\-01T00\\:00\\:00Z TO *] AND id:1"));
+    }
+
+    @Test
+    public void testTimeRangeInQuery() {
+        assertEquals(BASE + "statistics-2019," + BASE + "statistics-old," + BASE + "statistics",
+                     route("time:[* TO 2019-12-31T23:59:59.999Z]", null));
+    }
+
+    @Test
+    public void testFilterQueriesAreIntersected() {
+        assertEquals(BASE + "statistics-2020," + BASE + "statistics-old," + BASE + "statistics",
+                     route("time:[2019-06-01T00:00:00Z TO 2020-06-01T00:00:00Z]",
+                           "time:[2020-01-01T00:00:00Z TO *]"));
+    }
+
+    @Test
+    public void testRecentTimeRangeSkipsYearCores() {
+        // Cores which aren't year cores are always queried
+        String recent = BASE + "statistics-old," + BASE + "statistics";
+        assertEquals(recent, route("*:*", "time:[NOW/MONTH-1MONTHS TO NOW/MONTH+1MONTH}"));
+        int year = ZonedDateTime.now(ZoneOffset.UTC).getYear();
+        assertEquals(recent, route("*:*", "time:[" + year + "-06-01T00:00:00Z TO *]"));
+
+        router = new StatisticsShardRouter("http://" + BASE, "statistics", "http://" + BASE + "statistics",
+                                           3600 * 1000) {
+            @Override
+            protected List<String> listCores() {
+                return Arrays.asList("statistics", "statistics-2019");
+            }
+        };
+        assertNull(route("*:*", "time:[" + year + "-06-01T00:00:00Z TO *]"));
+    }
+
+    @Test
+    public void testOptionalOrNegatedTimeRangeUsesAllCores() {
+        String all = BASE + "statistics-2019," + BASE + "statistics-2020," + BASE + "statistics-2021,"
+            + BASE + "statistics-old," + BASE + "statistics";
+        assertEquals(all, route("*:*", "time:[2020-01-01T00:00:00Z TO 2020-02-01T00:00:00Z] OR type:2"));
+        assertEquals(all, route("*:*", "-time:[2020-01-01T00:00:00Z TO 2020-02-01T00:00:00Z]"));
+        assertEquals(all, route("*:*", "NOT time:[2020-01-01T00:00:00Z TO 2020-02-01T00:00:00Z]"));
+        assertEquals(all, route("*:*", "type:2 AND (time:[2020-01-01T00:00:00Z TO 2020-02-01T00:00:00Z] OR id:1)"));
+        assertEquals(all, route("*:*", "time:[2020-01-01T00:00:00Z TO NOW/FORTNIGHT]"));
+    }
+
+    @Test
+    public void testNestedOrDoesNotPreventRouting() {
+        assertEquals(BASE + "statistics-2020," + BASE + "statistics-old," + BASE + "statistics",
+                     route("*:*", "time:[2020-01-01T00:00:00Z TO 2020-02-01T00:00:00Z]"
+                         + " AND -(statistics_type:[* TO *] AND -statistics_type:view) AND (id:1 OR id:2)"));
+    }
+
+    @Test
+    public void testCoresAreListedOnce() {
+        route("*:*", null);
+        route("*:*", "time:[2020-01-01T00:00:00Z TO *]");
+        assertEquals(1, listed);
+        router.refresh();
+        assertEquals(2, listed);
+    }
+
+    private String route(String query, String filterQuery) {
+        SolrQuery solrQuery = new SolrQuery(query);
+        if (filterQuery != null) {
+            solrQuery.addFilterQuery(filterQuery);
+        }
+        router.route(solrQuery);
+        return solrQuery.get(ShardParams.SHARDS);
+    }
+}
@@ -10,6 +10,7 @@ package org.dspace.app.iiif;
 import java.util.UUID;
 
 import org.dspace.core.Context;
+import org.dspace.iiif.manifest.StoredManifest;
 import org.dspace.web.ContextUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -18,6 +19,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 
 /**
@@ -43,15 +45,22 @@ public class IIIFController {
      * for the object. It then embeds the sequence(s) of canvases that should be rendered
      * to the user.
      *
-     * Called with GET to retrieve the manifest for a single DSpace item.
+     * Called with GET to retrieve the manifest for a single DSpace item. The manifest is sent with
+     * its ETag and Last-Modified headers, and a 304 (Not Modified) response is sent if the client
+     * already has it.
      *
      * @param id DSpace Item uuid
-     * @return manifest as JSON
+     * @param webRequest the current request
+     * @return manifest as JSON, or null if it isn't modified
      */
     @RequestMapping(method = RequestMethod.GET, value = "/{id}/manifest")
-    public String findOne(@PathVariable UUID id) {
+    public String findOne(@PathVariable UUID id, WebRequest webRequest) {
         Context context = ContextUtil.obtainCurrentRequestContext();
-        return iiifFacade.getManifest(context, id);
+        StoredManifest manifest = iiifFacade.getManifest(context, id);
+        if (webRequest.checkNotModified(manifest.getETag(), manifest.getLastModified())) {
+            return null;
+        }
+        return manifest.getManifest();
     }
 
     /**
@@ -19,8 +19,9 @@ import org.dspace.content.Item;
 import org.dspace.content.service.BitstreamService;
 import org.dspace.content.service.ItemService;
 import org.dspace.core.Context;
+import org.dspace.iiif.manifest.ManifestStore;
+import org.dspace.iiif.manifest.StoredManifest;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
@@ -55,6 +56,9 @@ public class IIIFServiceFacade {
     @Autowired
     IIIFUtils utils;
 
+    @Autowired
+    ManifestStore manifestStore;
+
     /**
      * The manifest response contains sufficient information for the client to initialize itself
      * and begin to display something quickly to the user. The manifest resource represents a single
@@ -62,15 +66,20 @@ public class IIIFServiceFacade {
      * includes the descriptive, rights and linking information for the object. It then embeds
      * the sequence(s) of canvases that should be rendered to the user.
      *
-     * Returns manifest for single DSpace item.
+     * Returns manifest for single DSpace item. The manifest is read from the manifest store, or
+     * rendered and stored if the store doesn't have it yet.
      *
      * @param id DSpace Item uuid
-     * @return manifest as JSON
+     * @return manifest as JSON, with its entity tag and modification time
      */
-    @Cacheable(key = "#id.toString()", cacheNames = "manifests")
     @PreAuthorize("hasPermission(#id, 'ITEM', 'READ')")
-    public String getManifest(Context context, UUID id)
+    public StoredManifest getManifest(Context context, UUID id)
             throws ResourceNotFoundException {
+        StoredManifest manifest = manifestStore.get(id);
+        if (manifest != null) {
+            return manifest;
+        }
+        long version = manifestStore.getVersion(id);
         Item item;
         try {
             item = itemService.find(context, id);
@@ -80,7 +89,7 @@ public class IIIFServiceFacade {
         if (item == null || !utils.isIIIFEnabled(item)) {
             throw new ResourceNotFoundException("IIIF manifest for  id " + id + " not found");
         }
-        return manifestService.getManifest(item, context);
+        return manifestStore.put(id, manifestService.getManifest(item, context), version);
     }
 
     /**
@@ -0,0 +1,132 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.iiif.service;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.dspace.app.iiif.service.utils.IIIFUtils;
+import org.dspace.content.Item;
+import org.dspace.content.service.ItemService;
+import org.dspace.core.Context;
+import org.dspace.iiif.manifest.ManifestRenderer;
+import org.dspace.iiif.manifest.ManifestStore;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Renders the manifests of the modified items in the background thread of the {@link ManifestStore}, in which it
+ * registers itself. The manifest service and its generators are request scoped: each manifest is rendered in a
+ * request scope of its own, bound to the thread while it is rendered.
+ */
+@Component
+// Only render the manifests if "iiif.enabled=true"
+@ConditionalOnProperty("iiif.enabled")
+public class BackgroundManifestRenderer implements ManifestRenderer, InitializingBean {
+
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    ManifestService manifestService;
+
+    @Autowired
+    IIIFUtils utils;
+
+    @Autowired
+    ManifestStore manifestStore;
+
+    @Override
+    public void afterPropertiesSet() {
+        manifestStore.setRenderer(this);
+    }
+
+    @Override
+    public String render(Context context, UUID id) {
+        BackgroundRequestAttributes attributes = new BackgroundRequestAttributes();
+        RequestContextHolder.setRequestAttributes(attributes);
+        try {
+            Item item = itemService.find(context, id);
+            if (item == null || !utils.isIIIFEnabled(item)) {
+                return null;
+            }
+            return manifestService.getManifest(item, context);
+        } catch (SQLException e) {
+            throw new RuntimeException(e.getMessage(), e);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+            attributes.requestCompleted();
+        }
+    }
+
+    /**
+     * The attributes of the request scope of a manifest rendered outside of any HTTP request
+     */
+    private static class BackgroundRequestAttributes implements RequestAttributes {
+
+        private final Map<String, Object> attributes = new HashMap<>();
+
+        private final Map<String, Runnable> destructionCallbacks = new HashMap<>();
+
+        @Override
+        public Object getAttribute(String name, int scope) {
+            return attributes.get(name);
+        }
+
+        @Override
+        public void setAttribute(String name, Object value, int scope) {
+            attributes.put(name, value);
+        }
+
+        @Override
+        public void removeAttribute(String name, int scope) {
+            attributes.remove(name);
+            destructionCallbacks.remove(name);
+        }
+
+        @Override
+        public String[] getAttributeNames(int scope) {
+            return attributes.keySet().toArray(new String[0]);
+        }
+
+        @Override
+        public void registerDestructionCallback(String name, Runnable callback, int scope) {
+            destructionCallbacks.put(name, callback);
+        }
+
+        @Override
+        public Object resolveReference(String key) {
+            return null;
+        }
+
+        @Override
+        public String getSessionId() {
+            throw new IllegalStateException("No session when rendering a manifest in the background");
+        }
+
+        @Override
+        public Object getSessionMutex() {
+            throw new IllegalStateException("No session when rendering a manifest in the background");
+        }
+
+        /**
+         * Destroy the request scoped beans once the manifest is rendered
+         */
+        void requestCompleted() {
+            destructionCallbacks.values().forEach(Runnable::run);
+            destructionCallbacks.clear();
+            attributes.clear();
+        }
+    }
+}
@@ -10,7 +10,9 @@ package org.dspace.app.iiif.service;
 import static org.dspace.app.iiif.service.utils.IIIFUtils.METADATA_IMAGE_WIDTH;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import org.apache.commons.lang3.StringUtils;
@@ -64,6 +66,11 @@ public class CanvasService extends AbstractResourceService {
     int dynamicDefaultWidth = 0;
     int dynamicDefaultHeight = 0;
 
+    /**
+     * The image dimensions retrieved by {@link #resolveCanvasDimensions(Context, List)}, null when not found.
+     */
+    private final Map<UUID, int[]> resolvedDimensions = new HashMap<>();
+
 
     /**
      * Constructor.
@@ -113,6 +120,41 @@ public class CanvasService extends AbstractResourceService {
         }
     }
 
+    /**
+     * Retrieves at once the dimensions of all the images lacking "iiif.image.width" metadata, when
+     * "iiif.canvas.default-width" and "iiif.canvas.default-height" are set to -1 in DSpace configuration.
+     * The images are requested concurrently from the image server, and their dimensions are stored in the
+     * bitstream metadata in the background (unless "iiif.canvas.dimensions.persist" is false), so that the next
+     * manifests of the item are built without requesting the image server. Called once for each manifest, before
+     * the canvases are created.
+     * @param context DSpace Context
+     * @param bundles IIIF bundles for this item
+     */
+    protected void resolveCanvasDimensions(Context context, List<Bundle> bundles) {
+        if (DEFAULT_CANVAS_HEIGHT != -1 || DEFAULT_CANVAS_WIDTH != -1) {
+            return;
+        }
+        List<Bitstream> bitstreams = new ArrayList<>();
+        for (Bundle bundle : bundles) {
+            for (Bitstream bitstream : utils.getIIIFBitstreams(context, bundle)) {
+                if (!utils.hasWidthMetadata(bitstream)) {
+                    bitstreams.add(bitstream);
+                }
+            }
+        }
+        if (bitstreams.isEmpty()) {
+            return;
+        }
+        Map<UUID, int[]> dimensions = utils.getImageDimensions(bitstreams);
+        for (Bitstream bitstream : bitstreams) {
+            // images without dimensions use the fallback, instead of being requested again
+            resolvedDimensions.put(bitstream.getID(), dimensions.get(bitstream.getID()));
+        }
+        if (!dimensions.isEmpty() && configurationService.getBooleanProperty("iiif.canvas.dimensions.persist", true)) {
+            utils.storeImageDimensions(dimensions);
+        }
+    }
+
     /**
      * Sets the height and width dimensions for all images when "iiif.image.default-width"
      * and "iiif.image.default-height" are set to -1 in DSpace configuration. The values
@@ -125,7 +167,8 @@ public class CanvasService extends AbstractResourceService {
             // image has no width metadata.
             if (bitstream.getMetadata().stream().noneMatch(m -> m.getMetadataField().toString('.')
                                                                  .contentEquals(METADATA_IMAGE_WIDTH))) {
-                int[] imageDims = utils.getImageDimensions(bitstream);
+                int[] imageDims = resolvedDimensions.containsKey(bitstream.getID())
+                    ? resolvedDimensions.get(bitstream.getID()) : utils.getImageDimensions(bitstream);
                 if (imageDims != null && imageDims.length == 2) {
                     // update the dynamic default dimensions for this bitstream
                     dynamicDefaultWidth  = imageDims[0];
@@ -158,6 +158,8 @@ public class ManifestService extends AbstractResourceService {
         if (guessCanvasDimension) {
             canvasService.guessCanvasDimensions(context, bundles);
         }
+        // Retrieve the dimensions of all the images at once, when they are needed.
+        canvasService.resolveCanvasDimensions(context, bundles);
         for (Bundle bnd : bundles) {
             String bundleToCPrefix = null;
             if (bundles.size() > 1) {
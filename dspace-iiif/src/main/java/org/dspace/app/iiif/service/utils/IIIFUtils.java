@@ -15,7 +15,12 @@ import static org.dspace.iiif.util.IIIFSharedUtils.METADATA_IIIF_WIDTH_QUALIFIER
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
@@ -26,6 +31,7 @@ import de.digitalcollections.iiif.model.sharedcanvas.Resource;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.Logger;
 import org.dspace.app.iiif.model.ObjectMapperFactory;
+import org.dspace.authorize.AuthorizeException;
 import org.dspace.content.Bitstream;
 import org.dspace.content.BitstreamFormat;
 import org.dspace.content.Bundle;
@@ -38,6 +44,8 @@ import org.dspace.iiif.IIIFApiQueryService;
 import org.dspace.iiif.util.IIIFSharedUtils;
 import org.dspace.services.ConfigurationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Component;
 
@@ -49,6 +57,9 @@ public class IIIFUtils {
     // The DSpace bundle for other content related to item.
     protected static final String OTHER_CONTENT_BUNDLE = "OtherContent";
 
+    // The cache of the image dimensions retrieved from the image server.
+    private static final String CANVAS_DIMENSIONS_CACHE = "canvasdimensions";
+
     // The canvas position will be appended to this string.
     private static final String CANVAS_PATH_BASE = "/canvas/c";
 
@@ -92,6 +103,16 @@ public class IIIFUtils {
     @Autowired
     IIIFApiQueryService iiifApiQueryService;
 
+    @Autowired(required = false)
+    CacheManager cacheManager;
+
+    // Stores the image dimensions retrieved from the image server in the bitstream metadata.
+    private final ExecutorService dimensionsWriter = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "iiif-dimensions-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
 
     public List<Bundle> getIIIFBundles(Item item) {
         return IIIFSharedUtils.getIIIFBundles(item);
@@ -310,11 +331,92 @@ public class IIIFUtils {
      * @param bitstream the bitstream DSO
      * @return image dimensions
      */
-    @Cacheable(key = "#bitstream.getID().toString()", cacheNames = "canvasdimensions")
+    @Cacheable(key = "#bitstream.getID().toString()", cacheNames = CANVAS_DIMENSIONS_CACHE)
     public int[] getImageDimensions(Bitstream bitstream) {
         return iiifApiQueryService.getImageDimensions(bitstream);
     }
 
+    /**
+     * Retrieves the dimensions of several images from the image server (IIIF Image API v.2.1.1). The images are
+     * requested concurrently, except the ones whose dimensions are already cached.
+     * @param bitstreams the bitstream DSOs
+     * @return the image dimensions by bitstream identifier, of the images whose dimensions were found
+     */
+    public Map<UUID, int[]> getImageDimensions(List<Bitstream> bitstreams) {
+        Cache cache = cacheManager != null ? cacheManager.getCache(CANVAS_DIMENSIONS_CACHE) : null;
+        Map<UUID, int[]> dimensions = new HashMap<>();
+        List<Bitstream> toRetrieve = new ArrayList<>();
+        for (Bitstream bitstream : bitstreams) {
+            int[] cached = cache != null ? cache.get(bitstream.getID().toString(), int[].class) : null;
+            if (cached != null) {
+                dimensions.put(bitstream.getID(), cached);
+            } else {
+                toRetrieve.add(bitstream);
+            }
+        }
+        if (!toRetrieve.isEmpty()) {
+            Map<UUID, int[]> retrieved = iiifApiQueryService.getImageDimensions(toRetrieve);
+            if (cache != null) {
+                retrieved.forEach((id, dims) -> cache.put(id.toString(), dims));
+            }
+            dimensions.putAll(retrieved);
+        }
+        return dimensions;
+    }
+
+    /**
+     * Stores the image dimensions in the metadata of the bitstreams which don't have dimension metadata yet. The
+     * bitstreams are updated in the background, in their own context, so that the current context and its
+     * transaction are left untouched.
+     * @param dimensions the image width and height by bitstream identifier
+     */
+    public void storeImageDimensions(Map<UUID, int[]> dimensions) {
+        dimensionsWriter.submit(() -> {
+            Context context = new Context();
+            try {
+                context.turnOffAuthorisationSystem();
+                for (Map.Entry<UUID, int[]> entry : dimensions.entrySet()) {
+                    Bitstream bitstream = bitstreamService.find(context, entry.getKey());
+                    if (bitstream != null && !hasWidthMetadata(bitstream)) {
+                        setImageDimensions(context, bitstream, entry.getValue());
+                    }
+                }
+                context.restoreAuthSystemState();
+                context.complete();
+            } catch (SQLException | AuthorizeException e) {
+                log.error("Unable to store the image dimensions of the bitstreams", e);
+            } finally {
+                if (context.isValid()) {
+                    context.abort();
+                }
+            }
+        });
+    }
+
+    /**
+     * Stores the image dimensions in the "iiif.image.width" and "iiif.image.height" metadata of the bitstream,
+     * so that they don't have to be retrieved from the image server anymore.
+     * @param context the DSpace context
+     * @param bitstream the bitstream DSO
+     * @param dims the image width and height
+     * @throws SQLException if database error
+     * @throws AuthorizeException if the current user may not update the bitstream
+     */
+    public void setImageDimensions(Context context, Bitstream bitstream, int[] dims)
+        throws SQLException, AuthorizeException {
+        bitstreamService.clearMetadata(context, bitstream, METADATA_IIIF_SCHEMA, METADATA_IIIF_IMAGE_ELEMENT,
+                                       METADATA_IIIF_WIDTH_QUALIFIER, Item.ANY);
+        bitstreamService.setMetadataSingleValue(context, bitstream, METADATA_IIIF_SCHEMA,
+                                                METADATA_IIIF_IMAGE_ELEMENT, METADATA_IIIF_WIDTH_QUALIFIER, null,
+                                                String.valueOf(dims[0]));
+        bitstreamService.clearMetadata(context, bitstream, METADATA_IIIF_SCHEMA, METADATA_IIIF_IMAGE_ELEMENT,
+                                       METADATA_IIIF_HEIGHT_QUALIFIER, Item.ANY);
+        bitstreamService.setMetadataSingleValue(context, bitstream, METADATA_IIIF_SCHEMA,
+                                                METADATA_IIIF_IMAGE_ELEMENT, METADATA_IIIF_HEIGHT_QUALIFIER, null,
+                                                String.valueOf(dims[1]));
+        bitstreamService.update(context, bitstream);
+    }
+
     /**
      * Test to see if the bitstream contains iiif image width metadata.
      * @param bitstream the bitstream DSo
@@ -19,7 +19,9 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.UUID;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.DefaultValue;
@@ -225,7 +227,10 @@ public class CollectionsResource extends Resource {
 
     /**
      * Return array of items in collection. You can add more properties to items
-     * with expand parameter.
+     * with expand parameter. Items are sorted by id. When the page is full, the
+     * token of the next page is returned in the {@link #NEXT_PAGE_HEADER} header:
+     * passing it as the "after" parameter reads the next page without reading the
+     * items before it, unlike the offset.
      *
      * @param collectionId  Id of collection in DSpace.
      * @param expand        String which define, what additional properties will be in
@@ -235,6 +240,8 @@ public class CollectionsResource extends Resource {
      * @param limit         Limit value for items in array. Default value is 100.
      * @param offset        Offset of start index in array of items of collection. Default
      *                      value is 0.
+     * @param after         Token of the page, returned with the previous page. The offset
+     *                      is ignored when it is set.
      * @param user_ip       User's IP address.
      * @param user_agent    User agent string (specifies browser used and its version).
      * @param xforwardedfor When accessed via a reverse proxy, the application sees the proxy's IP as the
@@ -245,6 +252,7 @@ public class CollectionsResource extends Resource {
      *                      context. The value of the "rest-dspace-token" header must be set
      *                      to the token received from the login method response.
      * @param request       Servlet's HTTP request object.
+     * @param response      Servlet's HTTP response object.
      * @return Return array of items, on which has logged user permission to
      * read. It can also return status code NOT_FOUND(404) if id of
      * collection is incorrect or status code UNATHORIZED(401) if user
@@ -261,14 +269,17 @@ public class CollectionsResource extends Resource {
                                                             @QueryParam("expand") String expand,
                                                             @QueryParam("limit") @DefaultValue("100") Integer limit,
                                                             @QueryParam("offset") @DefaultValue("0") Integer offset,
+                                                            @QueryParam("after") String after,
                                                             @QueryParam("userIP") String user_ip,
                                                             @QueryParam("userAgent") String user_agent,
                                                             @QueryParam("xforwardedfor") String xforwardedfor,
                                                             @Context HttpHeaders headers,
-                                                            @Context HttpServletRequest request)
+                                                            @Context HttpServletRequest request,
+                                                            @Context HttpServletResponse response)
         throws WebApplicationException {
 
         log.info("Reading collection(id=" + collectionId + ") items.");
+        UUID afterId = parseAfterToken(after);
         org.dspace.core.Context context = null;
         List<Item> items = null;
 
@@ -281,11 +292,20 @@ public class CollectionsResource extends Resource {
                        headers, request, context);
 
             items = new ArrayList<>();
-            Iterator<org.dspace.content.Item> dspaceItems = itemService.findByCollection(context, dspaceCollection,
-                                                                                         limit, offset);
+            Iterator<org.dspace.content.Item> dspaceItems;
+            if (afterId != null || offset == 0) {
+                // only the items of the page are read
+                dspaceItems = itemService.findByCollection(context, dspaceCollection, afterId, limit);
+            } else {
+                dspaceItems = itemService.findByCollection(context, dspaceCollection, limit, offset);
+            }
 
+            UUID lastId = null;
+            int read = 0;
             while (dspaceItems.hasNext()) {
                 org.dspace.content.Item dspaceItem = dspaceItems.next();
+                read++;
+                lastId = dspaceItem.getID();
 
                 if (itemService.isItemListedForUser(context, dspaceItem)) {
                     items.add(new Item(dspaceItem, servletContext, expand, context));
@@ -293,6 +313,9 @@ public class CollectionsResource extends Resource {
                                headers, request, context);
                 }
             }
+            if (read > 0 && read == limit) {
+                setNextPageToken(response, lastId);
+            }
 
             context.complete();
         } catch (SQLException e) {
@@ -15,6 +15,7 @@ import java.util.List;
 import java.util.UUID;
 import javax.servlet.ServletContext;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
@@ -72,6 +73,9 @@ public class FilteredItemsResource extends Resource {
      *                       100.
      * @param offset         Offset of start index in list of items of collection. Default
      *                       value is 0.
+     * @param after          Token of the page, returned in the {@link #NEXT_PAGE_HEADER} header
+     *                       of the previous page when it is full. The offset is ignored when it
+     *                       is set, and the items before the page are not read.
      * @param user_ip        User's IP address.
      * @param user_agent     User agent string (specifies browser used and its version).
      * @param xforwardedfor  When accessed via a reverse proxy, the application sees the proxy's IP as the
@@ -91,6 +95,7 @@ public class FilteredItemsResource extends Resource {
      *                       context. The value of the "rest-dspace-token" header must be set
      *                       to the token received from the login method response.
      * @param request        Servlet's HTTP request object.
+     * @param response       Servlet's HTTP response object.
      * @param servletContext Context of the servlet container.
      * @return Return instance of collection. It can also return status code
      * NOT_FOUND(404) if id of collection is incorrect or status code
@@ -105,6 +110,7 @@ public class FilteredItemsResource extends Resource {
     public org.dspace.rest.common.ItemFilter getItemQuery(@QueryParam("expand") String expand,
                                                           @QueryParam("limit") @DefaultValue("100") Integer limit,
                                                           @QueryParam("offset") @DefaultValue("0") Integer offset,
+                                                          @QueryParam("after") String after,
                                                           @QueryParam("userIP") String user_ip,
                                                           @QueryParam("userAgent") String user_agent,
                                                           @QueryParam("xforwardedfor") String xforwardedfor,
@@ -120,7 +126,9 @@ public class FilteredItemsResource extends Resource {
                                                                   collSel,
                                                           @Context HttpHeaders headers,
                                                           @Context HttpServletRequest request,
+                                                          @Context HttpServletResponse response,
                                                           @Context ServletContext servletContext) {
+        UUID afterId = parseAfterToken(after);
         org.dspace.core.Context context = null;
         ItemFilterSet itemFilterSet = new ItemFilterSet(filters, true);
         ItemFilter result = itemFilterSet.getAllFiltersFilter();
@@ -141,10 +149,23 @@ public class FilteredItemsResource extends Resource {
             List<UUID> uuids = getUuidsFromStrings(collSel);
             List<List<MetadataField>> listFieldList = getMetadataFieldsList(context, query_field);
 
-            Iterator<org.dspace.content.Item> childItems = itemService
-                .findByMetadataQuery(context, listFieldList, query_op, query_val, uuids, regexClause, offset, limit);
+            Iterator<org.dspace.content.Item> childItems;
+            if (afterId != null || offset == 0) {
+                childItems = itemService
+                    .findByMetadataQuery(context, listFieldList, query_op, query_val, uuids, regexClause, afterId,
+                                         limit);
+            } else {
+                childItems = itemService
+                    .findByMetadataQuery(context, listFieldList, query_op, query_val, uuids, regexClause, offset,
+                                         limit);
+            }
+            List<org.dspace.content.Item> pageItems = new ArrayList<>();
+            childItems.forEachRemaining(pageItems::add);
 
-            int count = itemFilterSet.processSaveItems(context, servletContext, childItems, true, expand);
+            int count = itemFilterSet.processSaveItems(context, servletContext, pageItems.iterator(), true, expand);
+            if (!pageItems.isEmpty() && pageItems.size() == limit) {
+                setNextPageToken(response, pageItems.get(pageItems.size() - 1).getID());
+            }
             writeStats(siteService.findSite(context), UsageEvent.Action.VIEW, user_ip, user_agent, xforwardedfor,
                        headers, request, context);
             result.annotateQuery(query_field, query_op, query_val);
@@ -14,7 +14,9 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
+import java.util.UUID;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.DefaultValue;
@@ -140,7 +142,9 @@ public class ItemsResource extends Resource {
     /**
      * It returns an array of items in DSpace. You can define how many items in
      * list will be and from which index will start. Items in list are sorted by
-     * handle, not by id.
+     * id. When the page is full, the token of the next page is returned in the
+     * {@link #NEXT_PAGE_HEADER} header: passing it as the "after" parameter reads
+     * the next page without reading the items before it, unlike the offset.
      *
      * @param expand        String which define, what additional properties will be in
      *                      returned item. Options are separeted by commas and are: "all",
@@ -148,6 +152,8 @@ public class ItemsResource extends Resource {
      *                      "parentCommunityList" and "bitstreams".
      * @param limit         How many items in array will be. Default value is 100.
      * @param offset        On which index will array start. Default value is 0.
+     * @param after         Token of the page, returned with the previous page. The offset
+     *                      is ignored when it is set.
      * @param user_ip       User's IP address.
      * @param user_agent    User agent string (specifies browser used and its version).
      * @param xforwardedfor When accessed via a reverse proxy, the application sees the proxy's IP as the
@@ -158,6 +164,7 @@ public class ItemsResource extends Resource {
      *                      The value of the "rest-dspace-token" header must be set with passed
      *                      token from login method.
      * @param request       Servlet's HTTP request object.
+     * @param response      Servlet's HTTP response object.
      * @return Return array of items, on which has logged user into context
      * permission.
      * @throws WebApplicationException It can be thrown by SQLException, when was problem with
@@ -168,31 +175,45 @@ public class ItemsResource extends Resource {
     @Produces( {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
     public Item[] getItems(@QueryParam("expand") String expand, @QueryParam("limit") @DefaultValue("100") Integer limit,
                            @QueryParam("offset") @DefaultValue("0") Integer offset,
+                           @QueryParam("after") String after,
                            @QueryParam("userIP") String user_ip,
                            @QueryParam("userAgent") String user_agent,
                            @QueryParam("xforwardedfor") String xforwardedfor,
-                           @Context HttpHeaders headers, @Context HttpServletRequest request)
+                           @Context HttpHeaders headers, @Context HttpServletRequest request,
+                           @Context HttpServletResponse response)
         throws WebApplicationException {
 
-        log.info("Reading items.(offset=" + offset + ",limit=" + limit + ").");
+        log.info("Reading items.(offset=" + offset + ",after=" + after + ",limit=" + limit + ").");
+        UUID afterId = parseAfterToken(after);
         org.dspace.core.Context context = null;
         List<Item> items = null;
 
         try {
             context = createContext();
 
-            Iterator<org.dspace.content.Item> dspaceItems = itemService.findAllUnfiltered(context);
-            items = new ArrayList<Item>();
-
             if (!((limit != null) && (limit >= 0) && (offset != null) && (offset >= 0))) {
                 log.warn("Paging was badly set, using default values.");
                 limit = 100;
                 offset = 0;
             }
 
+            Iterator<org.dspace.content.Item> dspaceItems;
+            if (afterId != null || offset == 0) {
+                // only the items of the page are read
+                dspaceItems = itemService.findAllUnfiltered(context, afterId, limit);
+                offset = 0;
+            } else {
+                dspaceItems = itemService.findAllUnfiltered(context);
+            }
+            items = new ArrayList<Item>();
+
+            UUID lastId = null;
+            int read = 0;
             for (int i = 0; (dspaceItems.hasNext()) && (i < (limit + offset)); i++) {
                 org.dspace.content.Item dspaceItem = dspaceItems.next();
                 if (i >= offset) {
+                    read++;
+                    lastId = dspaceItem.getID();
                     if (itemService.isItemListedForUser(context, dspaceItem)) {
                         items.add(new Item(dspaceItem, servletContext, expand, context));
                         writeStats(dspaceItem, UsageEvent.Action.VIEW, user_ip, user_agent, xforwardedfor,
@@ -200,6 +221,9 @@ public class ItemsResource extends Resource {
                     }
                 }
             }
+            if (read > 0 && read == limit) {
+                setNextPageToken(response, lastId);
+            }
             context.complete();
         } catch (SQLException e) {
             processException("Something went wrong while reading items from database. Message: " + e, context);
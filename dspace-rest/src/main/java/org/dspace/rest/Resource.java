@@ -7,15 +7,20 @@
  */
 package org.dspace.rest;
 
+import java.nio.ByteBuffer;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collection;
+import java.util.UUID;
 import javax.servlet.ServletContext;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.Logger;
 import org.dspace.content.DSpaceObject;
 import org.dspace.core.Context;
@@ -44,6 +49,11 @@ public class Resource {
 
     private static final boolean writeStatistics;
 
+    /**
+     * Response header holding the "after" token of the next page of an item listing, set when the page is full.
+     */
+    public static final String NEXT_PAGE_HEADER = "X-Next-Page-After";
+
     static {
         writeStatistics = DSpaceServicesFactory.getInstance().getConfigurationService()
                                                .getBooleanProperty("rest.stats", false);
@@ -120,6 +130,42 @@ public class Resource {
         log.debug("fired event");
     }
 
+    /**
+     * Decode the "after" token of an item listing, identifying the last item of the previous page.
+     *
+     * @param after Token received in the {@link #NEXT_PAGE_HEADER} header of the previous page.
+     * @return Identifier of the last item of the previous page, or null if no token was passed.
+     * @throws WebApplicationException BAD_REQUEST(400) if the token is invalid.
+     */
+    protected static UUID parseAfterToken(String after) throws WebApplicationException {
+        if (StringUtils.isBlank(after)) {
+            return null;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Base64.getUrlDecoder().decode(after));
+            if (buffer.remaining() != 16) {
+                throw new IllegalArgumentException("Wrong token length");
+            }
+            return new UUID(buffer.getLong(), buffer.getLong());
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid page token: " + after);
+            throw new WebApplicationException(Response.Status.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Set the "after" token of the next page of an item listing in the {@link #NEXT_PAGE_HEADER} response header.
+     *
+     * @param response Servlet's HTTP response object.
+     * @param lastId   Identifier of the last item of the page.
+     */
+    protected static void setNextPageToken(HttpServletResponse response, UUID lastId) {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.putLong(lastId.getMostSignificantBits());
+        buffer.putLong(lastId.getLeastSignificantBits());
+        response.setHeader(NEXT_PAGE_HEADER, Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array()));
+    }
+
     /**
      * Process exception, print message to logger error stream and abort DSpace
      * context.
@@ -0,0 +1,90 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.dspace.app.rest.converter.ConverterService;
+import org.dspace.app.rest.exception.DSpaceBadRequestException;
+import org.dspace.app.rest.model.ProcessLogChunkRest;
+import org.dspace.app.rest.model.ProcessRest;
+import org.dspace.app.rest.model.hateoas.ProcessLogChunkResource;
+import org.dspace.app.rest.utils.ContextUtil;
+import org.dspace.app.rest.utils.Utils;
+import org.dspace.core.Context;
+import org.dspace.scripts.Process;
+import org.dspace.scripts.ProcessLogChunk;
+import org.dspace.scripts.service.ProcessService;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.rest.webmvc.ControllerUtils;
+import org.springframework.data.rest.webmvc.ResourceNotFoundException;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * This controller allows following the log of a process while it runs, by retrieving it in chunks starting at a
+ * byte offset: each chunk gives the offset to retrieve the next one from, until the log is complete.
+ * The log of an ended process is read from its output bitstream.
+ */
+@RestController
+@RequestMapping("/api/" + ProcessRest.CATEGORY + "/" + ProcessRest.PLURAL_NAME + "/{processId}/log")
+public class ProcessLogRestController {
+
+    @Autowired
+    private ConverterService converter;
+
+    @Autowired
+    private Utils utils;
+
+    @Autowired
+    private ProcessService processService;
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    /**
+     * This method can be called by sending a GET request to the system/processes/{processId}/log endpoint
+     * @param request   The current request
+     * @param processId The ID of the process to retrieve the log of
+     * @param offset    The byte offset of the log to start at
+     * @param size      The maximum number of bytes to retrieve, limited by the process.log.max-chunk-size property
+     * @return          The ProcessLogChunkResource object for the chunk of the log
+     * @throws Exception If something goes wrong
+     */
+    @RequestMapping(method = RequestMethod.GET)
+    @PreAuthorize("hasPermission(#processId, 'PROCESS', 'READ')")
+    public ResponseEntity<RepresentationModel<?>> getLog(HttpServletRequest request,
+                                                         @PathVariable(name = "processId") Integer processId,
+                                                         @RequestParam(name = "offset", defaultValue = "0") long offset,
+                                                         @RequestParam(name = "size", required = false) Integer size)
+        throws Exception {
+        if (offset < 0 || (size != null && size <= 0)) {
+            throw new DSpaceBadRequestException("The offset can't be negative and the size has to be positive");
+        }
+        Context context = ContextUtil.obtainContext(request);
+        Process process = processService.find(context, processId);
+        if (process == null) {
+            throw new ResourceNotFoundException("The process with id: " + processId + " wasn't found");
+        }
+        int maxChunkSize = configurationService.getIntProperty("process.log.max-chunk-size", 65536);
+        int chunkSize = size != null ? Math.min(size, maxChunkSize) : maxChunkSize;
+        ProcessLogChunk chunk = processService.readLog(context, process, offset, chunkSize);
+        ProcessLogChunkRest chunkRest = converter.toRest(chunk, utils.obtainProjection());
+        ProcessLogChunkResource chunkResource = converter.toResource(chunkRest);
+        return ControllerUtils.toResponseEntity(HttpStatus.OK, new HttpHeaders(), chunkResource);
+    }
+}
@@ -11,11 +11,16 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.annotation.Nullable;
 import javax.annotation.PostConstruct;
 
@@ -70,6 +75,11 @@ public class ConverterService {
 
     private final Map<Class<? extends RestModel>, Constructor> resourceConstructors = new HashMap<>();
 
+    /**
+     * The findOne PreAuthorize expression of the repository of each rest object, keyed by category and type
+     */
+    private final Map<String, String> preAuthorizeExpressions = new ConcurrentHashMap<>();
+
     @Autowired
     private Utils utils;
 
@@ -107,9 +117,7 @@ public class ConverterService {
      * @throws ClassCastException if the converter's return type is not compatible with the inferred return type.
      */
     public <M, R> R toRest(M modelObject, Projection projection) {
-        M transformedModel = projection.transformModel(modelObject);
-        DSpaceConverter<M, R> converter = requireConverter(modelObject.getClass());
-        R restObject = converter.convert(transformedModel, projection);
+        R restObject = convert(modelObject, projection);
         if (restObject instanceof BaseObjectRest) {
             BaseObjectRest baseObjectRest = (BaseObjectRest) restObject;
             // This section will verify whether the current user has permissions to retrieve the
@@ -125,6 +133,70 @@ public class ConverterService {
                 return null;
             }
         }
+        return transformRest(restObject, projection);
+    }
+
+    /**
+     * Converts the given model objects to rest objects like {@link #toRest(Object, Projection)}, checking the
+     * permissions on all the resulting rest objects of the same type at once.
+     *
+     * @param modelObjects the model objects.
+     * @param projection the projection to use.
+     * @return the converted objects the current user has permission to retrieve, in the same order.
+     */
+    private <M, R> List<R> toRest(List<M> modelObjects, Projection projection) {
+        List<R> restObjects = new ArrayList<>(modelObjects.size());
+        Map<String, List<BaseObjectRest>> baseObjectRestsByPreAuthorize = new LinkedHashMap<>();
+        for (M modelObject : modelObjects) {
+            R restObject = convert(modelObject, projection);
+            if (restObject instanceof BaseObjectRest) {
+                BaseObjectRest baseObjectRest = (BaseObjectRest) restObject;
+                baseObjectRestsByPreAuthorize
+                    .computeIfAbsent(getPreAuthorizeAnnotationForBaseObject(baseObjectRest), key -> new ArrayList<>())
+                    .add(baseObjectRest);
+            }
+            restObjects.add(restObject);
+        }
+
+        // This section will verify whether the current user has permissions to retrieve the
+        // rest objects. Only the REST objects the permission is granted on will be returned.
+        Set<Object> deniedObjects = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Map.Entry<String, List<BaseObjectRest>> entry : baseObjectRestsByPreAuthorize.entrySet()) {
+            List<String> ids = new ArrayList<>();
+            for (BaseObjectRest baseObjectRest : entry.getValue()) {
+                ids.add(String.valueOf(baseObjectRest.getId()));
+            }
+            Set<String> permittedIds = webSecurityExpressionEvaluator
+                .evaluate(entry.getKey(), requestService.getCurrentRequest().getHttpServletRequest(),
+                          requestService.getCurrentRequest().getHttpServletResponse(), ids);
+            for (BaseObjectRest baseObjectRest : entry.getValue()) {
+                if (!permittedIds.contains(String.valueOf(baseObjectRest.getId()))) {
+                    log.debug("Access denied on " + baseObjectRest.getClass() + " with id: " +
+                                  baseObjectRest.getId());
+                    deniedObjects.add(baseObjectRest);
+                }
+            }
+        }
+
+        List<R> transformedList = new LinkedList<>();
+        for (R restObject : restObjects) {
+            if (restObject != null && !deniedObjects.contains(restObject)) {
+                R transformedObject = transformRest(restObject, projection);
+                if (transformedObject != null) {
+                    transformedList.add(transformedObject);
+                }
+            }
+        }
+        return transformedList;
+    }
+
+    private <M, R> R convert(M modelObject, Projection projection) {
+        M transformedModel = projection.transformModel(modelObject);
+        DSpaceConverter<M, R> converter = requireConverter(modelObject.getClass());
+        return converter.convert(transformedModel, projection);
+    }
+
+    private <R> R transformRest(R restObject, Projection projection) {
         if (restObject instanceof RestModel) {
             return (R) projection.transformRest((RestModel) restObject);
         }
@@ -132,13 +204,15 @@ public class ConverterService {
     }
 
     private String getPreAuthorizeAnnotationForBaseObject(BaseObjectRest restObject) {
-        Annotation preAuthorize = getAnnotationForRestObject(restObject);
-        if (preAuthorize == null) {
-            preAuthorize = getDefaultFindOnePreAuthorize();
-
-        }
-        return parseAnnotation(preAuthorize);
+        // the annotations can't change at runtime, so the reflection only has to be done once per repository
+        return preAuthorizeExpressions.computeIfAbsent(restObject.getCategory() + "." + restObject.getType(), key -> {
+            Annotation preAuthorize = getAnnotationForRestObject(restObject);
+            if (preAuthorize == null) {
+                preAuthorize = getDefaultFindOnePreAuthorize();
 
+            }
+            return parseAnnotation(preAuthorize);
+        });
     }
 
     private String parseAnnotation(Annotation preAuthorize) {
@@ -206,13 +280,7 @@ public class ConverterService {
             pageable = utils.getPageable(pageable);
         }
         List<M> pageableObjects = utils.getPageObjectList(modelObjects, pageable);
-        List<R> transformedList = new LinkedList<>();
-        for (M modelObject : pageableObjects) {
-            R transformedObject = toRest(modelObject, projection);
-            if (transformedObject != null) {
-                transformedList.add(transformedObject);
-            }
-        }
+        List<R> transformedList = toRest(pageableObjects, projection);
         return new PageImpl(transformedList, pageable, modelObjects.size());
     }
 
@@ -230,13 +298,7 @@ public class ConverterService {
      * @return the page.
      */
     public <M, R> Page<R> toRestPage(List<M> modelObjects, Pageable pageable, long total, Projection projection) {
-        List<R> transformedList = new LinkedList<>();
-        for (M modelObject : modelObjects) {
-            R transformedObject = toRest(modelObject, projection);
-            if (transformedObject != null) {
-                transformedList.add(transformedObject);
-            }
-        }
+        List<R> transformedList = toRest(modelObjects, projection);
         if (pageable == null) {
             pageable = utils.getPageable(pageable);
         }
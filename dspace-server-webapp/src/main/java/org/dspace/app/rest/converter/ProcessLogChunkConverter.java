@@ -0,0 +1,36 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.converter;
+
+import org.dspace.app.rest.model.ProcessLogChunkRest;
+import org.dspace.app.rest.projection.Projection;
+import org.dspace.scripts.ProcessLogChunk;
+import org.springframework.stereotype.Component;
+
+/**
+ * This converter will convert an object of {@link ProcessLogChunk} to an object of {@link ProcessLogChunkRest}
+ */
+@Component
+public class ProcessLogChunkConverter implements DSpaceConverter<ProcessLogChunk, ProcessLogChunkRest> {
+
+    @Override
+    public ProcessLogChunkRest convert(ProcessLogChunk chunk, Projection projection) {
+        ProcessLogChunkRest chunkRest = new ProcessLogChunkRest();
+        chunkRest.setProjection(projection);
+        chunkRest.setOffset(chunk.getOffset());
+        chunkRest.setNextOffset(chunk.getNextOffset());
+        chunkRest.setContent(chunk.getContent());
+        chunkRest.setComplete(chunk.isComplete());
+        return chunkRest;
+    }
+
+    @Override
+    public Class<ProcessLogChunk> getModelClass() {
+        return ProcessLogChunk.class;
+    }
+}
@@ -0,0 +1,108 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.model;
+
+import org.dspace.app.rest.ProcessLogRestController;
+
+/**
+ * This class is the REST representation of a chunk of the log of a Process, as retrieved by
+ * {@link ProcessLogRestController}
+ */
+public class ProcessLogChunkRest extends RestAddressableModel {
+
+    public static final String NAME = "processlog";
+    public static final String PLURAL_NAME = "processlogs";
+    public static final String CATEGORY = RestAddressableModel.SYSTEM;
+
+    private long offset;
+
+    private long nextOffset;
+
+    private String content;
+
+    private boolean complete;
+
+    /**
+     * Generic getter for the offset
+     * @return the offset value of this ProcessLogChunkRest
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Generic setter for the offset
+     * @param offset   The offset to be set on this ProcessLogChunkRest
+     */
+    public void setOffset(long offset) {
+        this.offset = offset;
+    }
+
+    /**
+     * Generic getter for the nextOffset
+     * @return the nextOffset value of this ProcessLogChunkRest
+     */
+    public long getNextOffset() {
+        return nextOffset;
+    }
+
+    /**
+     * Generic setter for the nextOffset
+     * @param nextOffset   The nextOffset to be set on this ProcessLogChunkRest
+     */
+    public void setNextOffset(long nextOffset) {
+        this.nextOffset = nextOffset;
+    }
+
+    /**
+     * Generic getter for the content
+     * @return the content value of this ProcessLogChunkRest
+     */
+    public String getContent() {
+        return content;
+    }
+
+    /**
+     * Generic setter for the content
+     * @param content   The content to be set on this ProcessLogChunkRest
+     */
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    /**
+     * Generic getter for the complete
+     * @return the complete value of this ProcessLogChunkRest
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Generic setter for the complete
+     * @param complete   The complete to be set on this ProcessLogChunkRest
+     */
+    public void setComplete(boolean complete) {
+        this.complete = complete;
+    }
+
+    @Override
+    public String getCategory() {
+        return CATEGORY;
+    }
+
+    @Override
+    public Class getController() {
+        return ProcessLogRestController.class;
+    }
+
+    @Override
+    public String getType() {
+        return NAME;
+    }
+}
@@ -0,0 +1,22 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.model.hateoas;
+
+import org.dspace.app.rest.model.ProcessLogChunkRest;
+import org.dspace.app.rest.model.hateoas.annotations.RelNameDSpaceResource;
+
+/**
+ * Resource object for {@link ProcessLogChunkRest}
+ */
+@RelNameDSpaceResource(ProcessLogChunkRest.NAME)
+public class ProcessLogChunkResource extends HALResource<ProcessLogChunkRest> {
+
+    public ProcessLogChunkResource(ProcessLogChunkRest content) {
+        super(content);
+    }
+}
@@ -9,6 +9,10 @@ package org.dspace.app.rest.security;
 
 import java.io.Serializable;
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 
 import org.dspace.app.rest.utils.ContextUtil;
 import org.dspace.authorize.service.AuthorizeService;
@@ -70,4 +74,16 @@ public class AdminRestPermissionEvaluatorPlugin extends RestObjectPermissionEval
         }
         return false;
     }
+
+    @Override
+    public Set<Serializable> getPermittedTargetIds(Authentication authentication,
+                                                   Collection<? extends Serializable> targetIds, String targetType,
+                                                   Object permission) {
+        // The decision doesn't depend on the target objects, so it only has to be taken once for all of them
+        if (targetIds.isEmpty()
+            || !hasPermission(authentication, targetIds.iterator().next(), targetType, permission)) {
+            return Collections.emptySet();
+        }
+        return new HashSet<>(targetIds);
+    }
 }
@@ -8,8 +8,16 @@
 package org.dspace.app.rest.security;
 
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.PermissionEvaluator;
 import org.springframework.security.core.Authentication;
@@ -28,6 +36,12 @@ public class DSpacePermissionEvaluator implements PermissionEvaluator {
     @Autowired
     private List<RestPermissionEvaluatorPlugin> permissionEvaluatorPluginList;
 
+    /**
+     * The batch of target objects whose permissions are currently evaluated together, see
+     * {@link #evaluateInBatch(Collection, Supplier)}
+     */
+    private final ThreadLocal<PermissionBatch> currentBatch = new ThreadLocal<>();
+
     /**
      *
      * @param authentication represents the user in question. Should not be null.
@@ -61,6 +75,10 @@ public class DSpacePermissionEvaluator implements PermissionEvaluator {
      */
     public boolean hasPermission(Authentication authentication, Serializable targetId, String targetType,
                                  Object permission) {
+        PermissionBatch batch = currentBatch.get();
+        if (batch != null && batch.targetIds.contains(targetId)) {
+            return batch.getPermittedTargetIds(authentication, targetType, permission).contains(targetId);
+        }
         for (RestPermissionEvaluatorPlugin permissionEvaluatorPlugin : permissionEvaluatorPluginList) {
             if (permissionEvaluatorPlugin.hasPermission(authentication, targetId, targetType, permission)) {
                 return true;
@@ -68,4 +86,88 @@ public class DSpacePermissionEvaluator implements PermissionEvaluator {
         }
         return false;
     }
+
+    /**
+     * Evaluate permissions on the target objects with the given identifiers together. While the given evaluation
+     * runs, the first check of a permission on one of these objects will check it on all of them at once through
+     * {@link #getPermittedTargetIds(Authentication, Collection, String, Object)} and the following checks of the same
+     * permission on the other objects will reuse that result.
+     *
+     * @param targetIds the identifiers of the objects whose permissions will be evaluated
+     * @param evaluation the evaluation of the permissions
+     * @return the result of the evaluation
+     */
+    public <T> T evaluateInBatch(Collection<? extends Serializable> targetIds, Supplier<T> evaluation) {
+        PermissionBatch previousBatch = currentBatch.get();
+        currentBatch.set(new PermissionBatch(targetIds));
+        try {
+            return evaluation.get();
+        } finally {
+            if (previousBatch == null) {
+                currentBatch.remove();
+            } else {
+                currentBatch.set(previousBatch);
+            }
+        }
+    }
+
+    /**
+     * Check for which of the target objects with the provided identifiers the user has the given permission. Like
+     * for a single object, every plugin is asked in turn, but only for the objects no previous plugin has granted
+     * the permission on.
+     *
+     * @param authentication represents the user in question. Should not be null.
+     * @param targetIds the identifiers of the DSpace objects
+     * @param targetType represents the DSpace object type of the target objects. Not null.
+     * @param permission a representation of the permission object as supplied by the
+     * expression system. This corresponds to the DSpace action. Not null.
+     * @return the identifiers of the target objects on which the permission is granted by one of the plugins
+     */
+    public Set<Serializable> getPermittedTargetIds(Authentication authentication,
+                                                   Collection<? extends Serializable> targetIds, String targetType,
+                                                   Object permission) {
+        Set<Serializable> undecided = new LinkedHashSet<>(targetIds);
+        Set<Serializable> permitted = new HashSet<>();
+        for (RestPermissionEvaluatorPlugin permissionEvaluatorPlugin : permissionEvaluatorPluginList) {
+            if (undecided.isEmpty()) {
+                break;
+            }
+            Set<Serializable> pluginPermitted =
+                permissionEvaluatorPlugin.getPermittedTargetIds(authentication, undecided, targetType, permission);
+            undecided.removeAll(pluginPermitted);
+            permitted.addAll(pluginPermitted);
+        }
+        return permitted;
+    }
+
+    /**
+     * The target objects of a batch evaluation, with the permissions which have been checked on them so far.
+     */
+    private class PermissionBatch {
+
+        private final Set<Serializable> targetIds;
+
+        private final Map<Pair<String, Object>, Set<Serializable>> permittedTargetIds = new HashMap<>();
+
+        PermissionBatch(Collection<? extends Serializable> targetIds) {
+            this.targetIds = new LinkedHashSet<>(targetIds);
+        }
+
+        Set<Serializable> getPermittedTargetIds(Authentication authentication, String targetType, Object permission) {
+            Pair<String, Object> key = Pair.of(targetType, permission);
+            Set<Serializable> permitted = permittedTargetIds.get(key);
+            if (permitted == null) {
+                // plugins checking other permissions meanwhile aren't part of the batch
+                currentBatch.remove();
+                try {
+                    permitted = DSpacePermissionEvaluator.this.getPermittedTargetIds(authentication, targetIds,
+                                                                                     targetType, permission);
+                } finally {
+                    currentBatch.set(this);
+                }
+                permittedTargetIds.put(key, permitted);
+            }
+            return permitted;
+        }
+    }
 }
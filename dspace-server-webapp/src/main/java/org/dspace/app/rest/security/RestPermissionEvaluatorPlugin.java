@@ -8,6 +8,9 @@
 package org.dspace.app.rest.security;
 
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.springframework.security.access.PermissionEvaluator;
 import org.springframework.security.core.Authentication;
@@ -44,4 +47,24 @@ public interface RestPermissionEvaluatorPlugin {
     boolean hasPermission(Authentication authentication, Serializable targetId, String targetType,
                                  Object permission);
 
+    /**
+     * Check for which of the target objects with the provided identifiers the authenticated user (provided by the
+     * {@link Authentication} object) has the specified permission. This is used to check the permissions on a whole
+     * page of objects at once; plugins which can decide them with less work than one check per object (e.g. because
+     * the decision doesn't depend on the object) should override it.
+     * @param authentication Authentication object providing user details of the authenticated user
+     * @param targetIds Unique identifiers of the target objects the user wants to view or manipulate
+     * @param targetType Type of the target objects the users wants to view or manipulate
+     * @param permission Permission object that describes the action the user wants to perform on the target objects
+     * @return the identifiers of the target objects the user is allowed to perform the action described by the
+     *         permission on
+     */
+    default Set<Serializable> getPermittedTargetIds(Authentication authentication,
+                                                    Collection<? extends Serializable> targetIds, String targetType,
+                                                    Object permission) {
+        return targetIds.stream()
+                        .filter(targetId -> hasPermission(authentication, targetId, targetType, permission))
+                        .collect(Collectors.toSet());
+    }
+
 }
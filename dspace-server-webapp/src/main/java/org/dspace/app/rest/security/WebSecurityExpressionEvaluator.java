@@ -7,11 +7,17 @@
  */
 package org.dspace.app.rest.security;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.servlet.FilterChain;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.GenericTypeResolver;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
@@ -42,6 +48,11 @@ public class WebSecurityExpressionEvaluator {
 
     private final List<SecurityExpressionHandler> securityExpressionHandlers;
 
+    private final Map<String, Expression> expressions = new ConcurrentHashMap<>();
+
+    @Autowired
+    private DSpacePermissionEvaluator permissionEvaluator;
+
     /**
      * Constructor for this class that sets all the {@link SecurityExpressionHandler} objects in a list
      * @param securityExpressionHandlers    The {@link SecurityExpressionHandler} for this class
@@ -65,13 +76,47 @@ public class WebSecurityExpressionEvaluator {
                             String id) {
         SecurityExpressionHandler handler = getFilterSecurityHandler();
 
-        Expression expression = handler.getExpressionParser().parseExpression(securityExpression);
+        Expression expression = parseExpression(handler, securityExpression);
 
         EvaluationContext evaluationContext = createEvaluationContext(handler, request, response);
         evaluationContext.setVariable("id", id);
         return ExpressionUtils.evaluateAsBoolean(expression, evaluationContext);
     }
 
+    /**
+     * Evaluate the given expression for each of the given ids, like {@link #evaluate(String, HttpServletRequest,
+     * HttpServletResponse, String)}. The permissions checked by the expression are evaluated for all the ids at
+     * once, see {@link DSpacePermissionEvaluator#evaluateInBatch(Collection, java.util.function.Supplier)}
+     * @param securityExpression    The String that resembles the expression that has to be parsed
+     * @param request               The current request
+     * @param response              The current response
+     * @param ids                   The ids for the Objects that are the subject of the permission
+     * @return                      The ids for which the currentUser adheres to the permissions in the
+     *                              securityExpression String
+     */
+    public Set<String> evaluate(String securityExpression, HttpServletRequest request, HttpServletResponse response,
+                                Collection<String> ids) {
+        SecurityExpressionHandler handler = getFilterSecurityHandler();
+
+        Expression expression = parseExpression(handler, securityExpression);
+
+        EvaluationContext evaluationContext = createEvaluationContext(handler, request, response);
+        return permissionEvaluator.evaluateInBatch(ids, () -> {
+            Set<String> permittedIds = new LinkedHashSet<>();
+            for (String id : ids) {
+                evaluationContext.setVariable("id", id);
+                if (ExpressionUtils.evaluateAsBoolean(expression, evaluationContext)) {
+                    permittedIds.add(id);
+                }
+            }
+            return permittedIds;
+        });
+    }
+
+    private Expression parseExpression(SecurityExpressionHandler handler, String securityExpression) {
+        return expressions.computeIfAbsent(securityExpression, handler.getExpressionParser()::parseExpression);
+    }
+
     @SuppressWarnings("unchecked")
     private EvaluationContext createEvaluationContext(SecurityExpressionHandler handler, HttpServletRequest request,
                                                       HttpServletResponse response) {
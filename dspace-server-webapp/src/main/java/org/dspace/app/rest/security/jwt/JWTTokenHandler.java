@@ -7,10 +7,12 @@
  */
 package org.dspace.app.rest.security.jwt;
 
+import java.io.Serializable;
 import java.sql.SQLException;
 import java.text.ParseException;
 import java.util.Date;
 import java.util.List;
+import java.util.UUID;
 import javax.servlet.http.HttpServletRequest;
 
 import com.nimbusds.jose.CompressionAlgorithm;
@@ -32,8 +34,10 @@ import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
 import com.nimbusds.jwt.util.DateUtils;
 import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.dspace.authorize.AuthorizeException;
+import org.dspace.cache.CacheLookupCounter;
 import org.dspace.core.Context;
 import org.dspace.eperson.EPerson;
 import org.dspace.eperson.service.EPersonService;
@@ -42,6 +46,8 @@ import org.dspace.services.ConfigurationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.crypto.keygen.BytesKeyGenerator;
 import org.springframework.security.crypto.keygen.KeyGenerators;
@@ -59,6 +65,16 @@ public abstract class JWTTokenHandler {
     private static final int MAX_CLOCK_SKEW_SECONDS = 60;
     private static final String AUTHORIZATION_TOKEN_PARAMETER = "authentication-token";
 
+    /**
+     * The name of the cache of the tokens whose signature has been verified
+     */
+    public static final String VERIFIED_TOKEN_CACHE = "jwt.verifiedTokens";
+
+    /**
+     * The number of lookups in the cache of the verified tokens after which its hit rate is logged
+     */
+    private static final int VERIFIED_TOKEN_CACHE_LOG_INTERVAL = 1000;
+
     private static final Logger log = LoggerFactory.getLogger(JWTTokenHandler.class);
 
     @Autowired
@@ -76,9 +92,15 @@ public abstract class JWTTokenHandler {
     @Autowired
     private ClientInfoService clientInfoService;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     private String generatedJwtKey;
     private String generatedEncryptionKey;
 
+    private final CacheLookupCounter verifiedTokenCacheLookups =
+        new CacheLookupCounter(getClass().getSimpleName() + " verified token cache", VERIFIED_TOKEN_CACHE_LOG_INTERVAL);
+
     /**
      * Get the configuration property key for the token secret.
      * @return the configuration property key
@@ -125,6 +147,16 @@ public abstract class JWTTokenHandler {
         if (StringUtils.isBlank(token)) {
             return null;
         }
+        // a token already verified doesn't have to be parsed, decrypted and verified again
+        Cache cache = getVerifiedTokenCache();
+        String cacheKey = getVerifiedTokenCacheKey(token);
+        if (cache != null) {
+            EPerson ePerson = parseEPersonFromVerifiedToken(cache, cacheKey, request, context);
+            if (ePerson != null) {
+                return ePerson;
+            }
+        }
+
         // parse/decrypt the token
         SignedJWT signedJWT = getSignedJWT(token);
         // get the claims set from the parsed token
@@ -141,6 +173,9 @@ public abstract class JWTTokenHandler {
                 jwtClaimProvider.parseClaim(context, request, jwtClaimsSet);
             }
 
+            if (cache != null) {
+                cache.put(cacheKey, new VerifiedToken(ePerson.getID(), ePerson.getSessionSalt(), jwtClaimsSet));
+            }
             return ePerson;
         } else {
             log.warn(getIpAddress(request) + " tried to use an expired or non-valid token");
@@ -198,6 +233,11 @@ public abstract class JWTTokenHandler {
             if (ePerson != null) {
                 ePerson.setSessionSalt("");
             }
+            // the cached tokens of the user are no longer valid anyway as their session salt has changed
+            Cache cache = getVerifiedTokenCache();
+            if (cache != null) {
+                cache.evict(getVerifiedTokenCacheKey(token));
+            }
 
         }
     }
@@ -282,9 +322,88 @@ public abstract class JWTTokenHandler {
             Date expirationTime = jwtClaimsSet.getExpirationTime();
             return signedJWT.verify(verifier)
                 && expirationTime != null
-                //Ensure expiration timestamp is after the current time, with a minute of acceptable clock skew.
-                && DateUtils.isAfter(expirationTime, new Date(), MAX_CLOCK_SKEW_SECONDS);
+                //Ensure expiration timestamp is after the current time, with the acceptable clock skew.
+                && DateUtils.isAfter(expirationTime, new Date(), getMaxClockSkewSeconds());
+        }
+    }
+
+    /**
+     * Get the acceptable clock skew when checking the expiration time of a token
+     * @return the acceptable clock skew in seconds, a minute by default
+     */
+    protected int getMaxClockSkewSeconds() {
+        return MAX_CLOCK_SKEW_SECONDS;
+    }
+
+    /**
+     * Retrieve the EPerson of a token which has already been verified, from the cache of the verified tokens.
+     * The cached token is only valid as long as the session salt of the EPerson is the one it was verified with, so
+     * a logout or a new session invalidates it, and as long as it isn't expired.
+     * @param cache the cache of the verified tokens
+     * @param cacheKey the key of the token in the cache
+     * @param request current request
+     * @param context current Context
+     * @return the EPerson of the token, or null if the token isn't in the cache or is no longer valid
+     * @throws SQLException
+     */
+    private EPerson parseEPersonFromVerifiedToken(Cache cache, String cacheKey, HttpServletRequest request,
+                                                  Context context) throws SQLException {
+        VerifiedToken verifiedToken = cache.get(cacheKey, VerifiedToken.class);
+        EPerson ePerson = null;
+        if (verifiedToken != null) {
+            ePerson = ePersonService.find(context, verifiedToken.getEPersonId());
+            Date expirationTime = verifiedToken.getClaimsSet().getExpirationTime();
+            if (ePerson == null || StringUtils.isBlank(ePerson.getSessionSalt())
+                || !StringUtils.equals(ePerson.getSessionSalt(), verifiedToken.getSessionSalt())
+                || !DateUtils.isAfter(expirationTime, new Date(), getMaxClockSkewSeconds())) {
+                cache.evict(cacheKey);
+                ePerson = null;
+            }
+        }
+        verifiedTokenCacheLookups.count(ePerson != null);
+        if (ePerson == null) {
+            return null;
+        }
+
+        log.debug("Received cached valid token for username: " + ePerson.getEmail());
+        for (JWTClaimProvider jwtClaimProvider : jwtClaimProviders) {
+            jwtClaimProvider.parseClaim(context, request, verifiedToken.getClaimsSet());
         }
+        return ePerson;
+    }
+
+    /**
+     * Get the number of tokens found in the cache of the verified tokens, which didn't need to be verified again
+     * @return the number of hits of the cache
+     */
+    public long getVerifiedTokenCacheHits() {
+        return verifiedTokenCacheLookups.getHits();
+    }
+
+    /**
+     * Get the number of tokens which weren't found in the cache of the verified tokens, or were no longer valid
+     * @return the number of misses of the cache
+     */
+    public long getVerifiedTokenCacheMisses() {
+        return verifiedTokenCacheLookups.getMisses();
+    }
+
+    /**
+     * Get the cache of the verified tokens
+     * @return the cache, or null if caching isn't available
+     */
+    private Cache getVerifiedTokenCache() {
+        return cacheManager != null ? cacheManager.getCache(VERIFIED_TOKEN_CACHE) : null;
+    }
+
+    /**
+     * Get the key of a token in the cache of the verified tokens: a digest of the token, so that the tokens
+     * themselves aren't kept in memory, prefixed with the type of token handler, as each type has its own secrets
+     * @param token string token
+     * @return the cache key of the token
+     */
+    private String getVerifiedTokenCacheKey(String token) {
+        return getClass().getSimpleName() + ":" + DigestUtils.sha256Hex(token);
     }
 
     /**
@@ -433,4 +552,33 @@ public abstract class JWTTokenHandler {
         byte[] secretKey = bytesKeyGenerator.generateKey();
         return Base64.encodeBase64String(secretKey);
     }
+
+    /**
+     * A token whose signature has been verified, with the EPerson and session salt it was verified for
+     */
+    private static class VerifiedToken implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final UUID ePersonId;
+        private final String sessionSalt;
+        private final JWTClaimsSet claimsSet;
+
+        VerifiedToken(UUID ePersonId, String sessionSalt, JWTClaimsSet claimsSet) {
+            this.ePersonId = ePersonId;
+            this.sessionSalt = sessionSalt;
+            this.claimsSet = claimsSet;
+        }
+
+        UUID getEPersonId() {
+            return ePersonId;
+        }
+
+        String getSessionSalt() {
+            return sessionSalt;
+        }
+
+        JWTClaimsSet getClaimsSet() {
+            return claimsSet;
+        }
+    }
 }
@@ -7,15 +7,16 @@
  */
 package org.dspace.app.rest.utils;
 
-import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.SQLException;
 import java.util.Set;
 import java.util.UUID;
 
-import org.apache.commons.io.IOUtils;
-import org.apache.commons.lang3.tuple.Pair;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.content.Bitstream;
 import org.dspace.content.factory.ContentServiceFactory;
@@ -36,11 +37,14 @@ import org.springframework.core.io.AbstractResource;
  */
 public class BitstreamResource extends AbstractResource {
 
+    private static final Logger log = LogManager.getLogger(BitstreamResource.class);
+
     private String name;
     private UUID uuid;
     private UUID currentUserUUID;
     private boolean shouldGenerateCoverPage;
-    private byte[] file;
+    private File file;
+    private boolean coverPageFailed;
     private Set<UUID> currentSpecialGroups;
 
     private BitstreamService bitstreamService = ContentServiceFactory.getInstance().getBitstreamService();
@@ -59,22 +63,21 @@ public class BitstreamResource extends AbstractResource {
     }
 
     /**
-     * Get Potential cover page by array, this method should only be called when a coverpage should be generated
-     * In case of failure the original file will be returned
+     * Get the potential cover page file, this method should only be called when a coverpage should be generated.
+     * The file is served from the citation document cache, so it is only generated once per bitstream version.
+     * In case of failure null is returned and the original file should be sent instead.
      *
      * @param context   the DSpace context
      * @param bitstream the pdf for which we want to generate a coverpage
-     * @return a byte array containing the cover page
+     * @return the file containing the cited document, or null if it could not be generated
      */
-    private byte[] getCoverpageByteArray(Context context, Bitstream bitstream)
-        throws IOException, SQLException, AuthorizeException {
-        if (file == null) {
+    private File getCoverpageFile(Context context, Bitstream bitstream) {
+        if (file == null && !coverPageFailed) {
             try {
-                Pair<byte[], Long> citedDocument = citationDocumentService.makeCitedDocument(context, bitstream);
-                this.file = citedDocument.getLeft();
+                this.file = citationDocumentService.getCitedDocumentFile(context, bitstream);
             } catch (Exception e) {
-                // Return the original bitstream without the cover page
-                this.file = IOUtils.toByteArray(bitstreamService.retrieve(context, bitstream));
+                log.warn("Unable to generate the cover page of bitstream " + uuid + ", sending the original", e);
+                this.coverPageFailed = true;
             }
         }
         return file;
@@ -92,13 +95,13 @@ public class BitstreamResource extends AbstractResource {
             Bitstream bitstream = bitstreamService.find(context, uuid);
             InputStream out;
 
-            if (shouldGenerateCoverPage) {
-                out = new ByteArrayInputStream(getCoverpageByteArray(context, bitstream));
+            File coverPageFile = shouldGenerateCoverPage ? getCoverpageFile(context, bitstream) : null;
+            if (coverPageFile != null) {
+                out = new FileInputStream(coverPageFile);
             } else {
                 out = bitstreamService.retrieve(context, bitstream);
             }
 
-            this.file = null;
             return out;
         } catch (SQLException | AuthorizeException e) {
             throw new IOException(e);
@@ -114,12 +117,13 @@ public class BitstreamResource extends AbstractResource {
     public long contentLength() throws IOException {
         try (Context context = initializeContext()) {
             Bitstream bitstream = bitstreamService.find(context, uuid);
-            if (shouldGenerateCoverPage) {
-                return getCoverpageByteArray(context, bitstream).length;
+            File coverPageFile = shouldGenerateCoverPage ? getCoverpageFile(context, bitstream) : null;
+            if (coverPageFile != null) {
+                return coverPageFile.length();
             } else {
                 return bitstream.getSizeBytes();
             }
-        } catch (SQLException | AuthorizeException e) {
+        } catch (SQLException e) {
             throw new IOException(e);
         }
     }
@@ -10,8 +10,11 @@ package org.dspace.app.rest.utils;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.text.ParseException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.solr.client.solrj.SolrServerException;
@@ -24,6 +27,8 @@ import org.dspace.content.Bitstream;
 import org.dspace.content.DSpaceObject;
 import org.dspace.content.Item;
 import org.dspace.content.Site;
+import org.dspace.content.service.BitstreamService;
+import org.dspace.content.service.ItemService;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
 import org.dspace.handle.service.HandleService;
@@ -34,6 +39,9 @@ import org.dspace.statistics.content.DatasetTypeGenerator;
 import org.dspace.statistics.content.StatisticsDataVisits;
 import org.dspace.statistics.content.StatisticsListing;
 import org.dspace.statistics.content.StatisticsTable;
+import org.dspace.statistics.factory.StatisticsServiceFactory;
+import org.dspace.statistics.rollup.service.StatisticsRollupService;
+import org.dspace.statistics.util.LocationUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
 import org.springframework.stereotype.Component;
@@ -49,6 +57,12 @@ public class UsageReportUtils {
     @Autowired
     private HandleService handleService;
 
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BitstreamService bitstreamService;
+
     public static final String TOTAL_VISITS_REPORT_ID = "TotalVisits";
     public static final String TOTAL_VISITS_PER_MONTH_REPORT_ID = "TotalVisitsPerMonth";
     public static final String TOTAL_DOWNLOADS_REPORT_ID = "TotalDownloads";
@@ -135,6 +149,9 @@ public class UsageReportUtils {
      */
     private UsageReportRest resolveGlobalUsageReport(Context context)
         throws SQLException, IOException, ParseException, SolrServerException {
+        if (getStatisticsRollupService().isEnabled()) {
+            return resolveGlobalUsageReportFromRollups(context);
+        }
         StatisticsListing statListing = new StatisticsListing(
             new StatisticsDataVisits());
 
@@ -176,6 +193,9 @@ public class UsageReportUtils {
      */
     private UsageReportRest resolveTotalVisits(Context context, DSpaceObject dso)
         throws SQLException, IOException, ParseException, SolrServerException {
+        if (getStatisticsRollupService().isEnabled()) {
+            return resolveTotalVisitsFromRollups(context, dso);
+        }
         Dataset dataset = this.getDSOStatsDataset(context, dso, 1, dso.getType());
 
         UsageReportRest usageReportRest = new UsageReportRest();
@@ -205,6 +225,9 @@ public class UsageReportUtils {
      */
     private UsageReportRest resolveTotalVisitsPerMonth(Context context, DSpaceObject dso)
         throws SQLException, IOException, ParseException, SolrServerException {
+        if (getStatisticsRollupService().isEnabled()) {
+            return resolveTotalVisitsPerMonthFromRollups(context, dso);
+        }
         StatisticsTable statisticsTable = new StatisticsTable(new StatisticsDataVisits(dso));
         DatasetTimeGenerator timeAxis = new DatasetTimeGenerator();
         // TODO month start and end as request para?
@@ -244,6 +267,9 @@ public class UsageReportUtils {
             return this.resolveTotalVisits(context, dso);
         }
 
+        if (dso instanceof org.dspace.content.Item && getStatisticsRollupService().isEnabled()) {
+            return resolveTotalDownloadsFromRollups(context, dso);
+        }
         if (dso instanceof org.dspace.content.Item) {
             Dataset dataset = this.getDSOStatsDataset(context, dso, 1, Constants.BITSTREAM);
 
@@ -275,6 +301,9 @@ public class UsageReportUtils {
      */
     private UsageReportRest resolveTopCountries(Context context, DSpaceObject dso)
         throws SQLException, IOException, ParseException, SolrServerException {
+        if (getStatisticsRollupService().isEnabled()) {
+            return resolveTopCountriesFromRollups(context, dso);
+        }
         Dataset dataset = this.getTypeStatsDataset(context, dso, "countryCode", 1);
 
         UsageReportRest usageReportRest = new UsageReportRest();
@@ -299,6 +328,9 @@ public class UsageReportUtils {
      */
     private UsageReportRest resolveTopCities(Context context, DSpaceObject dso)
         throws SQLException, IOException, ParseException, SolrServerException {
+        if (getStatisticsRollupService().isEnabled()) {
+            return resolveTopCitiesFromRollups(context, dso);
+        }
         Dataset dataset = this.getTypeStatsDataset(context, dso, "city", 1);
 
         UsageReportRest usageReportRest = new UsageReportRest();
@@ -352,4 +384,117 @@ public class UsageReportUtils {
         statListing.addDatasetGenerator(typeAxis);
         return statListing.getDataset(context, facetMinCount);
     }
+
+    /**
+     * Equivalent of {@link #resolveGlobalUsageReport(Context)} answered from the daily usage statistics aggregates
+     */
+    private UsageReportRest resolveGlobalUsageReportFromRollups(Context context) throws SQLException {
+        UsageReportRest usageReportRest = new UsageReportRest();
+        for (Map.Entry<String, Long> topItem : getStatisticsRollupService()
+                .getTopObjects(context, Constants.ITEM, null, 10)) {
+            Item item = itemService.findByIdOrLegacyId(context, topItem.getKey());
+            if (item == null || item.getHandle() == null) {
+                continue;
+            }
+            UsageReportPointDsoTotalVisitsRest totalVisitPoint = new UsageReportPointDsoTotalVisitsRest();
+            totalVisitPoint.setType("item");
+            totalVisitPoint.setId(item.getID().toString());
+            totalVisitPoint.setLabel(item.getName());
+            totalVisitPoint.addValue("views", topItem.getValue().intValue());
+            usageReportRest.addPoint(totalVisitPoint);
+        }
+        usageReportRest.setReportType(TOTAL_VISITS_REPORT_ID);
+        return usageReportRest;
+    }
+
+    /**
+     * Equivalent of {@link #resolveTotalVisits(Context, DSpaceObject)} answered from the daily usage statistics
+     * aggregates
+     */
+    private UsageReportRest resolveTotalVisitsFromRollups(Context context, DSpaceObject dso) throws SQLException {
+        UsageReportRest usageReportRest = new UsageReportRest();
+        UsageReportPointDsoTotalVisitsRest totalVisitPoint = new UsageReportPointDsoTotalVisitsRest();
+        totalVisitPoint.setType(StringUtils.substringAfterLast(dso.getClass().getName().toLowerCase(), "."));
+        totalVisitPoint.setId(dso.getID().toString());
+        totalVisitPoint.setLabel(dso.getName());
+        totalVisitPoint.addValue("views", (int) getStatisticsRollupService().getTotalViews(context, dso));
+        usageReportRest.addPoint(totalVisitPoint);
+        return usageReportRest;
+    }
+
+    /**
+     * Equivalent of {@link #resolveTotalVisitsPerMonth(Context, DSpaceObject)} answered from the daily usage
+     * statistics aggregates
+     */
+    private UsageReportRest resolveTotalVisitsPerMonthFromRollups(Context context, DSpaceObject dso)
+        throws SQLException {
+        DateTimeFormatter monthFormat = DateTimeFormatter.ofPattern("MMMM yyyy", context.getCurrentLocale());
+        LocalDate now = LocalDate.now();
+        UsageReportRest usageReportRest = new UsageReportRest();
+        for (Map.Entry<LocalDate, Long> month : getStatisticsRollupService()
+                .getViewsPerMonth(context, dso, now.minusMonths(6), now)) {
+            UsageReportPointDateRest monthPoint = new UsageReportPointDateRest();
+            monthPoint.setId(monthFormat.format(month.getKey()));
+            monthPoint.addValue("views", month.getValue().intValue());
+            usageReportRest.addPoint(monthPoint);
+        }
+        return usageReportRest;
+    }
+
+    /**
+     * Equivalent of {@link #resolveTotalDownloads(Context, DSpaceObject)} for an item, answered from the daily usage
+     * statistics aggregates
+     */
+    private UsageReportRest resolveTotalDownloadsFromRollups(Context context, DSpaceObject dso)
+        throws SQLException {
+        UsageReportRest usageReportRest = new UsageReportRest();
+        for (Map.Entry<String, Long> download : getStatisticsRollupService()
+                .getTopObjects(context, Constants.BITSTREAM, dso, 10)) {
+            Bitstream bitstream = bitstreamService.findByIdOrLegacyId(context, download.getKey());
+            if (bitstream == null) {
+                continue;
+            }
+            UsageReportPointDsoTotalVisitsRest totalDownloadsPoint = new UsageReportPointDsoTotalVisitsRest();
+            totalDownloadsPoint.setType("bitstream");
+            totalDownloadsPoint.setId(bitstream.getID().toString());
+            totalDownloadsPoint.setLabel(bitstream.getName());
+            totalDownloadsPoint.addValue("views", download.getValue().intValue());
+            usageReportRest.addPoint(totalDownloadsPoint);
+        }
+        return usageReportRest;
+    }
+
+    /**
+     * Equivalent of {@link #resolveTopCountries(Context, DSpaceObject)} answered from the daily usage statistics
+     * aggregates
+     */
+    private UsageReportRest resolveTopCountriesFromRollups(Context context, DSpaceObject dso) throws SQLException {
+        UsageReportRest usageReportRest = new UsageReportRest();
+        for (Map.Entry<String, Long> country : getStatisticsRollupService().getTopCountries(context, dso, 100)) {
+            UsageReportPointCountryRest countryPoint = new UsageReportPointCountryRest();
+            countryPoint.setLabel(LocationUtils.getCountryName(country.getKey(), context.getCurrentLocale()));
+            countryPoint.addValue("views", country.getValue().intValue());
+            usageReportRest.addPoint(countryPoint);
+        }
+        return usageReportRest;
+    }
+
+    /**
+     * Equivalent of {@link #resolveTopCities(Context, DSpaceObject)} answered from the daily usage statistics
+     * aggregates
+     */
+    private UsageReportRest resolveTopCitiesFromRollups(Context context, DSpaceObject dso) throws SQLException {
+        UsageReportRest usageReportRest = new UsageReportRest();
+        for (Map.Entry<String, Long> city : getStatisticsRollupService().getTopCities(context, dso, 100)) {
+            UsageReportPointCityRest cityPoint = new UsageReportPointCityRest();
+            cityPoint.setId(city.getKey());
+            cityPoint.addValue("views", city.getValue().intValue());
+            usageReportRest.addPoint(cityPoint);
+        }
+        return usageReportRest;
+    }
+
+    private StatisticsRollupService getStatisticsRollupService() {
+        return StatisticsServiceFactory.getInstance().getStatisticsRollupService();
+    }
 }
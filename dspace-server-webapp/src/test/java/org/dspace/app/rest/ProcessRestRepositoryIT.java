@@ -7,11 +7,15 @@
  */
 package org.dspace.app.rest;
 
+import static com.jayway.jsonpath.JsonPath.read;
 import static org.dspace.app.rest.matcher.ProcessMatcher.matchProcess;
 import static org.dspace.content.ProcessStatus.SCHEDULED;
+import static org.hamcrest.Matchers.allOf;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -22,6 +26,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.commons.codec.CharEncoding;
 import org.apache.commons.collections4.CollectionUtils;
@@ -877,4 +882,77 @@ public class ProcessRestRepositoryIT extends AbstractControllerIntegrationTest {
                                             is("script_output")));
 
     }
+
+    @Test
+    public void getProcessLog() throws Exception {
+        context.setCurrentUser(eperson);
+        Process process1 = ProcessBuilder.createProcess(context, eperson, "mock-script", parameters)
+                .withStartAndEndTime("10/01/1990", "20/01/1990")
+                .build();
+
+        processService.appendLog(process1.getID(), process1.getName(), "first line", ProcessLogLevel.INFO);
+        processService.appendLog(process1.getID(), process1.getName(), "second line", ProcessLogLevel.WARNING);
+
+        String token = getAuthToken(eperson.getEmail(), password);
+
+        // the lines are read from the log being written while the process runs
+        AtomicReference<Integer> nextOffset = new AtomicReference<>();
+        getClient(token).perform(get("/api/system/processes/" + process1.getID() + "/log"))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.type", is("processlog")))
+                        .andExpect(jsonPath("$.offset", is(0)))
+                        .andExpect(jsonPath("$.content", allOf(containsString("INFO mock-script"),
+                                                               containsString("@ first line"),
+                                                               containsString("WARNING mock-script"),
+                                                               containsString("@ second line"))))
+                        .andExpect(jsonPath("$.complete", is(false)))
+                        .andDo(result -> nextOffset.set(read(result.getResponse().getContentAsString(),
+                                                             "$.nextOffset")));
+
+        getClient(token).perform(get("/api/system/processes/" + process1.getID() + "/log")
+                                     .param("offset", String.valueOf(nextOffset.get())))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.offset", is(nextOffset.get())))
+                        .andExpect(jsonPath("$.nextOffset", is(nextOffset.get())))
+                        .andExpect(jsonPath("$.content", is("")))
+                        .andExpect(jsonPath("$.complete", is(false)));
+
+        processService.appendLog(process1.getID(), process1.getName(), "third line", ProcessLogLevel.INFO);
+
+        getClient(token).perform(get("/api/system/processes/" + process1.getID() + "/log")
+                                     .param("offset", String.valueOf(nextOffset.get())))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.content", allOf(containsString("@ third line"),
+                                                               not(containsString("@ second line")))))
+                        .andExpect(jsonPath("$.complete", is(false)));
+
+        // once the process has ended, the lines are read from its output bitstream
+        process1 = context.reloadEntity(process1);
+        processService.createLogBitstream(context, process1);
+
+        getClient(token).perform(get("/api/system/processes/" + process1.getID() + "/log")
+                                     .param("offset", String.valueOf(nextOffset.get())))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.offset", is(nextOffset.get())))
+                        .andExpect(jsonPath("$.content", allOf(containsString("@ third line"),
+                                                               not(containsString("@ second line")))))
+                        .andExpect(jsonPath("$.complete", is(true)));
+    }
+
+    @Test
+    public void getProcessLogForbidden() throws Exception {
+        getClient().perform(get("/api/system/processes/" + process.getID() + "/log"))
+                   .andExpect(status().isUnauthorized());
+
+        String token = getAuthToken(eperson.getEmail(), password);
+        getClient(token).perform(get("/api/system/processes/" + process.getID() + "/log"))
+                        .andExpect(status().isForbidden());
+    }
+
+    @Test
+    public void getProcessLogNotFound() throws Exception {
+        String token = getAuthToken(admin.getEmail(), password);
+        getClient(token).perform(get("/api/system/processes/" + Integer.MAX_VALUE + "/log"))
+                        .andExpect(status().isNotFound());
+    }
 }
@@ -21,6 +21,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.List;
@@ -57,6 +58,7 @@ import org.dspace.core.Constants;
 import org.dspace.eperson.EPerson;
 import org.dspace.services.ConfigurationService;
 import org.dspace.statistics.factory.StatisticsServiceFactory;
+import org.dspace.statistics.rollup.service.StatisticsRollupService;
 import org.hamcrest.Matchers;
 import org.junit.Before;
 import org.junit.BeforeClass;
@@ -1532,6 +1534,98 @@ public class StatisticsRestRepositoryIT extends AbstractControllerIntegrationTes
             )));
     }
 
+    @Test
+    public void usageReports_FromRollups() throws Exception {
+        // ** WHEN **
+        // We visit an Item twice and one of the bitstreams of another item once
+        ObjectMapper mapper = new ObjectMapper();
+        ViewEventRest viewEventRest = new ViewEventRest();
+        viewEventRest.setTargetType("item");
+        viewEventRest.setTargetId(itemVisited.getID());
+        for (int i = 0; i < 2; i++) {
+            getClient(loggedInToken).perform(post("/api/statistics/viewevents")
+                .content(mapper.writeValueAsBytes(viewEventRest))
+                .contentType(contentType))
+                                    .andExpect(status().isCreated());
+        }
+        viewEventRest.setTargetType("bitstream");
+        viewEventRest.setTargetId(bitstreamVisited.getID());
+        getClient(loggedInToken).perform(post("/api/statistics/viewevents")
+            .content(mapper.writeValueAsBytes(viewEventRest))
+            .contentType(contentType))
+                                .andExpect(status().isCreated());
+
+        // And the visits of today are rolled up, after which the statistics core is cleared
+        StatisticsRollupService statisticsRollupService =
+            StatisticsServiceFactory.getInstance().getStatisticsRollupService();
+        statisticsRollupService.rollup(context, LocalDate.now());
+        context.commit();
+        StatisticsServiceFactory.getInstance().getSolrLoggerService().removeIndex("*:*");
+
+        configurationService.setProperty("usage-statistics.rollup.enabled", true);
+        try {
+            // ** THEN **
+            // The reports are answered from the rollups
+            getClient(adminToken).perform(
+                get("/api/statistics/usagereports/" + itemVisited.getID() + "_" + TOTAL_VISITS_REPORT_ID))
+                       .andExpect(status().isOk())
+                       .andExpect(jsonPath("$", Matchers.is(
+                           UsageReportMatcher.matchUsageReport(
+                               itemVisited.getID() + "_" + TOTAL_VISITS_REPORT_ID,
+                               TOTAL_VISITS_REPORT_ID,
+                               List.of(getExpectedDsoViews(itemVisited, 2))
+                           )
+                       )));
+
+            getClient(adminToken).perform(
+                get("/api/statistics/usagereports/" + itemVisited.getID() + "_" + TOTAL_VISITS_PER_MONTH_REPORT_ID))
+                       .andExpect(status().isOk())
+                       .andExpect(jsonPath("$", Matchers.is(
+                           UsageReportMatcher.matchUsageReport(
+                               itemVisited.getID() + "_" + TOTAL_VISITS_PER_MONTH_REPORT_ID,
+                               TOTAL_VISITS_PER_MONTH_REPORT_ID,
+                               getListOfVisitsPerMonthsPoints(2)
+                           )
+                       )));
+
+            getClient(adminToken).perform(
+                get("/api/statistics/usagereports/" + itemNotVisitedWithBitstreams.getID() + "_" +
+                    TOTAL_DOWNLOADS_REPORT_ID))
+                       .andExpect(status().isOk())
+                       .andExpect(jsonPath("$", Matchers.is(
+                           UsageReportMatcher.matchUsageReport(
+                               itemNotVisitedWithBitstreams.getID() + "_" + TOTAL_DOWNLOADS_REPORT_ID,
+                               TOTAL_DOWNLOADS_REPORT_ID,
+                               List.of(getExpectedDsoViews(bitstreamVisited, 1))
+                           )
+                       )));
+
+            getClient(adminToken).perform(
+                get("/api/statistics/usagereports/" + itemVisited.getID() + "_" + TOP_COUNTRIES_REPORT_ID))
+                       .andExpect(status().isOk())
+                       .andExpect(jsonPath("$", Matchers.is(
+                           UsageReportMatcher.matchUsageReport(
+                               itemVisited.getID() + "_" + TOP_COUNTRIES_REPORT_ID,
+                               TOP_COUNTRIES_REPORT_ID,
+                               List.of(getExpectedCountryViews("US", "United States", 2))
+                           )
+                       )));
+
+            getClient(adminToken).perform(
+                get("/api/statistics/usagereports/" + itemVisited.getID() + "_" + TOP_CITIES_REPORT_ID))
+                       .andExpect(status().isOk())
+                       .andExpect(jsonPath("$", Matchers.is(
+                           UsageReportMatcher.matchUsageReport(
+                               itemVisited.getID() + "_" + TOP_CITIES_REPORT_ID,
+                               TOP_CITIES_REPORT_ID,
+                               List.of(getExpectedCityViews("New York", 2))
+                           )
+                       )));
+        } finally {
+            configurationService.setProperty("usage-statistics.rollup.enabled", false);
+        }
+    }
+
     // Create expected points from -6 months to now, with given number of views in current month
     private List<UsageReportPointRest> getListOfVisitsPerMonthsPoints(int viewsLastMonth) {
         List<UsageReportPointRest> expectedPoints = new ArrayList<>();
@@ -16,7 +16,9 @@ import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.TreeSet;
 
@@ -31,6 +33,7 @@ import org.dspace.app.rest.model.hateoas.HALResource;
 import org.dspace.app.rest.model.hateoas.MockObjectResource;
 import org.dspace.app.rest.projection.MockProjection;
 import org.dspace.app.rest.projection.Projection;
+import org.dspace.app.rest.security.MockObjectRestPermissionEvaluatorPlugin;
 import org.dspace.app.rest.test.AbstractControllerIntegrationTest;
 import org.dspace.core.Context;
 import org.dspace.services.RequestService;
@@ -38,6 +41,8 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.Link;
 import org.springframework.mock.web.MockHttpServletRequest;
@@ -45,6 +50,7 @@ import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
 
 /**
  * Tests functionality of {@link ConverterService}.
@@ -69,6 +75,9 @@ public class ConverterServiceIT extends AbstractControllerIntegrationTest {
     @Autowired
     private RequestService requestService;
 
+    @Autowired
+    private MockObjectRestPermissionEvaluatorPlugin permissionEvaluatorPlugin;
+
     @Before
     public void setup() {
         // We're mocking a request here because we've started using the Context in the ConverterService#toRest
@@ -85,6 +94,7 @@ public class ConverterServiceIT extends AbstractControllerIntegrationTest {
         when(securityContext.getAuthentication()).thenReturn(authentication);
         SecurityContextHolder.setContext(securityContext);
         when(SecurityContextHolder.getContext().getAuthentication().getPrincipal()).thenReturn(eperson);
+        permissionEvaluatorPlugin.reset();
     }
     /**
      * When calling {@code toRest} with an object for which an appropriate {@link DSpaceConverter} can't be found,
@@ -139,6 +149,52 @@ public class ConverterServiceIT extends AbstractControllerIntegrationTest {
         assertThat(restObject.getValue(), equalTo("value" + id + "?!"));
     }
 
+    /**
+     * When calling {@code toRestPage}, the permissions of all the rest objects are checked at once and only
+     * the rest objects the current user has permission to retrieve are returned, in order.
+     */
+    @Test
+    public void toRestPageWithDefaultProjection() {
+        permissionEvaluatorPlugin.deny(1);
+        List<MockObject> mockObjects = Arrays.asList(MockObject.create(0), MockObject.create(1),
+                                                     MockObject.create(2), MockObject.create(3));
+        Page<MockObjectRest> page = converter.toRestPage(mockObjects, PageRequest.of(0, 3), Projection.DEFAULT);
+        assertEquals(2, page.getContent().size());
+        assertEquals(4, page.getTotalElements());
+        assertThat(page.getContent().get(0).getId(), equalTo(0L));
+        assertThat(page.getContent().get(1).getId(), equalTo(2L));
+
+        // the permission is checked once for the whole page, instead of once per object
+        assertEquals(1, permissionEvaluatorPlugin.getBatchChecks());
+        assertEquals(0, permissionEvaluatorPlugin.getSingleChecks());
+    }
+
+    /**
+     * The PreAuthorize expression of the findOne method of the repository is only resolved once, and then reused
+     * for the next pages.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void toRestPageWithMemoizedPreAuthorize() {
+        List<MockObject> mockObjects = Arrays.asList(MockObject.create(0), MockObject.create(1));
+        converter.toRestPage(mockObjects, PageRequest.of(0, 2), Projection.DEFAULT);
+
+        Map<String, String> preAuthorizeExpressions =
+            (Map<String, String>) ReflectionTestUtils.getField(converter, "preAuthorizeExpressions");
+        String key = MockObjectRest.CATEGORY + "." + MockObjectRest.NAME;
+        assertEquals("hasPermission(#id, 'TESTOBJECT', 'READ')", preAuthorizeExpressions.get(key));
+        try {
+            // the memoized expression is used instead of the annotation of the repository
+            preAuthorizeExpressions.put(key, "denyAll()");
+            Page<MockObjectRest> page = converter.toRestPage(mockObjects, PageRequest.of(0, 2),
+                                                             Projection.DEFAULT);
+            assertEquals(0, page.getContent().size());
+            assertEquals(1, permissionEvaluatorPlugin.getBatchChecks());
+        } finally {
+            preAuthorizeExpressions.remove(key);
+        }
+    }
+
     /**
      * When calling {@code toResource}, if an appropriate constructor could not be found,
      * it should throw an {@link IllegalArgumentException}.
@@ -8,9 +8,11 @@
 package org.dspace.app.rest.iiif;
 
 import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -32,7 +34,9 @@ import org.dspace.content.Bitstream;
 import org.dspace.content.Bundle;
 import org.dspace.content.Collection;
 import org.dspace.content.Item;
+import org.dspace.content.service.BitstreamService;
 import org.dspace.content.service.ItemService;
+import org.dspace.core.Context;
 import org.dspace.eperson.EPerson;
 import org.dspace.eperson.Group;
 import org.dspace.services.ConfigurationService;
@@ -47,6 +51,9 @@ public class IIIFControllerIT extends AbstractControllerIntegrationTest {
     @Autowired
     ItemService itemService;
 
+    @Autowired
+    BitstreamService bitstreamService;
+
     @Autowired
     private ConfigurationService configurationService;
 
@@ -1293,6 +1300,57 @@ public class IIIFControllerIT extends AbstractControllerIntegrationTest {
                    .andExpect(jsonPath("$.metadata[0].value", is("Public item (revised)")));
     }
 
+    @Test
+    public void findOneNotModified() throws Exception {
+        String patchRequestBody =
+                "[{\"op\": \"replace\",\"path\": \"/metadata/dc.title/0/value\",\"value\": \"Public item (revised)\"}]";
+
+        context.turnOffAuthorisationSystem();
+
+        parentCommunity = CommunityBuilder.createCommunity(context)
+                                          .withName("Parent Community")
+                                          .build();
+        Collection col1 = CollectionBuilder.createCollection(context, parentCommunity).withName("Collection 1")
+                                           .build();
+
+        Item publicItem1 = ItemBuilder.createItem(context, col1)
+                                      .withTitle("Public item 1")
+                                      .enableIIIF()
+                                      .build();
+
+        String bitstreamContent = "ThisIsSomeDummyText";
+        try (InputStream is = IOUtils.toInputStream(bitstreamContent, CharEncoding.UTF_8)) {
+            BitstreamBuilder.createBitstream(context, publicItem1, is)
+                            .withName("Bitstream1.jpg")
+                            .withMimeType("image/jpeg")
+                            .build();
+        }
+
+        context.restoreAuthSystemState();
+
+        String eTag = getClient().perform(get("/iiif/" + publicItem1.getID() + "/manifest"))
+                                 .andExpect(status().isOk())
+                                 .andExpect(header().exists("ETag"))
+                                 .andExpect(header().exists("Last-Modified"))
+                                 .andReturn().getResponse().getHeader("ETag");
+
+        // The stored manifest isn't sent again to a viewer which already has it.
+        getClient().perform(get("/iiif/" + publicItem1.getID() + "/manifest").header("If-None-Match", eTag))
+                   .andExpect(status().isNotModified());
+
+        String token = getAuthToken(admin.getEmail(), password);
+        getClient(token).perform(patch("/api/core/items/" + publicItem1.getID())
+                                .content(patchRequestBody)
+                                .contentType(MediaType.APPLICATION_JSON_PATCH_JSON))
+                        .andExpect(status().isOk());
+
+        // The Item update invalidates the stored manifest, and changes its ETag.
+        getClient().perform(get("/iiif/" + publicItem1.getID() + "/manifest").header("If-None-Match", eTag))
+                   .andExpect(status().isOk())
+                   .andExpect(header().string("ETag", Matchers.not(eTag)))
+                   .andExpect(jsonPath("$.metadata[0].value", is("Public item (revised)")));
+    }
+
     @Test
     public void setDefaultCanvasDimensionCustomBundle() throws Exception {
 
@@ -1334,4 +1392,75 @@ public class IIIFControllerIT extends AbstractControllerIntegrationTest {
                    .andExpect(jsonPath("$.sequences[0].canvases[0].height", is(64)));
     }
 
+    @Test
+    public void canvasDimensionsStoredInBitstreamMetadata() throws Exception {
+        configurationService.setProperty("iiif.canvas.default-width", -1);
+        configurationService.setProperty("iiif.canvas.default-height", -1);
+        try {
+            context.turnOffAuthorisationSystem();
+            parentCommunity = CommunityBuilder.createCommunity(context)
+                                              .withName("Parent Community")
+                                              .build();
+            Collection col1 = CollectionBuilder.createCollection(context, parentCommunity).withName("Collection 1")
+                                               .build();
+            Item publicItem1 = ItemBuilder.createItem(context, col1)
+                                          .withTitle("Public item 1")
+                                          .enableIIIF()
+                                          .build();
+            Bitstream bitstream1;
+            Bitstream bitstream2;
+            String bitstreamContent = "ThisIsSomeDummyText";
+            try (InputStream is = IOUtils.toInputStream(bitstreamContent, CharEncoding.UTF_8)) {
+                bitstream1 = BitstreamBuilder.createBitstream(context, publicItem1, is)
+                                             .withName("Bitstream1.jpg")
+                                             .withMimeType("image/jpeg")
+                                             .build();
+            }
+            try (InputStream is = IOUtils.toInputStream(bitstreamContent, CharEncoding.UTF_8)) {
+                bitstream2 = BitstreamBuilder.createBitstream(context, publicItem1, is)
+                                             .withName("Bitstream2.png")
+                                             .withMimeType("image/png")
+                                             .build();
+            }
+            context.restoreAuthSystemState();
+
+            // The dimensions of both images are retrieved from the image server at once.
+            getClient().perform(get("/iiif/" + publicItem1.getID() + "/manifest"))
+                       .andExpect(status().isOk())
+                       .andExpect(jsonPath("$.sequences[0].canvases[0].width", is(64)))
+                       .andExpect(jsonPath("$.sequences[0].canvases[0].height", is(64)))
+                       .andExpect(jsonPath("$.sequences[0].canvases[1].width", is(64)))
+                       .andExpect(jsonPath("$.sequences[0].canvases[1].height", is(64)));
+
+            // They are stored in the metadata of the bitstreams in the background.
+            assertEquals("64", waitForBitstreamMetadata(bitstream1.getID(), "iiif.image.width"));
+            assertEquals("64", waitForBitstreamMetadata(bitstream1.getID(), "iiif.image.height"));
+            assertEquals("64", waitForBitstreamMetadata(bitstream2.getID(), "iiif.image.width"));
+            assertEquals("64", waitForBitstreamMetadata(bitstream2.getID(), "iiif.image.height"));
+        } finally {
+            configurationService.setProperty("iiif.canvas.default-width", null);
+            configurationService.setProperty("iiif.canvas.default-height", null);
+        }
+    }
+
+    /**
+     * Wait for a metadata value of a bitstream to be committed, reading the bitstream in a new context.
+     */
+    private String waitForBitstreamMetadata(UUID bitstreamId, String field) throws Exception {
+        for (int i = 0; i < 100; i++) {
+            Context readContext = new Context(Context.Mode.READ_ONLY);
+            try {
+                Bitstream bitstream = bitstreamService.find(readContext, bitstreamId);
+                String value = bitstreamService.getMetadata(bitstream, field);
+                if (value != null) {
+                    return value;
+                }
+            } finally {
+                readContext.abort();
+            }
+            Thread.sleep(50);
+        }
+        return null;
+    }
+
 }
@@ -21,9 +21,9 @@ import org.springframework.stereotype.Component;
 @Component(MockObjectRest.CATEGORY + "." + MockObjectRest.NAME)
 public class MockObjectRestRepository extends DSpaceRestRepository<MockObjectRest, Long> {
 
-    // Added a permitAll preAuthorize annotation to allow the object to be used in tests by every user
+    // The permissions are granted by the MockObjectRestPermissionEvaluatorPlugin, to every user by default
     @Override
-    @PreAuthorize("permitAll()")
+    @PreAuthorize("hasPermission(#id, 'TESTOBJECT', 'READ')")
     public MockObjectRest findOne(Context context, Long aLong) {
         return null;
     }
@@ -8,20 +8,79 @@
 package org.dspace.app.rest.security;
 
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.lang3.StringUtils;
 import org.dspace.app.rest.model.MockObjectRest;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
+/**
+ * Grants every permission on the {@link MockObjectRest} objects, except on the denied ones, and counts the checks
+ * of single objects and of batches of objects.
+ */
 @Component
 public class MockObjectRestPermissionEvaluatorPlugin extends RestObjectPermissionEvaluatorPlugin {
+
+    private final Set<Serializable> deniedIds = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger singleChecks = new AtomicInteger();
+
+    private final AtomicInteger batchChecks = new AtomicInteger();
+
     @Override
     public boolean hasDSpacePermission(Authentication authentication, Serializable targetId, String targetType,
                                        DSpaceRestPermission restPermission) {
         if (!StringUtils.equalsIgnoreCase(MockObjectRest.NAME, targetType)) {
             return false;
         }
-        return true;
+        singleChecks.incrementAndGet();
+        return !deniedIds.contains(String.valueOf(targetId));
+    }
+
+    @Override
+    public Set<Serializable> getPermittedTargetIds(Authentication authentication,
+                                                   Collection<? extends Serializable> targetIds, String targetType,
+                                                   Object permission) {
+        Set<Serializable> permitted = new HashSet<>();
+        if (!StringUtils.equalsIgnoreCase(MockObjectRest.NAME, targetType)) {
+            return permitted;
+        }
+        batchChecks.incrementAndGet();
+        for (Serializable targetId : targetIds) {
+            if (!deniedIds.contains(String.valueOf(targetId))) {
+                permitted.add(targetId);
+            }
+        }
+        return permitted;
+    }
+
+    /**
+     * Deny the permissions on an object
+     * @param id the id of the object
+     */
+    public void deny(long id) {
+        deniedIds.add(String.valueOf(id));
+    }
+
+    /**
+     * Grant the permissions on all the objects again, and reset the counters
+     */
+    public void reset() {
+        deniedIds.clear();
+        singleChecks.set(0);
+        batchChecks.set(0);
+    }
+
+    public int getSingleChecks() {
+        return singleChecks.get();
+    }
+
+    public int getBatchChecks() {
+        return batchChecks.get();
     }
 }
@@ -8,7 +8,10 @@
 package org.dspace.app.rest.security.jwt;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 
 import java.text.ParseException;
@@ -16,6 +19,7 @@ import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Date;
 import java.util.List;
+import java.util.UUID;
 import javax.servlet.http.HttpServletRequest;
 
 import com.nimbusds.jwt.JWTClaimsSet;
@@ -34,6 +38,8 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.security.crypto.keygen.KeyGenerators;
 import org.springframework.security.crypto.keygen.StringKeyGenerator;
@@ -73,6 +79,9 @@ public class JWTTokenHandlerTest {
     @Spy
     protected List<JWTClaimProvider> jwtClaimProviders = new ArrayList<>();
 
+    @Spy
+    protected CacheManager cacheManager = new ConcurrentMapCacheManager();
+
     @Before
     public void setUp() throws Exception {
         when(ePerson.getSessionSalt()).thenReturn("01234567890123456789012345678901");
@@ -152,4 +161,34 @@ public class JWTTokenHandlerTest {
         assertEquals(null, parsed);
     }
 
+    @Test
+    public void testVerifiedTokenCache() throws Exception {
+        JWTTokenHandler tokenHandler = getTokenHandler();
+        when(configurationService.getLongProperty(anyString(), anyLong())).thenReturn(60000L);
+        UUID ePersonId = UUID.randomUUID();
+        when(ePerson.getID()).thenReturn(ePersonId);
+        when(ePersonService.find(context, ePersonId)).thenReturn(ePerson);
+        when(ePersonClaimProvider.getEPerson(any(Context.class), any(JWTClaimsSet.class))).thenReturn(ePerson);
+        Date previous = new Date(System.currentTimeMillis() - 10000000000L);
+        String token = tokenHandler.createTokenForEPerson(context, new MockHttpServletRequest(), previous);
+
+        // the first use verifies the token, the second one finds it in the cache
+        assertEquals(ePerson, tokenHandler.parseEPersonFromToken(token, httpServletRequest, context));
+        assertEquals(ePerson, tokenHandler.parseEPersonFromToken(token, httpServletRequest, context));
+        assertEquals(1, tokenHandler.getVerifiedTokenCacheHits());
+        assertEquals(1, tokenHandler.getVerifiedTokenCacheMisses());
+
+        // a new session salt invalidates the cached token
+        when(ePerson.getSessionSalt()).thenReturn("98765432109876543210987654321098");
+        assertNull(tokenHandler.parseEPersonFromToken(token, httpServletRequest, context));
+        assertEquals(1, tokenHandler.getVerifiedTokenCacheHits());
+    }
+
+    /**
+     * @return the token handler tested by the tests shared with the subclasses
+     */
+    protected JWTTokenHandler getTokenHandler() {
+        return loginJWTTokenHandler;
+    }
+
 }
@@ -116,4 +116,9 @@ public class ShortLivedJWTTokenHandlerTest extends JWTTokenHandlerTest {
         EPerson parsed = shortLivedJWTTokenHandler.parseEPersonFromToken(token, httpServletRequest, context);
         assertEquals(null, parsed);
     }
+
+    @Override
+    protected JWTTokenHandler getTokenHandler() {
+        return shortLivedJWTTokenHandler;
+    }
 }